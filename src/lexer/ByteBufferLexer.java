@@ -0,0 +1,507 @@
+package lexer;
+
+import lexer.tokens.DoubleToken;
+import lexer.tokens.IntegerToken;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+// `ByteBufferLexer` lexes UTF-8 encoded source straight from a `ByteBuffer`,
+// e.g. a file mapped into memory with `fromFile()` or read from a stream with `fromStream()`.
+// ASCII bytes are classified with a single lookup in `byteClasses`. Multi-byte sequences are decoded
+// only inside string literals and identifiers; comments are scanned byte by byte
+// and decoded at once from the bytes they span.
+public class ByteBufferLexer implements ILexer {
+    private static final int NO_CHAR = -1;
+    private static final int ETX = (char) (-1);
+    private static final int REPLACEMENT_CHAR = 0xFFFD;
+    private static final byte OTHER = 0;
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte LETTER = 3;
+    private static final byte NON_ASCII = 4;
+    // `byteClasses` holds the class of every byte value; `_` counts as a letter
+    private static final byte[] byteClasses = new byte[256];
+    // `charWidths` holds the number of chars decoded from a sequence starting with every byte value,
+    // so that columns can be counted without decoding; continuation bytes have no width
+    private static final byte[] charWidths = new byte[256];
+    private static final HashMap<String, TokenTypeEnum> keywordTokens = new HashMap<>();
+
+    static {
+        for (int b = 0; b < 0x80; b++) {
+            if (Character.isWhitespace(b)) {
+                byteClasses[b] = WHITESPACE;
+            } else if (Character.isDigit(b)) {
+                byteClasses[b] = DIGIT;
+            } else if (Character.isLetter(b) || b == '_') {
+                byteClasses[b] = LETTER;
+            } else {
+                byteClasses[b] = OTHER;
+            }
+        }
+        Arrays.fill(byteClasses, 0x80, 0x100, NON_ASCII);
+        Arrays.fill(charWidths, 0x00, 0x80, (byte) 1);
+        Arrays.fill(charWidths, 0xC0, 0xF0, (byte) 1);
+        Arrays.fill(charWidths, 0xF0, 0xF5, (byte) 2);
+        Arrays.fill(charWidths, 0xF5, 0x100, (byte) 1);
+
+        keywordTokens.put("Int", TokenTypeEnum.INT_KEYWORD);
+        keywordTokens.put("Double", TokenTypeEnum.DOUBLE_KEYWORD);
+        keywordTokens.put("String", TokenTypeEnum.STRING_KEYWORD);
+        keywordTokens.put("Point", TokenTypeEnum.POINT_KEYWORD);
+        keywordTokens.put("Section", TokenTypeEnum.SECTION_KEYWORD);
+        keywordTokens.put("Figure", TokenTypeEnum.FIGURE_KEYWORD);
+        keywordTokens.put("Scene", TokenTypeEnum.SCENE_KEYWORD);
+        keywordTokens.put("Bool", TokenTypeEnum.BOOL_KEYWORD);
+        keywordTokens.put("True", TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD);
+        keywordTokens.put("False", TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD);
+        keywordTokens.put("List", TokenTypeEnum.LIST_KEYWORD);
+        keywordTokens.put("while", TokenTypeEnum.WHILE_KEYWORD);
+        keywordTokens.put("if", TokenTypeEnum.IF_KEYWORD);
+        keywordTokens.put("elseif", TokenTypeEnum.ELSE_IF_KEYWORD);
+        keywordTokens.put("else", TokenTypeEnum.ELSE_KEYWORD);
+        keywordTokens.put("return", TokenTypeEnum.RETURN_KEYWORD);
+        keywordTokens.put("void", TokenTypeEnum.VOID_KEYWORD);
+    }
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    // `sliceBuffer` is used to decode comments when `buffer` is not backed by an array
+    private byte[] sliceBuffer = new byte[64];
+    // `valueBuffer` collects the chars of identifiers, which are looked up in `identifiers` without
+    // creating a `String`, and string literal contents, from which escaping backslashes are dropped
+    private char[] valueBuffer = new char[64];
+    private int cursor;
+    // byte offset at which `currentChar` starts
+    private int currentCharOffset;
+    // low surrogate of a decoded 4-byte sequence, returned by the next `nextChar()` call
+    private int pendingChar = NO_CHAR;
+    private int currentChar = NO_CHAR;
+    private int lineNumber = 1;
+    private int columnNumber = 0;
+    private int stringMaxLength = 1000;
+    private int identifierMaxLength = 1000;
+    private int maxInt = Integer.MAX_VALUE;
+    private double maxDouble = Double.MAX_VALUE;
+    private final DoubleParser doubleParser = new DoubleParser();
+    private SymbolTable symbols = new SymbolTable();
+    private StringPool identifiers = new StringPool(symbols);
+    private TriviaMode triviaMode = TriviaMode.KEEP_COMMENTS;
+    private final CommentTable comments = new CommentTable();
+    private IDiagnosticsSink diagnostics;
+
+    public ByteBufferLexer(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.cursor = buffer.position();
+        this.limit = buffer.limit();
+    }
+
+    public static ByteBufferLexer fromFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ByteBufferLexer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    public static ByteBufferLexer fromStream(InputStream stream) throws IOException {
+        return new ByteBufferLexer(ByteBuffer.wrap(stream.readAllBytes()));
+    }
+
+    public void setStringMaxLength(int stringMaxLength) {
+        this.stringMaxLength = stringMaxLength;
+    }
+
+    public void setIdentifierMaxLength(int identifierMaxLength) {
+        this.identifierMaxLength = identifierMaxLength;
+    }
+
+    public void setMaxInt(int maxInt) {
+        this.maxInt = maxInt;
+    }
+
+    public void setMaxDouble(double maxDouble) {
+        this.maxDouble = maxDouble;
+    }
+
+    public void setTriviaMode(TriviaMode triviaMode) {
+        this.triviaMode = triviaMode;
+    }
+
+    // `setSymbolTable` sets the table in which identifiers are interned, shared with other lexers of the same source.
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+        identifiers = new StringPool(symbols);
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    // `getComments` returns the comments skipped in `TriviaMode.RECORD_COMMENTS`, with byte offsets.
+    public CommentTable getComments() {
+        return comments;
+    }
+
+    // `setDiagnosticsSink` sets the sink to which every error token is reported before it is returned.
+    public void setDiagnosticsSink(IDiagnosticsSink diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Token lexToken() {
+        Token token = buildToken();
+        if (diagnostics != null && token.getTokenType().isError()) {
+            diagnostics.report(token);
+        }
+        return token;
+    }
+
+    private Token buildToken() {
+        if (currentChar == NO_CHAR || currentChar == ETX) {
+            nextChar();
+
+            if (currentChar == ETX) {
+                return new Token(PackedPosition.pack(lineNumber, columnNumber), TokenTypeEnum.ETX);
+            }
+        }
+
+        while (isWhitespace(currentChar) || (currentChar == '#' && triviaMode != TriviaMode.KEEP_COMMENTS)) {
+            if (currentChar == '#') {
+                skipComment();
+            } else {
+                nextChar();
+            }
+        }
+
+        int c = currentChar;
+        if (c == ETX) {
+            return new Token(PackedPosition.pack(lineNumber, columnNumber), TokenTypeEnum.ETX);
+        } else if (isDigit(c)) {
+            return lexNumber();
+        } else if (isLetter(c)) {
+            return lexIdentifierOrKeyword();
+        } else if (c == '"') {
+            return lexString();
+        } else if (c == '#') {
+            return lexComment();
+        }
+        return lexSign();
+    }
+
+    private Token lexNumber() {
+        long position = PackedPosition.pack(lineNumber, columnNumber);
+        int value = currentChar - '0';
+        nextChar();
+        while (isDigit(currentChar)) {
+            long extendedValue = value * 10L + (currentChar - '0');
+            if (extendedValue > maxInt) {
+                return new StringToken(Integer.toString(value), position, TokenTypeEnum.INT_EXCEEDED_RANGE_ERROR);
+            }
+            value = (int) extendedValue;
+            nextChar();
+        }
+
+        if (currentChar != '.') {
+            return new IntegerToken(value, position);
+        }
+
+        doubleParser.start(value);
+        doubleParser.startFraction();
+        byte b;
+        while (cursor < limit && byteClasses[(b = buffer.get(cursor)) & 0xFF] == DIGIT) {
+            doubleParser.addDigit(b - '0');
+            cursor++;
+            columnNumber++;
+        }
+        nextChar();
+        while (isDigit(currentChar)) {
+            doubleParser.addDigit(currentChar - '0');
+            nextChar();
+        }
+
+        double doubleValue = doubleParser.toDouble();
+        if (doubleValue > maxDouble) {
+            return new StringToken(Double.toString(value), position, TokenTypeEnum.DOUBLE_EXCEEDED_RANGE_ERROR);
+        }
+        return new DoubleToken(doubleValue, position);
+    }
+
+    private Token lexIdentifierOrKeyword() {
+        long position = PackedPosition.pack(lineNumber, columnNumber);
+        valueBuffer[0] = (char) currentChar;
+        int length = 1;
+        if (pendingChar == NO_CHAR) {
+            // ASCII letters and digits are copied directly from the buffer
+            byte b;
+            while (cursor < limit && length < identifierMaxLength && isAsciiLetterOrDigit(b = buffer.get(cursor))) {
+                appendValueChar(length++, (char) b);
+                cursor++;
+                columnNumber++;
+            }
+        }
+        nextChar();
+
+        while ((isLetter(currentChar) || isDigit(currentChar)) && length < identifierMaxLength) {
+            appendValueChar(length++, (char) currentChar);
+            nextChar();
+        }
+
+        int symbolId = identifiers.internSymbol(valueBuffer, 0, length);
+        String identifier = identifiers.getName(symbolId);
+        if (length == identifierMaxLength && currentChar != ETX) {
+            return new StringToken(identifier, position, TokenTypeEnum.IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR);
+        }
+
+        TokenTypeEnum keyword = keywordTokens.get(identifier);
+        if (keyword != null) {
+            return new Token(position, keyword);
+        }
+        return new StringToken(identifier, position, TokenTypeEnum.IDENTIFIER, symbolId);
+    }
+
+    private Token lexString() {
+        long position = PackedPosition.pack(lineNumber, columnNumber);
+        int length = 0;
+        int previousChar = currentChar;
+        nextChar();
+
+        while (!hasStringEndedCorrectly(previousChar) && currentChar != ETX && length < stringMaxLength) {
+            if (currentChar != '\\' || previousChar == '\\') {
+                appendValueChar(length++, (char) currentChar);
+            }
+            previousChar = currentChar;
+            nextChar();
+        }
+
+        String string = new String(valueBuffer, 0, length);
+        if (length == stringMaxLength && currentChar != ETX) {
+            return new StringToken(string, position, TokenTypeEnum.STRING_EXCEEDED_MAXIMUM_LENGTH_ERROR);
+        } else if (hasStringEndedCorrectly(previousChar)) {
+            nextChar();
+            return new StringToken(string, position, TokenTypeEnum.STRING_VALUE);
+        }
+        return new StringToken(string, position, TokenTypeEnum.UNCLOSED_QUOTES_ERROR);
+    }
+
+    private void appendValueChar(int index, char c) {
+        if (index == valueBuffer.length) {
+            valueBuffer = Arrays.copyOf(valueBuffer, index * 2);
+        }
+        valueBuffer[index] = c;
+    }
+
+    private boolean hasStringEndedCorrectly(int previousChar) {
+        return previousChar != '\\' && currentChar == '"';
+    }
+
+    private Token lexComment() {
+        long position = PackedPosition.pack(lineNumber, columnNumber);
+        int start = currentCharOffset;
+        skipToLineEnd();
+        return new StringToken(decode(start, currentCharOffset), position, TokenTypeEnum.COMMENT);
+    }
+
+    private void skipComment() {
+        int start = currentCharOffset;
+        skipToLineEnd();
+        if (triviaMode == TriviaMode.RECORD_COMMENTS) {
+            comments.add(start, currentCharOffset);
+        }
+    }
+
+    // `skipToLineEnd` moves from the `#` starting a comment to the `\n` or ETX ending it.
+    // A `\n` byte never occurs inside a multi-byte sequence, so the comment is not decoded,
+    // only the chars it spans are counted.
+    private void skipToLineEnd() {
+        int end = cursor;
+        int width = 0;
+        byte b;
+        while (end < limit && (b = buffer.get(end)) != '\n') {
+            width += charWidths[b & 0xFF];
+            end++;
+        }
+        columnNumber += width;
+        cursor = end;
+        nextChar();
+    }
+
+    private Token lexSign() {
+        long position = PackedPosition.pack(lineNumber, columnNumber);
+        switch (currentChar) {
+            case ';':
+                return lexSingleSign(TokenTypeEnum.SEMICOLON, position);
+            case ',':
+                return lexSingleSign(TokenTypeEnum.COMMA, position);
+            case '(':
+                return lexSingleSign(TokenTypeEnum.LEFT_BRACKET, position);
+            case ')':
+                return lexSingleSign(TokenTypeEnum.RIGHT_BRACKET, position);
+            case '[':
+                return lexSingleSign(TokenTypeEnum.LEFT_SQUARE_BRACKET, position);
+            case ']':
+                return lexSingleSign(TokenTypeEnum.RIGHT_SQUARE_BRACKET, position);
+            case '{':
+                return lexSingleSign(TokenTypeEnum.LEFT_CURLY_BRACKET, position);
+            case '}':
+                return lexSingleSign(TokenTypeEnum.RIGHT_CURLY_BRACKET, position);
+            case '.':
+                return lexSingleSign(TokenTypeEnum.DOT, position);
+            case '+':
+                return lexSingleSign(TokenTypeEnum.ADDITION_OPERATOR, position);
+            case '-':
+                return lexSingleSign(TokenTypeEnum.SUBTRACTION_OPERATOR, position);
+            case '*':
+                return lexSingleSign(TokenTypeEnum.MULTIPLICATION_OPERATOR, position);
+            case '&':
+                return lexOnlyDoubledSign(TokenTypeEnum.AND_OPERATOR, position);
+            case '|':
+                return lexOnlyDoubledSign(TokenTypeEnum.OR_OPERATOR, position);
+            case '=':
+                return lexOneOrTwoSigns(TokenTypeEnum.ASSIGNMENT_OPERATOR, '=', TokenTypeEnum.EQUAL_OPERATOR, position);
+            case '/':
+                return lexOneOrTwoSigns(TokenTypeEnum.DIVISION_OPERATOR, '/', TokenTypeEnum.DISCRETE_DIVISION_OPERATOR, position);
+            case '<':
+                return lexOneOrTwoSigns(TokenTypeEnum.LESS_THAN_OPERATOR, '=', TokenTypeEnum.LESS_OR_EQUAL_OPERATOR, position);
+            case '>':
+                return lexOneOrTwoSigns(TokenTypeEnum.GREATER_THAN_OPERATOR, '=', TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR, position);
+            case '!':
+                return lexOneOrTwoSigns(TokenTypeEnum.NEGATION_OPERATOR, '=', TokenTypeEnum.NOT_EQUAL_OPERATOR, position);
+            default:
+                return lexUnknownChar(position);
+        }
+    }
+
+    // `lexUnknownChar` builds an error token for a char which does not start any token
+    // and moves past it, so that lexing resumes at the next char.
+    private Token lexUnknownChar(long position) {
+        int c = currentChar;
+        nextChar();
+        return new StringToken(String.valueOf((char) c), position, TokenTypeEnum.UNKNOWN_CHAR_ERROR);
+    }
+
+    private Token lexSingleSign(TokenTypeEnum type, long position) {
+        nextChar();
+        return new Token(position, type);
+    }
+
+    private Token lexOnlyDoubledSign(TokenTypeEnum typeWhenDoubled, long position) {
+        int sign = currentChar;
+        nextChar();
+        if (currentChar == sign) {
+            nextChar();
+            return new Token(position, typeWhenDoubled);
+        }
+        return new StringToken(String.valueOf((char) sign), position, TokenTypeEnum.UNKNOWN_CHAR_ERROR);
+    }
+
+    private Token lexOneOrTwoSigns(TokenTypeEnum typeWhenOneSign, int secondSign, TokenTypeEnum typeWhenTwoSigns, long position) {
+        nextChar();
+        if (currentChar == secondSign) {
+            nextChar();
+            return new Token(position, typeWhenTwoSigns);
+        }
+        return new Token(position, typeWhenOneSign);
+    }
+
+    private static boolean isWhitespace(int c) {
+        return c < 0x80 ? byteClasses[c] == WHITESPACE : Character.isWhitespace(c);
+    }
+
+    private static boolean isDigit(int c) {
+        return c < 0x80 ? byteClasses[c] == DIGIT : Character.isDigit(c);
+    }
+
+    private static boolean isLetter(int c) {
+        return c < 0x80 ? byteClasses[c] == LETTER : Character.isLetter(c);
+    }
+
+    private static boolean isAsciiLetterOrDigit(byte b) {
+        byte byteClass = byteClasses[b & 0xFF];
+        return byteClass == LETTER || byteClass == DIGIT;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+
+        if (length > sliceBuffer.length) {
+            sliceBuffer = new byte[Math.max(length, sliceBuffer.length * 2)];
+        }
+        buffer.get(start, sliceBuffer, 0, length);
+        return new String(sliceBuffer, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void nextChar() {
+        if (pendingChar != NO_CHAR) {
+            currentChar = pendingChar;
+            pendingChar = NO_CHAR;
+        } else if (cursor < limit) {
+            currentCharOffset = cursor;
+            int firstByte = buffer.get(cursor++);
+            if (firstByte >= 0) {
+                currentChar = firstByte;
+            } else {
+                currentChar = decodeMultiByteChar(firstByte & 0xFF);
+            }
+        } else {
+            currentCharOffset = limit;
+            currentChar = ETX;
+        }
+
+        if (currentChar == '\n') {
+            lineNumber++;
+            columnNumber = 0;
+        } else {
+            columnNumber++;
+        }
+    }
+
+    // Decodes the rest of a multi-byte UTF-8 sequence. Malformed sequences are replaced with U+FFFD.
+    private int decodeMultiByteChar(int firstByte) {
+        int continuationBytes;
+        int codePoint;
+        int minCodePoint;
+        if (firstByte >= 0xC2 && firstByte <= 0xDF) {
+            continuationBytes = 1;
+            codePoint = firstByte & 0x1F;
+            minCodePoint = 0x80;
+        } else if (firstByte >= 0xE0 && firstByte <= 0xEF) {
+            continuationBytes = 2;
+            codePoint = firstByte & 0x0F;
+            minCodePoint = 0x800;
+        } else if (firstByte >= 0xF0 && firstByte <= 0xF4) {
+            continuationBytes = 3;
+            codePoint = firstByte & 0x07;
+            minCodePoint = 0x10000;
+        } else {
+            return REPLACEMENT_CHAR;
+        }
+
+        for (int i = 0; i < continuationBytes; i++) {
+            if (cursor >= limit || (buffer.get(cursor) & 0xC0) != 0x80) {
+                return REPLACEMENT_CHAR;
+            }
+            codePoint = (codePoint << 6) | (buffer.get(cursor++) & 0x3F);
+        }
+
+        if (codePoint < minCodePoint || codePoint > Character.MAX_CODE_POINT
+                || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return REPLACEMENT_CHAR;
+        }
+        if (codePoint >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+            pendingChar = Character.lowSurrogate(codePoint);
+            return Character.highSurrogate(codePoint);
+        }
+        return codePoint;
+    }
+}
@@ -0,0 +1,568 @@
+package lexer;
+
+import lexer.tokens.DoubleToken;
+import lexer.tokens.IntegerToken;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+
+// `CharBufferLexer` produces the same tokens as `Lexer`, but reads its input in blocks
+// into a reusable `char[]` and scans it with an int cursor and primitive comparisons.
+public class CharBufferLexer implements ILexer {
+    private static final int DEFAULT_BLOCK_SIZE = 8192;
+    protected static final int NO_CHAR = -1;
+    protected static final int ETX = (char) (-1);
+    private static final byte DIGIT = 1;
+    private static final byte LETTER = 2;
+    private static final byte WHITESPACE = 4;
+    private static final byte[] asciiClasses = new byte[128];
+    private static final HashMap<String, TokenTypeEnum> keywordTokens = new HashMap<>();
+
+    static {
+        for (char c = 0; c < asciiClasses.length; c++) {
+            if (Character.isDigit(c)) {
+                asciiClasses[c] |= DIGIT;
+            }
+            if (Character.isLetter(c)) {
+                asciiClasses[c] |= LETTER;
+            }
+            if (Character.isWhitespace(c)) {
+                asciiClasses[c] |= WHITESPACE;
+            }
+        }
+
+        keywordTokens.put("Int", TokenTypeEnum.INT_KEYWORD);
+        keywordTokens.put("Double", TokenTypeEnum.DOUBLE_KEYWORD);
+        keywordTokens.put("String", TokenTypeEnum.STRING_KEYWORD);
+        keywordTokens.put("Point", TokenTypeEnum.POINT_KEYWORD);
+        keywordTokens.put("Section", TokenTypeEnum.SECTION_KEYWORD);
+        keywordTokens.put("Figure", TokenTypeEnum.FIGURE_KEYWORD);
+        keywordTokens.put("Scene", TokenTypeEnum.SCENE_KEYWORD);
+        keywordTokens.put("Bool", TokenTypeEnum.BOOL_KEYWORD);
+        keywordTokens.put("True", TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD);
+        keywordTokens.put("False", TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD);
+        keywordTokens.put("List", TokenTypeEnum.LIST_KEYWORD);
+        keywordTokens.put("while", TokenTypeEnum.WHILE_KEYWORD);
+        keywordTokens.put("if", TokenTypeEnum.IF_KEYWORD);
+        keywordTokens.put("elseif", TokenTypeEnum.ELSE_IF_KEYWORD);
+        keywordTokens.put("else", TokenTypeEnum.ELSE_KEYWORD);
+        keywordTokens.put("return", TokenTypeEnum.RETURN_KEYWORD);
+        keywordTokens.put("void", TokenTypeEnum.VOID_KEYWORD);
+    }
+
+    private final Reader reader;
+    protected char[] buffer;
+    // `valueBuffer` collects string literal contents, which cannot be sliced
+    // from `buffer` directly because escaping backslashes are dropped.
+    private char[] valueBuffer = new char[64];
+    private int limit = 0;
+    protected int cursor = 0;
+    // `tokenStart` is the buffer index of the first char of the token being scanned.
+    // Chars from that index on are kept in the buffer when it is refilled.
+    protected int tokenStart = -1;
+    private boolean exhausted = false;
+    // `discardedChars` is the number of chars dropped from the front of `buffer`,
+    // so that `discardedChars + cursor` is an offset in the whole input.
+    private int discardedChars = 0;
+    protected int currentChar = NO_CHAR;
+    protected int lineNumber = 1;
+    protected int columnNumber = 0;
+    private SymbolTable symbols = new SymbolTable();
+    protected StringPool identifiers = new StringPool(symbols);
+    private int stringMaxLength = 1000;
+    protected int identifierMaxLength = 1000;
+    private int maxInt = Integer.MAX_VALUE;
+    private double maxDouble = Double.MAX_VALUE;
+    private final DoubleParser doubleParser = new DoubleParser();
+    protected TriviaMode triviaMode = TriviaMode.KEEP_COMMENTS;
+    private final CommentTable comments = new CommentTable();
+    private IDiagnosticsSink diagnostics;
+
+    // description of the last scanned token, materialized by `lexToken()`
+    private TokenTypeEnum tokenType;
+    private int tokenLine;
+    private int tokenColumn;
+    private int tokenIntValue;
+    private double tokenDoubleValue;
+    protected String tokenStringValue;
+    protected int tokenSymbolId;
+    protected int tokenOffset;
+
+    public CharBufferLexer(Reader reader) {
+        this(reader, DEFAULT_BLOCK_SIZE);
+    }
+
+    public CharBufferLexer(Reader reader, int blockSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(blockSize, 1)];
+    }
+
+    // `lineNumber` and `columnNumber` describe the position just before the first char of `reader`,
+    // like `(1, 0)` for the beginning of a file.
+    public CharBufferLexer(Reader reader, int blockSize, int lineNumber, int columnNumber) {
+        this(reader, blockSize);
+        this.lineNumber = lineNumber;
+        this.columnNumber = columnNumber;
+    }
+
+    public void setStringMaxLength(int stringMaxLength) {
+        this.stringMaxLength = stringMaxLength;
+    }
+
+    public void setIdentifierMaxLength(int identifierMaxLength) {
+        this.identifierMaxLength = identifierMaxLength;
+    }
+
+    public void setMaxInt(int maxInt) {
+        this.maxInt = maxInt;
+    }
+
+    public void setMaxDouble(double maxDouble) {
+        this.maxDouble = maxDouble;
+    }
+
+    public void setTriviaMode(TriviaMode triviaMode) {
+        this.triviaMode = triviaMode;
+    }
+
+    // `setSymbolTable` sets the table in which identifiers are interned, shared with other lexers of the same source.
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+        identifiers = new StringPool(symbols);
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    // `getComments` returns the comments skipped in `TriviaMode.RECORD_COMMENTS`.
+    public CommentTable getComments() {
+        return comments;
+    }
+
+    // `setDiagnosticsSink` sets the sink to which every error token is reported,
+    // by `lexToken()` before it is returned and by `lexAll()` as it is stored.
+    public void setDiagnosticsSink(IDiagnosticsSink diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public Token lexToken() {
+        scanToken();
+        Token token = createToken();
+        if (diagnostics != null && tokenType.isError()) {
+            diagnostics.report(token);
+        }
+        return token;
+    }
+
+    private Token createToken() {
+        long position = PackedPosition.pack(tokenLine, tokenColumn);
+        if (tokenType == TokenTypeEnum.INT_VALUE) {
+            return new IntegerToken(tokenIntValue, position);
+        } else if (tokenType == TokenTypeEnum.DOUBLE_VALUE) {
+            return new DoubleToken(tokenDoubleValue, position);
+        } else if (tokenType == TokenTypeEnum.IDENTIFIER) {
+            return new StringToken(tokenStringValue, position, tokenType, tokenSymbolId);
+        } else if (tokenStringValue != null) {
+            return new StringToken(tokenStringValue, position, tokenType);
+        }
+        return new Token(position, tokenType);
+    }
+
+    @Override
+    public TokenBuffer lexAll() {
+        TokenBuffer tokens = new TokenBuffer();
+        while (true) {
+            scanToken();
+            if (diagnostics != null && tokenType.isError()) {
+                diagnostics.report(createToken());
+            }
+
+            if (tokenType == TokenTypeEnum.INT_VALUE) {
+                tokens.addIntToken(tokenIntValue, tokenLine, tokenColumn);
+            } else if (tokenType == TokenTypeEnum.DOUBLE_VALUE) {
+                tokens.addDoubleToken(tokenDoubleValue, tokenLine, tokenColumn);
+            } else if (tokenType == TokenTypeEnum.IDENTIFIER) {
+                tokens.addIdentifierToken(tokenStringValue, tokenSymbolId, tokenLine, tokenColumn);
+            } else if (tokenStringValue != null) {
+                tokens.addStringToken(tokenType, tokenStringValue, tokenLine, tokenColumn);
+            } else {
+                tokens.addToken(tokenType, tokenLine, tokenColumn);
+                if (tokenType == TokenTypeEnum.ETX) {
+                    return tokens;
+                }
+            }
+        }
+    }
+
+    protected void scanToken() {
+        tokenStringValue = null;
+        if (currentChar == NO_CHAR || currentChar == ETX) {
+            nextChar();
+
+            if (currentChar == ETX) {
+                tokenOffset = getCurrentCharOffset();
+                setToken(TokenTypeEnum.ETX, lineNumber, columnNumber);
+                return;
+            }
+        }
+
+        while (isWhitespace(currentChar) || (currentChar == '#' && triviaMode != TriviaMode.KEEP_COMMENTS)) {
+            if (currentChar == '#') {
+                skipComment();
+            } else {
+                nextChar();
+            }
+        }
+        tokenOffset = getCurrentCharOffset();
+
+        int c = currentChar;
+        if (c == ETX) {
+            setToken(TokenTypeEnum.ETX, lineNumber, columnNumber);
+        } else if (isDigit(c)) {
+            scanNumber();
+        } else if (isLetter(c) || c == '_') {
+            scanIdentifierOrKeyword();
+        } else if (c == '"') {
+            scanString();
+        } else if (c == '#') {
+            scanComment();
+        } else {
+            scanSign();
+        }
+    }
+
+    protected void scanNumber() {
+        int line = lineNumber;
+        int column = columnNumber;
+        int value = currentChar - '0';
+        nextChar();
+        while (isDigit(currentChar)) {
+            long extendedValue = value * 10L + (currentChar - '0');
+            if (extendedValue > maxInt) {
+                setToken(TokenTypeEnum.INT_EXCEEDED_RANGE_ERROR, line, column);
+                tokenStringValue = Integer.toString(value);
+                return;
+            }
+            value = (int) extendedValue;
+            nextChar();
+        }
+
+        if (currentChar != '.') {
+            setToken(TokenTypeEnum.INT_VALUE, line, column);
+            tokenIntValue = value;
+            return;
+        }
+
+        nextChar();
+        doubleParser.start(value);
+        doubleParser.startFraction();
+        while (isDigit(currentChar)) {
+            doubleParser.addDigit(currentChar - '0');
+            nextChar();
+        }
+
+        double doubleValue = doubleParser.toDouble();
+        if (doubleValue > maxDouble) {
+            setToken(TokenTypeEnum.DOUBLE_EXCEEDED_RANGE_ERROR, line, column);
+            tokenStringValue = Double.toString(value);
+            return;
+        }
+        setToken(TokenTypeEnum.DOUBLE_VALUE, line, column);
+        tokenDoubleValue = doubleValue;
+    }
+
+    private void scanIdentifierOrKeyword() {
+        int line = lineNumber;
+        int column = columnNumber;
+        tokenStart = cursor - 1;
+        int length = 1;
+        nextChar();
+
+        while ((isLetter(currentChar) || isDigit(currentChar) || currentChar == '_')
+                && length < identifierMaxLength) {
+            length++;
+            nextChar();
+        }
+
+        int symbolId = identifiers.internSymbol(buffer, tokenStart, length);
+        String identifier = identifiers.getName(symbolId);
+        tokenStart = -1;
+        if (length == identifierMaxLength && currentChar != ETX) {
+            setToken(TokenTypeEnum.IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR, line, column);
+            tokenStringValue = identifier;
+            return;
+        }
+
+        TokenTypeEnum keyword = keywordTokens.get(identifier);
+        if (keyword != null) {
+            setToken(keyword, line, column);
+        } else {
+            setToken(TokenTypeEnum.IDENTIFIER, line, column);
+            tokenStringValue = identifier;
+            tokenSymbolId = symbolId;
+        }
+    }
+
+    protected void scanString() {
+        int line = lineNumber;
+        int column = columnNumber;
+        int length = 0;
+        int previousChar = currentChar;
+        nextChar();
+
+        while (!hasStringEndedCorrectly(previousChar) && currentChar != ETX && length < stringMaxLength) {
+            if (currentChar != '\\' || previousChar == '\\') {
+                if (length == valueBuffer.length) {
+                    char[] grownBuffer = new char[valueBuffer.length * 2];
+                    System.arraycopy(valueBuffer, 0, grownBuffer, 0, length);
+                    valueBuffer = grownBuffer;
+                }
+                valueBuffer[length++] = (char) currentChar;
+            }
+            previousChar = currentChar;
+            nextChar();
+        }
+
+        String string = new String(valueBuffer, 0, length);
+        if (length == stringMaxLength && currentChar != ETX) {
+            setToken(TokenTypeEnum.STRING_EXCEEDED_MAXIMUM_LENGTH_ERROR, line, column);
+        } else if (hasStringEndedCorrectly(previousChar)) {
+            nextChar();
+            setToken(TokenTypeEnum.STRING_VALUE, line, column);
+        } else {
+            setToken(TokenTypeEnum.UNCLOSED_QUOTES_ERROR, line, column);
+        }
+        tokenStringValue = string;
+    }
+
+    private boolean hasStringEndedCorrectly(int previousChar) {
+        return previousChar != '\\' && currentChar == '"';
+    }
+
+    protected void scanComment() {
+        int line = lineNumber;
+        int column = columnNumber;
+        tokenStart = cursor - 1;
+        int length = 1;
+        nextChar();
+
+        while (currentChar != '\n' && currentChar != ETX) {
+            length++;
+            nextChar();
+        }
+
+        setToken(TokenTypeEnum.COMMENT, line, column);
+        tokenStringValue = new String(buffer, tokenStart, length);
+        tokenStart = -1;
+    }
+
+    // `skipComment` moves past a comment without copying it, recording its offsets if requested.
+    protected void skipComment() {
+        int start = getCurrentCharOffset();
+        nextChar();
+        while (currentChar != '\n' && currentChar != ETX) {
+            nextChar();
+        }
+
+        if (triviaMode == TriviaMode.RECORD_COMMENTS) {
+            comments.add(start, getCurrentCharOffset());
+        }
+    }
+
+    private void scanSign() {
+        int sign = currentChar;
+        int line = lineNumber;
+        int column = columnNumber;
+        switch (sign) {
+            case ';':
+                scanSingleSign(TokenTypeEnum.SEMICOLON, line, column);
+                break;
+            case ',':
+                scanSingleSign(TokenTypeEnum.COMMA, line, column);
+                break;
+            case '(':
+                scanSingleSign(TokenTypeEnum.LEFT_BRACKET, line, column);
+                break;
+            case ')':
+                scanSingleSign(TokenTypeEnum.RIGHT_BRACKET, line, column);
+                break;
+            case '[':
+                scanSingleSign(TokenTypeEnum.LEFT_SQUARE_BRACKET, line, column);
+                break;
+            case ']':
+                scanSingleSign(TokenTypeEnum.RIGHT_SQUARE_BRACKET, line, column);
+                break;
+            case '{':
+                scanSingleSign(TokenTypeEnum.LEFT_CURLY_BRACKET, line, column);
+                break;
+            case '}':
+                scanSingleSign(TokenTypeEnum.RIGHT_CURLY_BRACKET, line, column);
+                break;
+            case '.':
+                scanSingleSign(TokenTypeEnum.DOT, line, column);
+                break;
+            case '+':
+                scanSingleSign(TokenTypeEnum.ADDITION_OPERATOR, line, column);
+                break;
+            case '-':
+                scanSingleSign(TokenTypeEnum.SUBTRACTION_OPERATOR, line, column);
+                break;
+            case '*':
+                scanSingleSign(TokenTypeEnum.MULTIPLICATION_OPERATOR, line, column);
+                break;
+            case '&':
+                scanOnlyDoubledSign(TokenTypeEnum.AND_OPERATOR, line, column);
+                break;
+            case '|':
+                scanOnlyDoubledSign(TokenTypeEnum.OR_OPERATOR, line, column);
+                break;
+            case '=':
+                scanOneOrTwoSigns(TokenTypeEnum.ASSIGNMENT_OPERATOR, '=', TokenTypeEnum.EQUAL_OPERATOR, line, column);
+                break;
+            case '/':
+                scanOneOrTwoSigns(TokenTypeEnum.DIVISION_OPERATOR, '/', TokenTypeEnum.DISCRETE_DIVISION_OPERATOR, line, column);
+                break;
+            case '<':
+                scanOneOrTwoSigns(TokenTypeEnum.LESS_THAN_OPERATOR, '=', TokenTypeEnum.LESS_OR_EQUAL_OPERATOR, line, column);
+                break;
+            case '>':
+                scanOneOrTwoSigns(TokenTypeEnum.GREATER_THAN_OPERATOR, '=', TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR, line, column);
+                break;
+            case '!':
+                scanOneOrTwoSigns(TokenTypeEnum.NEGATION_OPERATOR, '=', TokenTypeEnum.NOT_EQUAL_OPERATOR, line, column);
+                break;
+            default:
+                scanUnknownChar(line, column);
+        }
+    }
+
+    private void scanSingleSign(TokenTypeEnum type, int line, int column) {
+        nextChar();
+        setToken(type, line, column);
+    }
+
+    private void scanOnlyDoubledSign(TokenTypeEnum typeWhenDoubled, int line, int column) {
+        int sign = currentChar;
+        nextChar();
+        if (currentChar == sign) {
+            nextChar();
+            setToken(typeWhenDoubled, line, column);
+        } else {
+            setToken(TokenTypeEnum.UNKNOWN_CHAR_ERROR, line, column);
+            tokenStringValue = String.valueOf((char) sign);
+        }
+    }
+
+    private void scanOneOrTwoSigns(TokenTypeEnum typeWhenOneSign, int secondSign, TokenTypeEnum typeWhenTwoSigns, int line, int column) {
+        nextChar();
+        if (currentChar == secondSign) {
+            nextChar();
+            setToken(typeWhenTwoSigns, line, column);
+        } else {
+            setToken(typeWhenOneSign, line, column);
+        }
+    }
+
+    // `scanUnknownChar` builds an error token for a char which does not start any token
+    // and moves past it, so that lexing resumes at the next char.
+    protected void scanUnknownChar(int line, int column) {
+        int c = currentChar;
+        nextChar();
+        setToken(TokenTypeEnum.UNKNOWN_CHAR_ERROR, line, column);
+        tokenStringValue = String.valueOf((char) c);
+    }
+
+    // `getTokenOffset` returns the offset in the input of the first char of the last lexed token.
+    public int getTokenOffset() {
+        return tokenOffset;
+    }
+
+    protected int getCurrentCharOffset() {
+        return discardedChars + (currentChar == ETX ? cursor : cursor - 1);
+    }
+
+    protected void setToken(TokenTypeEnum type, int line, int column) {
+        tokenType = type;
+        tokenLine = line;
+        tokenColumn = column;
+    }
+
+    private static boolean isDigit(int c) {
+        if (c < 128) {
+            return (asciiClasses[c] & DIGIT) != 0;
+        }
+        return Character.isDigit(c);
+    }
+
+    private static boolean isLetter(int c) {
+        if (c < 128) {
+            return (asciiClasses[c] & LETTER) != 0;
+        }
+        return Character.isLetter(c);
+    }
+
+    private static boolean isWhitespace(int c) {
+        if (c < 128) {
+            return (asciiClasses[c] & WHITESPACE) != 0;
+        }
+        return Character.isWhitespace(c);
+    }
+
+    protected void nextChar() {
+        if (cursor < limit || fillBuffer()) {
+            currentChar = buffer[cursor++];
+        } else {
+            currentChar = ETX;
+        }
+
+        if (currentChar == '\n') {
+            lineNumber++;
+            columnNumber = 0;
+        } else {
+            columnNumber++;
+        }
+    }
+
+    private boolean fillBuffer() {
+        if (exhausted) {
+            return false;
+        }
+
+        int keptFrom = tokenStart >= 0 ? tokenStart : cursor;
+        int keptLength = limit - keptFrom;
+        if (keptFrom > 0) {
+            System.arraycopy(buffer, keptFrom, buffer, 0, keptLength);
+        } else if (keptLength == buffer.length) {
+            char[] grownBuffer = new char[buffer.length * 2];
+            System.arraycopy(buffer, 0, grownBuffer, 0, keptLength);
+            buffer = grownBuffer;
+        }
+        if (tokenStart >= 0) {
+            tokenStart = 0;
+        }
+        cursor -= keptFrom;
+        discardedChars += keptFrom;
+        limit = keptLength;
+
+        try {
+            int readChars = 0;
+            while (readChars == 0) {
+                readChars = reader.read(buffer, limit, buffer.length - limit);
+            }
+            if (readChars < 0) {
+                exhausted = true;
+                return false;
+            }
+            limit += readChars;
+            return true;
+        } catch (IOException e) {
+            exhausted = true;
+            return false;
+        }
+    }
+}
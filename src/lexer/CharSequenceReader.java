@@ -0,0 +1,51 @@
+package lexer;
+
+import java.io.Reader;
+
+// `CharSequenceReader` reads a range of a `CharSequence` without copying it first.
+public class CharSequenceReader extends Reader {
+    private final CharSequence chars;
+    private final int end;
+    private int position;
+
+    public CharSequenceReader(CharSequence chars) {
+        this(chars, 0);
+    }
+
+    public CharSequenceReader(CharSequence chars, int offset) {
+        this(chars, offset, chars.length());
+    }
+
+    public CharSequenceReader(CharSequence chars, int offset, int end) {
+        this.chars = chars;
+        this.position = offset;
+        this.end = end;
+    }
+
+    @Override
+    public int read() {
+        return position < end ? chars.charAt(position++) : -1;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+        if (position >= end) {
+            return -1;
+        }
+
+        int readChars = Math.min(length, end - position);
+        if (chars instanceof String string) {
+            string.getChars(position, position + readChars, buffer, offset);
+        } else {
+            for (int i = 0; i < readChars; i++) {
+                buffer[offset + i] = chars.charAt(position + i);
+            }
+        }
+        position += readChars;
+        return readChars;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,38 @@
+package lexer;
+
+import java.util.Arrays;
+
+// `CommentTable` records the comments skipped in `TriviaMode.RECORD_COMMENTS` as offsets only.
+// A comment spans from its `#` up to, but not including, the new line or the end of input.
+// Offsets count chars of the input, or bytes for `ByteBufferLexer`.
+public class CommentTable {
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int size = 0;
+
+    public void add(int start, int end) {
+        if (size == starts.length) {
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStart(int index) {
+        return starts[index];
+    }
+
+    public int getEnd(int index) {
+        return ends[index];
+    }
+}
@@ -0,0 +1,176 @@
+package lexer;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// `DoubleParser` converts the digits of a double literal to the nearest double, reading each digit once.
+// The first 19 significant digits are kept in a `long` significand with a decimal exponent.
+// Small significands and exponents are converted exactly with a single double operation (Clinger),
+// the others with the Eisel-Lemire algorithm, which multiplies the significand by a 128-bit power of five.
+// In the rare cases which Eisel-Lemire cannot round with certainty, the literal is converted with `BigDecimal`.
+public class DoubleParser {
+    private static final long MAX_SIGNIFICAND = (Long.MAX_VALUE - 9) / 10;
+    private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+    private static final int MAX_EXACT_EXPONENT = 22;
+    private static final int MIN_EXPONENT = -342;
+    private static final int MAX_EXPONENT = 308;
+    private static final double[] exactPowersOfTen = new double[MAX_EXACT_EXPONENT + 1];
+    // `powersOfFive` holds the high and low 64 bits of the 128-bit normalized powers of five
+    // from 5^-342 to 5^308, truncated for non-negative and rounded up for negative exponents
+    private static final long[] powersOfFive = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+    private static final BigInteger TWO_TO_128 = BigInteger.ONE.shiftLeft(128);
+
+    static {
+        exactPowersOfTen[0] = 1.0;
+        for (int i = 1; i <= MAX_EXACT_EXPONENT; i++) {
+            exactPowersOfTen[i] = exactPowersOfTen[i - 1] * 10.0;
+        }
+
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger divisor = five.pow(-q);
+                int z = divisor.bitLength();
+                int b = q >= -27 ? z + 127 : 2 * z + 128;
+                power = BigInteger.ONE.shiftLeft(b).divide(divisor).add(BigInteger.ONE);
+                while (power.compareTo(TWO_TO_128) >= 0) {
+                    power = power.shiftRight(1);
+                }
+            } else {
+                power = five.pow(q);
+                power = power.bitLength() < 128 ? power.shiftLeft(128 - power.bitLength()) : power.shiftRight(power.bitLength() - 128);
+            }
+            int index = 2 * (q - MIN_EXPONENT);
+            powersOfFive[index] = power.shiftRight(64).longValue();
+            powersOfFive[index + 1] = power.longValue();
+        }
+    }
+
+    private long significand;
+    private int exponent;
+    // digits which did not fit into `significand`, kept only for the `BigDecimal` fallback
+    private final StringBuilder droppedDigits = new StringBuilder();
+    private boolean fraction;
+
+    // `start` begins a new literal with its integer part, which the lexers parse as an `int`.
+    public void start(int integerPart) {
+        significand = integerPart;
+        exponent = 0;
+        droppedDigits.setLength(0);
+        fraction = false;
+    }
+
+    // `startFraction` marks the decimal point; following digits are fractional.
+    public void startFraction() {
+        fraction = true;
+    }
+
+    public void addDigit(int digit) {
+        if (droppedDigits.length() == 0 && significand <= MAX_SIGNIFICAND) {
+            significand = significand * 10 + digit;
+            if (fraction) {
+                exponent--;
+            }
+        } else {
+            droppedDigits.append((char) ('0' + digit));
+            if (!fraction) {
+                exponent++;
+            }
+        }
+    }
+
+    public double toDouble() {
+        if (droppedDigits.length() == 0
+                && significand <= MAX_EXACT_SIGNIFICAND
+                && exponent >= -MAX_EXACT_EXPONENT && exponent <= MAX_EXACT_EXPONENT) {
+            return exponent < 0 ? significand / exactPowersOfTen[-exponent] : significand * exactPowersOfTen[exponent];
+        }
+
+        double value = eiselLemire(significand, exponent);
+        if (droppedDigits.length() > 0 && !isZero(droppedDigits) && value == value) {
+            // the dropped digits lie between the significand and the next one up;
+            // the result is certain only if both round to the same double
+            double upperValue = eiselLemire(significand + 1, exponent);
+            if (upperValue != value) {
+                value = Double.NaN;
+            }
+        }
+        return value == value ? value : toDoubleExactly();
+    }
+
+    private double toDoubleExactly() {
+        BigDecimal digits = new BigDecimal(significand + droppedDigits.toString());
+        int scale = droppedDigits.length() - exponent;
+        return digits.scaleByPowerOfTen(-scale).doubleValue();
+    }
+
+    private static boolean isZero(CharSequence digits) {
+        for (int i = 0; i < digits.length(); i++) {
+            if (digits.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // `eiselLemire` returns the double nearest to `w * 10^q`, or `NaN` when it cannot be rounded with certainty.
+    static double eiselLemire(long w, int q) {
+        if (w == 0 || q < MIN_EXPONENT) {
+            return 0.0;
+        } else if (q > MAX_EXPONENT) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(w);
+        w <<= leadingZeros;
+        int index = 2 * (q - MIN_EXPONENT);
+        long high = unsignedMultiplyHigh(w, powersOfFive[index]);
+        long low = w * powersOfFive[index];
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = unsignedMultiplyHigh(w, powersOfFive[index + 1]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+            if (low == -1L && (q < -27 || q > 55)) {
+                return Double.NaN;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        long mantissa = high >>> (upperBit + 9);
+        int power2 = (((152170 + 65536) * q) >> 16) + 63 + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            if (-power2 + 1 >= 64) {
+                return 0.0;
+            }
+            mantissa >>>= -power2 + 1;
+            mantissa += mantissa & 1;
+            mantissa >>>= 1;
+            power2 = mantissa < (1L << 52) ? 0 : 1;
+            return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+        }
+
+        if (Long.compareUnsigned(low, 1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+                && (mantissa << (upperBit + 9)) == high) {
+            // exactly halfway between two doubles, rounded to even
+            mantissa &= ~1L;
+        }
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+        if (mantissa >= (2L << 52)) {
+            mantissa = 1L << 52;
+            power2++;
+        }
+        mantissa &= ~(1L << 52);
+        if (power2 >= 0x7FF) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Double.longBitsToDouble(mantissa | ((long) power2 << 52));
+    }
+
+    private static long unsignedMultiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
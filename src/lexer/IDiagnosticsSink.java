@@ -0,0 +1,9 @@
+package lexer;
+
+import lexer.tokens.Token;
+
+// `IDiagnosticsSink` receives the error tokens of a lexer in input order.
+// The lexers report an error and carry on, so a single pass reports all lexical errors of a file.
+public interface IDiagnosticsSink {
+    void report(Token errorToken);
+}
@@ -4,4 +4,15 @@ import lexer.tokens.Token;
 
 public interface ILexer {
     Token lexToken();
+
+    // `lexAll` lexes the whole input up to `ETX`, which every lexer returns at the end of input.
+    default TokenBuffer lexAll() {
+        TokenBuffer tokens = new TokenBuffer();
+        Token token;
+        do {
+            token = lexToken();
+            tokens.add(token);
+        } while (token.getTokenType() != TokenTypeEnum.ETX);
+        return tokens;
+    }
 }
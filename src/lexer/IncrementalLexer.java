@@ -0,0 +1,337 @@
+package lexer;
+
+import lexer.tokens.DoubleToken;
+import lexer.tokens.IntegerToken;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// `IncrementalLexer` keeps the source text together with its tokens and their offsets.
+// After an edit, lexing restarts at the beginning of the last token that starts before the edit,
+// as the lexer holds no state between tokens. It stops as soon as a token lexed after the edit
+// starts where an old token started; the remaining old tokens are kept.
+//
+// Both the text and the tokens are kept in gap buffers with the gap at the last edit.
+// Tokens after the gap store their offset and line relative to the end of the text,
+// so they are shifted by an edit without being visited. Only the columns of tokens
+// on the line where the edit ends are updated.
+// Names are interned in one `SymbolTable` for all edits, so a kept token has the same id as a relexed one.
+public class IncrementalLexer {
+    private static final int BLOCK_SIZE = 1024;
+    private static final TokenTypeEnum[] tokenTypes = TokenTypeEnum.values();
+
+    private final GapText text;
+    private final SymbolTable symbols = new SymbolTable();
+    private int lineCount;
+    private int[] offsets = new int[64];
+    // token type ordinals
+    private int[] types = new int[64];
+    private int[] lines = new int[64];
+    private int[] columns = new int[64];
+    private Object[] values = new Object[64];
+    private int[] symbolIds = new int[64];
+    private int gapStart = 0;
+    private int gapEnd = 64;
+    private int relexedTokenCount = 0;
+
+    public IncrementalLexer(String text) {
+        this.text = new GapText(text);
+        lineCount = 1 + countNewLines(text);
+        relex(0, 1, 0, 0);
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    public int size() {
+        return gapStart + offsets.length - gapEnd;
+    }
+
+    // `getRelexedTokenCount` returns the number of tokens lexed by the last edit.
+    public int getRelexedTokenCount() {
+        return relexedTokenCount;
+    }
+
+    public int getTokenOffset(int index) {
+        return index < gapStart ? offsets[index] : offsets[toSlot(index)] + text.length();
+    }
+
+    private int getLineNumber(int index) {
+        return index < gapStart ? lines[index] : lines[toSlot(index)] + lineCount;
+    }
+
+    public Token getToken(int index) {
+        int slot = toSlot(index);
+        TokenTypeEnum type = tokenTypes[types[slot]];
+        long position = PackedPosition.pack(getLineNumber(index), columns[slot]);
+        Object value = values[slot];
+        if (value == null) {
+            return new Token(position, type);
+        } else if (type == TokenTypeEnum.INT_VALUE) {
+            return new IntegerToken((Integer) value, position);
+        } else if (type == TokenTypeEnum.DOUBLE_VALUE) {
+            return new DoubleToken((Double) value, position);
+        }
+        return new StringToken((String) value, position, type, symbolIds[slot]);
+    }
+
+    public List<Token> getTokens() {
+        ArrayList<Token> tokens = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            tokens.add(getToken(i));
+        }
+        return tokens;
+    }
+
+    public TokenBuffer toTokenBuffer() {
+        TokenBuffer tokens = new TokenBuffer();
+        for (int i = 0; i < size(); i++) {
+            tokens.add(getToken(i));
+        }
+        return tokens;
+    }
+
+    public void edit(int offset, int removedLength, String insertedText) {
+        if (offset < 0 || removedLength < 0 || offset + removedLength > text.length()) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Edit at offset %d removing %d chars in text of length %d", offset, removedLength, text.length())
+            );
+        }
+
+        int restartIndex = findRestartIndex(offset);
+        int restartOffset = 0;
+        int restartLine = 1;
+        int restartColumn = 0;
+        if (restartIndex >= 0) {
+            restartOffset = getTokenOffset(restartIndex);
+            restartLine = getLineNumber(restartIndex);
+            restartColumn = columns[toSlot(restartIndex)] - 1;
+        }
+
+        moveGap(Math.max(restartIndex, 0));
+        lineCount += countNewLines(insertedText) - text.replace(offset, removedLength, insertedText);
+        relex(restartOffset, restartLine, restartColumn, offset + insertedText.length());
+    }
+
+    // `findRestartIndex` returns the index of the last token starting before `offset`,
+    // or -1 when lexing has to start from the beginning.
+    // A token ending right at `offset` is lexed again too, as the edit can extend it.
+    private int findRestartIndex(int offset) {
+        int low = 0;
+        int high = size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (getTokenOffset(middle) < offset) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    // `relex` lexes from the first token after the gap, which is dropped
+    // along with following old tokens until the new tokens resynchronize.
+    private void relex(int restartOffset, int lineNumber, int columnNumber, int editEnd) {
+        TableDrivenLexer lexer = new TableDrivenLexer(new CharSequenceReader(text, restartOffset), BLOCK_SIZE, lineNumber, columnNumber);
+        lexer.setSymbolTable(symbols);
+        relexedTokenCount = 0;
+        while (true) {
+            Token token = lexer.lexToken();
+            int tokenOffset = restartOffset + lexer.getTokenOffset();
+            if (tokenOffset >= editEnd && resynchronize(token, tokenOffset)) {
+                return;
+            }
+
+            insertToken(token, tokenOffset);
+            relexedTokenCount++;
+            if (token.getTokenType() == TokenTypeEnum.ETX) {
+                break;
+            }
+        }
+        while (gapEnd < offsets.length) {
+            values[gapEnd++] = null;
+        }
+    }
+
+    private boolean resynchronize(Token token, int tokenOffset) {
+        int relativeOffset = tokenOffset - text.length();
+        while (gapEnd < offsets.length && offsets[gapEnd] < relativeOffset) {
+            values[gapEnd++] = null;
+        }
+        if (gapEnd == offsets.length || offsets[gapEnd] != relativeOffset || types[gapEnd] != token.getTokenType().ordinal()) {
+            return false;
+        }
+
+        int line = lines[gapEnd];
+        int columnDelta = PackedPosition.getColumnNumber(token.getPackedPosition()) - columns[gapEnd];
+        for (int slot = gapEnd; slot < offsets.length && lines[slot] == line; slot++) {
+            columns[slot] += columnDelta;
+        }
+        return true;
+    }
+
+    private void insertToken(Token token, int offset) {
+        if (gapStart == gapEnd) {
+            growGap();
+        }
+
+        offsets[gapStart] = offset;
+        types[gapStart] = token.getTokenType().ordinal();
+        lines[gapStart] = PackedPosition.getLineNumber(token.getPackedPosition());
+        columns[gapStart] = PackedPosition.getColumnNumber(token.getPackedPosition());
+        values[gapStart] = token.getValue();
+        symbolIds[gapStart] = token instanceof StringToken stringToken ? stringToken.getSymbolId() : SymbolTable.NO_ID;
+        gapStart++;
+    }
+
+    // `moveGap` moves the gap to the logical `index`, converting moved tokens
+    // between absolute and end-relative offsets and lines.
+    private void moveGap(int index) {
+        int textLength = text.length();
+        while (gapStart > index) {
+            gapStart--;
+            gapEnd--;
+            moveSlot(gapStart, gapEnd, -textLength, -lineCount);
+        }
+        while (gapStart < index) {
+            moveSlot(gapEnd, gapStart, textLength, lineCount);
+            gapStart++;
+            gapEnd++;
+        }
+    }
+
+    // `from` equals `to` when the gap is empty, so the value is cleared before it is stored
+    private void moveSlot(int from, int to, int offsetDelta, int lineDelta) {
+        offsets[to] = offsets[from] + offsetDelta;
+        types[to] = types[from];
+        lines[to] = lines[from] + lineDelta;
+        columns[to] = columns[from];
+        symbolIds[to] = symbolIds[from];
+        Object value = values[from];
+        values[from] = null;
+        values[to] = value;
+    }
+
+    private void growGap() {
+        int capacity = offsets.length * 2;
+        int tailLength = offsets.length - gapEnd;
+        int newGapEnd = capacity - tailLength;
+        offsets = grow(offsets, capacity, newGapEnd);
+        types = grow(types, capacity, newGapEnd);
+        lines = grow(lines, capacity, newGapEnd);
+        columns = grow(columns, capacity, newGapEnd);
+        symbolIds = grow(symbolIds, capacity, newGapEnd);
+        Object[] grownValues = new Object[capacity];
+        System.arraycopy(values, 0, grownValues, 0, gapStart);
+        System.arraycopy(values, gapEnd, grownValues, newGapEnd, tailLength);
+        values = grownValues;
+        gapEnd = newGapEnd;
+    }
+
+    private int[] grow(int[] array, int capacity, int newGapEnd) {
+        int[] grownArray = new int[capacity];
+        System.arraycopy(array, 0, grownArray, 0, gapStart);
+        System.arraycopy(array, gapEnd, grownArray, newGapEnd, array.length - gapEnd);
+        return grownArray;
+    }
+
+    private int toSlot(int index) {
+        return index < gapStart ? index : index + gapEnd - gapStart;
+    }
+
+    private static int countNewLines(CharSequence chars) {
+        int newLines = 0;
+        for (int i = 0; i < chars.length(); i++) {
+            if (chars.charAt(i) == '\n') {
+                newLines++;
+            }
+        }
+        return newLines;
+    }
+
+    // `GapText` is the edited text, with a gap at the last edit.
+    private static class GapText implements CharSequence {
+        private char[] chars;
+        private int gapStart;
+        private int gapEnd;
+
+        GapText(String text) {
+            chars = new char[Math.max(text.length() * 2, 16)];
+            text.getChars(0, text.length(), chars, 0);
+            gapStart = text.length();
+            gapEnd = chars.length;
+        }
+
+        // `replace` returns the number of removed new lines.
+        int replace(int offset, int removedLength, String insertedText) {
+            moveGap(offset);
+            int removedNewLines = 0;
+            for (int i = gapEnd; i < gapEnd + removedLength; i++) {
+                if (chars[i] == '\n') {
+                    removedNewLines++;
+                }
+            }
+            gapEnd += removedLength;
+
+            if (gapEnd - gapStart < insertedText.length()) {
+                int tailLength = chars.length - gapEnd;
+                char[] grownChars = new char[(length() + insertedText.length()) * 2];
+                System.arraycopy(chars, 0, grownChars, 0, gapStart);
+                System.arraycopy(chars, gapEnd, grownChars, grownChars.length - tailLength, tailLength);
+                chars = grownChars;
+                gapEnd = grownChars.length - tailLength;
+            }
+            insertedText.getChars(0, insertedText.length(), chars, gapStart);
+            gapStart += insertedText.length();
+            return removedNewLines;
+        }
+
+        private void moveGap(int offset) {
+            if (offset < gapStart) {
+                int movedLength = gapStart - offset;
+                System.arraycopy(chars, offset, chars, gapEnd - movedLength, movedLength);
+                gapStart -= movedLength;
+                gapEnd -= movedLength;
+            } else if (offset > gapStart) {
+                int movedLength = offset - gapStart;
+                System.arraycopy(chars, gapEnd, chars, gapStart, movedLength);
+                gapStart += movedLength;
+                gapEnd += movedLength;
+            }
+        }
+
+        @Override
+        public int length() {
+            return chars.length - (gapEnd - gapStart);
+        }
+
+        @Override
+        public char charAt(int index) {
+            return index < gapStart ? chars[index] : chars[index + gapEnd - gapStart];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            StringBuilder builder = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                builder.append(charAt(i));
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, length()).toString();
+        }
+    }
+}
@@ -4,94 +4,130 @@ import lexer.tokens.*;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+// The lookup tables below are built once and shared by all `Lexer` instances.
+// A `Lexer` can be reused for another input with `reset()`, which keeps its settings and buffers,
+// but starts a new `SymbolTable`, as the names of the previous input are not needed any more.
 public class Lexer implements ILexer {
-    private final BufferedReader bufferedReader;
-    private final Position carriagePosition;
-    private final HashMap<String, TokenTypeEnum> keywordTokens = new HashMap<>();
+    private static final Map<String, TokenTypeEnum> keywordTokens = initKeywordTokens();
     // `singleSignTokens` is a map of tokens that cannot be duplicated
     // and those signs are valid tokens only when they occur as a single sign.
-    private final HashMap<Character, TokenTypeEnum> singleSignTokens = new HashMap<>();
+    private static final Map<Character, TokenTypeEnum> singleSignTokens = initSingleSignTokens();
     // `singleOrDoubledSignTokens` is a map of tokens that can be duplicated
     // but those signs are valid tokens when they occur as a single or doubled sign.
-    private final HashMap<Character, DoubledSignTokenType> singleOrDoubledSignTokens = new HashMap<>();
+    private static final Map<Character, DoubledSignTokenType> singleOrDoubledSignTokens = initSingleOrDoubledSignTokens();
     // `doubledSignTokens` is a map of tokens that have be duplicated
     // in order to be valid tokens.
     // They are valid only when they occur as a doubled sign.
-    private final HashMap<Character, DoubledSignTokenType> doubledSignTokens = new HashMap<>();
+    private static final Map<Character, DoubledSignTokenType> doubledSignTokens = initDoubledSignTokens();
     // `complexSignTokens` represent valid tokens that can be composed of one or two signs.
     // When they are composed od two signs, those signs are different
-    private final ArrayList<ComplexSignTokenType> complexSignTokens = new ArrayList<>();
+    private static final List<ComplexSignTokenType> complexSignTokens = initComplexSignTokens();
+    private Reader reader;
+    private int carriageLine = 1;
+    private int carriageColumn = 0;
     private Character currentChar = null;
     private int stringMaxLength = 1000;
     private int identifierMaxLength = 1000;
     private int maxInt = Integer.MAX_VALUE;
     private double maxDouble = Double.MAX_VALUE;
+    private final DoubleParser doubleParser = new DoubleParser();
+    private TriviaMode triviaMode = TriviaMode.KEEP_COMMENTS;
+    private final CommentTable comments = new CommentTable();
+    // `readChars` is the number of chars read so far, used for the offsets of recorded comments
+    private int readChars = 0;
+    private IDiagnosticsSink diagnostics;
+    private SymbolTable symbols = new SymbolTable();
     private Token token;
 
     public Lexer(BufferedReader bufferedReader) {
-        this.bufferedReader = bufferedReader;
-        carriagePosition = new Position(1, 0);
-        initKeywordTokens();
-        initSingleSignTokens();
-        initSingleOrDoubledSignTokens();
-        initDoubledSignTokens();
-        initComplexSignTokens();
-    }
-
-    private void initKeywordTokens() {
-        keywordTokens.put("Int", TokenTypeEnum.INT_KEYWORD);
-        keywordTokens.put("Double", TokenTypeEnum.DOUBLE_KEYWORD);
-        keywordTokens.put("String", TokenTypeEnum.STRING_KEYWORD);
-        keywordTokens.put("Point", TokenTypeEnum.POINT_KEYWORD);
-        keywordTokens.put("Section", TokenTypeEnum.SECTION_KEYWORD);
-        keywordTokens.put("Figure", TokenTypeEnum.FIGURE_KEYWORD);
-        keywordTokens.put("Scene", TokenTypeEnum.SCENE_KEYWORD);
-        keywordTokens.put("Bool", TokenTypeEnum.BOOL_KEYWORD);
-        keywordTokens.put("True", TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD);
-        keywordTokens.put("False", TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD);
-        keywordTokens.put("List", TokenTypeEnum.LIST_KEYWORD);
-        keywordTokens.put("while", TokenTypeEnum.WHILE_KEYWORD);
-        keywordTokens.put("if", TokenTypeEnum.IF_KEYWORD);
-        keywordTokens.put("elseif", TokenTypeEnum.ELSE_IF_KEYWORD);
-        keywordTokens.put("else", TokenTypeEnum.ELSE_KEYWORD);
-        keywordTokens.put("return", TokenTypeEnum.RETURN_KEYWORD);
-        keywordTokens.put("void", TokenTypeEnum.VOID_KEYWORD);
-    }
-
-    private void initSingleSignTokens() {
-        singleSignTokens.put(';', TokenTypeEnum.SEMICOLON);
-        singleSignTokens.put(',', TokenTypeEnum.COMMA);
-        singleSignTokens.put('(', TokenTypeEnum.LEFT_BRACKET);
-        singleSignTokens.put(')', TokenTypeEnum.RIGHT_BRACKET);
-        singleSignTokens.put('[', TokenTypeEnum.LEFT_SQUARE_BRACKET);
-        singleSignTokens.put(']', TokenTypeEnum.RIGHT_SQUARE_BRACKET);
-        singleSignTokens.put('{', TokenTypeEnum.LEFT_CURLY_BRACKET);
-        singleSignTokens.put('}', TokenTypeEnum.RIGHT_CURLY_BRACKET);
-        singleSignTokens.put('.', TokenTypeEnum.DOT);
+        this.reader = bufferedReader;
+    }
+
+    private static Map<String, TokenTypeEnum> initKeywordTokens() {
+        HashMap<String, TokenTypeEnum> tokens = new HashMap<>();
+        tokens.put("Int", TokenTypeEnum.INT_KEYWORD);
+        tokens.put("Double", TokenTypeEnum.DOUBLE_KEYWORD);
+        tokens.put("String", TokenTypeEnum.STRING_KEYWORD);
+        tokens.put("Point", TokenTypeEnum.POINT_KEYWORD);
+        tokens.put("Section", TokenTypeEnum.SECTION_KEYWORD);
+        tokens.put("Figure", TokenTypeEnum.FIGURE_KEYWORD);
+        tokens.put("Scene", TokenTypeEnum.SCENE_KEYWORD);
+        tokens.put("Bool", TokenTypeEnum.BOOL_KEYWORD);
+        tokens.put("True", TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD);
+        tokens.put("False", TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD);
+        tokens.put("List", TokenTypeEnum.LIST_KEYWORD);
+        tokens.put("while", TokenTypeEnum.WHILE_KEYWORD);
+        tokens.put("if", TokenTypeEnum.IF_KEYWORD);
+        tokens.put("elseif", TokenTypeEnum.ELSE_IF_KEYWORD);
+        tokens.put("else", TokenTypeEnum.ELSE_KEYWORD);
+        tokens.put("return", TokenTypeEnum.RETURN_KEYWORD);
+        tokens.put("void", TokenTypeEnum.VOID_KEYWORD);
+        return Collections.unmodifiableMap(tokens);
+    }
+
+    private static Map<Character, TokenTypeEnum> initSingleSignTokens() {
+        HashMap<Character, TokenTypeEnum> tokens = new HashMap<>();
+        tokens.put(';', TokenTypeEnum.SEMICOLON);
+        tokens.put(',', TokenTypeEnum.COMMA);
+        tokens.put('(', TokenTypeEnum.LEFT_BRACKET);
+        tokens.put(')', TokenTypeEnum.RIGHT_BRACKET);
+        tokens.put('[', TokenTypeEnum.LEFT_SQUARE_BRACKET);
+        tokens.put(']', TokenTypeEnum.RIGHT_SQUARE_BRACKET);
+        tokens.put('{', TokenTypeEnum.LEFT_CURLY_BRACKET);
+        tokens.put('}', TokenTypeEnum.RIGHT_CURLY_BRACKET);
+        tokens.put('.', TokenTypeEnum.DOT);
 
         // Arithmetic Operators
-        singleSignTokens.put('+', TokenTypeEnum.ADDITION_OPERATOR);
-        singleSignTokens.put('-', TokenTypeEnum.SUBTRACTION_OPERATOR);
-        singleSignTokens.put('*', TokenTypeEnum.MULTIPLICATION_OPERATOR);
+        tokens.put('+', TokenTypeEnum.ADDITION_OPERATOR);
+        tokens.put('-', TokenTypeEnum.SUBTRACTION_OPERATOR);
+        tokens.put('*', TokenTypeEnum.MULTIPLICATION_OPERATOR);
+        return Collections.unmodifiableMap(tokens);
+    }
+
+    private static Map<Character, DoubledSignTokenType> initSingleOrDoubledSignTokens() {
+        HashMap<Character, DoubledSignTokenType> tokens = new HashMap<>();
+        tokens.put('=', new DoubledSignTokenType(TokenTypeEnum.ASSIGNMENT_OPERATOR, TokenTypeEnum.EQUAL_OPERATOR));
+        tokens.put('/', new DoubledSignTokenType(TokenTypeEnum.DIVISION_OPERATOR, TokenTypeEnum.DISCRETE_DIVISION_OPERATOR));
+        return Collections.unmodifiableMap(tokens);
     }
 
-    private void initSingleOrDoubledSignTokens() {
-        singleOrDoubledSignTokens.put('=', new DoubledSignTokenType(TokenTypeEnum.ASSIGNMENT_OPERATOR, TokenTypeEnum.EQUAL_OPERATOR));
-        singleOrDoubledSignTokens.put('/', new DoubledSignTokenType(TokenTypeEnum.DIVISION_OPERATOR, TokenTypeEnum.DISCRETE_DIVISION_OPERATOR));
+    private static Map<Character, DoubledSignTokenType> initDoubledSignTokens() {
+        HashMap<Character, DoubledSignTokenType> tokens = new HashMap<>();
+        tokens.put('&', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.AND_OPERATOR));
+        tokens.put('|', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.OR_OPERATOR));
+        return Collections.unmodifiableMap(tokens);
     }
 
-    private void initDoubledSignTokens() {
-        doubledSignTokens.put('&', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.AND_OPERATOR));
-        doubledSignTokens.put('|', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.OR_OPERATOR));
+    private static List<ComplexSignTokenType> initComplexSignTokens() {
+        ArrayList<ComplexSignTokenType> tokens = new ArrayList<>();
+        tokens.add(new ComplexSignTokenType('<', TokenTypeEnum.LESS_THAN_OPERATOR, '=', TokenTypeEnum.LESS_OR_EQUAL_OPERATOR));
+        tokens.add(new ComplexSignTokenType('>', TokenTypeEnum.GREATER_THAN_OPERATOR, '=', TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR));
+        tokens.add(new ComplexSignTokenType('!', TokenTypeEnum.NEGATION_OPERATOR, '=', TokenTypeEnum.NOT_EQUAL_OPERATOR));
+        return Collections.unmodifiableList(tokens);
     }
 
-    private void initComplexSignTokens() {
-        complexSignTokens.add(new ComplexSignTokenType('<', TokenTypeEnum.LESS_THAN_OPERATOR, '=', TokenTypeEnum.LESS_OR_EQUAL_OPERATOR));
-        complexSignTokens.add(new ComplexSignTokenType('>', TokenTypeEnum.GREATER_THAN_OPERATOR, '=', TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR));
-        complexSignTokens.add(new ComplexSignTokenType('!', TokenTypeEnum.NEGATION_OPERATOR, '=', TokenTypeEnum.NOT_EQUAL_OPERATOR));
+    // `reset` starts lexing `reader` from its beginning. For a `Reader` other than
+    // `CharSequenceReader` a buffered one should be passed, as chars are read one by one.
+    public void reset(Reader reader) {
+        this.reader = reader;
+        carriageLine = 1;
+        carriageColumn = 0;
+        currentChar = null;
+        readChars = 0;
+        comments.clear();
+        symbols = new SymbolTable();
+        token = null;
+    }
+
+    public void reset(CharSequence text) {
+        reset(new CharSequenceReader(text));
     }
 
     public void setStringMaxLength(int stringMaxLength) {
@@ -110,31 +146,69 @@ public class Lexer implements ILexer {
         this.maxDouble = maxDouble;
     }
 
+    public void setTriviaMode(TriviaMode triviaMode) {
+        this.triviaMode = triviaMode;
+    }
+
+    // `setSymbolTable` sets the table in which identifiers are interned, until the next `reset()`.
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    // `getComments` returns the comments skipped in `TriviaMode.RECORD_COMMENTS`.
+    public CommentTable getComments() {
+        return comments;
+    }
+
+    // `setDiagnosticsSink` sets the sink to which every error token is reported before it is returned.
+    public void setDiagnosticsSink(IDiagnosticsSink diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
     @Override
     public Token lexToken() {
+        Token lexedToken = buildToken();
+        if (diagnostics != null && lexedToken.getTokenType().isError()) {
+            diagnostics.report(lexedToken);
+        }
+        return lexedToken;
+    }
+
+    private Token buildToken() {
         if (currentChar == null || isCurrentCharEqualETX()) {
             nextChar();
 
             if (currentChar == null || isCurrentCharEqualETX()) {
-                return new Token(carriagePosition, TokenTypeEnum.ETX);
+                return new Token(carriagePosition(), TokenTypeEnum.ETX);
             }
         }
 
-        while (Character.isWhitespace(currentChar)) {
-            nextChar();
+        while (Character.isWhitespace(currentChar) || (currentChar.equals('#') && triviaMode != TriviaMode.KEEP_COMMENTS)) {
+            if (currentChar.equals('#')) {
+                skipComment();
+            } else {
+                nextChar();
+            }
+        }
+        if (isCurrentCharEqualETX()) {
+            return new Token(carriagePosition(), TokenTypeEnum.ETX);
         }
-        if (tryBuildNumber()
+
+        if (!(tryBuildNumber()
                 || tryBuildIdentifierOrKeyword()
                 || tryBuildString()
                 || tryBuildComment()
                 || tryBuildOnlySingleSignToken()
                 || tryBuildOnlyDoubledSignToken()
                 || tryBuildSingleOrDoubledSignToken()
-                || tryBuildOneOrTwoSignsToken()) {
-            return token;
+                || tryBuildOneOrTwoSignsToken())) {
+            buildUnknownCharToken();
         }
-
-        return null;
+        return token;
     }
 
     private boolean tryBuildNumber() {
@@ -143,7 +217,7 @@ public class Lexer implements ILexer {
         }
 
         int value = currentChar - '0';
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
         while (Character.isDigit(currentChar)) {
             try {
@@ -165,26 +239,18 @@ public class Lexer implements ILexer {
         if (currentChar.equals('.')) {
             nextChar();
 
-            int decimalValue = 0;
-            int digitsAfterDecimalPoint = 0;
+            doubleParser.start(value);
+            doubleParser.startFraction();
             while (Character.isDigit(currentChar)) {
-                try {
-                    int currentDigit = currentChar - '0';
-                    if (value + ((decimalValue * 10 + currentDigit) / Math.pow(10, digitsAfterDecimalPoint + 1)) <= maxDouble) {
-                        decimalValue = Math.multiplyExact(decimalValue, 10);
-                        decimalValue = Math.addExact(decimalValue, currentDigit);
-                        digitsAfterDecimalPoint++;
-                    } else {
-                        throw new ArithmeticException(Integer.toString(value));
-                    }
-                } catch (ArithmeticException e) {
-                    token = new StringToken(Double.toString(value), tokenPosition, TokenTypeEnum.DOUBLE_EXCEEDED_RANGE_ERROR);
-                    return true;
-                }
+                doubleParser.addDigit(currentChar - '0');
                 nextChar();
             }
 
-            double doubleValue = value + (decimalValue / Math.pow(10, digitsAfterDecimalPoint));
+            double doubleValue = doubleParser.toDouble();
+            if (doubleValue > maxDouble) {
+                token = new StringToken(Double.toString(value), tokenPosition, TokenTypeEnum.DOUBLE_EXCEEDED_RANGE_ERROR);
+                return true;
+            }
             token = new DoubleToken(doubleValue, tokenPosition);
         } else {
             token = new IntegerToken(value, tokenPosition);
@@ -199,7 +265,7 @@ public class Lexer implements ILexer {
 
         StringBuilder identifier = new StringBuilder();
         identifier.append(currentChar);
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
 
         while ((Character.isLetter(currentChar)
@@ -212,10 +278,11 @@ public class Lexer implements ILexer {
 
         if (identifier.length() == identifierMaxLength && isCurrentCharNotEqualETX()) {
             token = new StringToken(identifier.toString(), tokenPosition, TokenTypeEnum.IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR);
-        } else if (this.keywordTokens.containsKey(identifier.toString())) {
-            token = new Token(tokenPosition, this.keywordTokens.get(identifier.toString()));
+        } else if (keywordTokens.containsKey(identifier.toString())) {
+            token = new Token(tokenPosition, keywordTokens.get(identifier.toString()));
         } else {
-            token = new StringToken(identifier.toString(), tokenPosition, TokenTypeEnum.IDENTIFIER);
+            int symbolId = symbols.intern(identifier.toString());
+            token = new StringToken(symbols.getName(symbolId), tokenPosition, TokenTypeEnum.IDENTIFIER, symbolId);
         }
 
         return true;
@@ -227,7 +294,7 @@ public class Lexer implements ILexer {
         }
 
         StringBuilder string = new StringBuilder();
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         Character previousChar = currentChar;
         nextChar();
 
@@ -268,7 +335,7 @@ public class Lexer implements ILexer {
         }
         StringBuilder comment = new StringBuilder();
         comment.append(currentChar);
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
 
         while (!currentChar.equals('\n') && isCurrentCharNotEqualETX()) {
@@ -280,6 +347,22 @@ public class Lexer implements ILexer {
         return true;
     }
 
+    private void skipComment() {
+        int start = getCurrentCharOffset();
+        nextChar();
+        while (!currentChar.equals('\n') && isCurrentCharNotEqualETX()) {
+            nextChar();
+        }
+
+        if (triviaMode == TriviaMode.RECORD_COMMENTS) {
+            comments.add(start, getCurrentCharOffset());
+        }
+    }
+
+    private int getCurrentCharOffset() {
+        return isCurrentCharEqualETX() ? readChars : readChars - 1;
+    }
+
     private boolean isCurrentCharEqualETX() {
         return currentChar.equals((char) (-1));
     }
@@ -301,7 +384,7 @@ public class Lexer implements ILexer {
             return false;
         }
 
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
         token = new Token(tokenPosition, tokenType);
         return true;
@@ -339,7 +422,7 @@ public class Lexer implements ILexer {
 
         StringBuilder foundSign = new StringBuilder();
         foundSign.append(currentChar);
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
 
         if (currentChar.equals(sign)) {
@@ -367,7 +450,7 @@ public class Lexer implements ILexer {
             return false;
         }
 
-        Position tokenPosition = new Position(carriagePosition);
+        long tokenPosition = carriagePosition();
         nextChar();
 
         if (currentChar.equals(secondSign)) {
@@ -380,9 +463,19 @@ public class Lexer implements ILexer {
         return true;
     }
 
+    // `buildUnknownCharToken` builds an error token for a char which does not start any token
+    // and moves past it, so that lexing resumes at the next char.
+    private void buildUnknownCharToken() {
+        token = new StringToken(String.valueOf(currentChar), carriagePosition(), TokenTypeEnum.UNKNOWN_CHAR_ERROR);
+        nextChar();
+    }
+
     private void nextChar() {
         try {
-            currentChar = (char) bufferedReader.read();
+            currentChar = (char) reader.read();
+            if (isCurrentCharNotEqualETX()) {
+                readChars++;
+            }
             updateCarriagePosition();
         } catch (IOException ignored) {
         }
@@ -390,10 +483,14 @@ public class Lexer implements ILexer {
 
     private void updateCarriagePosition() {
         if (currentChar.equals('\n')) {
-            carriagePosition.fitLine();
-            carriagePosition.returnCarriage();
+            carriageLine++;
+            carriageColumn = 0;
         } else {
-            carriagePosition.moveCarriage();
+            carriageColumn++;
         }
     }
+
+    private long carriagePosition() {
+        return PackedPosition.pack(carriageLine, carriageColumn);
+    }
 }
@@ -0,0 +1,24 @@
+package lexer;
+
+import lexer.tokens.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// `LexerDiagnostics` collects the reported error tokens.
+public class LexerDiagnostics implements IDiagnosticsSink {
+    private final ArrayList<Token> errors = new ArrayList<>();
+
+    @Override
+    public void report(Token errorToken) {
+        errors.add(errorToken);
+    }
+
+    public List<Token> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
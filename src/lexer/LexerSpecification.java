@@ -0,0 +1,82 @@
+package lexer;
+
+import lexer.tokens.ComplexSignTokenType;
+import lexer.tokens.DoubledSignTokenType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// `LexerSpecification` describes keywords and signs of the language in the same
+// categories as `Lexer` does, so that they can be compiled into other representations.
+public class LexerSpecification {
+    private static final Map<String, TokenTypeEnum> keywordTokens = new LinkedHashMap<>();
+    private static final Map<Character, TokenTypeEnum> singleSignTokens = new LinkedHashMap<>();
+    private static final Map<Character, DoubledSignTokenType> singleOrDoubledSignTokens = new LinkedHashMap<>();
+    private static final Map<Character, DoubledSignTokenType> doubledSignTokens = new LinkedHashMap<>();
+    private static final List<ComplexSignTokenType> complexSignTokens = List.of(
+            new ComplexSignTokenType('<', TokenTypeEnum.LESS_THAN_OPERATOR, '=', TokenTypeEnum.LESS_OR_EQUAL_OPERATOR),
+            new ComplexSignTokenType('>', TokenTypeEnum.GREATER_THAN_OPERATOR, '=', TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR),
+            new ComplexSignTokenType('!', TokenTypeEnum.NEGATION_OPERATOR, '=', TokenTypeEnum.NOT_EQUAL_OPERATOR)
+    );
+
+    static {
+        keywordTokens.put("Int", TokenTypeEnum.INT_KEYWORD);
+        keywordTokens.put("Double", TokenTypeEnum.DOUBLE_KEYWORD);
+        keywordTokens.put("String", TokenTypeEnum.STRING_KEYWORD);
+        keywordTokens.put("Point", TokenTypeEnum.POINT_KEYWORD);
+        keywordTokens.put("Section", TokenTypeEnum.SECTION_KEYWORD);
+        keywordTokens.put("Figure", TokenTypeEnum.FIGURE_KEYWORD);
+        keywordTokens.put("Scene", TokenTypeEnum.SCENE_KEYWORD);
+        keywordTokens.put("Bool", TokenTypeEnum.BOOL_KEYWORD);
+        keywordTokens.put("True", TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD);
+        keywordTokens.put("False", TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD);
+        keywordTokens.put("List", TokenTypeEnum.LIST_KEYWORD);
+        keywordTokens.put("while", TokenTypeEnum.WHILE_KEYWORD);
+        keywordTokens.put("if", TokenTypeEnum.IF_KEYWORD);
+        keywordTokens.put("elseif", TokenTypeEnum.ELSE_IF_KEYWORD);
+        keywordTokens.put("else", TokenTypeEnum.ELSE_KEYWORD);
+        keywordTokens.put("return", TokenTypeEnum.RETURN_KEYWORD);
+        keywordTokens.put("void", TokenTypeEnum.VOID_KEYWORD);
+
+        singleSignTokens.put(';', TokenTypeEnum.SEMICOLON);
+        singleSignTokens.put(',', TokenTypeEnum.COMMA);
+        singleSignTokens.put('(', TokenTypeEnum.LEFT_BRACKET);
+        singleSignTokens.put(')', TokenTypeEnum.RIGHT_BRACKET);
+        singleSignTokens.put('[', TokenTypeEnum.LEFT_SQUARE_BRACKET);
+        singleSignTokens.put(']', TokenTypeEnum.RIGHT_SQUARE_BRACKET);
+        singleSignTokens.put('{', TokenTypeEnum.LEFT_CURLY_BRACKET);
+        singleSignTokens.put('}', TokenTypeEnum.RIGHT_CURLY_BRACKET);
+        singleSignTokens.put('.', TokenTypeEnum.DOT);
+        singleSignTokens.put('+', TokenTypeEnum.ADDITION_OPERATOR);
+        singleSignTokens.put('-', TokenTypeEnum.SUBTRACTION_OPERATOR);
+        singleSignTokens.put('*', TokenTypeEnum.MULTIPLICATION_OPERATOR);
+
+        singleOrDoubledSignTokens.put('=', new DoubledSignTokenType(TokenTypeEnum.ASSIGNMENT_OPERATOR, TokenTypeEnum.EQUAL_OPERATOR));
+        singleOrDoubledSignTokens.put('/', new DoubledSignTokenType(TokenTypeEnum.DIVISION_OPERATOR, TokenTypeEnum.DISCRETE_DIVISION_OPERATOR));
+
+        doubledSignTokens.put('&', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.AND_OPERATOR));
+        doubledSignTokens.put('|', new DoubledSignTokenType(TokenTypeEnum.UNKNOWN_CHAR_ERROR, TokenTypeEnum.OR_OPERATOR));
+    }
+
+    public static Map<String, TokenTypeEnum> getKeywordTokens() {
+        return Collections.unmodifiableMap(keywordTokens);
+    }
+
+    public static Map<Character, TokenTypeEnum> getSingleSignTokens() {
+        return Collections.unmodifiableMap(singleSignTokens);
+    }
+
+    public static Map<Character, DoubledSignTokenType> getSingleOrDoubledSignTokens() {
+        return Collections.unmodifiableMap(singleOrDoubledSignTokens);
+    }
+
+    public static Map<Character, DoubledSignTokenType> getDoubledSignTokens() {
+        return Collections.unmodifiableMap(doubledSignTokens);
+    }
+
+    public static List<ComplexSignTokenType> getComplexSignTokens() {
+        return complexSignTokens;
+    }
+}
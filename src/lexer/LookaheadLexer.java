@@ -0,0 +1,81 @@
+package lexer;
+
+import lexer.tokens.Token;
+
+import java.util.Arrays;
+
+// `LookaheadLexer` lets its user look at the tokens ahead of the current one with `peek(k)`,
+// and go back to a marked token with `mark()` and `reset(mark)`.
+// Tokens are read from the wrapped lexer on demand and kept in a ring buffer, which grows
+// only while a mark holds more tokens than it can store.
+public class LookaheadLexer implements ILexer {
+    private final ILexer lexer;
+    private Token[] tokens = new Token[8];
+    // absolute index of the token returned by the next `lexToken()` call
+    private int nextIndex = 0;
+    // absolute index past the last token read from `lexer`
+    private int readIndex = 0;
+    // absolute indexes of the active marks, the oldest first
+    private int[] marks = new int[4];
+    private int markCount = 0;
+
+    public LookaheadLexer(ILexer lexer) {
+        this.lexer = lexer;
+    }
+
+    @Override
+    public Token lexToken() {
+        fill(1);
+        return tokens[nextIndex++ & (tokens.length - 1)];
+    }
+
+    // `peek` returns the token which the `k`-th next `lexToken()` call will return, `peek(1)` being the next one.
+    public Token peek(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("Lookahead has to be positive, got " + k);
+        }
+        fill(k);
+        return tokens[(nextIndex + k - 1) & (tokens.length - 1)];
+    }
+
+    // `mark` returns a mark of the current position, to which `reset` can go back.
+    // The mark has to be passed to `reset` or `release`; marks are released in reverse order.
+    public int mark() {
+        if (markCount == marks.length) {
+            marks = Arrays.copyOf(marks, markCount * 2);
+        }
+        marks[markCount++] = nextIndex;
+        return nextIndex;
+    }
+
+    public void reset(int mark) {
+        release(mark);
+        nextIndex = mark;
+    }
+
+    public void release(int mark) {
+        if (markCount == 0 || marks[markCount - 1] != mark) {
+            throw new IllegalStateException("Mark " + mark + " is not the last active mark");
+        }
+        markCount--;
+    }
+
+    private void fill(int count) {
+        while (readIndex - nextIndex < count) {
+            int firstKept = markCount > 0 ? marks[0] : nextIndex;
+            if (readIndex - firstKept == tokens.length) {
+                grow(firstKept);
+            }
+            tokens[readIndex & (tokens.length - 1)] = lexer.lexToken();
+            readIndex++;
+        }
+    }
+
+    private void grow(int firstKept) {
+        Token[] grownTokens = new Token[tokens.length * 2];
+        for (int i = firstKept; i < readIndex; i++) {
+            grownTokens[i & (grownTokens.length - 1)] = tokens[i & (tokens.length - 1)];
+        }
+        tokens = grownTokens;
+    }
+}
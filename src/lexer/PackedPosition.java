@@ -0,0 +1,29 @@
+package lexer;
+
+// `PackedPosition` encodes a line and a column in a single `long`, the line in the high 32 bits.
+// Tokens and `TokenBuffer` keep positions packed and the parser turns them into `Position` objects
+// only for the tokens which start AST nodes, so tokens such as brackets and semicolons never allocate one.
+public final class PackedPosition {
+    private PackedPosition() {
+    }
+
+    public static long pack(int lineNumber, int columnNumber) {
+        return ((long) lineNumber << 32) | (columnNumber & 0xFFFFFFFFL);
+    }
+
+    public static long pack(Position position) {
+        return pack(position.getLineNumber(), position.getColumnNumber());
+    }
+
+    public static int getLineNumber(long packedPosition) {
+        return (int) (packedPosition >>> 32);
+    }
+
+    public static int getColumnNumber(long packedPosition) {
+        return (int) packedPosition;
+    }
+
+    public static Position toPosition(long packedPosition) {
+        return new Position(getLineNumber(packedPosition), getColumnNumber(packedPosition));
+    }
+}
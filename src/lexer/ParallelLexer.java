@@ -0,0 +1,225 @@
+package lexer;
+
+import lexer.tokens.Token;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// `ParallelLexer` splits the input into chunks and lexes them on a fork-join pool.
+// Chunks end with a new line that is outside string literals and comments.
+// As the lexer holds no state between tokens, every chunk is lexed as a separate input
+// starting at line 1, and its tokens are moved to the lines the chunk starts at.
+// The chunk lexers share one `SymbolTable`, so that a name has the same id in all chunks.
+public class ParallelLexer implements ILexer {
+    private static final int MIN_CHUNK_LENGTH = 1 << 16;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final char ETX = (char) (-1);
+
+    private final CharSequence text;
+    private final ForkJoinPool pool;
+    private int stringMaxLength = 1000;
+    private int identifierMaxLength = 1000;
+    private int maxInt = Integer.MAX_VALUE;
+    private double maxDouble = Double.MAX_VALUE;
+    private int minChunkLength = MIN_CHUNK_LENGTH;
+    private TriviaMode triviaMode = TriviaMode.KEEP_COMMENTS;
+    private final CommentTable comments = new CommentTable();
+    private IDiagnosticsSink diagnostics;
+    private SymbolTable symbols = new SymbolTable();
+    private TokenBuffer.Cursor cursor;
+
+    public ParallelLexer(CharSequence text) {
+        this(text, ForkJoinPool.commonPool());
+    }
+
+    public ParallelLexer(CharSequence text, ForkJoinPool pool) {
+        this.text = text;
+        this.pool = pool;
+    }
+
+    public void setStringMaxLength(int stringMaxLength) {
+        this.stringMaxLength = stringMaxLength;
+    }
+
+    public void setIdentifierMaxLength(int identifierMaxLength) {
+        this.identifierMaxLength = identifierMaxLength;
+    }
+
+    public void setMaxInt(int maxInt) {
+        this.maxInt = maxInt;
+    }
+
+    public void setMaxDouble(double maxDouble) {
+        this.maxDouble = maxDouble;
+    }
+
+    public void setMinChunkLength(int minChunkLength) {
+        this.minChunkLength = Math.max(minChunkLength, 1);
+    }
+
+    public void setTriviaMode(TriviaMode triviaMode) {
+        this.triviaMode = triviaMode;
+    }
+
+    public void setSymbolTable(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    // `setDiagnosticsSink` sets the sink to which `lexAll()` reports the error tokens of all chunks,
+    // in input order, once they are merged.
+    public void setDiagnosticsSink(IDiagnosticsSink diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    // `getComments` returns the comments skipped in `TriviaMode.RECORD_COMMENTS` by `lexAll()`.
+    public CommentTable getComments() {
+        return comments;
+    }
+
+    @Override
+    public Token lexToken() {
+        if (cursor == null) {
+            cursor = lexAll().cursor();
+        }
+        return cursor.lexToken();
+    }
+
+    @Override
+    public TokenBuffer lexAll() {
+        int chunkCount = Math.max(1, Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, text.length() / minChunkLength));
+        if (chunkCount == 1 || pool.getParallelism() == 1) {
+            // splitting only pays off when the chunks are lexed at the same time
+            TableDrivenLexer lexer = createLexer(new Chunk(0, text.length(), 1));
+            TokenBuffer tokens = lexer.lexAll();
+            appendComments(lexer.getComments(), 0);
+            reportErrors(tokens);
+            return tokens;
+        }
+        ArrayList<Chunk> chunks = splitIntoChunks(chunkCount);
+
+        ArrayList<TableDrivenLexer> lexers = new ArrayList<>();
+        ArrayList<ForkJoinTask<TokenBuffer>> tasks = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            TableDrivenLexer lexer = createLexer(chunk);
+            lexers.add(lexer);
+            tasks.add(pool.submit(lexer::lexAll));
+        }
+
+        TokenBuffer tokens = new TokenBuffer();
+        for (int i = 0; i < chunks.size(); i++) {
+            TokenBuffer chunkTokens = tasks.get(i).join();
+            appendComments(lexers.get(i).getComments(), chunks.get(i).start);
+            int lineDelta = chunks.get(i).lineNumber - 1;
+            // only the last chunk ends the input, so `ETX` is dropped from the others
+            int end = i < chunks.size() - 1 ? chunkTokens.size() - 1 : chunkTokens.size();
+            tokens.append(chunkTokens, 0, end, lineDelta);
+        }
+        reportErrors(tokens);
+        return tokens;
+    }
+
+    private void reportErrors(TokenBuffer tokens) {
+        if (diagnostics == null) {
+            return;
+        }
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.getTokenType(i).isError()) {
+                diagnostics.report(tokens.getToken(i));
+            }
+        }
+    }
+
+    private TableDrivenLexer createLexer(Chunk chunk) {
+        TableDrivenLexer lexer = new TableDrivenLexer(new CharSequenceReader(text, chunk.start, chunk.end));
+        lexer.setStringMaxLength(stringMaxLength);
+        lexer.setIdentifierMaxLength(identifierMaxLength);
+        lexer.setMaxInt(maxInt);
+        lexer.setMaxDouble(maxDouble);
+        lexer.setTriviaMode(triviaMode);
+        lexer.setSymbolTable(symbols);
+        return lexer;
+    }
+
+    private void appendComments(CommentTable chunkComments, int chunkStart) {
+        for (int i = 0; i < chunkComments.size(); i++) {
+            comments.add(chunkStart + chunkComments.getStart(i), chunkStart + chunkComments.getEnd(i));
+        }
+    }
+
+    // `splitIntoChunks` follows string literals and comments the way the lexer does,
+    // including the maximum string length, and ends a chunk at the first new line
+    // outside them after each `text.length() / chunkCount` chars.
+    private ArrayList<Chunk> splitIntoChunks(int chunkCount) {
+        ArrayList<Chunk> chunks = new ArrayList<>();
+        int inputEnd = text.length();
+        int targetLength = Math.max(inputEnd / chunkCount, 1);
+        int chunkStart = 0;
+        int chunkLineNumber = 1;
+        int lineNumber = 1;
+        int i = 0;
+        while (i < inputEnd) {
+            char c = text.charAt(i);
+            if (c == ETX) {
+                // the lexer treats this char as the end of input
+                inputEnd = i;
+                break;
+            } else if (c == '"') {
+                int stringEnd = skipString(i);
+                for (; i < stringEnd; i++) {
+                    if (text.charAt(i) == '\n') {
+                        lineNumber++;
+                    }
+                }
+            } else if (c == '#') {
+                while (i < inputEnd && text.charAt(i) != '\n' && text.charAt(i) != ETX) {
+                    i++;
+                }
+            } else if (c == '\n') {
+                lineNumber++;
+                i++;
+                if (i - chunkStart >= targetLength && chunks.size() < chunkCount - 1) {
+                    chunks.add(new Chunk(chunkStart, i, chunkLineNumber));
+                    chunkStart = i;
+                    chunkLineNumber = lineNumber;
+                }
+            } else {
+                i++;
+            }
+        }
+
+        chunks.add(new Chunk(chunkStart, text.length(), chunkLineNumber));
+        return chunks;
+    }
+
+    // `skipString` returns the index of the first char after the string starting at `start`,
+    // mirroring the conditions of `Lexer.tryBuildString()`.
+    private int skipString(int start) {
+        int length = 0;
+        char previousChar = '"';
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if ((previousChar != '\\' && c == '"') || c == ETX || length >= stringMaxLength) {
+                break;
+            }
+            if (c != '\\' || previousChar == '\\') {
+                length++;
+            }
+            previousChar = c;
+            i++;
+        }
+
+        if (i < text.length() && length < stringMaxLength && previousChar != '\\' && text.charAt(i) == '"') {
+            i++;
+        }
+        return i;
+    }
+
+    private record Chunk(int start, int end, int lineNumber) {
+    }
+}
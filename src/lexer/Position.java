@@ -1,8 +1,9 @@
 package lexer;
 
+// `Position` is immutable, so one instance can be shared by tokens and by AST nodes starting at the same place.
 public class Position {
-    private int lineNumber;
-    private int columnNumber;
+    private final int lineNumber;
+    private final int columnNumber;
 
     public Position(int lineNumber, int columnNumber) {
         this.lineNumber = lineNumber;
@@ -23,18 +24,6 @@ public class Position {
         return columnNumber;
     }
 
-    public void fitLine() {
-        lineNumber++;
-    }
-
-    public void moveCarriage() {
-        columnNumber++;
-    }
-
-    public void returnCarriage() {
-        columnNumber = 0;
-    }
-
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -49,6 +38,11 @@ public class Position {
                 && this.columnNumber == ((Position) o).columnNumber;
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * lineNumber + columnNumber;
+    }
+
     @Override
     public String toString() {
         return String.format("Position: <line: %d, column %d>", this.getLineNumber(), this.getColumnNumber());
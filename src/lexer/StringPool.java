@@ -0,0 +1,111 @@
+package lexer;
+
+// `StringPool` returns a single `String` instance for equal char sequences,
+// looking them up directly in a char array, so that repeated identifiers
+// do not allocate a new `String` each time.
+// A pool backed by a `SymbolTable` returns the canonical instances and ids of the table,
+// and serves as a cache which interns each string in the shared table only once.
+public class StringPool {
+    private final SymbolTable symbols;
+    private String[] strings = new String[256];
+    private int[] hashes = new int[256];
+    private int[] symbolIds = new int[256];
+    private int count = 0;
+
+    public StringPool() {
+        this(null);
+    }
+
+    public StringPool(SymbolTable symbols) {
+        this.symbols = symbols;
+    }
+
+    public String intern(char[] chars, int offset, int length) {
+        // `find` can grow the arrays, so they are read after it returns
+        int slot = find(chars, offset, length);
+        return strings[slot];
+    }
+
+    // `internSymbol` returns the `SymbolTable` id of the string, or `SymbolTable.NO_ID` for a pool without a table.
+    public int internSymbol(char[] chars, int offset, int length) {
+        int slot = find(chars, offset, length);
+        return symbolIds[slot];
+    }
+
+    public String getName(int symbolId) {
+        return symbols.getName(symbolId);
+    }
+
+    // `find` returns the slot of the string, adding it when it is not in the pool yet.
+    private int find(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int mask = strings.length - 1;
+        int slot = mix(hash) & mask;
+        while (strings[slot] != null) {
+            if (hashes[slot] == hash && matches(strings[slot], chars, offset, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (symbols != null) {
+            symbolIds[slot] = symbols.intern(chars, offset, length);
+            strings[slot] = symbols.getName(symbolIds[slot]);
+        } else {
+            symbolIds[slot] = SymbolTable.NO_ID;
+            strings[slot] = new String(chars, offset, length);
+        }
+        hashes[slot] = hash;
+        count++;
+        if (count * 2 > strings.length) {
+            grow();
+            return find(chars, offset, length);
+        }
+        return slot;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private static boolean matches(String string, char[] chars, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private void grow() {
+        String[] oldStrings = strings;
+        int[] oldHashes = hashes;
+        int[] oldSymbolIds = symbolIds;
+        strings = new String[oldStrings.length * 2];
+        hashes = new int[oldHashes.length * 2];
+        symbolIds = new int[oldSymbolIds.length * 2];
+        int mask = strings.length - 1;
+        for (int i = 0; i < oldStrings.length; i++) {
+            if (oldStrings[i] != null) {
+                int slot = mix(oldHashes[i]) & mask;
+                while (strings[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                strings[slot] = oldStrings[i];
+                hashes[slot] = oldHashes[i];
+                symbolIds[slot] = oldSymbolIds[i];
+            }
+        }
+    }
+}
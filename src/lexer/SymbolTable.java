@@ -0,0 +1,111 @@
+package lexer;
+
+import java.util.Arrays;
+
+// `SymbolTable` gives every distinct identifier a small int id and a canonical `String` instance.
+// The lexers fill it as they scan identifiers and put the ids on the identifier tokens, from which
+// the parser stores them on `Identifier`, `IParameter` and `FunctionCall` nodes, so that later stages
+// can compare names by id. A table belongs to one compilation: every lexer starts with its own,
+// and lexers of the same source, e.g. the chunk lexers of `ParallelLexer`, are given a shared one.
+// Those may run on different threads, so interning is synchronized; ids are never reused.
+public class SymbolTable {
+    // the id of a name which was not interned, e.g. of a node built without a lexer
+    public static final int NO_ID = -1;
+
+    private int[] slots = new int[1024];
+    private volatile String[] names = new String[512];
+    private int[] hashes = new int[512];
+    private int count = 0;
+
+    public SymbolTable() {
+        Arrays.fill(slots, -1);
+    }
+
+    public synchronized int intern(char[] chars, int offset, int length) {
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (slots[slot] >= 0) {
+            int id = slots[slot];
+            if (hashes[id] == hash && matches(names[id], chars, offset, length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(slot, new String(chars, offset, length), hash);
+    }
+
+    public synchronized int intern(String name) {
+        int hash = name.hashCode();
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (slots[slot] >= 0) {
+            int id = slots[slot];
+            if (hashes[id] == hash && names[id].equals(name)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return add(slot, name, hash);
+    }
+
+    public String getName(int id) {
+        return names[id];
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    private int add(int slot, String name, int hash) {
+        int id = count;
+        if (id == names.length) {
+            String[] grownNames = Arrays.copyOf(names, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+            grownNames[id] = name;
+            names = grownNames;
+        } else {
+            names[id] = name;
+        }
+        hashes[id] = hash;
+        slots[slot] = id;
+        count++;
+        if (count * 2 > slots.length) {
+            growSlots();
+        }
+        return id;
+    }
+
+    private void growSlots() {
+        slots = new int[slots.length * 2];
+        Arrays.fill(slots, -1);
+        int mask = slots.length - 1;
+        for (int id = 0; id < count; id++) {
+            int slot = mix(hashes[id]) & mask;
+            while (slots[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = id;
+        }
+    }
+
+    private static boolean matches(String string, char[] chars, int offset, int length) {
+        if (string.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,93 @@
+package lexer;
+
+import java.io.Reader;
+
+// `TableDrivenLexer` produces the same tokens as `Lexer`, but recognizes keywords, identifiers
+// and signs by walking `TransitionTable`, which costs a single array lookup per char.
+public class TableDrivenLexer extends CharBufferLexer {
+    private final TransitionTable table = TransitionTable.getInstance();
+
+    public TableDrivenLexer(Reader reader) {
+        super(reader);
+    }
+
+    public TableDrivenLexer(Reader reader, int blockSize) {
+        super(reader, blockSize);
+    }
+
+    public TableDrivenLexer(Reader reader, int blockSize, int lineNumber, int columnNumber) {
+        super(reader, blockSize, lineNumber, columnNumber);
+    }
+
+    @Override
+    protected void scanToken() {
+        tokenStringValue = null;
+        if (currentChar == NO_CHAR || currentChar == ETX) {
+            nextChar();
+
+            if (currentChar == ETX) {
+                tokenOffset = getCurrentCharOffset();
+                setToken(TokenTypeEnum.ETX, lineNumber, columnNumber);
+                return;
+            }
+        }
+
+        int action = table.nextState(TransitionTable.START_STATE, currentChar);
+        while (action == TransitionTable.WHITESPACE_ACTION
+                || (action == TransitionTable.COMMENT_ACTION && triviaMode != TriviaMode.KEEP_COMMENTS)) {
+            if (action == TransitionTable.COMMENT_ACTION) {
+                skipComment();
+            } else {
+                nextChar();
+            }
+            action = table.nextState(TransitionTable.START_STATE, currentChar);
+        }
+        tokenOffset = getCurrentCharOffset();
+
+        if (currentChar == ETX) {
+            setToken(TokenTypeEnum.ETX, lineNumber, columnNumber);
+        } else if (action == TransitionTable.NUMBER_ACTION) {
+            scanNumber();
+        } else if (action == TransitionTable.STRING_ACTION) {
+            scanString();
+        } else if (action == TransitionTable.COMMENT_ACTION) {
+            scanComment();
+        } else if (action == TransitionTable.DEAD) {
+            scanUnknownChar(lineNumber, columnNumber);
+        } else {
+            walkTransitions(action);
+        }
+    }
+
+    private void walkTransitions(int state) {
+        int line = lineNumber;
+        int column = columnNumber;
+        tokenStart = cursor - 1;
+        int length = 1;
+        nextChar();
+
+        int nextState = table.nextState(state, currentChar);
+        while (nextState != TransitionTable.DEAD
+                && !(table.isIdentifierState(state) && length >= identifierMaxLength)) {
+            state = nextState;
+            length++;
+            nextChar();
+            nextState = table.nextState(state, currentChar);
+        }
+
+        TokenTypeEnum type = table.getAcceptedType(state);
+        if (table.isIdentifierState(state) && length == identifierMaxLength && currentChar != ETX) {
+            setToken(TokenTypeEnum.IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR, line, column);
+            tokenStringValue = new String(buffer, tokenStart, length);
+        } else {
+            setToken(type, line, column);
+            if (type == TokenTypeEnum.IDENTIFIER) {
+                tokenSymbolId = identifiers.internSymbol(buffer, tokenStart, length);
+                tokenStringValue = identifiers.getName(tokenSymbolId);
+            } else if (type == TokenTypeEnum.UNKNOWN_CHAR_ERROR) {
+                tokenStringValue = new String(buffer, tokenStart, length);
+            }
+        }
+        tokenStart = -1;
+    }
+}
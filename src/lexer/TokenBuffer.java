@@ -0,0 +1,268 @@
+package lexer;
+
+import lexer.tokens.DoubleToken;
+import lexer.tokens.IntegerToken;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+
+import java.util.Arrays;
+
+// `TokenBuffer` stores a whole token stream in parallel arrays instead of token objects.
+// Every token has its type ordinal, line, column and value index. The value index points
+// into `intValues`, `doubleValues` or `stringValues`, depending on the token type.
+// The `SymbolTable` id of an identifier is kept in `symbolIds`, at the index of its name.
+public class TokenBuffer {
+    public static final int NO_VALUE = -1;
+    // Entries are kept in chunks, so that a growing buffer never copies them.
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final TokenTypeEnum[] tokenTypes = TokenTypeEnum.values();
+
+    private int[][] types = new int[16][];
+    private int[][] lines = new int[16][];
+    private int[][] columns = new int[16][];
+    private int[][] valueIndexes = new int[16][];
+    private int size = 0;
+    private int[] intValues = new int[16];
+    private int intValueCount = 0;
+    private double[] doubleValues = new double[16];
+    private int doubleValueCount = 0;
+    private String[] stringValues = new String[16];
+    private int[] symbolIds = new int[16];
+    private int stringValueCount = 0;
+
+    public void addToken(TokenTypeEnum type, int line, int column) {
+        addEntry(type.ordinal(), line, column, NO_VALUE);
+    }
+
+    public void addIntToken(int value, int line, int column) {
+        if (intValueCount == intValues.length) {
+            intValues = Arrays.copyOf(intValues, intValueCount * 2);
+        }
+        intValues[intValueCount] = value;
+        addEntry(TokenTypeEnum.INT_VALUE.ordinal(), line, column, intValueCount++);
+    }
+
+    public void addDoubleToken(double value, int line, int column) {
+        if (doubleValueCount == doubleValues.length) {
+            doubleValues = Arrays.copyOf(doubleValues, doubleValueCount * 2);
+        }
+        doubleValues[doubleValueCount] = value;
+        addEntry(TokenTypeEnum.DOUBLE_VALUE.ordinal(), line, column, doubleValueCount++);
+    }
+
+    public void addStringToken(TokenTypeEnum type, String value, int line, int column) {
+        addStringToken(type, value, SymbolTable.NO_ID, line, column);
+    }
+
+    public void addIdentifierToken(String name, int symbolId, int line, int column) {
+        addStringToken(TokenTypeEnum.IDENTIFIER, name, symbolId, line, column);
+    }
+
+    private void addStringToken(TokenTypeEnum type, String value, int symbolId, int line, int column) {
+        if (stringValueCount == stringValues.length) {
+            stringValues = Arrays.copyOf(stringValues, stringValueCount * 2);
+            symbolIds = Arrays.copyOf(symbolIds, stringValueCount * 2);
+        }
+        stringValues[stringValueCount] = value;
+        symbolIds[stringValueCount] = symbolId;
+        addEntry(type.ordinal(), line, column, stringValueCount++);
+    }
+
+    public void add(Token token) {
+        int line = PackedPosition.getLineNumber(token.getPackedPosition());
+        int column = PackedPosition.getColumnNumber(token.getPackedPosition());
+        if (token instanceof IntegerToken integerToken) {
+            addIntToken(integerToken.getValue(), line, column);
+        } else if (token instanceof DoubleToken doubleToken) {
+            addDoubleToken(doubleToken.getValue(), line, column);
+        } else if (token instanceof StringToken stringToken) {
+            addStringToken(token.getTokenType(), stringToken.getValue(), stringToken.getSymbolId(), line, column);
+        } else {
+            addToken(token.getTokenType(), line, column);
+        }
+    }
+
+    // `append` copies tokens from `fromIndex` to `toIndex` of `other`, moving them by `lineDelta` lines.
+    public void append(TokenBuffer other, int fromIndex, int toIndex, int lineDelta) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            TokenTypeEnum type = other.getTokenType(i);
+            int line = other.getLineNumber(i) + lineDelta;
+            int column = other.getColumnNumber(i);
+            if (!other.hasValue(i)) {
+                addToken(type, line, column);
+            } else if (type == TokenTypeEnum.INT_VALUE) {
+                addIntToken(other.getIntValue(i), line, column);
+            } else if (type == TokenTypeEnum.DOUBLE_VALUE) {
+                addDoubleToken(other.getDoubleValue(i), line, column);
+            } else {
+                addStringToken(type, other.getStringValue(i), other.getSymbolId(i), line, column);
+            }
+        }
+    }
+
+    private void addEntry(int type, int line, int column, int valueIndex) {
+        int chunk = size >>> CHUNK_SHIFT;
+        int offset = size & CHUNK_MASK;
+        if (offset == 0) {
+            addChunk(chunk);
+        }
+        types[chunk][offset] = type;
+        lines[chunk][offset] = line;
+        columns[chunk][offset] = column;
+        valueIndexes[chunk][offset] = valueIndex;
+        size++;
+    }
+
+    private void addChunk(int chunk) {
+        if (chunk == types.length) {
+            types = Arrays.copyOf(types, chunk * 2);
+            lines = Arrays.copyOf(lines, chunk * 2);
+            columns = Arrays.copyOf(columns, chunk * 2);
+            valueIndexes = Arrays.copyOf(valueIndexes, chunk * 2);
+        }
+        types[chunk] = new int[CHUNK_SIZE];
+        lines[chunk] = new int[CHUNK_SIZE];
+        columns[chunk] = new int[CHUNK_SIZE];
+        valueIndexes[chunk] = new int[CHUNK_SIZE];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenTypeEnum getTokenType(int index) {
+        return tokenTypes[types[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    public int getLineNumber(int index) {
+        return lines[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public int getColumnNumber(int index) {
+        return columns[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    public boolean hasValue(int index) {
+        return valueIndexes[index >>> CHUNK_SHIFT][index & CHUNK_MASK] != NO_VALUE;
+    }
+
+    public int getIntValue(int index) {
+        return intValues[valueIndexes[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    public double getDoubleValue(int index) {
+        return doubleValues[valueIndexes[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    public String getStringValue(int index) {
+        return stringValues[valueIndexes[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    // `getSymbolId` returns the `SymbolTable` id of an identifier, or `SymbolTable.NO_ID` for other tokens.
+    public int getSymbolId(int index) {
+        if (getTokenType(index) != TokenTypeEnum.IDENTIFIER || !hasValue(index)) {
+            return SymbolTable.NO_ID;
+        }
+        return symbolIds[valueIndexes[index >>> CHUNK_SHIFT][index & CHUNK_MASK]];
+    }
+
+    public Token getToken(int index) {
+        TokenTypeEnum type = getTokenType(index);
+        long position = PackedPosition.pack(getLineNumber(index), getColumnNumber(index));
+        if (!hasValue(index)) {
+            return new Token(position, type);
+        } else if (type == TokenTypeEnum.INT_VALUE) {
+            return new IntegerToken(getIntValue(index), position);
+        } else if (type == TokenTypeEnum.DOUBLE_VALUE) {
+            return new DoubleToken(getDoubleValue(index), position);
+        }
+        return new StringToken(getStringValue(index), position, type, getSymbolId(index));
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // `Cursor` walks the buffered tokens. It can be used as an `ILexer`, or queried
+    // about the current token without materializing token objects.
+    // When the buffer is exhausted, the cursor stays at the last token,
+    // as lexers keep returning `ETX` at the end of input.
+    public class Cursor implements ILexer {
+        private int index = -1;
+        // `position` is created on demand once per token, as the parser
+        // asks for the position of the current token repeatedly.
+        private Position position;
+
+        public int getIndex() {
+            return index;
+        }
+
+        public void advance() {
+            if (index < size - 1) {
+                index++;
+                position = null;
+            }
+        }
+
+        // `moveTo` places the cursor at token `index`, -1 being the place before the first token.
+        public void moveTo(int index) {
+            this.index = Math.min(index, size - 1);
+            position = null;
+        }
+
+        // `isToken` tells whether the cursor has been advanced to a token.
+        public boolean isToken() {
+            return index >= 0;
+        }
+
+        public TokenTypeEnum getTokenType() {
+            return index >= 0 ? TokenBuffer.this.getTokenType(index) : null;
+        }
+
+        // `peekTokenType` returns the type of the `k`-th token after the current one.
+        public TokenTypeEnum peekTokenType(int k) {
+            return TokenBuffer.this.getTokenType(Math.min(index + k, size - 1));
+        }
+
+        public long getPackedPosition() {
+            return index >= 0 ? PackedPosition.pack(getLineNumber(index), getColumnNumber(index)) : 0;
+        }
+
+        public Position getPosition() {
+            if (position == null && index >= 0) {
+                position = new Position(getLineNumber(index), getColumnNumber(index));
+            }
+            return position;
+        }
+
+        public Object getValue() {
+            if (index < 0 || !hasValue(index)) {
+                return null;
+            }
+
+            TokenTypeEnum type = getTokenType();
+            if (type == TokenTypeEnum.INT_VALUE) {
+                return getIntValue(index);
+            } else if (type == TokenTypeEnum.DOUBLE_VALUE) {
+                return getDoubleValue(index);
+            }
+            return getStringValue(index);
+        }
+
+        public int getSymbolId() {
+            return index >= 0 ? TokenBuffer.this.getSymbolId(index) : SymbolTable.NO_ID;
+        }
+
+        public Token getToken() {
+            return index >= 0 ? TokenBuffer.this.getToken(index) : null;
+        }
+
+        @Override
+        public Token lexToken() {
+            advance();
+            return getToken();
+        }
+    }
+}
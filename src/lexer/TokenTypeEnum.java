@@ -61,5 +61,19 @@ public enum TokenTypeEnum {
     STRING_EXCEEDED_MAXIMUM_LENGTH_ERROR,
     INT_EXCEEDED_RANGE_ERROR,
     DOUBLE_EXCEEDED_RANGE_ERROR,
-    ETX, IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR
+    ETX, IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR;
+
+    public boolean isError() {
+        switch (this) {
+            case UNKNOWN_CHAR_ERROR:
+            case UNCLOSED_QUOTES_ERROR:
+            case STRING_EXCEEDED_MAXIMUM_LENGTH_ERROR:
+            case INT_EXCEEDED_RANGE_ERROR:
+            case DOUBLE_EXCEEDED_RANGE_ERROR:
+            case IDENTIFIER_EXCEEDED_MAXIMUM_LENGTH_ERROR:
+                return true;
+            default:
+                return false;
+        }
+    }
 }
@@ -0,0 +1,256 @@
+package lexer;
+
+import lexer.tokens.ComplexSignTokenType;
+import lexer.tokens.DoubledSignTokenType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+// `TransitionTable` compiles `LexerSpecification` into a DFA.
+// Every ASCII char gets a char class; chars used by keywords and signs get their own class,
+// while remaining chars are grouped as letters, digits, whitespace or others.
+// Keywords form a trie of identifier states, so that keywords and identifiers are recognized
+// by the same walk. Numbers, strings and comments are scanned by dedicated actions.
+public class TransitionTable {
+    public static final int DEAD = -1;
+    public static final int NUMBER_ACTION = -2;
+    public static final int STRING_ACTION = -3;
+    public static final int COMMENT_ACTION = -4;
+    public static final int WHITESPACE_ACTION = -5;
+    public static final int START_STATE = 0;
+    private static final int IDENTIFIER_STATE = 1;
+    private static final int OTHER_CLASS = 0;
+    private static final int LETTER_CLASS = 1;
+    private static final int DIGIT_CLASS = 2;
+    private static final int WHITESPACE_CLASS = 3;
+    private static final int QUOTE_CLASS = 4;
+    private static final int HASH_CLASS = 5;
+    private static final int FIRST_SPECIFIED_CLASS = 6;
+    private static final TransitionTable instance = new TransitionTable();
+
+    private final int[] asciiClasses = new int[128];
+    private final int classCount;
+    private final int[] transitions;
+    private final TokenTypeEnum[] acceptedTypes;
+    private final boolean[] identifierStates;
+
+    private TransitionTable() {
+        for (char c = 0; c < asciiClasses.length; c++) {
+            asciiClasses[c] = nonSpecifiedCharClass(c);
+        }
+        asciiClasses['"'] = QUOTE_CLASS;
+        asciiClasses['#'] = HASH_CLASS;
+
+        int nextClass = FIRST_SPECIFIED_CLASS;
+        for (String keyword : LexerSpecification.getKeywordTokens().keySet()) {
+            for (char c : keyword.toCharArray()) {
+                nextClass = assignOwnClass(c, nextClass);
+            }
+        }
+        for (char sign : LexerSpecification.getSingleSignTokens().keySet()) {
+            nextClass = assignOwnClass(sign, nextClass);
+        }
+        for (char sign : LexerSpecification.getSingleOrDoubledSignTokens().keySet()) {
+            nextClass = assignOwnClass(sign, nextClass);
+        }
+        for (char sign : LexerSpecification.getDoubledSignTokens().keySet()) {
+            nextClass = assignOwnClass(sign, nextClass);
+        }
+        for (ComplexSignTokenType complexSign : LexerSpecification.getComplexSignTokens()) {
+            nextClass = assignOwnClass(complexSign.getFirstSign(), nextClass);
+            nextClass = assignOwnClass(complexSign.getSecondSign(), nextClass);
+        }
+        classCount = nextClass;
+
+        StateBuilder builder = new StateBuilder(classCount);
+        builder.addState(null, false);
+        builder.addState(TokenTypeEnum.IDENTIFIER, true);
+        addKeywordStates(builder);
+        addSignStates(builder);
+        addStartActions(builder);
+        addIdentifierTransitions(builder);
+
+        transitions = builder.transitions();
+        acceptedTypes = builder.acceptedTypes.toArray(new TokenTypeEnum[0]);
+        identifierStates = new boolean[acceptedTypes.length];
+        for (int state = 0; state < identifierStates.length; state++) {
+            identifierStates[state] = builder.identifierStates.get(state);
+        }
+    }
+
+    public static TransitionTable getInstance() {
+        return instance;
+    }
+
+    public int getStateCount() {
+        return acceptedTypes.length;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    public int charClass(int c) {
+        if (c < 128) {
+            return asciiClasses[c];
+        }
+        return nonSpecifiedCharClass(c);
+    }
+
+    public int nextState(int state, int c) {
+        return transitions[state * classCount + charClass(c)];
+    }
+
+    public TokenTypeEnum getAcceptedType(int state) {
+        return acceptedTypes[state];
+    }
+
+    public boolean isIdentifierState(int state) {
+        return identifierStates[state];
+    }
+
+    private static int nonSpecifiedCharClass(int c) {
+        if (Character.isLetter(c) || c == '_') {
+            return LETTER_CLASS;
+        } else if (Character.isDigit(c)) {
+            return DIGIT_CLASS;
+        } else if (Character.isWhitespace(c)) {
+            return WHITESPACE_CLASS;
+        }
+        return OTHER_CLASS;
+    }
+
+    private int assignOwnClass(char c, int nextClass) {
+        if (c >= asciiClasses.length || Character.isDigit(c)) {
+            throw new IllegalStateException("Only ASCII chars other than digits can be used in keywords and signs: " + c);
+        }
+        if (asciiClasses[c] >= FIRST_SPECIFIED_CLASS) {
+            return nextClass;
+        }
+        asciiClasses[c] = nextClass;
+        return nextClass + 1;
+    }
+
+    private void addKeywordStates(StateBuilder builder) {
+        HashMap<String, Integer> prefixStates = new HashMap<>();
+        for (Map.Entry<String, TokenTypeEnum> keyword : LexerSpecification.getKeywordTokens().entrySet()) {
+            String word = keyword.getKey();
+            int state = START_STATE;
+            for (int length = 1; length <= word.length(); length++) {
+                String prefix = word.substring(0, length);
+                Integer prefixState = prefixStates.get(prefix);
+                if (prefixState == null) {
+                    prefixState = builder.addState(TokenTypeEnum.IDENTIFIER, true);
+                    prefixStates.put(prefix, prefixState);
+                    builder.setTransition(state, charClass(word.charAt(length - 1)), prefixState);
+                }
+                state = prefixState;
+            }
+            builder.acceptedTypes.set(state, keyword.getValue());
+        }
+    }
+
+    private void addSignStates(StateBuilder builder) {
+        for (Map.Entry<Character, TokenTypeEnum> sign : LexerSpecification.getSingleSignTokens().entrySet()) {
+            builder.setTransition(START_STATE, charClass(sign.getKey()), builder.addState(sign.getValue(), false));
+        }
+        for (Map.Entry<Character, DoubledSignTokenType> sign : LexerSpecification.getSingleOrDoubledSignTokens().entrySet()) {
+            addTwoSignStates(builder, sign.getKey(), sign.getValue().getTokenTypeWhenSingleSign(),
+                    sign.getKey(), sign.getValue().getTokenTypeWhenDoubledSign());
+        }
+        for (Map.Entry<Character, DoubledSignTokenType> sign : LexerSpecification.getDoubledSignTokens().entrySet()) {
+            addTwoSignStates(builder, sign.getKey(), sign.getValue().getTokenTypeWhenSingleSign(),
+                    sign.getKey(), sign.getValue().getTokenTypeWhenDoubledSign());
+        }
+        for (ComplexSignTokenType complexSign : LexerSpecification.getComplexSignTokens()) {
+            addTwoSignStates(builder, complexSign.getFirstSign(), complexSign.getTokenTypeWhenOneSign(),
+                    complexSign.getSecondSign(), complexSign.getTokenTypeWhenTwoSigns());
+        }
+    }
+
+    private void addTwoSignStates(StateBuilder builder, char firstSign, TokenTypeEnum oneSignType, char secondSign, TokenTypeEnum twoSignsType) {
+        int oneSignState = builder.addState(oneSignType, false);
+        builder.setTransition(START_STATE, charClass(firstSign), oneSignState);
+        builder.setTransition(oneSignState, charClass(secondSign), builder.addState(twoSignsType, false));
+    }
+
+    private void addStartActions(StateBuilder builder) {
+        builder.setTransition(START_STATE, DIGIT_CLASS, NUMBER_ACTION);
+        builder.setTransition(START_STATE, QUOTE_CLASS, STRING_ACTION);
+        builder.setTransition(START_STATE, HASH_CLASS, COMMENT_ACTION);
+        builder.setTransition(START_STATE, WHITESPACE_CLASS, WHITESPACE_ACTION);
+        for (int charClass = 0; charClass < classCount; charClass++) {
+            if (isIdentifierClass(charClass) && builder.getTransition(START_STATE, charClass) == DEAD) {
+                builder.setTransition(START_STATE, charClass, IDENTIFIER_STATE);
+            }
+        }
+    }
+
+    private void addIdentifierTransitions(StateBuilder builder) {
+        for (int state = 0; state < builder.acceptedTypes.size(); state++) {
+            if (!builder.identifierStates.get(state)) {
+                continue;
+            }
+            for (int charClass = 0; charClass < classCount; charClass++) {
+                if ((isIdentifierClass(charClass) || charClass == DIGIT_CLASS)
+                        && builder.getTransition(state, charClass) == DEAD) {
+                    builder.setTransition(state, charClass, IDENTIFIER_STATE);
+                }
+            }
+        }
+    }
+
+    private boolean isIdentifierClass(int charClass) {
+        if (charClass == LETTER_CLASS) {
+            return true;
+        }
+        for (char c = 0; c < asciiClasses.length; c++) {
+            if (asciiClasses[c] == charClass && charClass >= FIRST_SPECIFIED_CLASS) {
+                return Character.isLetter(c) || c == '_';
+            }
+        }
+        return false;
+    }
+
+    private static class StateBuilder {
+        private final int classCount;
+        private final ArrayList<int[]> rows = new ArrayList<>();
+        private final ArrayList<TokenTypeEnum> acceptedTypes = new ArrayList<>();
+        private final ArrayList<Boolean> identifierStates = new ArrayList<>();
+
+        StateBuilder(int classCount) {
+            this.classCount = classCount;
+        }
+
+        int addState(TokenTypeEnum acceptedType, boolean isIdentifierState) {
+            int[] row = new int[classCount];
+            for (int charClass = 0; charClass < classCount; charClass++) {
+                row[charClass] = DEAD;
+            }
+            rows.add(row);
+            acceptedTypes.add(acceptedType);
+            identifierStates.add(isIdentifierState);
+            return rows.size() - 1;
+        }
+
+        int getTransition(int state, int charClass) {
+            return rows.get(state)[charClass];
+        }
+
+        void setTransition(int state, int charClass, int target) {
+            if (rows.get(state)[charClass] != DEAD) {
+                throw new IllegalStateException("Conflicting transitions in state " + state + " for char class " + charClass);
+            }
+            rows.get(state)[charClass] = target;
+        }
+
+        int[] transitions() {
+            int[] transitions = new int[rows.size() * classCount];
+            for (int state = 0; state < rows.size(); state++) {
+                System.arraycopy(rows.get(state), 0, transitions, state * classCount, classCount);
+            }
+            return transitions;
+        }
+    }
+}
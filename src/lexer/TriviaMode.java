@@ -0,0 +1,12 @@
+package lexer;
+
+// `TriviaMode` tells a lexer what to do with comments.
+// Whitespace is always skipped.
+public enum TriviaMode {
+    // comments are returned as `COMMENT` tokens
+    KEEP_COMMENTS,
+    // comments are skipped like whitespace, without being copied
+    SKIP_COMMENTS,
+    // comments are skipped, and their offsets are recorded in a `CommentTable`
+    RECORD_COMMENTS
+}
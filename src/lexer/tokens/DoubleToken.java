@@ -11,6 +11,11 @@ public class DoubleToken extends Token {
         this.value = value;
     }
 
+    public DoubleToken(Double value, long packedPosition) {
+        super(packedPosition, TokenTypeEnum.DOUBLE_VALUE);
+        this.value = value;
+    }
+
     @Override
     public Double getValue() {
         return value;
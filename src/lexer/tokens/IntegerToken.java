@@ -11,6 +11,11 @@ public class IntegerToken extends Token {
         this.value = value;
     }
 
+    public IntegerToken(Integer value, long packedPosition) {
+        super(packedPosition, TokenTypeEnum.INT_VALUE);
+        this.value = value;
+    }
+
     @Override
     public Integer getValue() {
         return value;
@@ -1,14 +1,27 @@
 package lexer.tokens;
 
+import lexer.PackedPosition;
 import lexer.Position;
+import lexer.SymbolTable;
 import lexer.TokenTypeEnum;
 
 public class StringToken extends Token {
     private final String value;
+    // `symbolId` is the `SymbolTable` id of an identifier
+    private final int symbolId;
 
     public StringToken(String value, Position position, TokenTypeEnum tokenType) {
-        super(position, tokenType);
+        this(value, PackedPosition.pack(position), tokenType);
+    }
+
+    public StringToken(String value, long packedPosition, TokenTypeEnum tokenType) {
+        this(value, packedPosition, tokenType, SymbolTable.NO_ID);
+    }
+
+    public StringToken(String value, long packedPosition, TokenTypeEnum tokenType, int symbolId) {
+        super(packedPosition, tokenType);
         this.value = value;
+        this.symbolId = symbolId;
     }
 
     @Override
@@ -16,6 +29,10 @@ public class StringToken extends Token {
         return value;
     }
 
+    public int getSymbolId() {
+        return symbolId;
+    }
+
     @Override
     public String toString() {
         return super.toString() + String.format(" with value: %s", value);
@@ -1,20 +1,31 @@
 package lexer.tokens;
 
+import lexer.PackedPosition;
 import lexer.Position;
 import lexer.TokenTypeEnum;
 
 public class Token {
-    private final Position position;
+    // the position is kept packed and decoded by `getPosition()` on demand, into a new `Position` on every call,
+    // so the line and column alone are better read from `getPackedPosition()`
+    private final long packedPosition;
 
     private final TokenTypeEnum tokenType;
 
     public Token(Position position, TokenTypeEnum tokenType) {
-        this.position = position;
+        this(PackedPosition.pack(position), tokenType);
+    }
+
+    public Token(long packedPosition, TokenTypeEnum tokenType) {
+        this.packedPosition = packedPosition;
         this.tokenType = tokenType;
     }
 
     public Position getPosition() {
-        return position;
+        return PackedPosition.toPosition(packedPosition);
+    }
+
+    public long getPackedPosition() {
+        return packedPosition;
     }
 
     public TokenTypeEnum getTokenType() {
@@ -27,6 +38,7 @@ public class Token {
 
     @Override
     public String toString() {
-        return String.format("Token %s at position: <line: %d, column %d>", tokenType.toString(), position.getLineNumber(), position.getColumnNumber());
+        return String.format("Token %s at position: <line: %d, column %d>", tokenType.toString(),
+                PackedPosition.getLineNumber(packedPosition), PackedPosition.getColumnNumber(packedPosition));
     }
 }
@@ -2,4 +2,8 @@ package parser;
 
 public interface IParameter extends IVisitable {
     String name();
+
+    // `id` is the `SymbolTable` id of the name, or `SymbolTable.NO_ID` when it was not lexed.
+    // It is not compared by `equals`, like that of `Identifier`.
+    int id();
 }
@@ -2,7 +2,15 @@ package parser;
 
 import parser.program_components.Program;
 
+import java.util.function.Consumer;
+
 public interface IParser {
 
     Program parse();
+
+    // `parse(consumer)` hands the function definitions to `consumer` in source order.
+    // `Parser` does it as each one is parsed, the other parsers once the whole program is.
+    default void parse(Consumer<IFunctionDef> consumer) {
+        parse().functions().values().forEach(consumer);
+    }
 }
@@ -0,0 +1,240 @@
+package parser;
+
+import lexer.IncrementalLexer;
+import lexer.PackedPosition;
+import lexer.TokenBuffer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import parser.program_components.Program;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+// `IncrementalParser` keeps the source text with its tokens in an `IncrementalLexer`,
+// and the text range of every top-level function of the last parse.
+// After an edit, the functions ending before it are kept, as are the functions after it
+// whose first token is still at the same line and column: the lexer holds no state between tokens,
+// so all their tokens and positions are the same. Only the tokens between them are parsed again,
+// and the kept `IFunctionDef` objects are put into the new `Program`.
+// The ranges are known only after a parse without errors. Otherwise, and whenever parsing the edited part fails,
+// the whole program is parsed by a `Parser`, which reports the errors in the usual order.
+public class IncrementalParser {
+    private final IncrementalLexer lexer;
+    private final ParserErrorHandler errorHandler;
+    private Program program;
+    // the functions of `program` in source order, or null after a parse with errors
+    private ArrayList<FunctionRange> functions;
+    private int reparsedFunctionCount;
+    private boolean headersChanged;
+
+    // `FunctionRange` is a function definition with the offsets of its first char and of the char after its "}"
+    private record FunctionRange(IFunctionDef function, int startOffset, int endOffset) {
+    }
+
+    public IncrementalParser(String text, ParserErrorHandler errorHandler) {
+        this.lexer = new IncrementalLexer(text);
+        this.errorHandler = errorHandler;
+        parseAll();
+    }
+
+    public Program getProgram() {
+        return program;
+    }
+
+    public String getText() {
+        return lexer.getText();
+    }
+
+    // `getReparsedFunctionCount` returns the number of functions parsed by the last edit.
+    public int getReparsedFunctionCount() {
+        return reparsedFunctionCount;
+    }
+
+    // `haveHeadersChanged` tells whether the last edit changed the type, name or parameters of a function,
+    // or added or removed one, so that the function map was built anew. It is true after a full parse.
+    public boolean haveHeadersChanged() {
+        return headersChanged;
+    }
+
+    public Program edit(int offset, int removedLength, String insertedText) {
+        lexer.edit(offset, removedLength, insertedText);
+        if (functions == null || !reparse(offset, offset + removedLength, insertedText.length() - removedLength)) {
+            parseAll();
+        }
+        return program;
+    }
+
+    private void parseAll() {
+        functions = null;
+        headersChanged = true;
+        int errorCount = errorHandler.getErrorLog().size();
+        TokenBuffer tokens = lexer.toTokenBuffer();
+        program = new Parser(tokens, errorHandler).parse();
+        reparsedFunctionCount = program.functions().size();
+        if (errorHandler.getErrorLog().size() == errorCount) {
+            functions = findFunctionRanges(tokens);
+        }
+    }
+
+    // `findFunctionRanges` returns null when tokens which are no function definition were left unparsed.
+    private ArrayList<FunctionRange> findFunctionRanges(TokenBuffer tokens) {
+        ArrayList<FunctionRange> ranges = new ArrayList<>();
+        int[] functionEnds = tokens.size() > 1 ? ParallelParser.findFunctionEnds(tokens) : new int[0];
+        if (functionEnds == null || functionEnds.length != program.functions().size()) {
+            return null;
+        }
+
+        Iterator<IFunctionDef> parsedFunctions = program.functions().values().iterator();
+        for (int i = 0; i < functionEnds.length; i++) {
+            ranges.add(toFunctionRange(parsedFunctions.next(), i == 0 ? 0 : functionEnds[i - 1], functionEnds[i]));
+        }
+        return ranges;
+    }
+
+    // `reparse` parses the tokens between the functions kept from before and after the edit of `[editStart, editEnd)`,
+    // and returns false when they are not function definitions without errors, or a function name is repeated.
+    private boolean reparse(int editStart, int editEnd, int lengthDelta) {
+        int firstEdited = 0;
+        while (firstEdited < functions.size() && functions.get(firstEdited).endOffset() <= editStart) {
+            firstEdited++;
+        }
+        int firstKept = firstEdited;
+        while (firstKept < functions.size() && !isKeptAfterEdit(functions.get(firstKept), editEnd, lengthDelta)) {
+            firstKept++;
+        }
+
+        int fromIndex = firstEdited == 0 ? 0 : findTokenIndex(functions.get(firstEdited - 1).endOffset());
+        int toIndex = firstKept == functions.size()
+                ? lexer.size() - 1
+                : findTokenIndex(functions.get(firstKept).startOffset() + lengthDelta);
+        ArrayList<IFunctionDef> reparsedFunctions = new ArrayList<>();
+        int[] functionEnds = new int[0];
+        if (toIndex > fromIndex) {
+            TokenBuffer tokens = new TokenBuffer();
+            for (int i = fromIndex; i < toIndex; i++) {
+                tokens.add(getValuedToken(i));
+            }
+            tokens.add(new Token(lexer.getToken(toIndex).getPackedPosition(), TokenTypeEnum.ETX));
+
+            functionEnds = ParallelParser.findFunctionEnds(tokens);
+            if (functionEnds == null) {
+                return false;
+            }
+            try {
+                reparsedFunctions = new Parser(tokens, new ParallelParser.AbortingErrorHandler())
+                        .parseFunctionDefs(0, functionEnds[functionEnds.length - 1]);
+            } catch (ParallelParser.SyntaxErrorFoundException e) {
+                return false;
+            }
+            if (reparsedFunctions == null || reparsedFunctions.size() != functionEnds.length) {
+                return false;
+            }
+        }
+
+        boolean newHeadersChanged = firstKept - firstEdited != reparsedFunctions.size();
+        for (int i = 0; i < reparsedFunctions.size() && !newHeadersChanged; i++) {
+            newHeadersChanged = !hasSameHeader(functions.get(firstEdited + i).function(), reparsedFunctions.get(i));
+        }
+
+        ArrayList<FunctionRange> newFunctions = new ArrayList<>(functions.subList(0, firstEdited));
+        for (int i = 0; i < reparsedFunctions.size(); i++) {
+            newFunctions.add(toFunctionRange(reparsedFunctions.get(i),
+                    fromIndex + (i == 0 ? 0 : functionEnds[i - 1]), fromIndex + functionEnds[i]));
+        }
+        for (FunctionRange range : functions.subList(firstKept, functions.size())) {
+            newFunctions.add(new FunctionRange(range.function(), range.startOffset() + lengthDelta, range.endOffset() + lengthDelta));
+        }
+
+        LinkedHashMap<String, IFunctionDef> functionMap;
+        if (newHeadersChanged) {
+            functionMap = new LinkedHashMap<>();
+            for (FunctionRange range : newFunctions) {
+                // a duplicated name is reported by parsing the whole program
+                if (functionMap.putIfAbsent(range.function().name(), range.function()) != null) {
+                    return false;
+                }
+            }
+        } else {
+            // the names are the same, so only the reparsed functions are replaced, keeping the source order
+            functionMap = new LinkedHashMap<>(program.functions());
+            for (IFunctionDef function : reparsedFunctions) {
+                functionMap.put(function.name(), function);
+            }
+        }
+
+        program = new Program(PackedPosition.toPosition(lexer.getToken(0).getPackedPosition()), functionMap);
+        functions = newFunctions;
+        reparsedFunctionCount = reparsedFunctions.size();
+        headersChanged = newHeadersChanged;
+        return true;
+    }
+
+    // `isKeptAfterEdit` tells whether the function follows the edit and its first token has not moved.
+    private boolean isKeptAfterEdit(FunctionRange range, int editEnd, int lengthDelta) {
+        if (range.startOffset() < editEnd) {
+            return false;
+        }
+
+        int offset = range.startOffset() + lengthDelta;
+        int index = findTokenIndex(offset);
+        return index < lexer.size() && lexer.getTokenOffset(index) == offset
+                && lexer.getToken(index).getPackedPosition() == PackedPosition.pack(range.function().position());
+    }
+
+    // `getValuedToken` checks that the lexer kept the value of the token, as `Parser` expects one
+    // for every identifier and literal.
+    private Token getValuedToken(int index) {
+        Token token = lexer.getToken(index);
+        switch (token.getTokenType()) {
+            case IDENTIFIER:
+            case STRING_VALUE:
+            case INT_VALUE:
+            case DOUBLE_VALUE:
+                if (token.getValue() == null) {
+                    throw new IllegalStateException(String.format("Token %d of type %s at offset %d has no value",
+                            index, token.getTokenType(), lexer.getTokenOffset(index)));
+                }
+                break;
+            default:
+                break;
+        }
+        return token;
+    }
+
+    // `findTokenIndex` returns the index of the first token starting at or after `offset`.
+    private int findTokenIndex(int offset) {
+        int low = 0;
+        int high = lexer.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (lexer.getTokenOffset(middle) < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private FunctionRange toFunctionRange(IFunctionDef function, int fromIndex, int toIndex) {
+        return new FunctionRange(function, lexer.getTokenOffset(fromIndex), lexer.getTokenOffset(toIndex - 1) + 1);
+    }
+
+    // `hasSameHeader` compares the types, names and parameters of the functions, but not their positions.
+    private static boolean hasSameHeader(IFunctionDef function, IFunctionDef otherFunction) {
+        if (function.getClass() != otherFunction.getClass() || !function.name().equals(otherFunction.name())
+                || function.parameters().size() != otherFunction.parameters().size()) {
+            return false;
+        }
+
+        Iterator<IParameter> otherParameters = otherFunction.parameters().values().iterator();
+        for (IParameter parameter : function.parameters().values()) {
+            IParameter otherParameter = otherParameters.next();
+            if (parameter.getClass() != otherParameter.getClass() || !parameter.name().equals(otherParameter.name())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
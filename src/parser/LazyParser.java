@@ -0,0 +1,36 @@
+package parser;
+
+import lexer.TokenBuffer;
+import parser.program_components.Program;
+import parser.program_components.function_definitions.LazyFunctionDef;
+
+// `LazyParser` parses only the headers of the function definitions of a buffered program. The code blocks
+// are skipped by matching curly brackets and each is parsed on the first use of its `LazyFunctionDef`,
+// which `ContextManager.getFunction` makes at the first call of the function. Errors in a code block are
+// reported to the error handler when it is parsed, so those of functions never called are reported
+// only if `parseRemainingBodies` is called.
+public class LazyParser implements IParser {
+    private final TokenBuffer tokens;
+    private final ParserErrorHandler errorHandler;
+
+    public LazyParser(TokenBuffer tokens, ParserErrorHandler errorHandler) {
+        this.tokens = tokens;
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public Program parse() {
+        Parser parser = new Parser(tokens, errorHandler);
+        parser.setLazyFunctionBodies(true);
+        return parser.parse();
+    }
+
+    // `parseRemainingBodies` parses the code blocks which have not been parsed yet, reporting their errors.
+    public static void parseRemainingBodies(Program program) {
+        for (IFunctionDef function : program.functions().values()) {
+            if (function instanceof LazyFunctionDef lazyFunction) {
+                lazyFunction.resolve();
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package parser;
+
+import lexer.Position;
+import lexer.TokenBuffer;
+import lexer.TokenTypeEnum;
+import parser.exceptions.DuplicatedFunctionNameException;
+import parser.program_components.Program;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// `ParallelParser` parses the top-level function definitions of a program on a fork-join pool.
+// A pre-scan of the buffered tokens finds where every function ends by matching curly brackets,
+// then groups of consecutive functions are parsed by separate `Parser`s and merged in source order.
+// With a syntax error the pre-scan cannot be trusted, so such a program is parsed again
+// by a single `Parser`, which reports the errors in the usual order.
+public class ParallelParser implements IParser {
+    private static final int MIN_GROUP_TOKENS = 1 << 12;
+    private static final int GROUPS_PER_THREAD = 4;
+
+    private final TokenBuffer tokens;
+    private final ParserErrorHandler errorHandler;
+    private final ForkJoinPool pool;
+    private int minGroupTokens = MIN_GROUP_TOKENS;
+
+    public ParallelParser(TokenBuffer tokens, ParserErrorHandler errorHandler) {
+        this(tokens, errorHandler, ForkJoinPool.commonPool());
+    }
+
+    public ParallelParser(TokenBuffer tokens, ParserErrorHandler errorHandler, ForkJoinPool pool) {
+        this.tokens = tokens;
+        this.errorHandler = errorHandler;
+        this.pool = pool;
+    }
+
+    public void setMinGroupTokens(int minGroupTokens) {
+        this.minGroupTokens = Math.max(minGroupTokens, 1);
+    }
+
+    @Override
+    public Program parse() {
+        int groupCount = Math.max(1, Math.min(pool.getParallelism() * GROUPS_PER_THREAD, tokens.size() / minGroupTokens));
+        int[] functionEnds = groupCount > 1 && pool.getParallelism() > 1 ? findFunctionEnds(tokens) : null;
+        if (functionEnds == null || functionEnds.length < 2) {
+            return new Parser(tokens, errorHandler).parse();
+        }
+
+        ArrayList<int[]> groups = splitIntoGroups(functionEnds, groupCount);
+        ArrayList<ForkJoinTask<ArrayList<IFunctionDef>>> tasks = new ArrayList<>();
+        for (int[] group : groups) {
+            tasks.add(pool.submit(() -> parseGroup(functionEnds, group[0], group[1])));
+        }
+
+        ArrayList<IFunctionDef> functions = new ArrayList<>();
+        for (ForkJoinTask<ArrayList<IFunctionDef>> task : tasks) {
+            ArrayList<IFunctionDef> groupFunctions = task.join();
+            if (groupFunctions == null) {
+                return new Parser(tokens, errorHandler).parse();
+            }
+            functions.addAll(groupFunctions);
+        }
+
+        return new Program(new Position(tokens.getLineNumber(0), tokens.getColumnNumber(0)), merge(functions, functionEnds));
+    }
+
+    // `findFunctionEnds` returns the index of the first token after every top-level function,
+    // or null when the curly brackets do not match or tokens follow the last function.
+    static int[] findFunctionEnds(TokenBuffer tokens) {
+        int[] functionEnds = new int[64];
+        int functionCount = 0;
+        int depth = 0;
+        int last = tokens.size() - 1;
+        for (int i = 0; i < last; i++) {
+            TokenTypeEnum type = tokens.getTokenType(i);
+            if (type == TokenTypeEnum.LEFT_CURLY_BRACKET) {
+                depth++;
+            } else if (type == TokenTypeEnum.RIGHT_CURLY_BRACKET) {
+                depth--;
+                if (depth < 0) {
+                    return null;
+                } else if (depth == 0) {
+                    if (functionCount == functionEnds.length) {
+                        functionEnds = Arrays.copyOf(functionEnds, functionCount * 2);
+                    }
+                    functionEnds[functionCount++] = i + 1;
+                }
+            }
+        }
+
+        if (depth != 0 || functionCount == 0 || functionEnds[functionCount - 1] != last) {
+            return null;
+        }
+        return Arrays.copyOf(functionEnds, functionCount);
+    }
+
+    // `splitIntoGroups` returns the ranges of function indexes `[first, end)` parsed by one task,
+    // each starting after at least `tokens.size() / groupCount` tokens of the previous one.
+    private ArrayList<int[]> splitIntoGroups(int[] functionEnds, int groupCount) {
+        ArrayList<int[]> groups = new ArrayList<>();
+        int targetTokens = Math.max(tokens.size() / groupCount, 1);
+        int firstFunction = 0;
+        int groupStart = 0;
+        for (int i = 0; i < functionEnds.length - 1; i++) {
+            if (functionEnds[i] - groupStart >= targetTokens && groups.size() < groupCount - 1) {
+                groups.add(new int[]{firstFunction, i + 1});
+                firstFunction = i + 1;
+                groupStart = functionEnds[i];
+            }
+        }
+
+        groups.add(new int[]{firstFunction, functionEnds.length});
+        return groups;
+    }
+
+    private ArrayList<IFunctionDef> parseGroup(int[] functionEnds, int firstFunction, int endFunction) {
+        int fromIndex = firstFunction == 0 ? 0 : functionEnds[firstFunction - 1];
+        try {
+            return new Parser(tokens, new AbortingErrorHandler()).parseFunctionDefs(fromIndex, functionEnds[endFunction - 1]);
+        } catch (SyntaxErrorFoundException e) {
+            return null;
+        }
+    }
+
+    // `merge` reports a duplicated name at the token after the function, as `Parser.parse()` does,
+    // and keeps the function defined first.
+    private LinkedHashMap<String, IFunctionDef> merge(ArrayList<IFunctionDef> functions, int[] functionEnds) {
+        LinkedHashMap<String, IFunctionDef> namedFunctions = new LinkedHashMap<>();
+        for (int i = 0; i < functions.size(); i++) {
+            IFunctionDef function = functions.get(i);
+            if (namedFunctions.putIfAbsent(function.name(), function) != null) {
+                int nextToken = functionEnds[i];
+                try {
+                    errorHandler.handle(
+                            new DuplicatedFunctionNameException(
+                                    String.format("Function %s at position: <line: %d, column %d>", function.name(), tokens.getLineNumber(nextToken), tokens.getColumnNumber(nextToken))
+                            )
+                    );
+                } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
+                    // the function defined first is kept, as `Parser.parse()` does
+                }
+            }
+        }
+        return namedFunctions;
+    }
+
+    // `AbortingErrorHandler` stops a task at its first error, after which the program is parsed sequentially.
+    static class AbortingErrorHandler extends ParserErrorHandler {
+        @Override
+        public void handle(Exception e) {
+            throw new SyntaxErrorFoundException();
+        }
+    }
+
+    static class SyntaxErrorFoundException extends RuntimeException {
+    }
+}
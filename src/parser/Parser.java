@@ -1,8 +1,13 @@
 package parser;
 
 import lexer.ILexer;
+import lexer.LookaheadLexer;
+import lexer.PackedPosition;
 import lexer.Position;
+import lexer.SymbolTable;
+import lexer.TokenBuffer;
 import lexer.TokenTypeEnum;
+import lexer.tokens.StringToken;
 import lexer.tokens.Token;
 import parser.exceptions.*;
 import parser.program_components.*;
@@ -13,143 +18,518 @@ import parser.program_components.function_definitions.*;
 import parser.program_components.parameters.*;
 import parser.program_components.statements.*;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.function.Consumer;
 
 public class Parser implements IParser {
-    private final ILexer lexer;
-    private final IErrorHandler errorHandler;
+    // binding powers of the binary operators, indexed by `TokenTypeEnum` ordinal; 0 for the other tokens
+    private static final int COMPARISON_BINDING_POWER = 3;
+    private static final int MULTIPLICATIVE_BINDING_POWER = 5;
+    private static final int[] BINDING_POWERS = new int[TokenTypeEnum.values().length];
+    private static final BinaryExpressionFactory[] BINARY_EXPRESSION_FACTORIES =
+            new BinaryExpressionFactory[TokenTypeEnum.values().length];
+    // factories of the nodes of every data type, by its keyword, for `T` and `List[T]`; see `addDataType`
+    private static final EnumMap<TokenTypeEnum, DataType> DATA_TYPES = new EnumMap<>(TokenTypeEnum.class);
+    private static final EnumMap<TokenTypeEnum, DataType> LIST_DATA_TYPES = new EnumMap<>(TokenTypeEnum.class);
+    private static final EnumMap<TokenTypeEnum, ListValueFactory> LIST_VALUE_FACTORIES = new EnumMap<>(TokenTypeEnum.class);
+    private static final DataType VOID_DATA_TYPE = new DataType(VoidParameter::new, VoidFunctionDef::new);
+
+    static {
+        addBinaryOperator(TokenTypeEnum.OR_OPERATOR, 1, AlternativeExpression::new);
+        addBinaryOperator(TokenTypeEnum.AND_OPERATOR, 2, ConjunctiveExpression::new);
+        addBinaryOperator(TokenTypeEnum.LESS_THAN_OPERATOR, COMPARISON_BINDING_POWER, LessThanExpression::new);
+        addBinaryOperator(TokenTypeEnum.LESS_OR_EQUAL_OPERATOR, COMPARISON_BINDING_POWER, LessOrEqualExpression::new);
+        addBinaryOperator(TokenTypeEnum.GREATER_THAN_OPERATOR, COMPARISON_BINDING_POWER, GreaterThanExpression::new);
+        addBinaryOperator(TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR, COMPARISON_BINDING_POWER, GreaterOrEqualExpression::new);
+        addBinaryOperator(TokenTypeEnum.EQUAL_OPERATOR, COMPARISON_BINDING_POWER, EqualExpression::new);
+        addBinaryOperator(TokenTypeEnum.NOT_EQUAL_OPERATOR, COMPARISON_BINDING_POWER, NotEqualExpression::new);
+        addBinaryOperator(TokenTypeEnum.ADDITION_OPERATOR, 4, AdditionExpression::new);
+        addBinaryOperator(TokenTypeEnum.SUBTRACTION_OPERATOR, 4, SubtractionExpression::new);
+        addBinaryOperator(TokenTypeEnum.MULTIPLICATION_OPERATOR, MULTIPLICATIVE_BINDING_POWER, MultiplicationExpression::new);
+        addBinaryOperator(TokenTypeEnum.DIVISION_OPERATOR, MULTIPLICATIVE_BINDING_POWER, DivisionExpression::new);
+        addBinaryOperator(TokenTypeEnum.DISCRETE_DIVISION_OPERATOR, MULTIPLICATIVE_BINDING_POWER, DiscreteDivisionExpression::new);
+
+        addDataType(TokenTypeEnum.INT_KEYWORD, IntParameter::new, IntFunctionDef::new,
+                IntListParameter::new, IntListFunctionDef::new, IntListValue::new);
+        addDataType(TokenTypeEnum.DOUBLE_KEYWORD, DoubleParameter::new, DoubleFunctionDef::new,
+                DoubleListParameter::new, DoubleListFunctionDef::new, DoubleListValue::new);
+        addDataType(TokenTypeEnum.STRING_KEYWORD, StringParameter::new, StringFunctionDef::new,
+                StringListParameter::new, StringListFunctionDef::new, StringListValue::new);
+        addDataType(TokenTypeEnum.BOOL_KEYWORD, BoolParameter::new, BoolFunctionDef::new,
+                BoolListParameter::new, BoolListFunctionDef::new, BoolListValue::new);
+        addDataType(TokenTypeEnum.POINT_KEYWORD, PointParameter::new, PointFunctionDef::new,
+                PointListParameter::new, PointListFunctionDef::new, PointListValue::new);
+        addDataType(TokenTypeEnum.SECTION_KEYWORD, SectionParameter::new, SectionFunctionDef::new,
+                SectionListParameter::new, SectionListFunctionDef::new, SectionListValue::new);
+        addDataType(TokenTypeEnum.FIGURE_KEYWORD, FigureParameter::new, FigureFunctionDef::new,
+                FigureListParameter::new, FigureListFunctionDef::new, FigureListValue::new);
+        addDataType(TokenTypeEnum.SCENE_KEYWORD, SceneParameter::new, SceneFunctionDef::new,
+                SceneListParameter::new, SceneListFunctionDef::new, SceneListValue::new);
+    }
+
+    private final LookaheadLexer lexer;
+    private final ParserErrorHandler errorHandler;
+    // set with `RecoveringParserErrorHandler`, which makes the parser skip the statements and function definitions with errors
+    private final boolean recovering;
+    // `cursor` is set when tokens are read from a `TokenBuffer`,
+    // then `currentToken` is not used and no token objects are created.
+    private final TokenBuffer tokens;
+    private final TokenBuffer.Cursor cursor;
     private Token currentToken;
+    // set by `LazyParser`, which leaves the code blocks of function definitions to `LazyFunctionDef`
+    private boolean lazyFunctionBodies = false;
+    // set with `setExplicitStack`, which keeps the nested expressions and code blocks on the heap; see `ExpressionFrame`
+    private boolean explicitStack = false;
+    // the `Position` created last, shared by AST nodes starting at the same token, as it is immutable
+    private Position lastPosition;
+    private long lastPackedPosition;
+
+    private interface BinaryExpressionFactory {
+        IExpression create(Position position, IExpression leftExp, IExpression rightExp);
+    }
+
+    private interface ParameterFactory {
+        IParameter create(Position position, String name, int id);
+    }
+
+    private interface FunctionDefFactory {
+        IFunctionDef create(Position position, String name, LinkedHashMap<String, IParameter> parameters, CodeBlock codeBlock);
+    }
+
+    private interface ListValueFactory {
+        IExpression create(Position position);
+    }
+
+    // `DataType` creates the parameters and function definitions of one data type
+    private record DataType(ParameterFactory parameterFactory, FunctionDefFactory functionDefFactory) {
+    }
+
+    // `ExpressionFrame` is an expression of `parseExpressionWithExplicitStack` waiting for an operand:
+    // a binary expression as in `parseBinaryExpression`, or a parentheses or negated expression.
+    private static final class ExpressionFrame {
+        static final int BINARY = 0;
+        static final int PARENTHESES = 1;
+        static final int NEGATION = 2;
+
+        final int kind;
+        final long position;
+        final int minBindingPower;
+        int maxBindingPower = MULTIPLICATIVE_BINDING_POWER;
+        IExpression leftExp;
+        // the operator waiting for its right operand; null while the left operand is parsed
+        BinaryExpressionFactory factory;
+        long operatorPosition;
+        int operatorBindingPower;
+
+        ExpressionFrame(int kind, long position, int minBindingPower) {
+            this.kind = kind;
+            this.position = position;
+            this.minBindingPower = minBindingPower;
+        }
+    }
+
+    // `StatementFrame` is a code block, if or while statement of `parseCodeBlockWithExplicitStack`
+    // whose code block is being parsed. `kind` of an if statement tells which of its code blocks it is.
+    private static final class StatementFrame {
+        static final int CODE_BLOCK = 0;
+        static final int IF = 1;
+        static final int ELSE_IF = 2;
+        static final int ELSE = 3;
+        static final int WHILE = 4;
+
+        int kind;
+        final long position;
+        final ArrayList<IStatement> statements = new ArrayList<>();
+        IExpression exp;
+        CodeBlock ifCodeBlock;
+        final ArrayList<ElseIfStatement> elseIfStatements = new ArrayList<>();
+        long elseIfPosition;
+        IExpression elseIfExp;
+        long elsePosition;
+
+        StatementFrame(int kind, long position) {
+            this.kind = kind;
+            this.position = position;
+        }
+    }
+
+    private static void addBinaryOperator(TokenTypeEnum operator, int bindingPower, BinaryExpressionFactory factory) {
+        BINDING_POWERS[operator.ordinal()] = bindingPower;
+        BINARY_EXPRESSION_FACTORIES[operator.ordinal()] = factory;
+    }
+
+    private static void addDataType(TokenTypeEnum keyword, ParameterFactory parameterFactory, FunctionDefFactory functionDefFactory,
+                                    ParameterFactory listParameterFactory, FunctionDefFactory listFunctionDefFactory,
+                                    ListValueFactory listValueFactory) {
+        DATA_TYPES.put(keyword, new DataType(parameterFactory, functionDefFactory));
+        LIST_DATA_TYPES.put(keyword, new DataType(listParameterFactory, listFunctionDefFactory));
+        LIST_VALUE_FACTORIES.put(keyword, listValueFactory);
+    }
 
     public Parser(ILexer lexer, ParserErrorHandler errorHandler) {
-        this.lexer = lexer;
+        this.lexer = new LookaheadLexer(lexer);
         this.errorHandler = errorHandler;
+        this.recovering = errorHandler instanceof RecoveringParserErrorHandler;
+        this.tokens = null;
+        this.cursor = null;
         currentToken = null;
     }
 
+    public Parser(TokenBuffer tokens, ParserErrorHandler errorHandler) {
+        this.tokens = tokens;
+        this.cursor = tokens.cursor();
+        this.lexer = null;
+        this.errorHandler = errorHandler;
+        this.recovering = errorHandler instanceof RecoveringParserErrorHandler;
+        currentToken = null;
+    }
+
+    // `setLazyFunctionBodies` is only valid for tokens read from a `TokenBuffer`, to which the code blocks point.
+    void setLazyFunctionBodies(boolean lazyFunctionBodies) {
+        if (cursor == null && lazyFunctionBodies) {
+            throw new IllegalStateException("Lazy function bodies need the tokens in a TokenBuffer");
+        }
+        this.lazyFunctionBodies = lazyFunctionBodies;
+    }
+
+    // `setExplicitStack` makes the parser keep the nested parentheses and code blocks in stacks on the heap,
+    // so that their depth is not limited by the thread stack. The parsed program is the same.
+    public void setExplicitStack(boolean explicitStack) {
+        this.explicitStack = explicitStack;
+    }
+
     /* program = { functionDef } */
     @Override
     public Program parse() {
         nextToken();
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         LinkedHashMap<String, IFunctionDef> functions = new LinkedHashMap<>();
-        IFunctionDef newFunction = parseFunctionDef();
+        parseProgram(function -> functions.put(function.name(), function));
+
+        return new Program(toPosition(position), functions);
+    }
+
+    // `parse(consumer)` hands every function definition to `consumer` right after its closing bracket,
+    // so that the parsed program is never held whole. Only the names are kept, to report duplicates.
+    @Override
+    public void parse(Consumer<IFunctionDef> consumer) {
+        nextToken();
+        parseProgram(consumer);
+    }
+
+    private void parseProgram(Consumer<IFunctionDef> consumer) {
+        HashSet<String> names = new HashSet<>();
+        IFunctionDef newFunction = parseFunctionDefOrSkipIt();
         while (newFunction != null) {
-            if (!(functions.containsKey(newFunction.name()))) {
-                functions.put(newFunction.name(), newFunction);
-                newFunction = parseFunctionDef();
+            if (names.add(newFunction.name())) {
+                consumer.accept(newFunction);
+                newFunction = parseFunctionDefOrSkipIt();
             } else {
-                errorHandler.handle(
-                        new DuplicatedFunctionNameException(
-                                String.format("Function %s at position: <line: %d, column %d>", newFunction.name(), currentToken.getPosition().getLineNumber(), currentToken.getPosition().getColumnNumber())
-                        )
-                );
+                long position = currentTokenPackedPosition();
+                try {
+                    errorHandler.handle(
+                            new DuplicatedFunctionNameException(
+                                    String.format("Function %s at position: <line: %d, column %d>", newFunction.name(),
+                                            PackedPosition.getLineNumber(position), PackedPosition.getColumnNumber(position))
+                            )
+                    );
+                } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
+                    // the function defined first is kept
+                }
+                newFunction = parseFunctionDefOrSkipIt();
             }
         }
+    }
+
+    // `parseFunctionDefs` parses the function definitions from token `fromIndex` of the token buffer,
+    // and returns null unless the last of them ends right before token `toIndex`.
+    // `ParallelParser` uses it to parse a part of a program.
+    ArrayList<IFunctionDef> parseFunctionDefs(int fromIndex, int toIndex) {
+        cursor.moveTo(fromIndex - 1);
+        nextToken();
+        ArrayList<IFunctionDef> functions = new ArrayList<>();
+        while (cursor.getIndex() < toIndex) {
+            IFunctionDef function = parseFunctionDef();
+            if (function == null) {
+                return null;
+            }
+            functions.add(function);
+        }
+
+        return cursor.getIndex() == toIndex ? functions : null;
+    }
 
-        return new Program(position, functions);
+    // `parseFunctionDefOrSkipIt` skips a function definition with an error up to the next one when recovering,
+    // and reports the tokens which start no function definition, at which `parse()` would stop otherwise.
+    private IFunctionDef parseFunctionDefOrSkipIt() {
+        while (true) {
+            long position = currentTokenPackedPosition();
+            try {
+                IFunctionDef function = parseFunctionDef();
+                if (function == null && recovering && !isAtEndOfInput()) {
+                    errorHandler.handle(new MissingDataTypeDeclarationException(currentTokenDescription()));
+                }
+                return function;
+            } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
+                if (currentTokenPackedPosition() == position) {
+                    nextToken();
+                }
+                skipToFunctionDef();
+            }
+        }
     }
 
     /* functionDef = functionType, "(", { parameters }, ")", codeBlock */
     private IFunctionDef parseFunctionDef() {
-        IParameter functionType = parseFunctionType();
+        long position = currentTokenPackedPosition();
+        DataType functionType = parseFunctionType();
         if (functionType == null) {
             return null;
         }
+        Position functionPosition = toPosition(position);
+        String functionName = parseIdentifierName();
 
         parseLeftBracketWithoutReturningIt();
         LinkedHashMap<String, IParameter> parameters = parseParameters();
         parseRightBracketWithoutReturningIt();
 
+        if (lazyFunctionBodies) {
+            return parseLazyFunctionDef(functionType, functionPosition, functionName, parameters);
+        }
+
         CodeBlock codeBlock = parseCodeBlock();
         if (codeBlock == null) {
-            errorHandler.handle(new MissingLeftCurlyBracketException(currentToken.toString()));
-        }
-
-        if (functionType.getClass().equals(IntParameter.class)) {
-            return new IntFunctionDef((IntParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(DoubleParameter.class)) {
-            return new DoubleFunctionDef((DoubleParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(StringParameter.class)) {
-            return new StringFunctionDef((StringParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(BoolParameter.class)) {
-            return new BoolFunctionDef((BoolParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(PointParameter.class)) {
-            return new PointFunctionDef((PointParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(SectionParameter.class)) {
-            return new SectionFunctionDef((SectionParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(FigureParameter.class)) {
-            return new FigureFunctionDef((FigureParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(SceneParameter.class)) {
-            return new SceneFunctionDef((SceneParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(IntListParameter.class)) {
-            return new IntListFunctionDef((IntListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(DoubleListParameter.class)) {
-            return new DoubleListFunctionDef((DoubleListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(BoolListParameter.class)) {
-            return new BoolListFunctionDef((BoolListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(StringListParameter.class)) {
-            return new StringListFunctionDef((StringListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(PointListParameter.class)) {
-            return new PointListFunctionDef((PointListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(SectionListParameter.class)) {
-            return new SectionListFunctionDef((SectionListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(FigureListParameter.class)) {
-            return new FigureListFunctionDef((FigureListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(SceneListParameter.class)) {
-            return new SceneListFunctionDef((SceneListParameter) functionType, parameters, codeBlock);
-        } else if (functionType.getClass().equals(VoidParameter.class)) {
-            return new VoidFunctionDef((VoidParameter) functionType, parameters, codeBlock);
-        } else {
-            errorHandler.handle(new RuntimeException(currentToken.toString()));
+            errorHandler.handle(new MissingLeftCurlyBracketException(currentTokenDescription()));
+        }
+
+        return functionType.functionDefFactory().create(functionPosition, functionName, parameters, codeBlock);
+    }
+
+    // `parseLazyFunctionDef` skips the code block by matching the curly brackets,
+    // and leaves parsing it to the returned `LazyFunctionDef`.
+    private IFunctionDef parseLazyFunctionDef(DataType functionType, Position position, String name,
+                                              LinkedHashMap<String, IParameter> parameters) {
+        int codeBlockIndex = cursor.getIndex();
+        if (currentTokenType() != TokenTypeEnum.LEFT_CURLY_BRACKET) {
+            errorHandler.handle(new MissingLeftCurlyBracketException(currentTokenDescription()));
+            return functionType.functionDefFactory().create(position, name, parameters, null);
+        }
+
+        int depth = 0;
+        do {
+            if (isAtEndOfInput()) {
+                errorHandler.handle(new MissingRightCurlyBracketException(currentTokenDescription()));
+                return functionType.functionDefFactory().create(position, name, parameters, null);
+            } else if (currentTokenType() == TokenTypeEnum.LEFT_CURLY_BRACKET) {
+                depth++;
+            } else if (currentTokenType() == TokenTypeEnum.RIGHT_CURLY_BRACKET) {
+                depth--;
+            }
+            nextToken();
+        } while (depth > 0);
+
+        boolean bodyExplicitStack = explicitStack;
+        return new LazyFunctionDef(position, name, parameters, () -> {
+            Parser bodyParser = new Parser(tokens, errorHandler);
+            bodyParser.setExplicitStack(bodyExplicitStack);
+            return functionType.functionDefFactory().create(position, name, parameters, bodyParser.parseLazyFunctionBody(codeBlockIndex));
+        });
+    }
+
+    // `parseLazyFunctionBody` parses the code block of a `LazyFunctionDef`, which starts at token `index`.
+    private CodeBlock parseLazyFunctionBody(int index) {
+        cursor.moveTo(index - 1);
+        nextToken();
+        try {
+            return parseCodeBlock();
+        } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
             return null;
         }
     }
 
     /* codeBlock = "{", { stmnt }, "}" */
     private CodeBlock parseCodeBlock() {
-        Position position = currentToken.getPosition();
+        if (explicitStack) {
+            return parseCodeBlockWithExplicitStack();
+        }
+
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.LEFT_CURLY_BRACKET)) {
             return null;
         }
 
         ArrayList<IStatement> statements = new ArrayList<>();
-        IStatement statement = parseStatement();
-        while (statement != null) {
-            statements.add(statement);
-            statement = parseStatement();
-        }
-
-        if (!consumeIf(TokenTypeEnum.RIGHT_CURLY_BRACKET)) {
-            errorHandler.handle(new MissingRightCurlyBracketException(currentToken.toString()));
+        while (!consumeIf(TokenTypeEnum.RIGHT_CURLY_BRACKET)) {
+            try {
+                // when recovering, a function definition met here ends the code block instead of being parsed as a statement
+                IStatement statement = recovering && isAtFunctionDef() ? null : parseStatement();
+                if (statement == null) {
+                    errorHandler.handle(new MissingRightCurlyBracketException(currentTokenDescription()));
+                    break;
+                }
+                statements.add(statement);
+            } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
+                if (!skipToStatementEnd()) {
+                    throw e;
+                }
+            }
         }
 
-        return new CodeBlock(position, statements);
+        return new CodeBlock(toPosition(position), statements);
     }
 
-    /* stmnt = ifStmnt | whileStmnt | assignmentStmnt | returnStmnt | objectAccessStmnt */
-    private IStatement parseStatement() {
-        IfStatement ifStmnt = parseIfStatement();
-        if (ifStmnt != null) {
-            return ifStmnt;
+    // `parseCodeBlockWithExplicitStack` follows `parseCodeBlock`, `parseIfStatement` and `parseWhileStatement`,
+    // keeping the code blocks being parsed, and the if and while statements waiting for them, in `frames`.
+    // `codeBlock` is handed to the frame on top when `isCodeBlockDone`, the way `parseCodeBlock` returns it.
+    private CodeBlock parseCodeBlockWithExplicitStack() {
+        long position = currentTokenPackedPosition();
+        if (!consumeIf(TokenTypeEnum.LEFT_CURLY_BRACKET)) {
+            return null;
         }
 
-        WhileStatement whileStmnt = parseWhileStatement();
-        if (whileStmnt != null) {
-            return whileStmnt;
+        ArrayDeque<StatementFrame> frames = new ArrayDeque<>();
+        frames.push(new StatementFrame(StatementFrame.CODE_BLOCK, position));
+        CodeBlock codeBlock = null;
+        boolean isCodeBlockDone = false;
+        while (true) {
+            try {
+                if (!isCodeBlockDone) {
+                    StatementFrame frame = frames.peek();
+                    if (!consumeIf(TokenTypeEnum.RIGHT_CURLY_BRACKET)) {
+                        // when recovering, a function definition met here ends the code block instead of being parsed as a statement
+                        boolean isAtFunctionDef = recovering && isAtFunctionDef();
+                        TokenTypeEnum tokenType = currentTokenType();
+                        if (!isAtFunctionDef && (tokenType == TokenTypeEnum.IF_KEYWORD || tokenType == TokenTypeEnum.WHILE_KEYWORD)) {
+                            StatementFrame statementFrame = new StatementFrame(
+                                    tokenType == TokenTypeEnum.IF_KEYWORD ? StatementFrame.IF : StatementFrame.WHILE,
+                                    currentTokenPackedPosition());
+                            nextToken();
+                            statementFrame.exp = parseConditionExpression();
+                            frames.push(statementFrame);
+                            isCodeBlockDone = !pushCodeBlockFrame(frames);
+                            codeBlock = null;
+                            continue;
+                        }
+
+                        IStatement statement = isAtFunctionDef ? null : parseStatement();
+                        if (statement != null) {
+                            frame.statements.add(statement);
+                            continue;
+                        }
+                        errorHandler.handle(new MissingRightCurlyBracketException(currentTokenDescription()));
+                    }
+                    frames.pop();
+                    codeBlock = new CodeBlock(toPosition(frame.position), frame.statements);
+                    isCodeBlockDone = true;
+                    continue;
+                }
+
+                if (frames.isEmpty()) {
+                    return codeBlock;
+                }
+                StatementFrame frame = frames.peek();
+                registerErrorIfCodeBlockIsMissing(codeBlock);
+                IStatement statement;
+                switch (frame.kind) {
+                    case StatementFrame.WHILE:
+                        statement = new WhileStatement(toPosition(frame.position), frame.exp, codeBlock);
+                        break;
+                    case StatementFrame.ELSE:
+                        statement = new IfStatement(toPosition(frame.position), frame.exp, frame.ifCodeBlock, frame.elseIfStatements,
+                                new ElseStatement(toPosition(frame.elsePosition), codeBlock));
+                        break;
+                    default:
+                        if (frame.kind == StatementFrame.IF) {
+                            frame.ifCodeBlock = codeBlock;
+                        } else {
+                            frame.elseIfStatements.add(new ElseIfStatement(toPosition(frame.elseIfPosition), frame.elseIfExp, codeBlock));
+                        }
+                        frame.elseIfPosition = currentTokenPackedPosition();
+                        if (consumeIf(TokenTypeEnum.ELSE_IF_KEYWORD)) {
+                            frame.kind = StatementFrame.ELSE_IF;
+                            frame.elseIfExp = parseConditionExpression();
+                            isCodeBlockDone = !pushCodeBlockFrame(frames);
+                            codeBlock = null;
+                            continue;
+                        }
+                        frame.elsePosition = currentTokenPackedPosition();
+                        if (consumeIf(TokenTypeEnum.ELSE_KEYWORD)) {
+                            frame.kind = StatementFrame.ELSE;
+                            isCodeBlockDone = !pushCodeBlockFrame(frames);
+                            codeBlock = null;
+                            continue;
+                        }
+                        statement = new IfStatement(toPosition(frame.position), frame.exp, frame.ifCodeBlock, frame.elseIfStatements, null);
+                }
+                frames.pop();
+                frames.peek().statements.add(statement);
+                isCodeBlockDone = false;
+            } catch (RecoveringParserErrorHandler.SyntaxErrorException e) {
+                // the error goes up to the innermost code block, as through the catch clauses of `parseCodeBlock`
+                while (true) {
+                    while (!frames.isEmpty() && frames.peek().kind != StatementFrame.CODE_BLOCK) {
+                        frames.pop();
+                    }
+                    if (frames.isEmpty()) {
+                        throw e;
+                    }
+                    if (skipToStatementEnd()) {
+                        break;
+                    }
+                    frames.pop();
+                }
+                isCodeBlockDone = false;
+            }
         }
+    }
 
-        IStatement stmnt = parseAssignmentOrObjectAccessStatement();
-        if (stmnt != null) {
-            return stmnt;
+    // `pushCodeBlockFrame` starts a code block of `parseCodeBlockWithExplicitStack`, unless its "{" is missing
+    private boolean pushCodeBlockFrame(ArrayDeque<StatementFrame> frames) {
+        long position = currentTokenPackedPosition();
+        if (!consumeIf(TokenTypeEnum.LEFT_CURLY_BRACKET)) {
+            return false;
         }
+        frames.push(new StatementFrame(StatementFrame.CODE_BLOCK, position));
+        return true;
+    }
 
-        return parseReturnStatement();
+    /* stmnt = ifStmnt | whileStmnt | assignmentStmnt | returnStmnt | objectAccessStmnt */
+    private IStatement parseStatement() {
+        switch (currentTokenType()) {
+            case IF_KEYWORD:
+                return parseIfStatement();
+            case WHILE_KEYWORD:
+                return parseWhileStatement();
+            case RETURN_KEYWORD:
+                return parseReturnStatement();
+            case LIST_KEYWORD:
+            case INT_KEYWORD:
+            case DOUBLE_KEYWORD:
+            case STRING_KEYWORD:
+            case BOOL_KEYWORD:
+            case POINT_KEYWORD:
+            case SECTION_KEYWORD:
+            case FIGURE_KEYWORD:
+            case SCENE_KEYWORD:
+                return parseDeclarationStatement();
+            case IDENTIFIER:
+                if (peekTokenType(1) == TokenTypeEnum.ASSIGNMENT_OPERATOR) {
+                    return parseReassignmentStatement();
+                }
+                long position = currentTokenPackedPosition();
+                return parseRestOfObjectAccessStatement(position, parseIdentifierOrFunctionCallExpression());
+            default:
+                return null;
+        }
     }
 
     /* returnStmnt = "return", alternativeExp , ";" */
     private ReturnStatement parseReturnStatement() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.RETURN_KEYWORD)) {
             return null;
         }
@@ -157,41 +537,38 @@ public class Parser implements IParser {
         IExpression exp = parseAlternativeExpression();
         parseSemicolonWithoutReturningIt();
 
-        return new ReturnStatement(position, exp);
+        return new ReturnStatement(toPosition(position), exp);
     }
 
     /*
         assignmentStmnt = [ dataType ], identifier, assignmentOper, alternativeExp, ";"
         parameter       = dataType, identifier
     */
-    private IStatement parseAssignmentOrObjectAccessStatement() {
-        Position position = currentToken.getPosition();
+    private IStatement parseDeclarationStatement() {
+        long position = currentTokenPackedPosition();
         IParameter param = parseParameter();
-        IExpression exp = null;
-        if (param == null) {
-            exp = parseIdentifierOrFunctionCallExpression();
-            if (exp == null) {
-                return null;
-            } else if (exp.getClass().equals(Identifier.class)) {
-                param = new ReassignedParameter((Identifier) exp);
-            }
-        }
-
         if (consumeIf(TokenTypeEnum.ASSIGNMENT_OPERATOR)) {
             return parseRestOfAssignmentStatement(position, param);
-        } else if (exp == null) {
-            errorHandler.handle(new AmbiguousExpressionException(currentToken.toString()));
         }
 
-        return parseRestOfObjectAccessStatement(position, exp);
+        errorHandler.handle(new AmbiguousExpressionException(currentTokenDescription()));
+        return parseRestOfObjectAccessStatement(position, null);
     }
 
-    private AssignmentStatement parseRestOfAssignmentStatement(Position position, IParameter param) {
+    /* assignmentStmnt = identifier, assignmentOper, alternativeExp, ";" */
+    private IStatement parseReassignmentStatement() {
+        long position = currentTokenPackedPosition();
+        Identifier identifier = (Identifier) parseIdentifier();
+        nextToken();
+        return parseRestOfAssignmentStatement(position, new ReassignedParameter(identifier));
+    }
+
+    private AssignmentStatement parseRestOfAssignmentStatement(long position, IParameter param) {
         IExpression exp = parseAlternativeExpression();
         registerErrorIfExpIsMissing(exp);
         parseSemicolonWithoutReturningIt();
 
-        return new AssignmentStatement(position, param, exp);
+        return new AssignmentStatement(toPosition(position), param, exp);
     }
 
     /*
@@ -199,15 +576,20 @@ public class Parser implements IParser {
         objectAccessExp         = identOrFuncCallExp, { ".", identOrFuncCallExp }
         identOrFuncCallExp      = identifier, { "(", [ alternativeExp ], ")" }
     */
-    private IStatement parseRestOfObjectAccessStatement(Position position, IExpression leftExp) {
+    private IStatement parseRestOfObjectAccessStatement(long position, IExpression leftExp) {
         IExpression exp = parseRestOfObjectAccessExpression(position, leftExp);
+        if (!(exp instanceof IStatement statement)) {
+            // a lone identifier, e.g. `a;`, is no statement
+            errorHandler.handle(new MissingAssignmentOperatorException(currentTokenDescription()));
+            return null;
+        }
         parseSemicolonWithoutReturningIt();
-        return (IStatement) exp;
+        return statement;
     }
 
     /* ifStmnt = "if", "(", alternativeExp, ")", "{", codeBlock, "}", { elseifStmnt }, [ elseStmnt ] */
     private IfStatement parseIfStatement() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.IF_KEYWORD)) {
             return null;
         }
@@ -219,40 +601,40 @@ public class Parser implements IParser {
         ArrayList<ElseIfStatement> elseIfStatements = parseElseIfStatements();
         ElseStatement elseStmnt = parseElseStatement();
 
-        return new IfStatement(position, expression, ifCodeBlock, elseIfStatements, elseStmnt);
+        return new IfStatement(toPosition(position), expression, ifCodeBlock, elseIfStatements, elseStmnt);
     }
 
     /* elseifStmnt = "elseif", "(", alternativeExp, ")", "{", codeBlock, "}" */
     private ArrayList<ElseIfStatement> parseElseIfStatements() {
         ArrayList<ElseIfStatement> elseIfStatements = new ArrayList<>();
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         while (consumeIf(TokenTypeEnum.ELSE_IF_KEYWORD)) {
             IExpression exp = parseConditionExpression();
 
             CodeBlock elseIfCodeBlock = parseCodeBlock();
             registerErrorIfCodeBlockIsMissing(elseIfCodeBlock);
 
-            elseIfStatements.add(new ElseIfStatement(position, exp, elseIfCodeBlock));
-            position = currentToken.getPosition();
+            elseIfStatements.add(new ElseIfStatement(toPosition(position), exp, elseIfCodeBlock));
+            position = currentTokenPackedPosition();
         }
         return elseIfStatements;
     }
 
     /* elseStmnt = "else", "(", alternativeExp, ")", "{", codeBlock, "}" */
     private ElseStatement parseElseStatement() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (consumeIf(TokenTypeEnum.ELSE_KEYWORD)) {
             CodeBlock elseCodeBlock = parseCodeBlock();
             registerErrorIfCodeBlockIsMissing(elseCodeBlock);
 
-            return new ElseStatement(position, elseCodeBlock);
+            return new ElseStatement(toPosition(position), elseCodeBlock);
         }
         return null;
     }
 
     /* whileStmnt = "while", "(", alternativeExp, ")", "{", codeBlock, "}" */
     private WhileStatement parseWhileStatement() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.WHILE_KEYWORD)) {
             return null;
         }
@@ -260,18 +642,16 @@ public class Parser implements IParser {
         IExpression exp = parseConditionExpression();
         CodeBlock codeBlock = parseCodeBlock();
         registerErrorIfCodeBlockIsMissing(codeBlock);
-        return new WhileStatement(position, exp, codeBlock);
+        return new WhileStatement(toPosition(position), exp, codeBlock);
     }
 
     /* functionType = parameter | ( "void", identifier ) */
-    private IParameter parseFunctionType() {
-        Position position = currentToken.getPosition();
+    private DataType parseFunctionType() {
         if (consumeIf(TokenTypeEnum.VOID_KEYWORD)) {
-            String paramName = parseIdentifierName();
-            return new VoidParameter(position, paramName);
+            return VOID_DATA_TYPE;
         }
 
-        return parseParameter();
+        return parseDataType();
     }
 
     /* parameters = parameter, ",", { parameter } */
@@ -288,12 +668,14 @@ public class Parser implements IParser {
         while (consumeIf(TokenTypeEnum.COMMA)) {
             IParameter nextParam = parseParameter();
             if (nextParam == null) {
-                errorHandler.handle(new MissingDataTypeDeclarationException(currentToken.toString()));
+                errorHandler.handle(new MissingDataTypeDeclarationException(currentTokenDescription()));
             } else {
                 if (params.containsKey(nextParam.name())) {
+                    long position = currentTokenPackedPosition();
                     errorHandler.handle(
                             new DuplicatedParameterNameException(
-                                    String.format("Parameter %s at position: <line: %d, column %d>", nextParam.name(), currentToken.getPosition().getLineNumber(), currentToken.getPosition().getColumnNumber())
+                                    String.format("Parameter %s at position: <line: %d, column %d>", nextParam.name(),
+                                            PackedPosition.getLineNumber(position), PackedPosition.getColumnNumber(position))
                             )
                     );
                 }
@@ -312,78 +694,36 @@ public class Parser implements IParser {
         listableDataType = "Int" | "Double" | "String" | "Bool" | "Point" | "Section" | "Scene"
     */
     private IParameter parseParameter() {
-        IParameter param = parseDataTypeParameter();
-        if (param != null) {
-            return param;
-        }
-
-        return parseListableDataTypeParameter();
-    }
-
-    /* dataType = "List", "[", listableDataType, "]" | listableDataType */
-    private IParameter parseDataTypeParameter() {
-        Position position = currentToken.getPosition();
-        if (!consumeIf(TokenTypeEnum.LIST_KEYWORD)) {
+        long position = currentTokenPackedPosition();
+        DataType dataType = parseDataType();
+        if (dataType == null) {
             return null;
         }
 
-        parseLeftSquareBracketWithoutReturningIt();
-        TokenTypeEnum listParamType = parseListableDataType();
-        parseRightSquareBracketWithoutReturningIt();
-
+        int paramId = currentTokenSymbolId();
         String paramName = parseIdentifierName();
-
-        if (listParamType == TokenTypeEnum.INT_KEYWORD) {
-            return new IntListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.DOUBLE_KEYWORD) {
-            return new DoubleListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.BOOL_KEYWORD) {
-            return new BoolListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.STRING_KEYWORD) {
-            return new StringListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.POINT_KEYWORD) {
-            return new PointListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.SECTION_KEYWORD) {
-            return new SectionListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.FIGURE_KEYWORD) {
-            return new FigureListParameter(position, paramName);
-        } else if (listParamType == TokenTypeEnum.SCENE_KEYWORD) {
-            return new SceneListParameter(position, paramName);
-        } else {
-            errorHandler.handle(new RuntimeException(currentToken.toString()));
-            return null;
-        }
+        return dataType.parameterFactory().create(toPosition(position), paramName, paramId);
     }
 
-    /* listableDataType = "Int" | "Double" | "String" | "Bool" | "Point" | "Section" | "Scene" */
-    private IParameter parseListableDataTypeParameter() {
-        Position position = currentToken.getPosition();
-        if (isNotCurrentTokenOfListableDataTypeKeyword()) {
-            return null;
+    /* dataType = "List", "[", listableDataType, "]" | listableDataType */
+    private DataType parseDataType() {
+        if (consumeIf(TokenTypeEnum.LIST_KEYWORD)) {
+            parseLeftSquareBracketWithoutReturningIt();
+            TokenTypeEnum listParamType = parseListableDataType();
+            parseRightSquareBracketWithoutReturningIt();
+
+            DataType dataType = LIST_DATA_TYPES.get(listParamType);
+            if (dataType == null) {
+                errorHandler.handle(new RuntimeException(currentTokenDescription()));
+            }
+            return dataType;
         }
 
-        TokenTypeEnum paramType = currentToken.getTokenType();
-        nextToken();
-
-        String paramName = parseIdentifierName();
-
-        if (paramType == TokenTypeEnum.INT_KEYWORD) {
-            return new IntParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.DOUBLE_KEYWORD) {
-            return new DoubleParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.STRING_KEYWORD) {
-            return new StringParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.BOOL_KEYWORD) {
-            return new BoolParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.POINT_KEYWORD) {
-            return new PointParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.SECTION_KEYWORD) {
-            return new SectionParameter(position, paramName);
-        } else if (paramType == TokenTypeEnum.FIGURE_KEYWORD) {
-            return new FigureParameter(position, paramName);
-        } else {
-            return new SceneParameter(position, paramName);
+        DataType dataType = DATA_TYPES.get(currentTokenType());
+        if (dataType != null) {
+            nextToken();
         }
+        return dataType;
     }
 
     private IExpression parseConditionExpression() {
@@ -394,235 +734,138 @@ public class Parser implements IParser {
         return expression;
     }
 
-    /* alternativeExp = conjunctiveExp, { orOper, conjunctiveExp } */
-    private IExpression parseAlternativeExpression() {
-        IExpression leftExp = parseConjunctiveExpression();
-
-        if (leftExp == null) {
-            return null;
-        }
-
-        Position position = currentToken.getPosition();
-        while (consumeIf(TokenTypeEnum.OR_OPERATOR)) {
-            IExpression rightExp = parseConjunctiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new AlternativeExpression(position, leftExp, rightExp);
-            position = currentToken.getPosition();
-        }
-
-        return leftExp;
-    }
-
-    /* conjunctiveExp = comparisonExp, { andOper, comparisonExp } */
-    private IExpression parseConjunctiveExpression() {
-        IExpression leftExp = parseComparisonExpression();
-
-        if (leftExp == null) {
-            return null;
-        }
-
-        Position position = currentToken.getPosition();
-        while (consumeIf(TokenTypeEnum.AND_OPERATOR)) {
-            IExpression rightExp = parseComparisonExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new ConjunctiveExpression(position, leftExp, rightExp);
-            position = currentToken.getPosition();
-        }
-
-        return leftExp;
-    }
-
     /*
-        comparisonExp   = additiveExp, [ comparisonOper, additiveExp ]
-        comparisonOper  = equalOper | notEqualOper | lessThanOper | lessThanOrEqualOper | greaterThanOper | greaterThanOrEqualOper
+        alternativeExp      = conjunctiveExp, { orOper, conjunctiveExp }
+        conjunctiveExp      = comparisonExp, { andOper, comparisonExp }
+        comparisonExp       = additiveExp, [ comparisonOper, additiveExp ]
+        comparisonOper      = equalOper | notEqualOper | lessThanOper | lessThanOrEqualOper | greaterThanOper | greaterThanOrEqualOper
+        additiveExp         = multiplicativeExp, { additiveOper, multiplicativeExp }
+        additiveOper        = "+" | "-"
+        multiplicativeExp   = factor, { multiplicativeOper, factor }
+        multiplicativeOper  = "*" | "/" | "//"
     */
-    private IExpression parseComparisonExpression() {
-        IExpression leftExp = parseAdditiveExpression();
-
-        if (leftExp == null) {
-            return null;
-        }
-
-        IExpression newLeftExp = parseLessThanExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        newLeftExp = parseLessOrEqualExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        newLeftExp = parseGreaterThanExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        newLeftExp = parseGreaterOrEqualExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        newLeftExp = parseEqualExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        newLeftExp = parseNotEqualExpression(leftExp);
-        if (leftExp != newLeftExp) {
-            registerErrorIfCurrentTokenIsComparisonOperator();
-            return newLeftExp;
-        }
-
-        return leftExp;
-    }
-
-    private IExpression parseLessThanExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.LESS_THAN_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new LessThanExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
-    }
-
-    private IExpression parseLessOrEqualExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.LESS_OR_EQUAL_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new LessOrEqualExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
-    }
-
-    private IExpression parseGreaterThanExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.GREATER_THAN_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new GreaterThanExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
-    }
-
-    private IExpression parseGreaterOrEqualExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.GREATER_OR_EQUAL_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new GreaterOrEqualExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
-    }
-
-    private IExpression parseEqualExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.EQUAL_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new EqualExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
-    }
-
-    private IExpression parseNotEqualExpression(IExpression leftExp) {
-        Position position = currentToken.getPosition();
-        if (consumeIf(TokenTypeEnum.NOT_EQUAL_OPERATOR)) {
-            IExpression rightExp = parseAdditiveExpression();
-            registerErrorIfExpIsMissing(rightExp);
-
-            leftExp = new NotEqualExpression(position, leftExp, rightExp);
-        }
-        return leftExp;
+    private IExpression parseAlternativeExpression() {
+        return explicitStack ? parseExpressionWithExplicitStack() : parseBinaryExpression(0);
     }
 
-    /*
-        additiveExp     = multiplicativeExp, { additiveOper, multiplicativeExp }
-        additiveOper    = "+" | "-"
-    */
-    private IExpression parseAdditiveExpression() {
-        IExpression leftExp = parseMultiplicativeExpression();
+    // `parseBinaryExpression` parses the operators binding stronger than `minBindingPower`, one loop iteration
+    // per operator, instead of descending through one method per grammar level for every factor.
+    private IExpression parseBinaryExpression(int minBindingPower) {
+        IExpression leftExp = parseFactor();
 
-        if (leftExp == null) {
+        // a missing factor is still the left operand of a multiplicative operator
+        if (leftExp == null && BINDING_POWERS[currentTokenType().ordinal()] != MULTIPLICATIVE_BINDING_POWER) {
             return null;
         }
 
-        Position position = currentToken.getPosition();
-        while (isCurrentTokenOfAdditiveOperatorType()) {
-            if (currentToken.getTokenType() == TokenTypeEnum.ADDITION_OPERATOR) {
-                nextToken();
-                IExpression rightExp = parseMultiplicativeExpression();
-                registerErrorIfExpIsMissing(rightExp);
+        // comparisons are not associative, so no operator of their level may follow one
+        int maxBindingPower = MULTIPLICATIVE_BINDING_POWER;
+        int bindingPower = BINDING_POWERS[currentTokenType().ordinal()];
+        while (bindingPower > minBindingPower && bindingPower <= maxBindingPower) {
+            long position = currentTokenPackedPosition();
+            BinaryExpressionFactory factory = BINARY_EXPRESSION_FACTORIES[currentTokenType().ordinal()];
+            nextToken();
 
-                leftExp = new AdditionExpression(position, leftExp, rightExp);
-            } else {
-                nextToken();
-                IExpression rightExp = parseMultiplicativeExpression();
-                registerErrorIfExpIsMissing(rightExp);
+            IExpression rightExp = bindingPower == MULTIPLICATIVE_BINDING_POWER
+                    ? parseFactor()
+                    : parseBinaryExpression(bindingPower);
+            registerErrorIfExpIsMissing(rightExp);
 
-                leftExp = new SubtractionExpression(position, leftExp, rightExp);
+            leftExp = factory.create(toPosition(position), leftExp, rightExp);
+            if (bindingPower == COMPARISON_BINDING_POWER) {
+                registerErrorIfCurrentTokenIsComparisonOperator();
+                maxBindingPower = COMPARISON_BINDING_POWER - 1;
             }
-            position = currentToken.getPosition();
+            bindingPower = BINDING_POWERS[currentTokenType().ordinal()];
         }
 
         return leftExp;
     }
 
-    /*
-        multiplicativeExp   = factor, { multiplicativeOper, factor }
-        multiplicativeOper  = "*" | "/" | "//"
-    */
-    private IExpression parseMultiplicativeExpression() {
-        IExpression leftExp = parseFactor();
+    // `parseExpressionWithExplicitStack` follows `parseBinaryExpression(0)`, `parseFactor` and `parseParenthesesExpression`,
+    // keeping the expressions waiting for an operand in `frames`. Each factor is parsed at the top of the outer loop,
+    // and the inner loop hands it to the frames up to the one which needs another operand.
+    private IExpression parseExpressionWithExplicitStack() {
+        ArrayDeque<ExpressionFrame> frames = new ArrayDeque<>();
+        frames.push(new ExpressionFrame(ExpressionFrame.BINARY, 0, 0));
+        while (true) {
+            long position = currentTokenPackedPosition();
+            if (consumeIf(TokenTypeEnum.NEGATION_OPERATOR)) {
+                frames.push(new ExpressionFrame(ExpressionFrame.NEGATION, position, 0));
+                position = currentTokenPackedPosition();
+            }
+            if (consumeIf(TokenTypeEnum.LEFT_BRACKET)) {
+                frames.push(new ExpressionFrame(ExpressionFrame.PARENTHESES, position, 0));
+                frames.push(new ExpressionFrame(ExpressionFrame.BINARY, 0, 0));
+                continue;
+            }
 
-        Position position = currentToken.getPosition();
-        while (isCurrentTokenOfMultiplicativeOperatorType()) {
-            if (currentToken.getTokenType() == TokenTypeEnum.MULTIPLICATION_OPERATOR) {
-                nextToken();
-                IExpression rightExp = parseFactor();
-                registerErrorIfExpIsMissing(rightExp);
+            IExpression exp = parseAssignableValue();
+            while (true) {
+                ExpressionFrame frame = frames.peek();
+                if (frame.kind == ExpressionFrame.NEGATION) {
+                    registerErrorIfExpIsMissing(exp);
+                    exp = new NegatedExpression(toPosition(frame.position), exp);
+                    frames.pop();
+                    continue;
+                }
+                if (frame.kind == ExpressionFrame.PARENTHESES) {
+                    registerErrorIfExpIsMissing(exp);
+                    if (!consumeIf(TokenTypeEnum.RIGHT_BRACKET)) {
+                        errorHandler.handle(new UnclosedParenthesesException(currentTokenDescription()));
+                    }
+                    exp = new ParenthesesExpression(toPosition(frame.position), exp);
+                    frames.pop();
+                    continue;
+                }
 
-                leftExp = new MultiplicationExpression(position, leftExp, rightExp);
-            } else if (currentToken.getTokenType() == TokenTypeEnum.DIVISION_OPERATOR) {
-                nextToken();
-                IExpression rightExp = parseFactor();
-                registerErrorIfExpIsMissing(rightExp);
+                if (frame.factory == null) {
+                    // a missing factor is still the left operand of a multiplicative operator
+                    if (exp == null && BINDING_POWERS[currentTokenType().ordinal()] != MULTIPLICATIVE_BINDING_POWER) {
+                        frames.pop();
+                        if (frames.isEmpty()) {
+                            return null;
+                        }
+                        continue;
+                    }
+                    frame.leftExp = exp;
+                } else {
+                    registerErrorIfExpIsMissing(exp);
+                    frame.leftExp = frame.factory.create(toPosition(frame.operatorPosition), frame.leftExp, exp);
+                    if (frame.operatorBindingPower == COMPARISON_BINDING_POWER) {
+                        registerErrorIfCurrentTokenIsComparisonOperator();
+                        frame.maxBindingPower = COMPARISON_BINDING_POWER - 1;
+                    }
+                }
 
-                leftExp = new DivisionExpression(position, leftExp, rightExp);
-            } else {
-                nextToken();
-                IExpression rightExp = parseFactor();
-                registerErrorIfExpIsMissing(rightExp);
+                int bindingPower = BINDING_POWERS[currentTokenType().ordinal()];
+                if (bindingPower > frame.minBindingPower && bindingPower <= frame.maxBindingPower) {
+                    frame.operatorPosition = currentTokenPackedPosition();
+                    frame.factory = BINARY_EXPRESSION_FACTORIES[currentTokenType().ordinal()];
+                    frame.operatorBindingPower = bindingPower;
+                    nextToken();
+                    if (bindingPower != MULTIPLICATIVE_BINDING_POWER) {
+                        frames.push(new ExpressionFrame(ExpressionFrame.BINARY, 0, bindingPower));
+                    }
+                    break;
+                }
 
-                leftExp = new DiscreteDivisionExpression(position, leftExp, rightExp);
+                exp = frame.leftExp;
+                frames.pop();
+                if (frames.isEmpty()) {
+                    return exp;
+                }
             }
-            position = currentToken.getPosition();
         }
-
-        return leftExp;
     }
 
     /* factor =  [ notOper ] ( parenthesesExp | assignableValue ) */
     private IExpression parseFactor() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (consumeIf(TokenTypeEnum.NEGATION_OPERATOR)) {
             IExpression exp = parseParenthesesExpOrAssignableVal();
             registerErrorIfExpIsMissing(exp);
-            return new NegatedExpression(position, exp);
+            return new NegatedExpression(toPosition(position), exp);
         }
 
         return parseParenthesesExpOrAssignableVal();
@@ -644,7 +887,7 @@ public class Parser implements IParser {
 
     /* parenthesesExp = "(", alternativeExp, ")" */
     private IExpression parseParenthesesExpression() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.LEFT_BRACKET)) {
             return null;
         }
@@ -653,10 +896,10 @@ public class Parser implements IParser {
         registerErrorIfExpIsMissing(exp);
 
         if (!consumeIf(TokenTypeEnum.RIGHT_BRACKET)) {
-            errorHandler.handle(new UnclosedParenthesesException(currentToken.toString()));
+            errorHandler.handle(new UnclosedParenthesesException(currentTokenDescription()));
         }
 
-        return new ParenthesesExpression(position, exp);
+        return new ParenthesesExpression(toPosition(position), exp);
     }
 
     /* assignableValue = objectAccessExp | stringValue | intValue | doubleValue | boolValue | listValue */
@@ -711,47 +954,47 @@ public class Parser implements IParser {
 
     /* stringValue = "\"", literal, "\"" */
     private IExpression parseStringValue() {
-        Position position = currentToken.getPosition();
-        if (currentToken.getTokenType() != TokenTypeEnum.STRING_VALUE) {
+        long position = currentTokenPackedPosition();
+        if (currentTokenType() != TokenTypeEnum.STRING_VALUE) {
             return null;
         }
 
-        String value = (String) currentToken.getValue();
+        String value = (String) currentTokenValue();
         nextToken();
-        return new StringValue(position, value);
+        return new StringValue(toPosition(position), value);
     }
 
     /* intValue = zeroDigit | notZeroDigit, { digit } */
     private IExpression parseIntValue() {
-        Position position = currentToken.getPosition();
-        if (currentToken.getTokenType() != TokenTypeEnum.INT_VALUE) {
+        long position = currentTokenPackedPosition();
+        if (currentTokenType() != TokenTypeEnum.INT_VALUE) {
             return null;
         }
 
-        int value = (int) currentToken.getValue();
+        int value = (int) currentTokenValue();
         nextToken();
-        return new IntValue(position, value);
+        return new IntValue(toPosition(position), value);
     }
 
     /* doubleValue = intValue, [ ".", intValue ] */
     private IExpression parseDoubleValue() {
-        Position position = currentToken.getPosition();
-        if (currentToken.getTokenType() != TokenTypeEnum.DOUBLE_VALUE) {
+        long position = currentTokenPackedPosition();
+        if (currentTokenType() != TokenTypeEnum.DOUBLE_VALUE) {
             return null;
         }
 
-        double value = (double) currentToken.getValue();
+        double value = (double) currentTokenValue();
         nextToken();
-        return new DoubleValue(position, value);
+        return new DoubleValue(toPosition(position), value);
     }
 
     /* bool_value = "True" | False */
     private IExpression parseBoolValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (consumeIf(TokenTypeEnum.BOOL_TRUE_VALUE_KEYWORD)) {
-            return new BoolValue(position, true);
+            return new BoolValue(toPosition(position), true);
         } else if (consumeIf(TokenTypeEnum.BOOL_FALSE_VALUE_KEYWORD)) {
-            return new BoolValue(position, false);
+            return new BoolValue(toPosition(position), false);
         }
 
         return null;
@@ -759,7 +1002,7 @@ public class Parser implements IParser {
 
     /* pointValue = "Point", "(", assignableValue, ",", assignableValue, ")" */
     private IExpression parsePointValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.POINT_KEYWORD)) {
             return null;
         }
@@ -774,12 +1017,12 @@ public class Parser implements IParser {
         registerErrorIfExpIsMissing(secondExp);
         parseRightBracketWithoutReturningIt();
 
-        return new PointValue(position, firstExp, secondExp);
+        return new PointValue(toPosition(position), firstExp, secondExp);
     }
 
     /* sectionValue = "Section", "(", assignableValue, ",", assignableValue, ")" */
     private IExpression parseSectionValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.SECTION_KEYWORD)) {
             return null;
         }
@@ -794,36 +1037,36 @@ public class Parser implements IParser {
         registerErrorIfExpIsMissing(secondExp);
         parseRightBracketWithoutReturningIt();
 
-        return new SectionValue(position, firstExp, secondExp);
+        return new SectionValue(toPosition(position), firstExp, secondExp);
     }
 
     /* figureValue = "Figure", "(", ")" */
     private IExpression parseFigureValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.FIGURE_KEYWORD)) {
             return null;
         }
 
         parseLeftBracketWithoutReturningIt();
         parseRightBracketWithoutReturningIt();
-        return new FigureValue(position);
+        return new FigureValue(toPosition(position));
     }
 
     /* sceneValue = "Scene", "(", ")" */
     private IExpression parseSceneValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.SCENE_KEYWORD)) {
             return null;
         }
 
         parseLeftBracketWithoutReturningIt();
         parseRightBracketWithoutReturningIt();
-        return new SceneValue(position);
+        return new SceneValue(toPosition(position));
     }
 
     /* listValue = "[", listableDataType, "]" */
     private IExpression parseListValue() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         if (!consumeIf(TokenTypeEnum.LEFT_SQUARE_BRACKET)) {
             return null;
         }
@@ -831,77 +1074,63 @@ public class Parser implements IParser {
         TokenTypeEnum listParamType = parseListableDataType();
         parseRightSquareBracketWithoutReturningIt();
 
-        if (listParamType == TokenTypeEnum.INT_KEYWORD) {
-            return new IntListValue(position);
-        } else if (listParamType == TokenTypeEnum.DOUBLE_KEYWORD) {
-            return new DoubleListValue(position);
-        } else if (listParamType == TokenTypeEnum.BOOL_KEYWORD) {
-            return new BoolListValue(position);
-        } else if (listParamType == TokenTypeEnum.STRING_KEYWORD) {
-            return new StringListValue(position);
-        } else if (listParamType == TokenTypeEnum.POINT_KEYWORD) {
-            return new PointListValue(position);
-        } else if (listParamType == TokenTypeEnum.SECTION_KEYWORD) {
-            return new SectionListValue(position);
-        } else if (listParamType == TokenTypeEnum.FIGURE_KEYWORD) {
-            return new FigureListValue(position);
-        } else if (listParamType == TokenTypeEnum.SCENE_KEYWORD) {
-            return new SceneListValue(position);
-        } else {
-            errorHandler.handle(new RuntimeException(currentToken.toString()));
+        ListValueFactory listValueFactory = LIST_VALUE_FACTORIES.get(listParamType);
+        if (listValueFactory == null) {
+            errorHandler.handle(new RuntimeException(currentTokenDescription()));
             return null;
         }
+        return listValueFactory.create(toPosition(position));
     }
 
     private TokenTypeEnum parseListableDataType() {
         if (isNotCurrentTokenOfListableDataTypeKeyword()) {
-            errorHandler.handle(new MissingDataTypeDeclarationException(currentToken.toString()));
+            errorHandler.handle(new MissingDataTypeDeclarationException(currentTokenDescription()));
         }
 
-        TokenTypeEnum listParamType = currentToken.getTokenType();
+        TokenTypeEnum listParamType = currentTokenType();
         nextToken();
         return listParamType;
     }
 
     /* objectAccessExp = identOrFuncCallExp, { ".", identOrFuncCallExp } */
     private IExpression parseObjectAccessExpression() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         IExpression leftExp = parseIdentifierOrFunctionCallExpression();
 
         return parseRestOfObjectAccessExpression(position, leftExp);
     }
 
-    private IExpression parseRestOfObjectAccessExpression(Position position, IExpression leftExp) {
+    private IExpression parseRestOfObjectAccessExpression(long position, IExpression leftExp) {
         if (!consumeIf(TokenTypeEnum.DOT)) {
             return leftExp;
         }
         IExpression rightExp = parseIdentifierOrFunctionCallExpression();
         registerErrorIfExpIsMissing(rightExp);
-        ObjectAccess objectAccessExp = new ObjectAccess(position, leftExp, rightExp);
+        ObjectAccess objectAccessExp = new ObjectAccess(toPosition(position), leftExp, rightExp);
 
-        position = currentToken.getPosition();
+        position = currentTokenPackedPosition();
         while (consumeIf(TokenTypeEnum.DOT)) {
             rightExp = parseIdentifierOrFunctionCallExpression();
             registerErrorIfExpIsMissing(rightExp);
-            objectAccessExp = new ObjectAccess(position, objectAccessExp, rightExp);
-            position = currentToken.getPosition();
+            objectAccessExp = new ObjectAccess(toPosition(position), objectAccessExp, rightExp);
+            position = currentTokenPackedPosition();
         }
         return objectAccessExp;
     }
 
     private String parseIdentifierName() {
-        if (currentToken.getTokenType() != TokenTypeEnum.IDENTIFIER) {
-            errorHandler.handle(new MissingIdentifierException(currentToken.toString()));
+        if (currentTokenType() != TokenTypeEnum.IDENTIFIER) {
+            errorHandler.handle(new MissingIdentifierException(currentTokenDescription()));
         }
 
-        String paramName = currentToken.getValue().toString();
+        String paramName = currentTokenValue().toString();
         nextToken();
         return paramName;
     }
 
     /* identOrFuncCallExp = identifier, { "(", [ alternativeExp ], ")" } */
     private IExpression parseIdentifierOrFunctionCallExpression() {
-        Position position = currentToken.getPosition();
+        long position = currentTokenPackedPosition();
         IExpression identifier = parseIdentifier();
 
         if (!consumeIf(TokenTypeEnum.LEFT_BRACKET)) {
@@ -919,43 +1148,88 @@ public class Parser implements IParser {
             }
         }
         parseRightBracketWithoutReturningIt();
-        return new FunctionCall(position, (Identifier) identifier, arguments);
+        return new FunctionCall(toPosition(position), (Identifier) identifier, arguments);
     }
 
     /* identifier = letter { digit | literal } */
     private IExpression parseIdentifier() {
-        Position position = currentToken.getPosition();
-        if (currentToken.getTokenType() != TokenTypeEnum.IDENTIFIER) {
+        long position = currentTokenPackedPosition();
+        if (currentTokenType() != TokenTypeEnum.IDENTIFIER) {
             return null;
         }
 
-        String identifierName = (String) currentToken.getValue();
+        String identifierName = (String) currentTokenValue();
+        int identifierId = currentTokenSymbolId();
         nextToken();
 
-        return new Identifier(position, identifierName);
+        return new Identifier(toPosition(position), identifierName, identifierId);
     }
 
     /* listableDataType = "Int" | "Double" | "String" | "Bool" | "Point" | "Section" | "Scene" */
     private boolean isNotCurrentTokenOfListableDataTypeKeyword() {
-        return currentToken.getTokenType() != TokenTypeEnum.INT_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.DOUBLE_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.STRING_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.BOOL_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.POINT_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.SECTION_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.FIGURE_KEYWORD
-                && currentToken.getTokenType() != TokenTypeEnum.SCENE_KEYWORD;
+        return !DATA_TYPES.containsKey(currentTokenType());
+    }
+
+    // `isAtFunctionDef` tells if a function definition starts at the current token,
+    // which is told from a declaration by the `(` after the name.
+    private boolean isAtFunctionDef() {
+        if (currentTokenType() == TokenTypeEnum.LIST_KEYWORD) {
+            return peekTokenType(1) == TokenTypeEnum.LEFT_SQUARE_BRACKET
+                    && peekTokenType(3) == TokenTypeEnum.RIGHT_SQUARE_BRACKET
+                    && peekTokenType(4) == TokenTypeEnum.IDENTIFIER
+                    && peekTokenType(5) == TokenTypeEnum.LEFT_BRACKET;
+        }
+        return (currentTokenType() == TokenTypeEnum.VOID_KEYWORD || !isNotCurrentTokenOfListableDataTypeKeyword())
+                && peekTokenType(1) == TokenTypeEnum.IDENTIFIER
+                && peekTokenType(2) == TokenTypeEnum.LEFT_BRACKET;
+    }
+
+    private boolean isAtEndOfInput() {
+        return currentTokenType() == TokenTypeEnum.ETX;
+    }
+
+    private void skipToFunctionDef() {
+        while (!isAtEndOfInput() && !isAtFunctionDef()) {
+            nextToken();
+        }
+    }
+
+    // `skipToStatementEnd` skips the rest of a statement with an error, up to its `;` or the `}` ending its
+    // last code block, and returns true. It stops before the `}` ending the enclosing code block too.
+    // It returns false at a function definition or at the end of the input, where the code block cannot go on.
+    private boolean skipToStatementEnd() {
+        int depth = 0;
+        while (!isAtEndOfInput()) {
+            TokenTypeEnum tokenType = currentTokenType();
+            if (depth == 0 && tokenType == TokenTypeEnum.RIGHT_CURLY_BRACKET) {
+                return true;
+            } else if (depth == 0 && tokenType == TokenTypeEnum.SEMICOLON) {
+                nextToken();
+                return true;
+            } else if (depth == 0 && isAtFunctionDef()) {
+                return false;
+            }
+
+            nextToken();
+            if (tokenType == TokenTypeEnum.LEFT_CURLY_BRACKET) {
+                depth++;
+            } else if (tokenType == TokenTypeEnum.RIGHT_CURLY_BRACKET && --depth == 0
+                    && currentTokenType() != TokenTypeEnum.ELSE_IF_KEYWORD && currentTokenType() != TokenTypeEnum.ELSE_KEYWORD) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void registerErrorIfExpIsMissing(IExpression exp) {
         if (exp == null) {
-            errorHandler.handle(new MissingExpressionException(currentToken.toString()));
+            errorHandler.handle(new MissingExpressionException(currentTokenDescription()));
         }
     }
 
     private void registerErrorIfCodeBlockIsMissing(CodeBlock codeBlock) {
         if (codeBlock == null) {
-            errorHandler.handle(new MissingCodeBlockException(currentToken.toString()));
+            errorHandler.handle(new MissingCodeBlockException(currentTokenDescription()));
         }
     }
 
@@ -969,62 +1243,49 @@ public class Parser implements IParser {
     }
 
     private void registerErrorIfCurrentTokenIsOfType(TokenTypeEnum expressionType) {
-        if (currentToken.getTokenType() == expressionType) {
-            errorHandler.handle(new UnclearExpressionException(currentToken.toString()));
+        if (currentTokenType() == expressionType) {
+            errorHandler.handle(new UnclearExpressionException(currentTokenDescription()));
         }
     }
 
     private void parseLeftBracketWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.LEFT_BRACKET)) {
-            errorHandler.handle(new MissingLeftBracketException(currentToken.toString()));
+            errorHandler.handle(new MissingLeftBracketException(currentTokenDescription()));
         }
     }
 
     private void parseRightBracketWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.RIGHT_BRACKET)) {
-            errorHandler.handle(new MissingRightBracketException(currentToken.toString()));
+            errorHandler.handle(new MissingRightBracketException(currentTokenDescription()));
         }
     }
 
     private void parseLeftSquareBracketWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.LEFT_SQUARE_BRACKET)) {
-            errorHandler.handle(new MissingLeftSquareBracketException(currentToken.toString()));
+            errorHandler.handle(new MissingLeftSquareBracketException(currentTokenDescription()));
         }
     }
 
     private void parseRightSquareBracketWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.RIGHT_SQUARE_BRACKET)) {
-            errorHandler.handle(new MissingRightSquareBracketException(currentToken.toString()));
+            errorHandler.handle(new MissingRightSquareBracketException(currentTokenDescription()));
         }
     }
 
     private void parseCommaWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.COMMA)) {
-            errorHandler.handle(new MissingCommaException(currentToken.toString()));
+            errorHandler.handle(new MissingCommaException(currentTokenDescription()));
         }
     }
 
     private void parseSemicolonWithoutReturningIt() {
         if (!consumeIf(TokenTypeEnum.SEMICOLON)) {
-            errorHandler.handle(new MissingSemicolonException(currentToken.toString()));
+            errorHandler.handle(new MissingSemicolonException(currentTokenDescription()));
         }
     }
 
-    /* additiveOper = "+" | "-" */
-    private boolean isCurrentTokenOfAdditiveOperatorType() {
-        return currentToken.getTokenType() == TokenTypeEnum.ADDITION_OPERATOR
-                || currentToken.getTokenType() == TokenTypeEnum.SUBTRACTION_OPERATOR;
-    }
-
-    /* multiplicativeOper = "*" | "/" | "//" */
-    private boolean isCurrentTokenOfMultiplicativeOperatorType() {
-        return currentToken.getTokenType() == TokenTypeEnum.MULTIPLICATION_OPERATOR
-                || currentToken.getTokenType() == TokenTypeEnum.DIVISION_OPERATOR
-                || currentToken.getTokenType() == TokenTypeEnum.DISCRETE_DIVISION_OPERATOR;
-    }
-
     private boolean consumeIf(TokenTypeEnum tokenType) {
-        if (currentToken.getTokenType() == tokenType) {
+        if (currentTokenType() == tokenType) {
             nextToken();
             return true;
         }
@@ -1032,7 +1293,51 @@ public class Parser implements IParser {
         return false;
     }
 
+    private TokenTypeEnum peekTokenType(int k) {
+        if (cursor != null) {
+            return cursor.peekTokenType(k);
+        }
+        return lexer.peek(k).getTokenType();
+    }
+
     private void nextToken() {
-        currentToken = lexer.lexToken();
+        if (cursor != null) {
+            cursor.advance();
+        } else {
+            currentToken = lexer.lexToken();
+        }
+    }
+
+    private TokenTypeEnum currentTokenType() {
+        return cursor != null ? cursor.getTokenType() : currentToken.getTokenType();
+    }
+
+    private long currentTokenPackedPosition() {
+        return cursor != null ? cursor.getPackedPosition() : currentToken.getPackedPosition();
+    }
+
+    // Positions are decoded only for tokens which start AST nodes.
+    private Position toPosition(long packedPosition) {
+        if (lastPosition == null || packedPosition != lastPackedPosition) {
+            lastPosition = PackedPosition.toPosition(packedPosition);
+            lastPackedPosition = packedPosition;
+        }
+        return lastPosition;
+    }
+
+    private Object currentTokenValue() {
+        return cursor != null ? cursor.getValue() : currentToken.getValue();
+    }
+
+    // `currentTokenSymbolId` returns the `SymbolTable` id the lexer gave to the current identifier.
+    private int currentTokenSymbolId() {
+        if (cursor != null) {
+            return cursor.getSymbolId();
+        }
+        return currentToken instanceof StringToken stringToken ? stringToken.getSymbolId() : SymbolTable.NO_ID;
+    }
+
+    private String currentTokenDescription() {
+        return cursor != null ? String.valueOf(cursor.getToken()) : currentToken.toString();
     }
 }
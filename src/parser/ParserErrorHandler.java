@@ -28,7 +28,7 @@ public class ParserErrorHandler implements IErrorHandler {
                 || AmbiguousExpressionException.class.equals(e.getClass());
     }
 
-    private static boolean isErrorHandleable(Exception e) {
+    static boolean isErrorHandleable(Exception e) {
         return MissingLeftBracketException.class.equals(e.getClass())
                 || MissingRightBracketException.class.equals(e.getClass())
                 || MissingSemicolonException.class.equals(e.getClass())
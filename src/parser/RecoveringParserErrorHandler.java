@@ -0,0 +1,23 @@
+package parser;
+
+// `RecoveringParserErrorHandler` lets `Parser` go on after critical errors instead of exiting,
+// so that many programs can be checked in one process. Every error is logged, and after one which
+// is not handleable `Parser` skips the rest of the statement, or of the function definition, and goes on.
+// The returned `Program` holds the function definitions and statements parsed without errors.
+public class RecoveringParserErrorHandler extends ParserErrorHandler {
+
+    @Override
+    public void handle(Exception e) {
+        getErrorLog().add(e);
+        if (!isErrorHandleable(e)) {
+            throw new SyntaxErrorException();
+        }
+    }
+
+    // `SyntaxErrorException` unwinds `Parser` to the statement or function definition it can skip.
+    static class SyntaxErrorException extends RuntimeException {
+        SyntaxErrorException() {
+            super(null, null, false, false);
+        }
+    }
+}
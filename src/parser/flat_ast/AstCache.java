@@ -0,0 +1,153 @@
+package parser.flat_ast;
+
+import lexer.TableDrivenLexer;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.program_components.Program;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+
+// `AstCache` keeps the ASTs of parsed sources in a directory, serialized by `FlatAstSerializer`
+// into files named after the SHA-256 hash of the source, and maps them into memory when loading.
+// An entry is not used and is replaced when:
+// - the source changes, as it then has another hash and so another file,
+// - it was stored with another `FlatAstSerializer.FORMAT_VERSION` or another set of `FlatNodeKind`s,
+// - it is truncated or corrupted, which is found by its checksum and by checking every index it holds,
+//   or its tree cannot be built for any other reason.
+// Sources with syntax errors are never stored, so that their errors are reported on every run.
+// Entries are written to a temporary file first and then moved in place, so readers never see partial ones.
+// An edited source leaves its old entry behind, so storing an entry removes the least recently used ones
+// above `maxEntries`. Loading an entry updates its modification time, by which they are ordered.
+public class AstCache {
+    private static final String ENTRY_SUFFIX = ".ast";
+    private static final int DEFAULT_MAX_ENTRIES = 64;
+
+    private final Path directory;
+    private final int maxEntries;
+
+    public AstCache(Path directory) {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    public AstCache(Path directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    // `parse` returns the cached AST of `source`, or parses it and stores the AST if no error is reported.
+    public Program parse(String source, ParserErrorHandler errorHandler) throws IOException {
+        Program cachedProgram = loadProgram(source);
+        if (cachedProgram != null) {
+            return cachedProgram;
+        }
+
+        int errorCount = errorHandler.getErrorLog().size();
+        Program program = new Parser(new TableDrivenLexer(new StringReader(source)), errorHandler).parse();
+        if (errorHandler.getErrorLog().size() == errorCount) {
+            store(source, FlatAst.fromProgram(program));
+        }
+        return program;
+    }
+
+    // `load` returns the cached AST of `source`, or null if there is no valid entry for it.
+    // An outdated or damaged entry is treated as missing, so it gets replaced by the next `store`.
+    public FlatAst load(String source) {
+        Path entryPath = getEntryPath(source);
+        FlatAst ast;
+        try (FileChannel channel = FileChannel.open(entryPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            ast = FlatAstSerializer.deserialize(buffer);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+        try {
+            Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // the entry is only pruned earlier
+        }
+        return ast;
+    }
+
+    private Program loadProgram(String source) {
+        FlatAst ast = load(source);
+        if (ast == null) {
+            return null;
+        }
+        try {
+            return ast.toProgram();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    public void store(String source, FlatAst ast) throws IOException {
+        Files.createDirectories(directory);
+        Path entryPath = getEntryPath(source);
+        Path temporaryPath = Files.createTempFile(directory, entryPath.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporaryPath, FlatAstSerializer.serialize(ast));
+            Files.move(temporaryPath, entryPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+        pruneEntries(entryPath);
+    }
+
+    // `pruneEntries` removes the least recently used entries other than `keptPath` above `maxEntries`.
+    private void pruneEntries(Path keptPath) throws IOException {
+        ArrayList<Path> entryPaths = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_SUFFIX)) {
+            for (Path entryPath : entries) {
+                if (!entryPath.equals(keptPath)) {
+                    entryPaths.add(entryPath);
+                }
+            }
+        }
+        if (entryPaths.size() < maxEntries) {
+            return;
+        }
+
+        HashMap<Path, FileTime> modificationTimes = new HashMap<>();
+        for (Path entryPath : entryPaths) {
+            try {
+                modificationTimes.put(entryPath, Files.getLastModifiedTime(entryPath));
+            } catch (IOException e) {
+                // removed by another run in the meantime
+                modificationTimes.put(entryPath, FileTime.fromMillis(0));
+            }
+        }
+        entryPaths.sort(Comparator.comparing(modificationTimes::get));
+        for (Path entryPath : entryPaths.subList(0, entryPaths.size() - maxEntries + 1)) {
+            Files.deleteIfExists(entryPath);
+        }
+    }
+
+    public Path getEntryPath(String source) {
+        return directory.resolve(hash(source) + ENTRY_SUFFIX);
+    }
+
+    private static String hash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package parser.flat_ast;
+
+import lexer.PackedPosition;
+import lexer.SymbolTable;
+import parser.program_components.Program;
+
+import java.util.Arrays;
+
+// `FlatAst` stores a whole AST in parallel arrays instead of node objects, the way `TokenBuffer` stores tokens.
+// Every node has its kind, first child, next sibling, packed position and value; node 0 is the `PROGRAM` node
+// and children always follow their parent. The value holds the int and bool literals and the id of names
+// in the `SymbolTable` of the tree; double and string literals are kept in constant pools and the value is their index there.
+// Nodes are addressed by index, so the tree can be walked without creating any node object.
+public class FlatAst {
+    public static final int NO_NODE = -1;
+    public static final int NO_VALUE = -1;
+    // the position of nodes created without one
+    public static final long NO_POSITION = PackedPosition.pack(-1, -1);
+
+    private byte[] kinds = new byte[64];
+    private int[] firstChildren = new int[64];
+    private int[] nextSiblings = new int[64];
+    private long[] positions = new long[64];
+    private int[] values = new int[64];
+    private int size = 0;
+    private double[] doubleValues = new double[16];
+    private int doubleValueCount = 0;
+    private String[] stringValues = new String[16];
+    private int stringValueCount = 0;
+    private final SymbolTable symbols;
+
+    FlatAst() {
+        symbols = new SymbolTable();
+    }
+
+    // used by `FlatAstSerializer`, which fills the arrays of a stored tree
+    FlatAst(byte[] kinds, int[] firstChildren, int[] nextSiblings, long[] positions, int[] values,
+            double[] doubleValues, String[] stringValues, SymbolTable symbols) {
+        this.kinds = kinds;
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.positions = positions;
+        this.values = values;
+        this.size = kinds.length;
+        this.doubleValues = doubleValues;
+        this.doubleValueCount = doubleValues.length;
+        this.stringValues = stringValues;
+        this.stringValueCount = stringValues.length;
+        this.symbols = symbols;
+    }
+
+    public static FlatAst fromProgram(Program program) {
+        return new FlatAstWriter().write(program);
+    }
+
+    public Program toProgram() {
+        return new FlatAstReader(this).read();
+    }
+
+    int addNode(FlatNodeKind kind, long position, int value) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            firstChildren = Arrays.copyOf(firstChildren, size * 2);
+            nextSiblings = Arrays.copyOf(nextSiblings, size * 2);
+            positions = Arrays.copyOf(positions, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        kinds[size] = (byte) kind.ordinal();
+        firstChildren[size] = NO_NODE;
+        nextSiblings[size] = NO_NODE;
+        positions[size] = position;
+        values[size] = value;
+        return size++;
+    }
+
+    int addDoubleValue(double value) {
+        if (doubleValueCount == doubleValues.length) {
+            doubleValues = Arrays.copyOf(doubleValues, doubleValueCount * 2);
+        }
+        doubleValues[doubleValueCount] = value;
+        return doubleValueCount++;
+    }
+
+    int internName(String name) {
+        return symbols.intern(name);
+    }
+
+    int addStringValue(String value) {
+        if (stringValueCount == stringValues.length) {
+            stringValues = Arrays.copyOf(stringValues, stringValueCount * 2);
+        }
+        stringValues[stringValueCount] = value;
+        return stringValueCount++;
+    }
+
+    // `trimToSize` drops the spare capacity left by growing the arrays, once all nodes are added.
+    void trimToSize() {
+        kinds = Arrays.copyOf(kinds, size);
+        firstChildren = Arrays.copyOf(firstChildren, size);
+        nextSiblings = Arrays.copyOf(nextSiblings, size);
+        positions = Arrays.copyOf(positions, size);
+        values = Arrays.copyOf(values, size);
+        doubleValues = Arrays.copyOf(doubleValues, doubleValueCount);
+        stringValues = Arrays.copyOf(stringValues, stringValueCount);
+    }
+
+    void setFirstChild(int node, int child) {
+        firstChildren[node] = child;
+    }
+
+    void setNextSibling(int node, int sibling) {
+        nextSiblings[node] = sibling;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getDoubleValueCount() {
+        return doubleValueCount;
+    }
+
+    public double getDoubleValueAt(int index) {
+        return doubleValues[index];
+    }
+
+    public int getStringValueCount() {
+        return stringValueCount;
+    }
+
+    public String getStringValueAt(int index) {
+        return stringValues[index];
+    }
+
+    public int getRoot() {
+        return 0;
+    }
+
+    public FlatNodeKind getKind(int node) {
+        return FlatNodeKind.ofOrdinal(kinds[node]);
+    }
+
+    public int getFirstChild(int node) {
+        return firstChildren[node];
+    }
+
+    public int getNextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    public int getChildCount(int node) {
+        int count = 0;
+        for (int child = firstChildren[node]; child != NO_NODE; child = nextSiblings[child]) {
+            count++;
+        }
+        return count;
+    }
+
+    // `getChild` returns the `index`-th child of `node`, or `NO_NODE` if it has fewer children.
+    public int getChild(int node, int index) {
+        int child = firstChildren[node];
+        for (int i = 0; i < index && child != NO_NODE; i++) {
+            child = nextSiblings[child];
+        }
+        return child;
+    }
+
+    public long getPackedPosition(int node) {
+        return positions[node];
+    }
+
+    public int getLineNumber(int node) {
+        return PackedPosition.getLineNumber(positions[node]);
+    }
+
+    public int getColumnNumber(int node) {
+        return PackedPosition.getColumnNumber(positions[node]);
+    }
+
+    public int getIntValue(int node) {
+        return values[node];
+    }
+
+    public boolean getBoolValue(int node) {
+        return values[node] != 0;
+    }
+
+    public double getDoubleValue(int node) {
+        return doubleValues[values[node]];
+    }
+
+    public String getStringValue(int node) {
+        return stringValues[values[node]];
+    }
+
+    // `getSymbolId` returns the id of the name of a function definition, parameter or identifier in the table of the tree.
+    public int getSymbolId(int node) {
+        return values[node];
+    }
+
+    SymbolTable getSymbolTable() {
+        return symbols;
+    }
+
+    public String getName(int node) {
+        return symbols.getName(values[node]);
+    }
+
+    // `walk` visits the nodes in source order, calling `enter` before and `exit` after the children of a node.
+    // The children are skipped when `enter` returns false. An explicit stack is used, so deep trees are fine.
+    public void walk(IFlatAstVisitor visitor) {
+        int[] parents = new int[16];
+        int depth = 0;
+        int node = getRoot();
+        while (true) {
+            if (visitor.enter(this, node) && firstChildren[node] != NO_NODE) {
+                if (depth == parents.length) {
+                    parents = Arrays.copyOf(parents, depth * 2);
+                }
+                parents[depth++] = node;
+                node = firstChildren[node];
+                continue;
+            }
+            visitor.exit(this, node);
+
+            while (nextSiblings[node] == NO_NODE) {
+                if (depth == 0) {
+                    return;
+                }
+                node = parents[--depth];
+                visitor.exit(this, node);
+            }
+            node = nextSiblings[node];
+        }
+    }
+
+    // `getFootprint` returns the number of bytes taken by the arrays, the string literals excluded.
+    public long getFootprint() {
+        return kinds.length + 4L * firstChildren.length + 4L * nextSiblings.length + 8L * positions.length
+                + 4L * values.length + 8L * doubleValues.length + 4L * stringValues.length;
+    }
+}
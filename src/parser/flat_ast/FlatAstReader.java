@@ -0,0 +1,265 @@
+package parser.flat_ast;
+
+import lexer.PackedPosition;
+import lexer.Position;
+import parser.IDataValue;
+import parser.IExpression;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.IStatement;
+import parser.program_components.*;
+import parser.program_components.data_values.*;
+import parser.program_components.data_values.lists.*;
+import parser.program_components.expressions.*;
+import parser.program_components.function_definitions.*;
+import parser.program_components.parameters.*;
+import parser.program_components.statements.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+// `FlatAstReader` builds the object tree of a `FlatAst`. The uniform node kinds are built
+// by constructors stored in arrays indexed by `FlatNodeKind` ordinal, like the binary expressions in `Parser`.
+class FlatAstReader {
+    private static final int KIND_COUNT = FlatNodeKind.values().length;
+    private static final FunctionDefFactory[] FUNCTION_DEF_FACTORIES = new FunctionDefFactory[KIND_COUNT];
+    private static final ParameterFactory[] PARAMETER_FACTORIES = new ParameterFactory[KIND_COUNT];
+    private static final BinaryExpressionFactory[] BINARY_EXPRESSION_FACTORIES = new BinaryExpressionFactory[KIND_COUNT];
+    private static final ListValueFactory[] LIST_VALUE_FACTORIES = new ListValueFactory[KIND_COUNT];
+
+    static {
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.BOOL_FUNCTION_DEF.ordinal()] = BoolFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.BOOL_LIST_FUNCTION_DEF.ordinal()] = BoolListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.DOUBLE_FUNCTION_DEF.ordinal()] = DoubleFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.DOUBLE_LIST_FUNCTION_DEF.ordinal()] = DoubleListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.FIGURE_FUNCTION_DEF.ordinal()] = FigureFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.FIGURE_LIST_FUNCTION_DEF.ordinal()] = FigureListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.INT_FUNCTION_DEF.ordinal()] = IntFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.INT_LIST_FUNCTION_DEF.ordinal()] = IntListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.POINT_FUNCTION_DEF.ordinal()] = PointFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.POINT_LIST_FUNCTION_DEF.ordinal()] = PointListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.SCENE_FUNCTION_DEF.ordinal()] = SceneFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.SCENE_LIST_FUNCTION_DEF.ordinal()] = SceneListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.SECTION_FUNCTION_DEF.ordinal()] = SectionFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.SECTION_LIST_FUNCTION_DEF.ordinal()] = SectionListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.STRING_FUNCTION_DEF.ordinal()] = StringFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.STRING_LIST_FUNCTION_DEF.ordinal()] = StringListFunctionDef::new;
+        FUNCTION_DEF_FACTORIES[FlatNodeKind.VOID_FUNCTION_DEF.ordinal()] = VoidFunctionDef::new;
+
+        PARAMETER_FACTORIES[FlatNodeKind.BOOL_PARAMETER.ordinal()] = BoolParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.BOOL_LIST_PARAMETER.ordinal()] = BoolListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.DOUBLE_PARAMETER.ordinal()] = DoubleParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.DOUBLE_LIST_PARAMETER.ordinal()] = DoubleListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.FIGURE_PARAMETER.ordinal()] = FigureParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.FIGURE_LIST_PARAMETER.ordinal()] = FigureListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.INT_PARAMETER.ordinal()] = IntParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.INT_LIST_PARAMETER.ordinal()] = IntListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.POINT_PARAMETER.ordinal()] = PointParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.POINT_LIST_PARAMETER.ordinal()] = PointListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.REASSIGNED_PARAMETER.ordinal()] = ReassignedParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.SCENE_PARAMETER.ordinal()] = SceneParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.SCENE_LIST_PARAMETER.ordinal()] = SceneListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.SECTION_PARAMETER.ordinal()] = SectionParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.SECTION_LIST_PARAMETER.ordinal()] = SectionListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.STRING_PARAMETER.ordinal()] = StringParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.STRING_LIST_PARAMETER.ordinal()] = StringListParameter::new;
+        PARAMETER_FACTORIES[FlatNodeKind.VOID_PARAMETER.ordinal()] = VoidParameter::new;
+
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.OBJECT_ACCESS.ordinal()] = ObjectAccess::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.ALTERNATIVE_EXPRESSION.ordinal()] = AlternativeExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.CONJUNCTIVE_EXPRESSION.ordinal()] = ConjunctiveExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.LESS_THAN_EXPRESSION.ordinal()] = LessThanExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.LESS_OR_EQUAL_EXPRESSION.ordinal()] = LessOrEqualExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.GREATER_THAN_EXPRESSION.ordinal()] = GreaterThanExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.GREATER_OR_EQUAL_EXPRESSION.ordinal()] = GreaterOrEqualExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.EQUAL_EXPRESSION.ordinal()] = EqualExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.NOT_EQUAL_EXPRESSION.ordinal()] = NotEqualExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.ADDITION_EXPRESSION.ordinal()] = AdditionExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.SUBTRACTION_EXPRESSION.ordinal()] = SubtractionExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.MULTIPLICATION_EXPRESSION.ordinal()] = MultiplicationExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.DIVISION_EXPRESSION.ordinal()] = DivisionExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.DISCRETE_DIVISION_EXPRESSION.ordinal()] = DiscreteDivisionExpression::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.POINT_VALUE.ordinal()] = PointValue::new;
+        BINARY_EXPRESSION_FACTORIES[FlatNodeKind.SECTION_VALUE.ordinal()] = SectionValue::new;
+
+        LIST_VALUE_FACTORIES[FlatNodeKind.BOOL_LIST_VALUE.ordinal()] = BoolListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.DOUBLE_LIST_VALUE.ordinal()] = DoubleListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.FIGURE_LIST_VALUE.ordinal()] = FigureListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.INT_LIST_VALUE.ordinal()] = IntListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.POINT_LIST_VALUE.ordinal()] = PointListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.SCENE_LIST_VALUE.ordinal()] = SceneListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.SECTION_LIST_VALUE.ordinal()] = SectionListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.STRING_LIST_VALUE.ordinal()] = StringListValue::new;
+        LIST_VALUE_FACTORIES[FlatNodeKind.GENERIC_LIST_VALUE.ordinal()] = position -> new GenericListValue(position, new ArrayList<>());
+    }
+
+    private final FlatAst ast;
+    // the immutable `Position` created last, shared by nodes starting at the same place, as in `Parser`
+    private Position lastPosition;
+    private long lastPackedPosition;
+
+    FlatAstReader(FlatAst ast) {
+        this.ast = ast;
+    }
+
+    private interface FunctionDefFactory {
+        IFunctionDef create(Position position, String name, LinkedHashMap<String, IParameter> parameters, CodeBlock codeBlock);
+    }
+
+    private interface ParameterFactory {
+        IParameter create(Position position, String name, int id);
+    }
+
+    private interface BinaryExpressionFactory {
+        IExpression create(Position position, IExpression leftExp, IExpression rightExp);
+    }
+
+    private interface ListValueFactory {
+        GenericListValue create(Position position);
+    }
+
+    Program read() {
+        int root = ast.getRoot();
+        LinkedHashMap<String, IFunctionDef> functions = new LinkedHashMap<>();
+        for (int child = ast.getFirstChild(root); child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+            IFunctionDef functionDef = readFunctionDef(child);
+            functions.put(functionDef.name(), functionDef);
+        }
+        return new Program(readPosition(root), functions);
+    }
+
+    private Position readPosition(int node) {
+        long packedPosition = ast.getPackedPosition(node);
+        if (packedPosition == FlatAst.NO_POSITION) {
+            return null;
+        }
+        if (lastPosition == null || packedPosition != lastPackedPosition) {
+            lastPosition = PackedPosition.toPosition(packedPosition);
+            lastPackedPosition = packedPosition;
+        }
+        return lastPosition;
+    }
+
+    private IFunctionDef readFunctionDef(int node) {
+        LinkedHashMap<String, IParameter> parameters = new LinkedHashMap<>();
+        int child = ast.getFirstChild(node);
+        while (ast.getNextSibling(child) != FlatAst.NO_NODE) {
+            IParameter parameter = readParameter(child);
+            parameters.put(parameter.name(), parameter);
+            child = ast.getNextSibling(child);
+        }
+        CodeBlock codeBlock = readCodeBlock(child);
+        return FUNCTION_DEF_FACTORIES[ast.getKind(node).ordinal()].create(readPosition(node), ast.getName(node), parameters, codeBlock);
+    }
+
+    private IParameter readParameter(int node) {
+        if (ast.getKind(node) == FlatNodeKind.MISSING) {
+            return null;
+        }
+        return PARAMETER_FACTORIES[ast.getKind(node).ordinal()].create(readPosition(node), ast.getName(node), ast.getSymbolId(node));
+    }
+
+    private CodeBlock readCodeBlock(int node) {
+        if (ast.getKind(node) == FlatNodeKind.MISSING) {
+            return null;
+        }
+        ArrayList<IStatement> statements = new ArrayList<>();
+        for (int child = ast.getFirstChild(node); child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+            statements.add(readStatement(child));
+        }
+        return new CodeBlock(readPosition(node), statements);
+    }
+
+    private IStatement readStatement(int node) {
+        int firstChild = ast.getFirstChild(node);
+        switch (ast.getKind(node)) {
+            case MISSING:
+                return null;
+            case ASSIGNMENT_STATEMENT:
+                return new AssignmentStatement(readPosition(node), readParameter(firstChild),
+                        readExpression(ast.getNextSibling(firstChild)));
+            case IF_STATEMENT:
+                return readIfStatement(node);
+            case ELSE_IF_STATEMENT:
+                return new ElseIfStatement(readPosition(node), readExpression(firstChild),
+                        readCodeBlock(ast.getNextSibling(firstChild)));
+            case ELSE_STATEMENT:
+                return new ElseStatement(readPosition(node), readCodeBlock(firstChild));
+            case RETURN_STATEMENT:
+                return new ReturnStatement(readPosition(node), readExpression(firstChild));
+            case WHILE_STATEMENT:
+                return new WhileStatement(readPosition(node), readExpression(firstChild),
+                        readCodeBlock(ast.getNextSibling(firstChild)));
+            default:
+                return (IStatement) readExpression(node);
+        }
+    }
+
+    private IfStatement readIfStatement(int node) {
+        int expNode = ast.getFirstChild(node);
+        int codeBlockNode = ast.getNextSibling(expNode);
+        int elseNode = ast.getNextSibling(codeBlockNode);
+        ArrayList<ElseIfStatement> elseIfStatements = new ArrayList<>();
+        for (int child = ast.getNextSibling(elseNode); child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+            elseIfStatements.add((ElseIfStatement) readStatement(child));
+        }
+        return new IfStatement(readPosition(node), readExpression(expNode), readCodeBlock(codeBlockNode),
+                elseIfStatements, (ElseStatement) readStatement(elseNode));
+    }
+
+    private IExpression readExpression(int node) {
+        FlatNodeKind kind = ast.getKind(node);
+        int firstChild = ast.getFirstChild(node);
+        if (BINARY_EXPRESSION_FACTORIES[kind.ordinal()] != null) {
+            return BINARY_EXPRESSION_FACTORIES[kind.ordinal()].create(readPosition(node), readExpression(firstChild),
+                    readExpression(ast.getNextSibling(firstChild)));
+        } else if (LIST_VALUE_FACTORIES[kind.ordinal()] != null) {
+            GenericListValue listValue = LIST_VALUE_FACTORIES[kind.ordinal()].create(readPosition(node));
+            readDataValues(firstChild, listValue.value());
+            return listValue;
+        }
+
+        switch (kind) {
+            case MISSING:
+                return null;
+            case FUNCTION_CALL:
+                ArrayList<IExpression> arguments = new ArrayList<>();
+                for (int child = ast.getNextSibling(firstChild); child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+                    arguments.add(readExpression(child));
+                }
+                return new FunctionCall(readPosition(node), (Identifier) readExpression(firstChild), arguments);
+            case IDENTIFIER:
+                return new Identifier(readPosition(node), ast.getName(node), ast.getSymbolId(node));
+            case NEGATED_EXPRESSION:
+                return new NegatedExpression(readPosition(node), readExpression(firstChild));
+            case PARENTHESES_EXPRESSION:
+                return new ParenthesesExpression(readPosition(node), readExpression(firstChild));
+            case BOOL_VALUE:
+                return new BoolValue(readPosition(node), ast.getBoolValue(node));
+            case DOUBLE_VALUE:
+                return new DoubleValue(readPosition(node), ast.getDoubleValue(node));
+            case INT_VALUE:
+                return new IntValue(readPosition(node), ast.getIntValue(node));
+            case STRING_VALUE:
+                return new StringValue(readPosition(node), ast.getStringValue(node));
+            case FIGURE_VALUE:
+                FigureValue figureValue = new FigureValue(readPosition(node));
+                for (int child = firstChild; child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+                    figureValue.values().add((SectionValue) readExpression(child));
+                }
+                return figureValue;
+            case SCENE_VALUE:
+                SceneValue sceneValue = new SceneValue(readPosition(node));
+                readDataValues(firstChild, sceneValue.values());
+                return sceneValue;
+            default:
+                throw new IllegalStateException("Node " + node + " of kind " + kind + " is not an expression");
+        }
+    }
+
+    private void readDataValues(int firstChild, ArrayList<IDataValue> values) {
+        for (int child = firstChild; child != FlatAst.NO_NODE; child = ast.getNextSibling(child)) {
+            values.add((IDataValue) readExpression(child));
+        }
+    }
+}
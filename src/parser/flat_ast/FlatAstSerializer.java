@@ -0,0 +1,216 @@
+package parser.flat_ast;
+
+import lexer.SymbolTable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.CRC32;
+
+// `FlatAstSerializer` stores a `FlatAst` in a binary format: a header, then the node arrays one after another,
+// the double and string pools and the names of the named nodes. The values of named nodes are stored
+// as indexes into the names, which are interned into a new `SymbolTable` when read.
+// The header holds `FORMAT_VERSION` and a fingerprint of the `FlatNodeKind` names, and a tree stored
+// with another version of either is rejected. It also holds the CRC32 of everything after it, and every
+// count, child, sibling and value index read is checked, so that a corrupted tree is rejected too.
+public final class FlatAstSerializer {
+    public static final int FORMAT_VERSION = 2;
+    private static final int MAGIC = 0x544B4153;
+    private static final int KINDS_FINGERPRINT = Arrays.hashCode(Arrays.stream(FlatNodeKind.values()).map(Enum::name).toArray());
+    private static final int CHECKSUM_OFFSET = 3 * Integer.BYTES;
+    private static final int HEADER_LENGTH = 8 * Integer.BYTES;
+    private static final int NODE_LENGTH = 1 + 3 * Integer.BYTES + Long.BYTES;
+
+    private FlatAstSerializer() {
+    }
+
+    public static byte[] serialize(FlatAst ast) {
+        int size = ast.size();
+        HashMap<Integer, Integer> nameIndexes = new HashMap<>();
+        int[] values = new int[size];
+        for (int node = 0; node < size; node++) {
+            values[node] = ast.getIntValue(node);
+            if (ast.getKind(node).isNamed()) {
+                Integer nameIndex = nameIndexes.putIfAbsent(values[node], nameIndexes.size());
+                values[node] = nameIndex != null ? nameIndex : nameIndexes.size() - 1;
+            }
+        }
+        byte[][] names = new byte[nameIndexes.size()][];
+        nameIndexes.forEach((id, index) -> names[index] = ast.getSymbolTable().getName(id).getBytes(StandardCharsets.UTF_8));
+        byte[][] strings = new byte[ast.getStringValueCount()][];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = ast.getStringValueAt(i).getBytes(StandardCharsets.UTF_8);
+        }
+
+        long length = HEADER_LENGTH + (long) size * NODE_LENGTH
+                + (long) ast.getDoubleValueCount() * Double.BYTES + encodedLength(strings) + encodedLength(names);
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(length));
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(KINDS_FINGERPRINT).putInt(0);
+        buffer.putInt(size).putInt(ast.getDoubleValueCount()).putInt(strings.length).putInt(names.length);
+        for (int node = 0; node < size; node++) {
+            buffer.put((byte) ast.getKind(node).ordinal());
+        }
+        for (int node = 0; node < size; node++) {
+            buffer.putInt(ast.getFirstChild(node));
+        }
+        for (int node = 0; node < size; node++) {
+            buffer.putInt(ast.getNextSibling(node));
+        }
+        for (int node = 0; node < size; node++) {
+            buffer.putLong(ast.getPackedPosition(node));
+        }
+        for (int node = 0; node < size; node++) {
+            buffer.putInt(values[node]);
+        }
+        for (int i = 0; i < ast.getDoubleValueCount(); i++) {
+            buffer.putDouble(ast.getDoubleValueAt(i));
+        }
+        putStrings(buffer, strings);
+        putStrings(buffer, names);
+        buffer.putInt(CHECKSUM_OFFSET, checksum(buffer.position(CHECKSUM_OFFSET + Integer.BYTES)));
+        return buffer.array();
+    }
+
+    // `deserialize` reads a tree from `buffer`, which may be a file mapped into memory,
+    // and throws `IOException` if it holds no tree of the current format or the tree is corrupted.
+    public static FlatAst deserialize(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a stored AST");
+            }
+            if (buffer.getInt() != FORMAT_VERSION || buffer.getInt() != KINDS_FINGERPRINT) {
+                throw new IOException("AST stored in another format version");
+            }
+            if (buffer.getInt() != checksum(buffer.duplicate())) {
+                throw new IOException("Stored AST is corrupted");
+            }
+            int size = buffer.getInt();
+            int doubleValueCount = buffer.getInt();
+            int stringValueCount = buffer.getInt();
+            int nameCount = buffer.getInt();
+            // every string takes at least its length
+            if (size < 1 || doubleValueCount < 0 || stringValueCount < 0 || nameCount < 0
+                    || (long) size * NODE_LENGTH + (long) doubleValueCount * Double.BYTES
+                    + ((long) stringValueCount + nameCount) * Integer.BYTES > buffer.remaining()) {
+                throw new IOException("Stored AST is truncated");
+            }
+            double[] doubleValues = new double[doubleValueCount];
+            String[] stringValues = new String[stringValueCount];
+            int[] symbolIds = new int[nameCount];
+
+            byte[] kinds = new byte[size];
+            buffer.get(kinds);
+            int[] firstChildren = new int[size];
+            buffer.asIntBuffer().get(firstChildren);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            int[] nextSiblings = new int[size];
+            buffer.asIntBuffer().get(nextSiblings);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            long[] positions = new long[size];
+            buffer.asLongBuffer().get(positions);
+            buffer.position(buffer.position() + size * Long.BYTES);
+            int[] values = new int[size];
+            buffer.asIntBuffer().get(values);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+            buffer.asDoubleBuffer().get(doubleValues);
+            buffer.position(buffer.position() + doubleValues.length * Double.BYTES);
+            for (int i = 0; i < stringValues.length; i++) {
+                stringValues[i] = getString(buffer);
+            }
+            SymbolTable symbols = new SymbolTable();
+            for (int i = 0; i < symbolIds.length; i++) {
+                symbolIds[i] = symbols.intern(getString(buffer));
+            }
+
+            checkNodes(kinds, firstChildren, nextSiblings, values, doubleValues.length, stringValues.length, symbolIds.length);
+            for (int node = 0; node < size; node++) {
+                if (FlatNodeKind.ofOrdinal(kinds[node]).isNamed()) {
+                    values[node] = symbolIds[values[node]];
+                }
+            }
+            return new FlatAst(kinds, firstChildren, nextSiblings, positions, values, doubleValues, stringValues, symbols);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Stored AST is truncated or corrupted", e);
+        }
+    }
+
+    // `checkNodes` checks that the nodes form a tree rooted at a `PROGRAM` node, in which children and siblings
+    // follow the node pointing to them and every other node is pointed to once, and that the values index the pools.
+    private static void checkNodes(byte[] kinds, int[] firstChildren, int[] nextSiblings, int[] values,
+                                   int doubleValueCount, int stringValueCount, int nameCount) throws IOException {
+        int size = kinds.length;
+        boolean[] pointedTo = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            if (kinds[node] < 0 || kinds[node] >= FlatNodeKind.values().length) {
+                throw new IOException("Unknown node kind " + kinds[node]);
+            }
+            for (int next : new int[]{firstChildren[node], nextSiblings[node]}) {
+                if (next == FlatAst.NO_NODE) {
+                    continue;
+                }
+                if (next <= node || next >= size || pointedTo[next]) {
+                    throw new IOException("Node " + node + " points to invalid node " + next);
+                }
+                pointedTo[next] = true;
+            }
+
+            FlatNodeKind kind = FlatNodeKind.ofOrdinal(kinds[node]);
+            if (kind == FlatNodeKind.DOUBLE_VALUE) {
+                checkValueIndex(node, values[node], doubleValueCount);
+            } else if (kind == FlatNodeKind.STRING_VALUE) {
+                checkValueIndex(node, values[node], stringValueCount);
+            } else if (kind.isNamed()) {
+                checkValueIndex(node, values[node], nameCount);
+            }
+        }
+
+        if (FlatNodeKind.ofOrdinal(kinds[0]) != FlatNodeKind.PROGRAM) {
+            throw new IOException("Stored AST has no program node");
+        }
+        for (int node = 1; node < size; node++) {
+            if (!pointedTo[node]) {
+                throw new IOException("Node " + node + " is not in the tree");
+            }
+        }
+    }
+
+    private static void checkValueIndex(int node, int value, int valueCount) throws IOException {
+        if (value < 0 || value >= valueCount) {
+            throw new IOException("Value " + value + " of node " + node + " is out of range");
+        }
+    }
+
+    // `checksum` returns the CRC32 of the bytes from the position of `buffer` to its limit.
+    private static int checksum(ByteBuffer buffer) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer);
+        return (int) crc.getValue();
+    }
+
+    private static long encodedLength(byte[][] strings) {
+        long length = 0;
+        for (byte[] string : strings) {
+            length += Integer.BYTES + string.length;
+        }
+        return length;
+    }
+
+    private static void putStrings(ByteBuffer buffer, byte[][] strings) {
+        for (byte[] string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Stored AST is truncated");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
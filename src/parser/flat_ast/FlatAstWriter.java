@@ -0,0 +1,341 @@
+package parser.flat_ast;
+
+import lexer.PackedPosition;
+import lexer.Position;
+import parser.IDataValue;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.IVisitable;
+import parser.program_components.*;
+import parser.program_components.data_values.*;
+import parser.program_components.data_values.lists.GenericListValue;
+import parser.program_components.expressions.*;
+import parser.program_components.function_definitions.*;
+import parser.program_components.statements.*;
+import visitors.IVisitor;
+
+import java.util.List;
+
+// `FlatAstWriter` walks an object tree and appends its nodes to a `FlatAst`, every node before its children.
+class FlatAstWriter implements IVisitor {
+    private final FlatAst ast = new FlatAst();
+    // the node appended last by `accept`
+    private int lastNode = FlatAst.NO_NODE;
+
+    FlatAst write(Program program) {
+        program.accept(this);
+        ast.trimToSize();
+        return ast;
+    }
+
+    private static long pack(Position position) {
+        return position != null ? PackedPosition.pack(position) : FlatAst.NO_POSITION;
+    }
+
+    private int accept(IVisitable node) {
+        if (node == null) {
+            lastNode = ast.addNode(FlatNodeKind.MISSING, FlatAst.NO_POSITION, FlatAst.NO_VALUE);
+        } else {
+            node.accept(this);
+        }
+        return lastNode;
+    }
+
+    private void writeNode(IVisitable node, int value, IVisitable... children) {
+        writeNode(FlatNodeKind.of(node.getClass()), node, value, List.of(), children);
+    }
+
+    // `writeNode` appends `node` with `firstChildren` followed by `children` as its children.
+    private void writeNode(FlatNodeKind kind, IVisitable visitable, int value, List<? extends IVisitable> children,
+                           IVisitable... firstChildren) {
+        int node = ast.addNode(kind, pack(visitable.position()), value);
+        int previousChild = FlatAst.NO_NODE;
+        for (IVisitable child : firstChildren) {
+            previousChild = linkChild(node, previousChild, accept(child));
+        }
+        for (IVisitable child : children) {
+            previousChild = linkChild(node, previousChild, accept(child));
+        }
+        lastNode = node;
+    }
+
+    private int linkChild(int node, int previousChild, int child) {
+        if (previousChild == FlatAst.NO_NODE) {
+            ast.setFirstChild(node, child);
+        } else {
+            ast.setNextSibling(previousChild, child);
+        }
+        return child;
+    }
+
+    private void writeBinaryExpression(IVisitable exp, IVisitable leftExp, IVisitable rightExp) {
+        writeNode(exp, FlatAst.NO_VALUE, leftExp, rightExp);
+    }
+
+    private void writeFunctionDef(IFunctionDef functionDef) {
+        int nameId = ast.internName(functionDef.name());
+        // the code block goes last, after the parameters
+        int node = ast.addNode(FlatNodeKind.of(functionDef.getClass()), pack(functionDef.position()), nameId);
+        int previousChild = FlatAst.NO_NODE;
+        for (IParameter parameter : functionDef.parameters().values()) {
+            previousChild = linkChild(node, previousChild, accept(parameter));
+        }
+        linkChild(node, previousChild, accept(functionDef.functionCode()));
+        lastNode = node;
+    }
+
+    @Override
+    public void visit(IDataValue val) {
+        if (val instanceof BoolValue boolValue) {
+            writeNode(val, boolValue.value() ? 1 : 0);
+        } else if (val instanceof IntValue intValue) {
+            writeNode(val, intValue.value());
+        } else if (val instanceof DoubleValue doubleValue) {
+            writeNode(val, ast.addDoubleValue(doubleValue.value()));
+        } else if (val instanceof StringValue stringValue) {
+            writeNode(val, ast.addStringValue(stringValue.value()));
+        } else if (val instanceof PointValue pointValue) {
+            writeNode(val, FlatAst.NO_VALUE, pointValue.x(), pointValue.y());
+        } else if (val instanceof SectionValue sectionValue) {
+            writeNode(val, FlatAst.NO_VALUE, sectionValue.first(), sectionValue.second());
+        } else if (val instanceof FigureValue figureValue) {
+            writeNode(FlatNodeKind.FIGURE_VALUE, figureValue, FlatAst.NO_VALUE, figureValue.values());
+        } else if (val instanceof SceneValue sceneValue) {
+            writeNode(FlatNodeKind.SCENE_VALUE, sceneValue, FlatAst.NO_VALUE, sceneValue.values());
+        } else {
+            GenericListValue listValue = (GenericListValue) val;
+            writeNode(FlatNodeKind.of(val.getClass()), listValue, FlatAst.NO_VALUE, listValue.value());
+        }
+    }
+
+    // expressions
+    @Override
+    public void visit(AdditionExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(AlternativeExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(ConjunctiveExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(DiscreteDivisionExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(DivisionExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(EqualExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(GreaterOrEqualExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(GreaterThanExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(LessOrEqualExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(LessThanExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(MultiplicationExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(NegatedExpression exp) {
+        writeNode(exp, FlatAst.NO_VALUE, exp.exp());
+    }
+
+    @Override
+    public void visit(NotEqualExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(ParenthesesExpression exp) {
+        writeNode(exp, FlatAst.NO_VALUE, exp.exp());
+    }
+
+    @Override
+    public void visit(SubtractionExpression exp) {
+        writeBinaryExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    // function_definitions
+    @Override
+    public void visit(BoolFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(BoolListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(DoubleFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(DoubleListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(FigureFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(FigureListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(IntFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(IntListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(PointFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(PointListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(SceneFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(SceneListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(SectionFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(SectionListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(StringFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(StringListFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    @Override
+    public void visit(VoidFunctionDef functionDef) {
+        writeFunctionDef(functionDef);
+    }
+
+    // parameters
+    @Override
+    public void visit(IParameter p) {
+        writeNode(p, ast.internName(p.name()));
+    }
+
+    // statements
+    @Override
+    public void visit(AssignmentStatement assignmentStatement) {
+        writeNode(assignmentStatement, FlatAst.NO_VALUE,
+                assignmentStatement.param(), assignmentStatement.exp());
+    }
+
+    @Override
+    public void visit(ElseIfStatement elseIfStatement) {
+        writeNode(elseIfStatement, FlatAst.NO_VALUE,
+                elseIfStatement.exp(), elseIfStatement.codeBlock());
+    }
+
+    @Override
+    public void visit(ElseStatement elseStatement) {
+        writeNode(elseStatement, FlatAst.NO_VALUE, elseStatement.codeBlock());
+    }
+
+    @Override
+    public void visit(IfStatement ifStatement) {
+        writeNode(FlatNodeKind.IF_STATEMENT, ifStatement, FlatAst.NO_VALUE, ifStatement.elseIfStmnts(),
+                ifStatement.exp(), ifStatement.codeBlock(), ifStatement.elseStmnt());
+    }
+
+    @Override
+    public void visit(ReturnStatement returnStatement) {
+        writeNode(returnStatement, FlatAst.NO_VALUE, returnStatement.exp());
+    }
+
+    @Override
+    public void visit(WhileStatement whileStatement) {
+        writeNode(whileStatement, FlatAst.NO_VALUE,
+                whileStatement.exp(), whileStatement.codeBlock());
+    }
+
+    // other
+    @Override
+    public void visit(CodeBlock codeBlock) {
+        writeNode(FlatNodeKind.CODE_BLOCK, codeBlock, FlatAst.NO_VALUE, codeBlock.statements());
+    }
+
+    @Override
+    public void visit(FunctionCall functionCall) {
+        writeNode(FlatNodeKind.FUNCTION_CALL, functionCall, FlatAst.NO_VALUE, functionCall.exp(),
+                functionCall.identifier());
+    }
+
+    @Override
+    public void visit(Identifier identifier) {
+        writeNode(identifier, ast.internName(identifier.name()));
+    }
+
+    @Override
+    public void visit(ObjectAccess objectAccess) {
+        writeNode(objectAccess, FlatAst.NO_VALUE,
+                objectAccess.leftExp(), objectAccess.rightExp());
+    }
+
+    @Override
+    public void visit(Program program) {
+        writeNode(FlatNodeKind.PROGRAM, program, FlatAst.NO_VALUE, List.copyOf(program.functions().values()));
+    }
+}
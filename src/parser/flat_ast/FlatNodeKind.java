@@ -0,0 +1,152 @@
+package parser.flat_ast;
+
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.program_components.*;
+import parser.program_components.data_values.*;
+import parser.program_components.data_values.lists.*;
+import parser.program_components.expressions.*;
+import parser.program_components.function_definitions.*;
+import parser.program_components.parameters.*;
+import parser.program_components.statements.*;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// `FlatNodeKind` is the kind of a `FlatAst` node, one for every AST node class.
+// `MISSING` stands for a child which is null in the object tree, e.g. after a syntax error.
+public enum FlatNodeKind {
+    MISSING(null),
+    PROGRAM(Program.class),
+
+    // function definitions: the parameters, then the code block
+    BOOL_FUNCTION_DEF(BoolFunctionDef.class),
+    BOOL_LIST_FUNCTION_DEF(BoolListFunctionDef.class),
+    DOUBLE_FUNCTION_DEF(DoubleFunctionDef.class),
+    DOUBLE_LIST_FUNCTION_DEF(DoubleListFunctionDef.class),
+    FIGURE_FUNCTION_DEF(FigureFunctionDef.class),
+    FIGURE_LIST_FUNCTION_DEF(FigureListFunctionDef.class),
+    INT_FUNCTION_DEF(IntFunctionDef.class),
+    INT_LIST_FUNCTION_DEF(IntListFunctionDef.class),
+    POINT_FUNCTION_DEF(PointFunctionDef.class),
+    POINT_LIST_FUNCTION_DEF(PointListFunctionDef.class),
+    SCENE_FUNCTION_DEF(SceneFunctionDef.class),
+    SCENE_LIST_FUNCTION_DEF(SceneListFunctionDef.class),
+    SECTION_FUNCTION_DEF(SectionFunctionDef.class),
+    SECTION_LIST_FUNCTION_DEF(SectionListFunctionDef.class),
+    STRING_FUNCTION_DEF(StringFunctionDef.class),
+    STRING_LIST_FUNCTION_DEF(StringListFunctionDef.class),
+    VOID_FUNCTION_DEF(VoidFunctionDef.class),
+
+    // parameters
+    BOOL_PARAMETER(BoolParameter.class),
+    BOOL_LIST_PARAMETER(BoolListParameter.class),
+    DOUBLE_PARAMETER(DoubleParameter.class),
+    DOUBLE_LIST_PARAMETER(DoubleListParameter.class),
+    FIGURE_PARAMETER(FigureParameter.class),
+    FIGURE_LIST_PARAMETER(FigureListParameter.class),
+    INT_PARAMETER(IntParameter.class),
+    INT_LIST_PARAMETER(IntListParameter.class),
+    POINT_PARAMETER(PointParameter.class),
+    POINT_LIST_PARAMETER(PointListParameter.class),
+    REASSIGNED_PARAMETER(ReassignedParameter.class),
+    SCENE_PARAMETER(SceneParameter.class),
+    SCENE_LIST_PARAMETER(SceneListParameter.class),
+    SECTION_PARAMETER(SectionParameter.class),
+    SECTION_LIST_PARAMETER(SectionListParameter.class),
+    STRING_PARAMETER(StringParameter.class),
+    STRING_LIST_PARAMETER(StringListParameter.class),
+    VOID_PARAMETER(VoidParameter.class),
+
+    // statements: `IF_STATEMENT` has the condition, the code block, the else statement and then the else if statements
+    CODE_BLOCK(CodeBlock.class),
+    ASSIGNMENT_STATEMENT(AssignmentStatement.class),
+    IF_STATEMENT(IfStatement.class),
+    ELSE_IF_STATEMENT(ElseIfStatement.class),
+    ELSE_STATEMENT(ElseStatement.class),
+    RETURN_STATEMENT(ReturnStatement.class),
+    WHILE_STATEMENT(WhileStatement.class),
+
+    // expressions: `FUNCTION_CALL` has the identifier and then the arguments
+    FUNCTION_CALL(FunctionCall.class),
+    IDENTIFIER(Identifier.class),
+    OBJECT_ACCESS(ObjectAccess.class),
+    ALTERNATIVE_EXPRESSION(AlternativeExpression.class),
+    CONJUNCTIVE_EXPRESSION(ConjunctiveExpression.class),
+    LESS_THAN_EXPRESSION(LessThanExpression.class),
+    LESS_OR_EQUAL_EXPRESSION(LessOrEqualExpression.class),
+    GREATER_THAN_EXPRESSION(GreaterThanExpression.class),
+    GREATER_OR_EQUAL_EXPRESSION(GreaterOrEqualExpression.class),
+    EQUAL_EXPRESSION(EqualExpression.class),
+    NOT_EQUAL_EXPRESSION(NotEqualExpression.class),
+    ADDITION_EXPRESSION(AdditionExpression.class),
+    SUBTRACTION_EXPRESSION(SubtractionExpression.class),
+    MULTIPLICATION_EXPRESSION(MultiplicationExpression.class),
+    DIVISION_EXPRESSION(DivisionExpression.class),
+    DISCRETE_DIVISION_EXPRESSION(DiscreteDivisionExpression.class),
+    NEGATED_EXPRESSION(NegatedExpression.class),
+    PARENTHESES_EXPRESSION(ParenthesesExpression.class),
+
+    // data values
+    BOOL_VALUE(BoolValue.class),
+    DOUBLE_VALUE(DoubleValue.class),
+    INT_VALUE(IntValue.class),
+    STRING_VALUE(StringValue.class),
+    POINT_VALUE(PointValue.class),
+    SECTION_VALUE(SectionValue.class),
+    FIGURE_VALUE(FigureValue.class),
+    SCENE_VALUE(SceneValue.class),
+    BOOL_LIST_VALUE(BoolListValue.class),
+    DOUBLE_LIST_VALUE(DoubleListValue.class),
+    FIGURE_LIST_VALUE(FigureListValue.class),
+    INT_LIST_VALUE(IntListValue.class),
+    POINT_LIST_VALUE(PointListValue.class),
+    SCENE_LIST_VALUE(SceneListValue.class),
+    SECTION_LIST_VALUE(SectionListValue.class),
+    STRING_LIST_VALUE(StringListValue.class),
+    GENERIC_LIST_VALUE(GenericListValue.class);
+
+    private static final FlatNodeKind[] kinds = values();
+    private static final Map<Class<?>, FlatNodeKind> kindsByClass = initKindsByClass();
+
+    private final Class<?> nodeClass;
+    private final boolean named;
+
+    FlatNodeKind(Class<?> nodeClass) {
+        this.nodeClass = nodeClass;
+        this.named = nodeClass != null && (IFunctionDef.class.isAssignableFrom(nodeClass)
+                || IParameter.class.isAssignableFrom(nodeClass) || nodeClass == Identifier.class);
+    }
+
+    private static Map<Class<?>, FlatNodeKind> initKindsByClass() {
+        HashMap<Class<?>, FlatNodeKind> kinds = new HashMap<>();
+        for (FlatNodeKind kind : values()) {
+            if (kind.nodeClass != null) {
+                kinds.put(kind.nodeClass, kind);
+            }
+        }
+        return Collections.unmodifiableMap(kinds);
+    }
+
+    public static FlatNodeKind of(Class<?> nodeClass) {
+        FlatNodeKind kind = kindsByClass.get(nodeClass);
+        if (kind == null) {
+            throw new IllegalArgumentException("No flat node kind for " + nodeClass.getName());
+        }
+        return kind;
+    }
+
+    static FlatNodeKind ofOrdinal(int ordinal) {
+        return kinds[ordinal];
+    }
+
+    public Class<?> getNodeClass() {
+        return nodeClass;
+    }
+
+    // `isNamed` tells if the value of a node of this kind is the `SymbolTable` id of a name.
+    public boolean isNamed() {
+        return named;
+    }
+}
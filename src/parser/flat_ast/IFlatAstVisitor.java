@@ -0,0 +1,9 @@
+package parser.flat_ast;
+
+public interface IFlatAstVisitor {
+    // `enter` is called before the children of `node`; they are skipped if it returns false.
+    boolean enter(FlatAst ast, int node);
+
+    default void exit(FlatAst ast, int node) {
+    }
+}
@@ -45,6 +45,11 @@ public class FunctionCall implements IExpOrStmnt {
         return identifier;
     }
 
+    // `id` is the `SymbolTable` id of the called function name.
+    public int id() {
+        return identifier.id();
+    }
+
     public ArrayList<IExpression> exp() {
         return exp;
     }
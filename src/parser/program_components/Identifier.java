@@ -1,10 +1,34 @@
 package parser.program_components;
 
 import lexer.Position;
+import lexer.SymbolTable;
 import parser.IExpression;
 import visitors.IVisitor;
 
-public record Identifier(Position position, String name) implements IExpression {
+import java.util.Objects;
+
+// `id` is the `SymbolTable` id given to the name by the lexer. Ids of different tables differ,
+// so nodes are equal when their names are.
+public record Identifier(Position position, String name, int id) implements IExpression {
+
+    public Identifier(Position position, String name) {
+        this(position, name, SymbolTable.NO_ID);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || obj.getClass() != this.getClass()) return false;
+        var that = (Identifier) obj;
+        return Objects.equals(this.position, that.position) &&
+                Objects.equals(this.name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(position, name);
+    }
+
     @Override
     public void accept(IVisitor visitor) {
         visitor.visit(this);
@@ -0,0 +1,66 @@
+package parser.program_components.function_definitions;
+
+import lexer.Position;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.program_components.CodeBlock;
+import visitors.IVisitor;
+
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+// `LazyFunctionDef` is a function definition created by `LazyParser`, whose code block is parsed on first use.
+// `resolve()` parses it once and returns the definition of the function's type, e.g. `IntFunctionDef`,
+// to which `functionCode()` and `accept()` delegate. Errors in the code block are reported when it is parsed.
+public final class LazyFunctionDef implements IFunctionDef {
+    private final Position position;
+    private final String name;
+    private final LinkedHashMap<String, IParameter> parameters;
+    private Supplier<IFunctionDef> bodyParser;
+    private IFunctionDef functionDef;
+
+    public LazyFunctionDef(Position position, String name, LinkedHashMap<String, IParameter> parameters,
+                           Supplier<IFunctionDef> bodyParser) {
+        this.position = position;
+        this.name = name;
+        this.parameters = parameters;
+        this.bodyParser = bodyParser;
+    }
+
+    public IFunctionDef resolve() {
+        if (functionDef == null) {
+            functionDef = bodyParser.get();
+            bodyParser = null;
+        }
+        return functionDef;
+    }
+
+    public boolean isResolved() {
+        return functionDef != null;
+    }
+
+    @Override
+    public Position position() {
+        return position;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public LinkedHashMap<String, IParameter> parameters() {
+        return parameters;
+    }
+
+    @Override
+    public CodeBlock functionCode() {
+        return resolve().functionCode();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        resolve().accept(visitor);
+    }
+}
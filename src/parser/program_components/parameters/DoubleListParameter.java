@@ -1,10 +1,31 @@
 package parser.program_components.parameters;
 
 import lexer.Position;
+import lexer.SymbolTable;
 import parser.IParameter;
 import visitors.IVisitor;
 
-public record DoubleListParameter(Position position, String name) implements IParameter {
+import java.util.Objects;
+
+public record DoubleListParameter(Position position, String name, int id) implements IParameter {
+
+    public DoubleListParameter(Position position, String name) {
+        this(position, name, SymbolTable.NO_ID);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || obj.getClass() != this.getClass()) return false;
+        var that = (DoubleListParameter) obj;
+        return Objects.equals(this.position, that.position) &&
+                Objects.equals(this.name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(position, name);
+    }
 
     @Override
     public void accept(IVisitor visitor) {
@@ -1,14 +1,35 @@
 package parser.program_components.parameters;
 
 import lexer.Position;
+import lexer.SymbolTable;
 import parser.IParameter;
 import parser.program_components.Identifier;
 import visitors.IVisitor;
 
-public record ReassignedParameter(Position position, String name) implements IParameter {
+import java.util.Objects;
+
+public record ReassignedParameter(Position position, String name, int id) implements IParameter {
+
+    public ReassignedParameter(Position position, String name) {
+        this(position, name, SymbolTable.NO_ID);
+    }
 
     public ReassignedParameter(Identifier ident) {
-        this(ident.position(), ident.name());
+        this(ident.position(), ident.name(), ident.id());
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) return true;
+        if (obj == null || obj.getClass() != this.getClass()) return false;
+        var that = (ReassignedParameter) obj;
+        return Objects.equals(this.position, that.position) &&
+                Objects.equals(this.name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(position, name);
     }
 
     @Override
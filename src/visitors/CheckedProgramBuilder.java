@@ -0,0 +1,384 @@
+package visitors;
+
+import lexer.Position;
+import parser.IDataValue;
+import parser.IExpression;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.IStatement;
+import parser.IVisitable;
+import parser.program_components.*;
+import parser.program_components.data_values.IntValue;
+import parser.program_components.expressions.*;
+import parser.program_components.function_definitions.*;
+import parser.program_components.statements.*;
+import visitors.TypeAnnotations.Conversion;
+import visitors.checked_components.*;
+import visitors.checked_components.CheckedArithmeticExpression.Operator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// `CheckedProgramBuilder` copies a program checked by `TypeChecker` and replaces its verified nodes
+// with the checked components carrying their annotations, so `Interpreter` looks nothing up while running the copy.
+// Data values, identifiers and parameters are shared with the original program, and so are the arithmetic
+// expressions in the coordinates of point and section values, which are executed with the runtime checks.
+class CheckedProgramBuilder implements IVisitor {
+    private static final HashMap<Class<?>, FunctionDefFactory> FUNCTION_DEF_FACTORIES = new HashMap<>();
+
+    static {
+        FUNCTION_DEF_FACTORIES.put(BoolFunctionDef.class, BoolFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(BoolListFunctionDef.class, BoolListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(DoubleFunctionDef.class, DoubleFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(DoubleListFunctionDef.class, DoubleListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(FigureFunctionDef.class, FigureFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(FigureListFunctionDef.class, FigureListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(IntFunctionDef.class, IntFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(IntListFunctionDef.class, IntListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(PointFunctionDef.class, PointFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(PointListFunctionDef.class, PointListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(SceneFunctionDef.class, SceneFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(SceneListFunctionDef.class, SceneListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(SectionFunctionDef.class, SectionFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(SectionListFunctionDef.class, SectionListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(StringFunctionDef.class, StringFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(StringListFunctionDef.class, StringListFunctionDef::new);
+        FUNCTION_DEF_FACTORIES.put(VoidFunctionDef.class, VoidFunctionDef::new);
+    }
+
+    private interface FunctionDefFactory {
+        IFunctionDef create(Position position, String name, LinkedHashMap<String, IParameter> parameters, CodeBlock codeBlock);
+    }
+
+    private interface BinaryExpressionFactory {
+        IExpression create(Position position, IExpression leftExp, IExpression rightExp);
+    }
+
+    private final TypeAnnotations typeAnnotations;
+    private IVisitable lastNode;
+
+    CheckedProgramBuilder(TypeAnnotations typeAnnotations) {
+        this.typeAnnotations = typeAnnotations;
+    }
+
+    Program build(Program program) {
+        HashMap<String, IFunctionDef> functions = new HashMap<>();
+        for (Map.Entry<String, IFunctionDef> f : program.functions().entrySet()) {
+            // `TypeChecker` annotates the definitions parsed from the lazy ones
+            IFunctionDef functionDef = f.getValue() instanceof LazyFunctionDef lazyFunctionDef ? lazyFunctionDef.resolve() : f.getValue();
+            functionDef.accept(this);
+            functions.put(f.getKey(), (IFunctionDef) lastNode);
+        }
+        return new Program(program.position(), functions);
+    }
+
+    @Override
+    public void visit(IDataValue val) {
+        lastNode = val;
+    }
+
+    // expressions
+    @Override
+    public void visit(AdditionExpression exp) {
+        buildArithmeticExpression(exp, Operator.ADDITION, exp.leftExp(), exp.rightExp(), AdditionExpression::new);
+    }
+
+    @Override
+    public void visit(AlternativeExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), AlternativeExpression::new);
+    }
+
+    @Override
+    public void visit(ConjunctiveExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), ConjunctiveExpression::new);
+    }
+
+    @Override
+    public void visit(DiscreteDivisionExpression exp) {
+        buildArithmeticExpression(exp, Operator.DISCRETE_DIVISION, exp.leftExp(), exp.rightExp(), DiscreteDivisionExpression::new);
+    }
+
+    @Override
+    public void visit(DivisionExpression exp) {
+        buildArithmeticExpression(exp, Operator.DIVISION, exp.leftExp(), exp.rightExp(), DivisionExpression::new);
+    }
+
+    @Override
+    public void visit(EqualExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), EqualExpression::new);
+    }
+
+    @Override
+    public void visit(GreaterOrEqualExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), GreaterOrEqualExpression::new);
+    }
+
+    @Override
+    public void visit(GreaterThanExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), GreaterThanExpression::new);
+    }
+
+    @Override
+    public void visit(LessOrEqualExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), LessOrEqualExpression::new);
+    }
+
+    @Override
+    public void visit(LessThanExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), LessThanExpression::new);
+    }
+
+    @Override
+    public void visit(MultiplicationExpression exp) {
+        buildArithmeticExpression(exp, Operator.MULTIPLICATION, exp.leftExp(), exp.rightExp(), MultiplicationExpression::new);
+    }
+
+    @Override
+    public void visit(NegatedExpression exp) {
+        lastNode = new NegatedExpression(exp.position(), buildExpression(exp.exp()));
+    }
+
+    @Override
+    public void visit(NotEqualExpression exp) {
+        buildBinaryExpression(exp, exp.leftExp(), exp.rightExp(), NotEqualExpression::new);
+    }
+
+    @Override
+    public void visit(ParenthesesExpression exp) {
+        lastNode = new ParenthesesExpression(exp.position(), buildExpression(exp.exp()));
+    }
+
+    @Override
+    public void visit(SubtractionExpression exp) {
+        buildArithmeticExpression(exp, Operator.SUBTRACTION, exp.leftExp(), exp.rightExp(), SubtractionExpression::new);
+    }
+
+    private void buildBinaryExpression(IExpression exp, IExpression leftExp, IExpression rightExp, BinaryExpressionFactory factory) {
+        lastNode = factory.create(exp.position(), buildExpression(leftExp), buildExpression(rightExp));
+    }
+
+    private void buildArithmeticExpression(IExpression exp, Operator operator, IExpression leftExp, IExpression rightExp,
+                                           BinaryExpressionFactory factory) {
+        IExpression checkedLeftExp = buildExpression(leftExp);
+        IExpression checkedRightExp = buildExpression(rightExp);
+        IExpression builtExp = factory.create(exp.position(), checkedLeftExp, checkedRightExp);
+        if (typeAnnotations.isVerified(exp)) {
+            boolean intResult = typeAnnotations.getType(exp) == IntValue.class;
+            lastNode = new CheckedArithmeticExpression(exp.position(), builtExp, operator, intResult, checkedLeftExp, checkedRightExp);
+        } else {
+            lastNode = builtExp;
+        }
+    }
+
+    // function_definitions
+    @Override
+    public void visit(BoolFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(BoolListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(DoubleFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(DoubleListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(FigureFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(FigureListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(IntFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(IntListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(PointFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(PointListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(SceneFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(SceneListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(SectionFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(SectionListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(StringFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(StringListFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    @Override
+    public void visit(VoidFunctionDef f) {
+        buildFunctionDef(f);
+    }
+
+    private void buildFunctionDef(IFunctionDef f) {
+        CodeBlock functionCode = buildCodeBlock(f.functionCode());
+        IFunctionDef functionDef = FUNCTION_DEF_FACTORIES.get(f.getClass()).create(f.position(), f.name(), f.parameters(), functionCode);
+        lastNode = typeAnnotations.isVerified(f) ? new CheckedFunctionDef(functionDef) : functionDef;
+    }
+
+    // parameters
+    @Override
+    public void visit(IParameter p) {
+        lastNode = p;
+    }
+
+    // statements
+    @Override
+    public void visit(AssignmentStatement stmnt) {
+        AssignmentStatement builtStmnt = new AssignmentStatement(stmnt.position(), stmnt.param(), buildExpression(stmnt.exp()));
+        if (typeAnnotations.isVerified(stmnt)) {
+            lastNode = new CheckedAssignmentStatement(builtStmnt, typeAnnotations.getConversion(stmnt));
+        } else {
+            lastNode = builtStmnt;
+        }
+    }
+
+    @Override
+    public void visit(ElseIfStatement stmnt) {
+        lastNode = new ElseIfStatement(stmnt.position(), buildExpression(stmnt.exp()), buildCodeBlock(stmnt.codeBlock()));
+    }
+
+    @Override
+    public void visit(ElseStatement stmnt) {
+        lastNode = new ElseStatement(stmnt.position(), buildCodeBlock(stmnt.codeBlock()));
+    }
+
+    @Override
+    public void visit(IfStatement stmnt) {
+        IExpression exp = buildExpression(stmnt.exp());
+        CodeBlock codeBlock = buildCodeBlock(stmnt.codeBlock());
+        List<ElseIfStatement> elseIfStmnts = new ArrayList<>();
+        for (ElseIfStatement s : stmnt.elseIfStmnts()) {
+            s.accept(this);
+            elseIfStmnts.add((ElseIfStatement) lastNode);
+        }
+        ElseStatement elseStmnt = null;
+        if (stmnt.elseStmnt() != null) {
+            stmnt.elseStmnt().accept(this);
+            elseStmnt = (ElseStatement) lastNode;
+        }
+        lastNode = new IfStatement(stmnt.position(), exp, codeBlock, elseIfStmnts, elseStmnt);
+    }
+
+    @Override
+    public void visit(ReturnStatement stmnt) {
+        ReturnStatement builtStmnt = new ReturnStatement(stmnt.position(), buildExpression(stmnt.exp()));
+        Conversion conversion = typeAnnotations.getConversion(stmnt);
+        lastNode = conversion == null ? builtStmnt : new CheckedReturnStatement(builtStmnt, conversion);
+    }
+
+    @Override
+    public void visit(WhileStatement stmnt) {
+        lastNode = new WhileStatement(stmnt.position(), buildExpression(stmnt.exp()), buildCodeBlock(stmnt.codeBlock()));
+    }
+
+    // other
+    @Override
+    public void visit(CodeBlock codeBlock) {
+        List<IStatement> statements = new ArrayList<>();
+        for (IStatement s : codeBlock.statements()) {
+            s.accept(this);
+            statements.add((IStatement) lastNode);
+        }
+        lastNode = new CodeBlock(codeBlock.position(), statements);
+    }
+
+    @Override
+    public void visit(FunctionCall functionCall) {
+        FunctionCall builtFunctionCall = buildFunctionCall(functionCall);
+        lastNode = typeAnnotations.isVerified(functionCall) ? new CheckedFunctionCall(builtFunctionCall) : builtFunctionCall;
+    }
+
+    private FunctionCall buildFunctionCall(FunctionCall functionCall) {
+        ArrayList<IExpression> args = new ArrayList<>();
+        for (IExpression arg : functionCall.exp()) {
+            args.add(buildExpression(arg));
+        }
+        return new FunctionCall(functionCall.position(), functionCall.identifier(), args);
+    }
+
+    @Override
+    public void visit(Identifier identifier) {
+        lastNode = identifier;
+    }
+
+    // the method called on an object stays a `FunctionCall`, which `Interpreter` expects there
+    @Override
+    public void visit(ObjectAccess objectAccess) {
+        IExpression leftExp = buildExpression(objectAccess.leftExp());
+        IExpression rightExp = objectAccess.rightExp() instanceof FunctionCall functionCall
+                ? buildFunctionCall(functionCall)
+                : buildExpression(objectAccess.rightExp());
+        lastNode = new ObjectAccess(objectAccess.position(), leftExp, rightExp);
+    }
+
+    @Override
+    public void visit(Program program) {
+        lastNode = build(program);
+    }
+
+    private IExpression buildExpression(IExpression exp) {
+        if (exp == null) {
+            return null;
+        }
+        exp.accept(this);
+        return (IExpression) lastNode;
+    }
+
+    private CodeBlock buildCodeBlock(CodeBlock codeBlock) {
+        if (codeBlock == null) {
+            return null;
+        }
+        codeBlock.accept(this);
+        return (CodeBlock) lastNode;
+    }
+}
@@ -2,6 +2,7 @@ package visitors;
 
 import parser.IFunctionDef;
 import parser.IVisitable;
+import parser.program_components.function_definitions.LazyFunctionDef;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -108,7 +109,13 @@ public class ContextManager {
     }
 
     public IFunctionDef getFunction(String funcName) {
-        return functions.get(funcName);
+        IFunctionDef function = functions.get(funcName);
+        // the code block of a lazily parsed function is parsed at its first call
+        if (function instanceof LazyFunctionDef lazyFunction) {
+            function = lazyFunction.resolve();
+            functions.put(funcName, function);
+        }
+        return function;
     }
 
     public boolean isMethodImplemented(String methodName) {
@@ -6,6 +6,7 @@ import parser.program_components.*;
 import parser.program_components.expressions.*;
 import parser.program_components.function_definitions.*;
 import parser.program_components.statements.*;
+import visitors.checked_components.*;
 
 public interface IVisitor {
     void visit(IDataValue val);
@@ -106,4 +107,27 @@ public interface IVisitor {
     void visit(ObjectAccess objectAccess);
 
     void visit(Program program);
+
+
+    // checked components, which `Interpreter` runs in place of the nodes verified by `TypeChecker`.
+    // Other visitors visit the nodes they replace.
+    default void visit(CheckedArithmeticExpression checkedArithmeticExpression) {
+        checkedArithmeticExpression.exp().accept(this);
+    }
+
+    default void visit(CheckedAssignmentStatement checkedAssignmentStatement) {
+        checkedAssignmentStatement.stmnt().accept(this);
+    }
+
+    default void visit(CheckedReturnStatement checkedReturnStatement) {
+        checkedReturnStatement.stmnt().accept(this);
+    }
+
+    default void visit(CheckedFunctionCall checkedFunctionCall) {
+        checkedFunctionCall.functionCall().accept(this);
+    }
+
+    default void visit(CheckedFunctionDef checkedFunctionDef) {
+        checkedFunctionDef.functionDef().accept(this);
+    }
 }
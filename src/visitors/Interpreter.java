@@ -9,6 +9,7 @@ import parser.program_components.expressions.*;
 import parser.program_components.function_definitions.*;
 import parser.program_components.parameters.*;
 import parser.program_components.statements.*;
+import visitors.checked_components.*;
 import visitors.exceptions.*;
 
 import javax.swing.*;
@@ -23,6 +24,9 @@ public class Interpreter implements IVisitor {
     private final int maxRecursionDepth;
     private final int maxFunctionCallStackSize;
     private final Stack<String> functionCallStack;
+    // the runtime type checks of the nodes verified by `TypeChecker` are skipped,
+    // and a program is run as parsed when there are no annotations
+    private final TypeAnnotations typeAnnotations;
     // attribute ifStatementsDepth is used to determine whether if or else if statement
     // has been visited in currently analyzed if statement
     private int ifStatementsDepth;
@@ -33,8 +37,13 @@ public class Interpreter implements IVisitor {
     private JFrame frame;
 
     public Interpreter(IErrorHandler errorHandler, ContextManager contextManager) {
+        this(errorHandler, contextManager, null);
+    }
+
+    public Interpreter(IErrorHandler errorHandler, ContextManager contextManager, TypeAnnotations typeAnnotations) {
         this.errorHandler = errorHandler;
         this.contextManager = contextManager;
+        this.typeAnnotations = typeAnnotations;
         ifStatementsDepth = 0;
         recursionDepth = 0;
         maxRecursionDepth = 10;
@@ -70,8 +79,10 @@ public class Interpreter implements IVisitor {
             errorHandler.handle(new MissingMainFunctionException(program.functions()));
         }
 
-        contextManager.addFunctions(program.functions());
-        IFunctionDef main = program.functions().get("main");
+        // the annotations are resolved once, into the checked components of a copy of the program
+        Program executedProgram = typeAnnotations == null ? program : new CheckedProgramBuilder(typeAnnotations).build(program);
+        contextManager.addFunctions(executedProgram.functions());
+        IFunctionDef main = executedProgram.functions().get("main");
         main.accept(this);
     }
 
@@ -282,6 +293,14 @@ public class Interpreter implements IVisitor {
 
     }
 
+    // the return statements of a verified function cast the returned value already
+    @Override
+    public void visit(CheckedFunctionDef f) {
+        preFunctionVisit(f);
+        f.functionCode().accept(this);
+        postFunctionVisit();
+    }
+
     private void preFunctionVisit(IFunctionDef f) {
         currentFunctionName = f.name();
         contextManager.createNewFunctionContext();
@@ -352,6 +371,17 @@ public class Interpreter implements IVisitor {
         }
     }
 
+    @Override
+    public void visit(CheckedAssignmentStatement stmnt) {
+        stmnt.exp().accept(this);
+        IVisitable castedValue = castVerifiedValue(lastResult, stmnt.conversion());
+        if (stmnt.param().getClass().equals(ReassignedParameter.class)) {
+            contextManager.update(stmnt.param().name(), castedValue);
+        } else {
+            contextManager.add(stmnt.param().name(), castedValue);
+        }
+    }
+
     private void handleParamValueAssignment(boolean assignmentCondition, AssignmentStatement stmnt) {
         if (assignmentCondition) {
             contextManager.add(stmnt.param().name(), lastResult);
@@ -448,6 +478,13 @@ public class Interpreter implements IVisitor {
         returnFound = true;
     }
 
+    @Override
+    public void visit(CheckedReturnStatement stmnt) {
+        stmnt.exp().accept(this);
+        lastResult = castVerifiedValue(lastResult, stmnt.conversion());
+        returnFound = true;
+    }
+
     @Override
     public void visit(WhileStatement stmnt) {
         registerErrorIsExpIsNull(stmnt, stmnt.exp());
@@ -676,6 +713,94 @@ public class Interpreter implements IVisitor {
         exp.exp().accept(this);
     }
 
+    @Override
+    public void visit(CheckedArithmeticExpression exp) {
+        exp.leftExp().accept(this);
+        IVisitable leftExp = lastResult;
+        exp.rightExp().accept(this);
+
+        switch (exp.operator()) {
+            case ADDITION:
+                evaluateVerifiedAdditionExpression(exp, leftExp, lastResult);
+                break;
+            case SUBTRACTION:
+                evaluateVerifiedSubtractionExpression(exp, leftExp, lastResult);
+                break;
+            case MULTIPLICATION:
+                evaluateVerifiedMultiplicationExpression(exp, leftExp, lastResult);
+                break;
+            case DIVISION:
+                evaluateVerifiedDivisionExpression(exp, leftExp, lastResult);
+                break;
+            case DISCRETE_DIVISION:
+                evaluateVerifiedDiscreteDivisionExpression(exp, leftExp, lastResult);
+                break;
+        }
+    }
+
+    // the operands of a verified arithmetic expression are numeric, and `intResult` tells whether they are
+    // both `IntValue`s
+    private void evaluateVerifiedAdditionExpression(CheckedArithmeticExpression exp, IVisitable leftExp, IVisitable rightExp) {
+        if (exp.intResult()) {
+            lastResult = new IntValue(exp.position(), getIntValue(leftExp) + getIntValue(rightExp));
+        } else {
+            lastResult = new DoubleValue(exp.position(), getDoubleValue(leftExp) + getDoubleValue(rightExp));
+        }
+    }
+
+    private void evaluateVerifiedSubtractionExpression(CheckedArithmeticExpression exp, IVisitable leftExp, IVisitable rightExp) {
+        if (exp.intResult()) {
+            lastResult = new IntValue(exp.position(), getIntValue(leftExp) - getIntValue(rightExp));
+        } else {
+            lastResult = new DoubleValue(exp.position(), getDoubleValue(leftExp) - getDoubleValue(rightExp));
+        }
+    }
+
+    private void evaluateVerifiedMultiplicationExpression(CheckedArithmeticExpression exp, IVisitable leftExp, IVisitable rightExp) {
+        if (exp.intResult()) {
+            lastResult = new IntValue(exp.position(), getIntValue(leftExp) * getIntValue(rightExp));
+        } else {
+            lastResult = new DoubleValue(exp.position(), getDoubleValue(leftExp) * getDoubleValue(rightExp));
+        }
+    }
+
+    private void evaluateVerifiedDivisionExpression(CheckedArithmeticExpression exp, IVisitable leftExp, IVisitable rightExp) {
+        if (exp.intResult()) {
+            int rightValue = getIntValue(rightExp);
+            if (rightValue == 0) {
+                errorHandler.handle(new ZeroDivisionException(exp.position()));
+            }
+            lastResult = new IntValue(exp.position(), getIntValue(leftExp) / rightValue);
+        } else {
+            double rightValue = getDoubleValue(rightExp);
+            // `Double.compare` tells -0.0 from 0.0 as `Double.equals` does in `tryToDivideDoubleValues`
+            if (Double.compare(rightValue, 0.0) == 0) {
+                errorHandler.handle(new ZeroDivisionException(exp.position()));
+            }
+            lastResult = new DoubleValue(exp.position(), getDoubleValue(leftExp) / rightValue);
+        }
+    }
+
+    private void evaluateVerifiedDiscreteDivisionExpression(CheckedArithmeticExpression exp, IVisitable leftExp, IVisitable rightExp) {
+        int rightValue = (int) getDoubleValue(rightExp);
+        if (rightValue == 0) {
+            errorHandler.handle(new ZeroDivisionException(exp.position()));
+        }
+        lastResult = new IntValue(exp.position(), (int) getDoubleValue(leftExp) / rightValue);
+    }
+
+    // the values are unboxed, so only the results are allocated
+    private static int getIntValue(IVisitable value) {
+        return ((IntValue) value).value();
+    }
+
+    private static double getDoubleValue(IVisitable value) {
+        if (value instanceof IntValue intValue) {
+            return intValue.value();
+        }
+        return ((DoubleValue) value).value();
+    }
+
     private void tryToEvaluateAdditionExpression(Position position, IVisitable leftExp, IVisitable rightExp) {
         if (leftExp.getClass().equals(IntValue.class) && rightExp.getClass().equals(IntValue.class)) {
             tryToAddIntValues(position, leftExp, rightExp);
@@ -791,7 +916,7 @@ public class Interpreter implements IVisitor {
     @Override
     public void visit(FunctionCall functionCall) {
         if (contextManager.containsFunction(functionCall.identifier().name())) {
-            handleUserDefinedFunctionCall(functionCall);
+            handleUserDefinedFunctionCall(functionCall, false);
         } else if (contextManager.isMethodImplemented(functionCall.identifier().name())) {
             handleBuiltInFunctionCall(functionCall);
         } else {
@@ -799,11 +924,17 @@ public class Interpreter implements IVisitor {
         }
     }
 
-    private void handleUserDefinedFunctionCall(FunctionCall functionCall) {
+    // the arguments of a verified call are of the parameters types
+    @Override
+    public void visit(CheckedFunctionCall functionCall) {
+        handleUserDefinedFunctionCall(functionCall.functionCall(), true);
+    }
+
+    private void handleUserDefinedFunctionCall(FunctionCall functionCall, boolean verified) {
         IFunctionDef functionDef = contextManager.getFunction(functionCall.identifier().name());
         ArrayList<IExpression> evaluatedArgs = evaluateFunctionCallParameters(functionCall);
         FunctionCall evaluatedFunctionCall = new FunctionCall(functionCall.position(), functionCall.identifier(), evaluatedArgs);
-        addFunctionCallArgumentsToContextManager(functionDef, evaluatedFunctionCall);
+        addFunctionCallArgumentsToContextManager(functionDef, evaluatedFunctionCall, verified);
         handleFunctionCall(functionDef, evaluatedFunctionCall);
     }
 
@@ -856,9 +987,9 @@ public class Interpreter implements IVisitor {
         return false;
     }
 
-    private void addFunctionCallArgumentsToContextManager(IFunctionDef functionDef, FunctionCall evaluatedFunctionCall) {
+    private void addFunctionCallArgumentsToContextManager(IFunctionDef functionDef, FunctionCall evaluatedFunctionCall, boolean verified) {
         if (evaluatedFunctionCall.exp() != null) {
-            if (!functionDef.areArgumentsTypesValid(evaluatedFunctionCall.exp())) {
+            if (!verified && !functionDef.areArgumentsTypesValid(evaluatedFunctionCall.exp())) {
                 ArrayList<IVisitable> expectedArgs = new ArrayList<>(functionDef.parameters().values());
                 ArrayList<IVisitable> receivedArgs = new ArrayList<>(evaluatedFunctionCall.exp());
                 errorHandler.handle(new IncompatibleArgumentsListException(evaluatedFunctionCall, expectedArgs, receivedArgs));
@@ -1010,6 +1141,21 @@ public class Interpreter implements IVisitor {
         return castedValue;
     }
 
+    private IVisitable castVerifiedValue(IVisitable value, TypeAnnotations.Conversion conversion) {
+        switch (conversion) {
+            case INT_TO_DOUBLE:
+                return new DoubleValue(value.position(), ((IntValue) value).value().doubleValue());
+            case DOUBLE_TO_INT:
+                return new IntValue(value.position(), ((DoubleValue) value).value().intValue());
+            case TO_POINT:
+                return castToPointValue(value);
+            case TO_SECTION:
+                return castToSectionValue(value);
+            default:
+                return value;
+        }
+    }
+
     private BoolValue castToBoolValue(IVisitable value) {
         BoolValue castedValue = null;
         if (value.getClass().equals(BoolValue.class)) {
@@ -1,30 +1,78 @@
 package visitors;
 
+import lexer.ByteBufferLexer;
+import lexer.ILexer;
 import lexer.Lexer;
 import parser.Parser;
+import parser.LazyParser;
 import parser.ParserErrorHandler;
+import parser.flat_ast.AstCache;
 import parser.program_components.Program;
 
 import java.io.BufferedReader;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class InterpreterDemo {
 
-    public static void main(String[] args) throws FileNotFoundException {
+    public static void main(String[] args) throws IOException {
+        // `--mapped` makes the lexer read the source file mapped into memory
+        ArrayList<String> arguments = new ArrayList<>(Arrays.asList(args));
+        boolean useMappedFile = arguments.remove("--mapped");
+        // `--cache` reuses the AST stored by an earlier run for the same source instead of parsing it again
+        boolean useAstCache = arguments.remove("--cache");
+        // `--lazy` parses the code block of a function at its first call
+        boolean useLazyParser = arguments.remove("--lazy");
+        // `--explicit-stack` lets the parser read nesting deeper than the thread stack allows
+        boolean useExplicitStack = arguments.remove("--explicit-stack");
+        // `--checked` checks the types of the program before running it, and skips the runtime checks it has verified
+        boolean useTypeChecker = arguments.remove("--checked");
+        // a cached program is not lexed nor parsed, and a missing one is parsed by `AstCache` itself
+        if (useAstCache && (useMappedFile || useLazyParser || useExplicitStack)) {
+            System.err.println("--cache cannot be combined with --mapped, --lazy or --explicit-stack");
+            System.exit(1);
+        }
+
         String filename = "src/visitors/code_examples/example_color_setting.txt";
         ParserErrorHandler errorHandler = new ParserErrorHandler();
-        if (args.length == 1) {
-            filename = "src/visitors/code_examples/example_color_setting.txt" + args[0];
+        if (arguments.size() == 1) {
+            filename = "src/visitors/code_examples/example_color_setting.txt" + arguments.get(0);
+        }
+        Program program;
+        if (useAstCache) {
+            AstCache astCache = new AstCache(Path.of(System.getProperty("java.io.tmpdir"), "tkom-ast-cache"));
+            program = astCache.parse(Files.readString(Path.of(filename)), errorHandler);
+        } else if (useLazyParser) {
+            program = new LazyParser(createLexer(filename, useMappedFile).lexAll(), errorHandler).parse();
+        } else {
+            ILexer myLexer = createLexer(filename, useMappedFile);
+            Parser myParser = new Parser(myLexer, errorHandler);
+            myParser.setExplicitStack(useExplicitStack);
+            program = myParser.parse();
         }
-        FileReader fr = new FileReader(filename);
-        BufferedReader br = new BufferedReader(fr);
-        Lexer myLexer = new Lexer(br);
-        Parser myParser = new Parser(myLexer, errorHandler);
-        Program program = myParser.parse();
         ContextManager contextManager = new ContextManager();
         InterpreterErrorHandler interpreterErrorHandler = new InterpreterErrorHandler();
-        IVisitor visitor = new Interpreter(interpreterErrorHandler, contextManager);
+        TypeAnnotations typeAnnotations = new TypeAnnotations();
+        if (useTypeChecker) {
+            TypeChecker typeChecker = new TypeChecker(interpreterErrorHandler, contextManager);
+            program.accept(typeChecker);
+            typeAnnotations = typeChecker.getTypeAnnotations();
+        }
+        IVisitor visitor = new Interpreter(interpreterErrorHandler, contextManager, typeAnnotations);
         program.accept(visitor);
     }
+
+    private static ILexer createLexer(String filename, boolean useMappedFile) throws IOException {
+        if (useMappedFile) {
+            return ByteBufferLexer.fromFile(Path.of(filename));
+        }
+
+        FileReader fr = new FileReader(filename);
+        BufferedReader br = new BufferedReader(fr);
+        return new Lexer(br);
+    }
 }
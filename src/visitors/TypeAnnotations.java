@@ -0,0 +1,66 @@
+package visitors;
+
+import parser.IExpression;
+import parser.IStatement;
+import parser.IVisitable;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+// `TypeAnnotations` holds what `TypeChecker` has proven about the nodes of a program.
+// The nodes are records which may be equal to one another, so they are told apart by identity.
+// An `Interpreter` given the annotations skips the runtime type checks of the verified nodes only,
+// so nodes whose types depend on values unknown before execution are checked as before.
+public class TypeAnnotations {
+    // `Conversion` is the cast of a value assigned to a variable or returned from a function
+    public enum Conversion {
+        NONE,
+        INT_TO_DOUBLE,
+        DOUBLE_TO_INT,
+        TO_POINT,
+        TO_SECTION
+    }
+
+    private final IdentityHashMap<IVisitable, Class<?>> types;
+    private final IdentityHashMap<IVisitable, Conversion> conversions;
+    private final Set<IVisitable> verifiedNodes;
+
+    public TypeAnnotations() {
+        types = new IdentityHashMap<>();
+        conversions = new IdentityHashMap<>();
+        verifiedNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    // `getType` returns the class of every value of the expression, or null when it is not known.
+    public Class<?> getType(IExpression exp) {
+        return types.get(exp);
+    }
+
+    // `getConversion` returns the cast of a verified assignment or of a return statement with a known value type.
+    public Conversion getConversion(IStatement stmnt) {
+        return conversions.get(stmnt);
+    }
+
+    // `isVerified` tells whether the arithmetic expression, assignment, function call or function definition
+    // can be executed without checking the classes of its values.
+    public boolean isVerified(IVisitable node) {
+        return verifiedNodes.contains(node);
+    }
+
+    public int getVerifiedNodeCount() {
+        return verifiedNodes.size();
+    }
+
+    void setType(IExpression exp, Class<?> type) {
+        types.put(exp, type);
+    }
+
+    void setConversion(IStatement stmnt, Conversion conversion) {
+        conversions.put(stmnt, conversion);
+    }
+
+    void setVerified(IVisitable node) {
+        verifiedNodes.add(node);
+    }
+}
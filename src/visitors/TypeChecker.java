@@ -0,0 +1,682 @@
+package visitors;
+
+import parser.*;
+import parser.program_components.*;
+import parser.program_components.data_values.*;
+import parser.program_components.data_values.lists.*;
+import parser.program_components.expressions.*;
+import parser.program_components.function_definitions.*;
+import parser.program_components.parameters.*;
+import parser.program_components.statements.*;
+import visitors.TypeAnnotations.Conversion;
+import visitors.exceptions.*;
+
+import javax.swing.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// `TypeChecker` infers the class of the values of every expression of a program before it is run,
+// and checks assignments, function calls and return statements against the declared types, following
+// the rules of `Interpreter`. The nodes whose runtime type checks would pass for sure are marked verified
+// in `TypeAnnotations`, together with the casts of their values.
+// A value whose class is known only at runtime, e.g. an element of a `Scene`, is of type `IDataValue`:
+// the nodes using it are not verified, and no error is reported for them.
+// Every function is checked, including those never called, so the code blocks of lazily parsed functions are parsed.
+public class TypeChecker implements IVisitor {
+    private static final Map<Class<?>, Class<?>> PARAMETER_TYPES = Map.ofEntries(
+            Map.entry(BoolParameter.class, BoolValue.class),
+            Map.entry(BoolListParameter.class, BoolListValue.class),
+            Map.entry(DoubleParameter.class, DoubleValue.class),
+            Map.entry(DoubleListParameter.class, DoubleListValue.class),
+            Map.entry(FigureParameter.class, FigureValue.class),
+            Map.entry(FigureListParameter.class, FigureListValue.class),
+            Map.entry(IntParameter.class, IntValue.class),
+            Map.entry(IntListParameter.class, IntListValue.class),
+            Map.entry(PointParameter.class, PointValue.class),
+            Map.entry(PointListParameter.class, PointListValue.class),
+            Map.entry(SceneParameter.class, SceneValue.class),
+            Map.entry(SceneListParameter.class, SceneListValue.class),
+            Map.entry(SectionParameter.class, SectionValue.class),
+            Map.entry(SectionListParameter.class, SectionListValue.class),
+            Map.entry(StringParameter.class, StringValue.class),
+            Map.entry(StringListParameter.class, StringListValue.class)
+    );
+    // a `VoidFunctionDef` returns no value, so it has no type
+    private static final Map<Class<?>, Class<?>> FUNCTION_TYPES = Map.ofEntries(
+            Map.entry(BoolFunctionDef.class, BoolValue.class),
+            Map.entry(BoolListFunctionDef.class, BoolListValue.class),
+            Map.entry(DoubleFunctionDef.class, DoubleValue.class),
+            Map.entry(DoubleListFunctionDef.class, DoubleListValue.class),
+            Map.entry(FigureFunctionDef.class, FigureValue.class),
+            Map.entry(FigureListFunctionDef.class, FigureListValue.class),
+            Map.entry(IntFunctionDef.class, IntValue.class),
+            Map.entry(IntListFunctionDef.class, IntListValue.class),
+            Map.entry(PointFunctionDef.class, PointValue.class),
+            Map.entry(PointListFunctionDef.class, PointListValue.class),
+            Map.entry(SceneFunctionDef.class, SceneValue.class),
+            Map.entry(SceneListFunctionDef.class, SceneListValue.class),
+            Map.entry(SectionFunctionDef.class, SectionValue.class),
+            Map.entry(SectionListFunctionDef.class, SectionListValue.class),
+            Map.entry(StringFunctionDef.class, StringValue.class),
+            Map.entry(StringListFunctionDef.class, StringListValue.class)
+    );
+
+    private final IErrorHandler errorHandler;
+    private final ContextManager contextManager;
+    private final TypeAnnotations typeAnnotations;
+    private final LinkedHashMap<String, IFunctionDef> functions;
+    // the variable types of the parameters and code blocks of the checked function, the innermost last
+    private final ArrayList<HashMap<String, Class<?>>> scopes;
+    private IFunctionDef currentFunction;
+    private boolean currentFunctionVerified;
+    // `lastType` is the type of the last checked expression, null when it has no value
+    private Class<?> lastType;
+    // `returnFound` tells whether the last checked statement returns from the function on every path
+    private boolean returnFound;
+
+    public TypeChecker(IErrorHandler errorHandler, ContextManager contextManager) {
+        this.errorHandler = errorHandler;
+        this.contextManager = contextManager;
+        typeAnnotations = new TypeAnnotations();
+        functions = new LinkedHashMap<>();
+        scopes = new ArrayList<>();
+        currentFunction = null;
+        currentFunctionVerified = false;
+        lastType = null;
+        returnFound = false;
+    }
+
+    public TypeAnnotations getTypeAnnotations() {
+        return typeAnnotations;
+    }
+
+    @Override
+    public void visit(Program program) {
+        if (!program.functions().containsKey("main")) {
+            errorHandler.handle(new MissingMainFunctionException(program.functions()));
+        }
+
+        for (Map.Entry<String, IFunctionDef> f : program.functions().entrySet()) {
+            IFunctionDef function = f.getValue();
+            if (function instanceof LazyFunctionDef lazyFunction) {
+                function = lazyFunction.resolve();
+            }
+            functions.put(f.getKey(), function);
+        }
+        for (IFunctionDef f : functions.values()) {
+            f.accept(this);
+        }
+    }
+
+    @Override
+    public void visit(BoolFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(BoolListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(DoubleFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(DoubleListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(FigureFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(FigureListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(IntFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(IntListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(PointFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(PointListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(SceneFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(SceneListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(SectionFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(SectionListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(StringFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(StringListFunctionDef f) {
+        checkFunction(f);
+    }
+
+    @Override
+    public void visit(VoidFunctionDef f) {
+        checkFunction(f);
+    }
+
+    // a function is verified when every return statement returns a value of a known type which can be cast
+    // to the function type, and a function with a type cannot reach the end of its code block
+    private void checkFunction(IFunctionDef f) {
+        currentFunction = f;
+        currentFunctionVerified = true;
+        scopes.add(new HashMap<>());
+        for (IParameter p : f.parameters().values()) {
+            addVariable(p.name(), getArgumentType(p));
+        }
+
+        f.functionCode().accept(this);
+        if (FUNCTION_TYPES.containsKey(f.getClass()) && !returnFound) {
+            errorHandler.handle(new MissingReturnValueException(f));
+            currentFunctionVerified = false;
+        }
+        if (currentFunctionVerified) {
+            typeAnnotations.setVerified(f);
+        }
+
+        scopes.clear();
+        currentFunction = null;
+    }
+
+    @Override
+    public void visit(CodeBlock codeBlock) {
+        scopes.add(new HashMap<>());
+        boolean codeBlockReturns = false;
+        for (IStatement s : codeBlock.statements()) {
+            returnFound = false;
+            s.accept(this);
+            codeBlockReturns = codeBlockReturns || returnFound;
+        }
+        scopes.remove(scopes.size() - 1);
+        returnFound = codeBlockReturns;
+    }
+
+    // statements
+    @Override
+    public void visit(AssignmentStatement stmnt) {
+        stmnt.exp().accept(this);
+        if (stmnt.param().getClass().equals(ReassignedParameter.class)) {
+            Class<?> variableType = getVariableType(stmnt.param().name());
+            if (variableType == null) {
+                errorHandler.handle(new ParameterNotFoundException(stmnt.param(), stmnt.exp()));
+            } else if (annotateConversion(stmnt, variableType, lastType, false)) {
+                typeAnnotations.setVerified(stmnt);
+            }
+            return;
+        }
+
+        Class<?> variableType = PARAMETER_TYPES.get(stmnt.param().getClass());
+        if (variableType == null) {
+            errorHandler.handle(new IncompatibleStaticTypeException(stmnt.param(), null, lastType));
+        } else if (annotateConversion(stmnt, variableType, lastType, true)) {
+            typeAnnotations.setVerified(stmnt);
+        }
+        addVariable(stmnt.param().name(), variableType == null ? IDataValue.class : variableType);
+    }
+
+    // `annotateConversion` records the cast of a value of type `valueType` assigned or returned as `targetType`,
+    // and tells whether it is known. A value which can never be cast is reported.
+    // Only the assignment to a declared variable casts the coordinates of a point or section.
+    private boolean annotateConversion(IStatement stmnt, Class<?> targetType, Class<?> valueType, boolean castsPoints) {
+        if (valueType == IDataValue.class || !isKnown(targetType)) {
+            return false;
+        }
+
+        Conversion conversion = null;
+        if (targetType.equals(IntValue.class) && valueType == DoubleValue.class) {
+            conversion = Conversion.DOUBLE_TO_INT;
+        } else if (targetType.equals(DoubleValue.class) && valueType == IntValue.class) {
+            conversion = Conversion.INT_TO_DOUBLE;
+        } else if (targetType.equals(valueType)) {
+            if (castsPoints && valueType.equals(PointValue.class)) {
+                conversion = Conversion.TO_POINT;
+            } else if (castsPoints && valueType.equals(SectionValue.class)) {
+                conversion = Conversion.TO_SECTION;
+            } else {
+                conversion = Conversion.NONE;
+            }
+        }
+
+        if (conversion == null) {
+            errorHandler.handle(new IncompatibleStaticTypeException(stmnt, targetType, valueType));
+            return false;
+        }
+        typeAnnotations.setConversion(stmnt, conversion);
+        return true;
+    }
+
+    @Override
+    public void visit(IfStatement stmnt) {
+        checkCondition(stmnt, stmnt.exp());
+        stmnt.codeBlock().accept(this);
+        boolean ifStatementReturns = returnFound;
+        for (ElseIfStatement s : stmnt.elseIfStmnts()) {
+            s.accept(this);
+            ifStatementReturns = ifStatementReturns && returnFound;
+        }
+
+        if (stmnt.elseStmnt() != null) {
+            stmnt.elseStmnt().accept(this);
+            returnFound = ifStatementReturns && returnFound;
+        } else {
+            returnFound = false;
+        }
+    }
+
+    @Override
+    public void visit(ElseIfStatement stmnt) {
+        checkCondition(stmnt, stmnt.exp());
+        stmnt.codeBlock().accept(this);
+    }
+
+    @Override
+    public void visit(ElseStatement stmnt) {
+        stmnt.codeBlock().accept(this);
+    }
+
+    @Override
+    public void visit(ReturnStatement stmnt) {
+        Class<?> functionType = FUNCTION_TYPES.get(currentFunction.getClass());
+        if (stmnt.exp() == null) {
+            // `Interpreter` returns the value of the last expression evaluated before, which is known only at runtime,
+            // so the function is left to the runtime checks
+            currentFunctionVerified = false;
+        } else {
+            stmnt.exp().accept(this);
+            if (functionType == null) {
+                if (lastType != null) {
+                    errorHandler.handle(new IncompatibleStaticTypeException(stmnt, null, lastType));
+                    currentFunctionVerified = false;
+                }
+            } else if (!annotateConversion(stmnt, functionType, lastType, false)) {
+                currentFunctionVerified = false;
+            }
+        }
+        returnFound = true;
+    }
+
+    // conditions are not evaluated, so the code block of a loop may never be executed, even for `while (True)`
+    @Override
+    public void visit(WhileStatement stmnt) {
+        checkCondition(stmnt, stmnt.exp());
+        stmnt.codeBlock().accept(this);
+        returnFound = false;
+    }
+
+    private void checkCondition(IStatement stmnt, IExpression exp) {
+        if (exp == null) {
+            errorHandler.handle(new NullExpressionException(stmnt));
+        } else {
+            checkType(exp, BoolValue.class, IntValue.class, DoubleValue.class);
+        }
+    }
+
+    @Override
+    public void visit(IDataValue val) {
+        if (val.getClass().equals(PointValue.class)) {
+            checkType(((PointValue) val).x(), DoubleValue.class, IntValue.class);
+            checkType(((PointValue) val).y(), DoubleValue.class, IntValue.class);
+        } else if (val.getClass().equals(SectionValue.class)) {
+            checkType(((SectionValue) val).first(), PointValue.class);
+            checkType(((SectionValue) val).second(), PointValue.class);
+        }
+        setLastType(val, val.getClass());
+    }
+
+    // logical expressions result in the value of one of their operands
+    @Override
+    public void visit(AlternativeExpression exp) {
+        checkLogicalExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(ConjunctiveExpression exp) {
+        checkLogicalExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    private void checkLogicalExpression(IExpression exp, IExpression leftExp, IExpression rightExp) {
+        leftExp.accept(this);
+        Class<?> leftType = lastType;
+        rightExp.accept(this);
+        setLastType(exp, leftType == lastType ? leftType : IDataValue.class);
+    }
+
+    // comparison expressions
+    @Override
+    public void visit(EqualExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(GreaterOrEqualExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(GreaterThanExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(LessOrEqualExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(LessThanExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(NotEqualExpression exp) {
+        checkComparisonExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    private void checkComparisonExpression(IExpression exp, IExpression leftExp, IExpression rightExp) {
+        leftExp.accept(this);
+        rightExp.accept(this);
+        setLastType(exp, BoolValue.class);
+    }
+
+    @Override
+    public void visit(NegatedExpression exp) {
+        checkType(exp.exp(), BoolValue.class);
+        setLastType(exp, BoolValue.class);
+    }
+
+    // arithmetic expressions
+    @Override
+    public void visit(AdditionExpression exp) {
+        checkArithmeticExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(SubtractionExpression exp) {
+        checkArithmeticExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(DiscreteDivisionExpression exp) {
+        Class<?> leftType = checkType(exp.leftExp(), IntValue.class, DoubleValue.class);
+        Class<?> rightType = checkType(exp.rightExp(), IntValue.class, DoubleValue.class);
+        if (isNumeric(leftType) && isNumeric(rightType)) {
+            typeAnnotations.setVerified(exp);
+        }
+        setLastType(exp, IntValue.class);
+    }
+
+    @Override
+    public void visit(DivisionExpression exp) {
+        checkArithmeticExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(MultiplicationExpression exp) {
+        checkArithmeticExpression(exp, exp.leftExp(), exp.rightExp());
+    }
+
+    @Override
+    public void visit(ParenthesesExpression exp) {
+        exp.exp().accept(this);
+        setLastType(exp, lastType);
+    }
+
+    // the result is an `IntValue` only for two `IntValue` operands, and a `DoubleValue` for any other numeric ones
+    private void checkArithmeticExpression(IExpression exp, IExpression leftExp, IExpression rightExp) {
+        Class<?> leftType = checkType(leftExp, DoubleValue.class, IntValue.class);
+        Class<?> rightType = checkType(rightExp, DoubleValue.class, IntValue.class);
+        if (isNumeric(leftType) && isNumeric(rightType)) {
+            typeAnnotations.setVerified(exp);
+        }
+
+        if (leftType == IntValue.class && rightType == IntValue.class) {
+            setLastType(exp, IntValue.class);
+        } else if (leftType == DoubleValue.class || rightType == DoubleValue.class) {
+            setLastType(exp, DoubleValue.class);
+        } else {
+            setLastType(exp, IDataValue.class);
+        }
+    }
+
+    @Override
+    public void visit(IParameter param) {
+    }
+
+    // other components
+    @Override
+    public void visit(ObjectAccess objectAccess) {
+        objectAccess.leftExp().accept(this);
+        Class<?> objectType = lastType;
+        if (!objectAccess.rightExp().getClass().equals(FunctionCall.class)) {
+            errorHandler.handle(new UndefinedMethodCallException(objectAccess));
+            setLastType(objectAccess, IDataValue.class);
+            return;
+        }
+
+        FunctionCall functionCall = (FunctionCall) objectAccess.rightExp();
+        String name = functionCall.identifier().name();
+        // like `Interpreter`, a function defined in the program is called instead of the method of the same name
+        if (functions.containsKey(name)) {
+            checkUserDefinedFunctionCall(functionCall);
+        } else if (contextManager.isMethodImplemented(name)) {
+            checkBuiltInMethodCall(objectAccess, functionCall, objectType);
+        } else {
+            checkUndefinedFunctionCall(functionCall);
+        }
+        setLastType(objectAccess, lastType);
+    }
+
+    // a built-in method called without an object is undefined
+    @Override
+    public void visit(FunctionCall functionCall) {
+        if (functions.containsKey(functionCall.identifier().name())) {
+            checkUserDefinedFunctionCall(functionCall);
+        } else {
+            checkUndefinedFunctionCall(functionCall);
+        }
+    }
+
+    // a call is verified when the class of each argument is the one `IFunctionDef.areArgumentsTypesValid` expects
+    private void checkUserDefinedFunctionCall(FunctionCall functionCall) {
+        IFunctionDef function = functions.get(functionCall.identifier().name());
+        ArrayList<Class<?>> argumentsTypes = new ArrayList<>();
+        for (IExpression arg : functionCall.exp()) {
+            arg.accept(this);
+            argumentsTypes.add(lastType);
+        }
+
+        boolean verified = true;
+        if (argumentsTypes.size() != function.parameters().size()) {
+            errorHandler.handle(new InvalidNumberOfArgumentsException(functionCall));
+            verified = false;
+        } else {
+            int argumentIdx = 0;
+            for (IParameter p : function.parameters().values()) {
+                Class<?> expectedType = getArgumentType(p);
+                Class<?> argumentType = argumentsTypes.get(argumentIdx);
+                if (argumentType == IDataValue.class) {
+                    verified = false;
+                } else if (isKnown(expectedType) && !expectedType.equals(argumentType)) {
+                    errorHandler.handle(new IncompatibleStaticTypeException(functionCall.exp().get(argumentIdx), expectedType, argumentType));
+                    verified = false;
+                }
+                argumentIdx += 1;
+            }
+        }
+
+        if (verified) {
+            typeAnnotations.setVerified(functionCall);
+        }
+        setLastType(functionCall, FUNCTION_TYPES.get(function.getClass()));
+    }
+
+    // a method is looked up by the classes of the object and the arguments as `Interpreter` does it.
+    // A void method is treated as returning no value.
+    private void checkBuiltInMethodCall(ObjectAccess objectAccess, FunctionCall functionCall, Class<?> objectType) {
+        String name = functionCall.identifier().name();
+        Class<?>[] valuesTypes = new Class<?>[functionCall.exp().size()];
+        Class<?>[] argumentsTypes = new Class<?>[functionCall.exp().size()];
+        boolean argumentsTypesKnown = true;
+        for (int i = 0; i < argumentsTypes.length; i++) {
+            functionCall.exp().get(i).accept(this);
+            valuesTypes[i] = lastType;
+            argumentsTypesKnown = argumentsTypesKnown && isKnown(lastType);
+            argumentsTypes[i] = isKnown(lastType) && implementsIDataValue(lastType) ? IDataValue.class : lastType;
+        }
+
+        Class<?> resultType = contextManager.isValueReturningMethod(name) ? IDataValue.class : null;
+        if (objectType == null) {
+            errorHandler.handle(new UndefinedMethodCallException(objectAccess));
+        } else if (isKnown(objectType) && argumentsTypesKnown) {
+            try {
+                Method method;
+                if (contextManager.isDrawingMethod(name)) {
+                    if (argumentsTypes.length > 0) {
+                        throw new NoSuchMethodException();
+                    }
+                    method = objectType.getMethod(name, JFrame.class);
+                } else {
+                    method = objectType.getMethod(name, argumentsTypes);
+                }
+                if (contextManager.isValueReturningMethod(name)) {
+                    resultType = getResultType(objectType, method, valuesTypes);
+                }
+            } catch (NoSuchMethodException e) {
+                errorHandler.handle(new UndefinedFunctionCallException(functionCall));
+            }
+        }
+        setLastType(functionCall, resultType);
+    }
+
+    // `IExtendableDataValue.get(IDataValue)` calls `get(IntValue)`, which may return a more specific class
+    private Class<?> getResultType(Class<?> objectType, Method method, Class<?>[] valuesTypes) {
+        Class<?> resultType = method.getReturnType();
+        if (method.getName().equals("get") && valuesTypes.length == 1 && valuesTypes[0] == IntValue.class) {
+            try {
+                resultType = objectType.getMethod("get", IntValue.class).getReturnType();
+            } catch (NoSuchMethodException ignored) {
+            }
+        }
+        return Modifier.isAbstract(resultType.getModifiers()) ? IDataValue.class : resultType;
+    }
+
+    private void checkUndefinedFunctionCall(FunctionCall functionCall) {
+        for (IExpression arg : functionCall.exp()) {
+            arg.accept(this);
+        }
+        errorHandler.handle(new UndefinedFunctionCallException(functionCall));
+        setLastType(functionCall, IDataValue.class);
+    }
+
+    @Override
+    public void visit(Identifier identifier) {
+        Class<?> type = getVariableType(identifier.name());
+        if (type == null) {
+            errorHandler.handle(new IdentifierNotFoundException(identifier));
+            type = IDataValue.class;
+        }
+        setLastType(identifier, type);
+    }
+
+    // utils
+    // `checkType` reports an expression whose type is known and is none of the expected ones, and returns its type.
+    // A call of a void function has no value, so it is reported too.
+    private Class<?> checkType(IExpression exp, Class<?>... expectedTypes) {
+        exp.accept(this);
+        if (lastType == null) {
+            errorHandler.handle(new IncompatibleStaticTypeException(exp, expectedTypes[0], null));
+        } else if (lastType != IDataValue.class && !List.of(expectedTypes).contains(lastType)) {
+            errorHandler.handle(new IncompatibleStaticTypeException(exp, expectedTypes[0], lastType));
+        }
+        return lastType;
+    }
+
+    private void setLastType(IExpression exp, Class<?> type) {
+        lastType = type;
+        if (isKnown(type)) {
+            typeAnnotations.setType(exp, type);
+        }
+    }
+
+    private Class<?> getVariableType(String name) {
+        for (int i = scopes.size() - 1; i >= 0; i--) {
+            if (scopes.get(i).containsKey(name)) {
+                return scopes.get(i).get(name);
+            }
+        }
+        return null;
+    }
+
+    private void addVariable(String name, Class<?> type) {
+        scopes.get(scopes.size() - 1).put(name, type);
+    }
+
+    // like `IFunctionDef.areArgumentsTypesValid`, a `List[Figure]` parameter takes a `Figure`
+    private static Class<?> getArgumentType(IParameter p) {
+        if (p.getClass().equals(FigureListParameter.class)) {
+            return FigureValue.class;
+        }
+        return PARAMETER_TYPES.getOrDefault(p.getClass(), IDataValue.class);
+    }
+
+    // `Interpreter` looks up a method by `IDataValue` for a class declaring an interface derived from it
+    private static boolean implementsIDataValue(Class<?> type) {
+        for (Class<?> i : type.getInterfaces()) {
+            if (IDataValue.class.isAssignableFrom(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isKnown(Class<?> type) {
+        return type != null && type != IDataValue.class;
+    }
+
+    private static boolean isNumeric(Class<?> type) {
+        return type == IntValue.class || type == DoubleValue.class;
+    }
+}
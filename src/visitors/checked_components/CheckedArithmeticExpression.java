@@ -0,0 +1,28 @@
+package visitors.checked_components;
+
+import lexer.Position;
+import parser.IExpression;
+import visitors.IVisitor;
+
+// `CheckedArithmeticExpression` replaces an arithmetic expression `exp` whose operands are numeric.
+// `intResult` tells whether both of them are `IntValue`s.
+public record CheckedArithmeticExpression(Position position, IExpression exp, Operator operator, boolean intResult,
+                                          IExpression leftExp, IExpression rightExp) implements IExpression {
+    public enum Operator {
+        ADDITION,
+        SUBTRACTION,
+        MULTIPLICATION,
+        DIVISION,
+        DISCRETE_DIVISION
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return exp.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package visitors.checked_components;
+
+import lexer.Position;
+import parser.IExpression;
+import parser.IParameter;
+import parser.IStatement;
+import parser.program_components.statements.AssignmentStatement;
+import visitors.IVisitor;
+import visitors.TypeAnnotations.Conversion;
+
+// `CheckedAssignmentStatement` replaces an assignment whose value is always cast by `conversion`
+public record CheckedAssignmentStatement(AssignmentStatement stmnt, Conversion conversion) implements IStatement {
+    @Override
+    public Position position() {
+        return stmnt.position();
+    }
+
+    public IParameter param() {
+        return stmnt.param();
+    }
+
+    public IExpression exp() {
+        return stmnt.exp();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return stmnt.toString();
+    }
+}
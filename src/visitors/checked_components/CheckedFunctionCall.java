@@ -0,0 +1,24 @@
+package visitors.checked_components;
+
+import lexer.Position;
+import parser.IExpOrStmnt;
+import parser.program_components.FunctionCall;
+import visitors.IVisitor;
+
+// `CheckedFunctionCall` replaces a call of a user defined function whose arguments are of the parameters types
+public record CheckedFunctionCall(FunctionCall functionCall) implements IExpOrStmnt {
+    @Override
+    public Position position() {
+        return functionCall.position();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return functionCall.toString();
+    }
+}
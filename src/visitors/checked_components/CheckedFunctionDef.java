@@ -0,0 +1,43 @@
+package visitors.checked_components;
+
+import lexer.Position;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.program_components.CodeBlock;
+import visitors.IVisitor;
+
+import java.util.LinkedHashMap;
+
+// `CheckedFunctionDef` replaces a function definition whose every return statement casts the returned value
+// to the function type, so the value needs no check after the code block is executed
+public record CheckedFunctionDef(IFunctionDef functionDef) implements IFunctionDef {
+    @Override
+    public Position position() {
+        return functionDef.position();
+    }
+
+    @Override
+    public String name() {
+        return functionDef.name();
+    }
+
+    @Override
+    public LinkedHashMap<String, IParameter> parameters() {
+        return functionDef.parameters();
+    }
+
+    @Override
+    public CodeBlock functionCode() {
+        return functionDef.functionCode();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return functionDef.toString();
+    }
+}
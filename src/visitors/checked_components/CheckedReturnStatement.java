@@ -0,0 +1,30 @@
+package visitors.checked_components;
+
+import lexer.Position;
+import parser.IExpression;
+import parser.IStatement;
+import parser.program_components.statements.ReturnStatement;
+import visitors.IVisitor;
+import visitors.TypeAnnotations.Conversion;
+
+// `CheckedReturnStatement` replaces a return statement whose value is cast to the function type by `conversion`
+public record CheckedReturnStatement(ReturnStatement stmnt, Conversion conversion) implements IStatement {
+    @Override
+    public Position position() {
+        return stmnt.position();
+    }
+
+    public IExpression exp() {
+        return stmnt.exp();
+    }
+
+    @Override
+    public void accept(IVisitor visitor) {
+        visitor.visit(this);
+    }
+
+    @Override
+    public String toString() {
+        return stmnt.toString();
+    }
+}
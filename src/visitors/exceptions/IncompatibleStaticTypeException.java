@@ -0,0 +1,13 @@
+package visitors.exceptions;
+
+import parser.IVisitable;
+
+public class IncompatibleStaticTypeException extends Exception {
+    public IncompatibleStaticTypeException(IVisitable node, Class<?> expected, Class<?> actual) {
+        super("IncompatibleStaticTypeException: Expected value: " + getTypeName(expected) + " at position: " + node.position().toString() + " but received: " + getTypeName(actual));
+    }
+
+    private static String getTypeName(Class<?> type) {
+        return type == null ? "void" : type.toString();
+    }
+}
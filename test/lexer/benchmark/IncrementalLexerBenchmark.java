@@ -0,0 +1,37 @@
+package lexer.benchmark;
+
+import lexer.IncrementalLexer;
+import lexer.TableDrivenLexer;
+import lexer.utils.LexerTestInputs;
+
+import java.io.StringReader;
+
+// Run with: java lexer.benchmark.IncrementalLexerBenchmark [edits]
+public class IncrementalLexerBenchmark {
+
+    public static void main(String[] args) {
+        int edits = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        for (int functions : new int[]{100, 1_000, 10_000}) {
+            String program = LexerTestInputs.generateProgram(functions);
+            IncrementalLexer incrementalLexer = new IncrementalLexer(program);
+            int offset = program.length() / 2;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < edits; i++) {
+                incrementalLexer.edit(offset, 0, "x");
+                incrementalLexer.edit(offset, 1, "");
+            }
+            double incrementalMicroseconds = (System.nanoTime() - start) / 1e3 / (2.0 * edits);
+
+            start = System.nanoTime();
+            int fullRuns = Math.max(1, edits / functions);
+            for (int i = 0; i < fullRuns; i++) {
+                new TableDrivenLexer(new StringReader(program)).lexAll();
+            }
+            double fullMicroseconds = (System.nanoTime() - start) / 1e3 / fullRuns;
+
+            System.out.printf("%6d functions: incremental edit %10.2f us, full lexing %10.2f us%n",
+                    functions, incrementalMicroseconds, fullMicroseconds);
+        }
+    }
+}
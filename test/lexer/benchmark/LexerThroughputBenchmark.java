@@ -0,0 +1,71 @@
+package lexer.benchmark;
+
+import lexer.ByteBufferLexer;
+import lexer.CharBufferLexer;
+import lexer.ILexer;
+import lexer.Lexer;
+import lexer.TableDrivenLexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+// Run with: java lexer.benchmark.LexerThroughputBenchmark [functions] [iterations]
+public class LexerThroughputBenchmark {
+
+    public static void main(String[] args) {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String program = LexerTestInputs.generateProgram(functions);
+        System.out.printf("Input: %d functions, %.2f MB%n", functions, program.length() / (1024.0 * 1024.0));
+        measureAll(program, iterations);
+
+        String operatorDenseProgram = LexerTestInputs.generateOperatorDenseProgram(functions * 10);
+        System.out.printf("Operator dense input: %d lines, %.2f MB%n", functions * 10, operatorDenseProgram.length() / (1024.0 * 1024.0));
+        measureAll(operatorDenseProgram, iterations);
+
+        String coordinateProgram = LexerTestInputs.generateCoordinateProgram(functions * 10);
+        System.out.printf("Coordinate input: %d lines, %.2f MB%n", functions * 10, coordinateProgram.length() / (1024.0 * 1024.0));
+        measureAll(coordinateProgram, iterations);
+    }
+
+    static void measureAll(String program, int iterations) {
+        measure("Lexer", program, iterations, input -> new Lexer(new BufferedReader(new StringReader(input))));
+        measure("CharBufferLexer", program, iterations, input -> new CharBufferLexer(new StringReader(input)));
+        measure("TableDrivenLexer", program, iterations, input -> new TableDrivenLexer(new StringReader(input)));
+        byte[] bytes = program.getBytes(StandardCharsets.UTF_8);
+        measure("ByteBufferLexer", program, iterations, input -> new ByteBufferLexer(ByteBuffer.wrap(bytes)));
+    }
+
+    static void measure(String name, String program, int iterations, Function<String, ILexer> lexerFactory) {
+        long tokens = 0;
+        for (int i = 0; i < iterations; i++) {
+            tokens = countTokens(lexerFactory.apply(program));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            tokens = countTokens(lexerFactory.apply(program));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9 / iterations;
+        System.out.printf("%-20s %10d tokens %10.2f ms %10.2f MB/s%n",
+                name, tokens, seconds * 1000, program.length() / (1024.0 * 1024.0) / seconds);
+    }
+
+    static long countTokens(ILexer lexer) {
+        long tokens = 0;
+        int consecutiveNulls = 0;
+        Token token = lexer.lexToken();
+        while (consecutiveNulls < 2 && (token == null || token.getTokenType() != TokenTypeEnum.ETX)) {
+            consecutiveNulls = token == null ? consecutiveNulls + 1 : 0;
+            tokens++;
+            token = lexer.lexToken();
+        }
+        return tokens;
+    }
+}
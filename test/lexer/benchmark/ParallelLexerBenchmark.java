@@ -0,0 +1,43 @@
+package lexer.benchmark;
+
+import lexer.ParallelLexer;
+import lexer.TableDrivenLexer;
+import lexer.utils.LexerTestInputs;
+
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+
+// Run with: java lexer.benchmark.ParallelLexerBenchmark [functions] [iterations]
+public class ParallelLexerBenchmark {
+
+    public static void main(String[] args) {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        String program = LexerTestInputs.generateProgram(functions);
+        System.out.printf("Input: %d functions, %d lines, %.2f MB%n",
+                functions, program.split("\n", -1).length, program.length() / (1024.0 * 1024.0));
+
+        double sequentialMilliseconds = measure(iterations, () -> new TableDrivenLexer(new StringReader(program)).lexAll());
+        System.out.printf("%-12s %10.2f ms%n", "sequential", sequentialMilliseconds);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            double milliseconds = measure(iterations, () -> new ParallelLexer(program, pool).lexAll());
+            System.out.printf("%2d threads   %10.2f ms %8.2fx%n", threads, milliseconds, sequentialMilliseconds / milliseconds);
+            pool.shutdown();
+        }
+    }
+
+    static double measure(int iterations, Runnable lexing) {
+        for (int i = 0; i < iterations; i++) {
+            lexing.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            lexing.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / iterations;
+    }
+}
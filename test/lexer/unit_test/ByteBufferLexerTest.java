@@ -0,0 +1,127 @@
+package lexer.unit_test;
+
+import lexer.ByteBufferLexer;
+import lexer.Lexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ByteBufferLexerTest {
+
+    private static Lexer createReferenceLexer(byte[] bytes) {
+        InputStreamReader inputStreamReader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        return new Lexer(new BufferedReader(inputStreamReader));
+    }
+
+    static String[] inputs() {
+        return LexerTestInputs.inputs().toArray(String[]::new);
+    }
+
+    @ParameterizedTest
+    @MethodSource("inputs")
+    void lexSameTokensAsLexerFromHeapBuffer(String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        assertSameTokenStream(createReferenceLexer(bytes), new ByteBufferLexer(ByteBuffer.wrap(bytes)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("inputs")
+    void lexSameTokensAsLexerFromDirectBuffer(String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+
+        assertSameTokenStream(createReferenceLexer(bytes), new ByteBufferLexer(buffer));
+    }
+
+    @ParameterizedTest
+    @MethodSource("inputs")
+    void lexSameTokensAsLexerWithLoweredLimits(String input) {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        Lexer expectedLexer = createReferenceLexer(bytes);
+        expectedLexer.setIdentifierMaxLength(4);
+        expectedLexer.setStringMaxLength(5);
+        expectedLexer.setMaxInt(100);
+        expectedLexer.setMaxDouble(50.5);
+        ByteBufferLexer lexer = new ByteBufferLexer(ByteBuffer.wrap(bytes));
+        lexer.setIdentifierMaxLength(4);
+        lexer.setStringMaxLength(5);
+        lexer.setMaxInt(100);
+        lexer.setMaxDouble(50.5);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @Test
+    void lexMappedFile(@TempDir Path directory) throws IOException {
+        String program = LexerTestInputs.generateProgram(100) + LexerTestInputs.SCENE_PROGRAM;
+        Path file = directory.resolve("program.txt");
+        Files.writeString(file, program, StandardCharsets.UTF_8);
+
+        assertSameTokenStream(createReferenceLexer(program.getBytes(StandardCharsets.UTF_8)), ByteBufferLexer.fromFile(file));
+    }
+
+    @ParameterizedTest
+    @MethodSource("inputs")
+    void lexSameTokensAsLexerFromStream(String input) throws IOException {
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+
+        assertSameTokenStream(createReferenceLexer(bytes), ByteBufferLexer.fromStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void lexMultiByteCharactersWithColumnsCountedInChars() {
+        byte[] bytes = "żaba = \"ęś\" ;".getBytes(StandardCharsets.UTF_8);
+        ByteBufferLexer lexer = new ByteBufferLexer(ByteBuffer.wrap(bytes));
+
+        StringToken identifier = (StringToken) lexer.lexToken();
+        assertEquals(TokenTypeEnum.IDENTIFIER, identifier.getTokenType());
+        assertEquals("żaba", identifier.getValue());
+        assertEquals(1, identifier.getPosition().getColumnNumber());
+
+        assertEquals(TokenTypeEnum.ASSIGNMENT_OPERATOR, lexer.lexToken().getTokenType());
+
+        StringToken string = (StringToken) lexer.lexToken();
+        assertEquals(TokenTypeEnum.STRING_VALUE, string.getTokenType());
+        assertEquals("ęś", string.getValue());
+        assertEquals(8, string.getPosition().getColumnNumber());
+
+        Token semicolon = lexer.lexToken();
+        assertEquals(TokenTypeEnum.SEMICOLON, semicolon.getTokenType());
+        assertEquals(13, semicolon.getPosition().getColumnNumber());
+    }
+
+    @Test
+    void countColumnsInCharsAfterMultiByteComment() {
+        byte[] bytes = "a #\u0105\u00E9\uD83D\uDE00".getBytes(StandardCharsets.UTF_8);
+        ByteBufferLexer lexer = new ByteBufferLexer(ByteBuffer.wrap(bytes));
+        lexer.lexToken();
+
+        StringToken comment = (StringToken) lexer.lexToken();
+        assertEquals(TokenTypeEnum.COMMENT, comment.getTokenType());
+        assertEquals("#\u0105\u00E9\uD83D\uDE00", comment.getValue());
+        assertEquals(3, comment.getPosition().getColumnNumber());
+
+        Token etx = lexer.lexToken();
+        assertEquals(TokenTypeEnum.ETX, etx.getTokenType());
+        assertEquals(9, etx.getPosition().getColumnNumber());
+    }
+}
@@ -0,0 +1,118 @@
+package lexer.unit_test;
+
+import lexer.CharBufferLexer;
+import lexer.Lexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CharBufferLexerTest {
+
+    static Stream<Arguments> generateInputsWithBlockSizes() {
+        return LexerTestInputs.inputs()
+                .flatMap(input -> Stream.of(1, 3, 16, 8192).map(blockSize -> Arguments.of(input, blockSize)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithBlockSizes")
+    void lexSameTokensAsLexer(String input, int blockSize) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(input), blockSize);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithBlockSizes")
+    void lexSameTokensAsLexerWithLoweredLimits(String input, int blockSize) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        expectedLexer.setIdentifierMaxLength(4);
+        expectedLexer.setStringMaxLength(5);
+        expectedLexer.setMaxInt(100);
+        expectedLexer.setMaxDouble(50.5);
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(input), blockSize);
+        lexer.setIdentifierMaxLength(4);
+        lexer.setStringMaxLength(5);
+        lexer.setMaxInt(100);
+        lexer.setMaxDouble(50.5);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @Test
+    void lexGeneratedProgramSpanningManyBlocks() {
+        String program = LexerTestInputs.generateProgram(200);
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(program)));
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(program), 64);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @Test
+    void lexIdentifierLongerThanBlock() {
+        String identifier = "a".repeat(100) + "_" + "b".repeat(100);
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader("  " + identifier + " ;"), 8);
+        StringToken token = (StringToken) lexer.lexToken();
+
+        assertEquals(TokenTypeEnum.IDENTIFIER, token.getTokenType());
+        assertEquals(identifier, token.getValue());
+        assertEquals(1, token.getPosition().getLineNumber());
+        assertEquals(3, token.getPosition().getColumnNumber());
+
+        Token semicolon = lexer.lexToken();
+        assertEquals(TokenTypeEnum.SEMICOLON, semicolon.getTokenType());
+        assertEquals(205, semicolon.getPosition().getColumnNumber());
+    }
+
+    @Test
+    void lexCommentLongerThanBlock() {
+        String comment = "#" + "provenance data ".repeat(50);
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(comment + "\nInt"), 16);
+        StringToken token = (StringToken) lexer.lexToken();
+
+        assertEquals(TokenTypeEnum.COMMENT, token.getTokenType());
+        assertEquals(comment, token.getValue());
+
+        Token keyword = lexer.lexToken();
+        assertEquals(TokenTypeEnum.INT_KEYWORD, keyword.getTokenType());
+        assertEquals(2, keyword.getPosition().getLineNumber());
+        assertEquals(1, keyword.getPosition().getColumnNumber());
+    }
+
+    @Test
+    void reportTokenOffsetsAcrossBlocks() {
+        String input = "Int value = 12;\n  \"text\" # comment\n@";
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(input), 4);
+        Token token = lexer.lexToken();
+        while (token.getTokenType() != TokenTypeEnum.ETX) {
+            int offset = lexer.getTokenOffset();
+            assertEquals(token.getPosition().getColumnNumber() - 1, offset - input.lastIndexOf('\n', offset - 1) - 1);
+            token = lexer.lexToken();
+        }
+        assertEquals(input.length(), lexer.getTokenOffset());
+    }
+
+    @Test
+    void lexFromGivenStartPosition() {
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader("a\n b"), 16, 10, 4);
+
+        Token first = lexer.lexToken();
+        assertEquals(10, first.getPosition().getLineNumber());
+        assertEquals(5, first.getPosition().getColumnNumber());
+        Token second = lexer.lexToken();
+        assertEquals(11, second.getPosition().getLineNumber());
+        assertEquals(2, second.getPosition().getColumnNumber());
+    }
+}
@@ -0,0 +1,63 @@
+package lexer.unit_test;
+
+import lexer.DoubleParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DoubleParserTest {
+    private static double parse(String literal) {
+        DoubleParser parser = new DoubleParser();
+        int decimalPoint = literal.indexOf('.');
+        parser.start(Integer.parseInt(literal.substring(0, decimalPoint)));
+        parser.startFraction();
+        for (int i = decimalPoint + 1; i < literal.length(); i++) {
+            parser.addDigit(literal.charAt(i) - '0');
+        }
+        return parser.toDouble();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "0.", "0.0", "1.5", "10.1", "2147483647.999999999",
+            "0.1", "0.3", "3.141592653589793", "3.1415926535897932384626433832795",
+            "0.000000000000000000000000000000000000000001",
+            "0.9007199254740993", "0.50000000000000016653345369377348106354475021362304687500001",
+            "1.00000000000000011102230246251565404236316680908203125",
+            "1.00000000000000011102230246251565404236316680908203124",
+            "1.00000000000000011102230246251565404236316680908203126",
+            "0.12345678901234567890123456789012345678901234567890"
+    })
+    void parseSameAsJava(String literal) {
+        assertEquals(Double.parseDouble(literal), parse(literal));
+    }
+
+    @Test
+    void parseSubnormalAndUnderflowingFractions() {
+        String[] significands = {"4940656458412465441765687928682213723651", "1", "247032822920623272", "2225073858507201"};
+        for (String significand : significands) {
+            for (int zeros = 290; zeros < 360; zeros++) {
+                String literal = "0." + "0".repeat(zeros) + significand;
+                assertEquals(Double.parseDouble(literal), parse(literal), literal);
+            }
+        }
+    }
+
+    @Test
+    void parseRandomLiterals() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            StringBuilder literal = new StringBuilder();
+            literal.append(random.nextInt(i % 2 == 0 ? 1000 : Integer.MAX_VALUE)).append('.');
+            int fractionLength = random.nextInt(i % 3 == 0 ? 40 : 20);
+            for (int j = 0; j < fractionLength; j++) {
+                literal.append((char) ('0' + random.nextInt(10)));
+            }
+            assertEquals(Double.parseDouble(literal.toString()), parse(literal.toString()), literal.toString());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package lexer.unit_test;
+
+import lexer.IncrementalLexer;
+import lexer.Lexer;
+import lexer.TableDrivenLexer;
+import lexer.TokenTypeEnum;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalLexerTest {
+    private static final String[] insertedTexts = {
+            "", "a", "7", ".5", " ", "\n", "\"", "\\", "#", "=", "<", "&", "|", "@", "Int", "\n\n  x", "# comment\n", "\"str\""
+    };
+
+    static Stream<Arguments> generateEdits() {
+        String program = LexerTestInputs.SCENE_PROGRAM;
+        Random random = new Random(2023);
+        return Stream.generate(() -> {
+            int offset = random.nextInt(program.length() + 1);
+            int removedLength = random.nextInt(4) == 0 ? random.nextInt(Math.min(12, program.length() - offset) + 1) : 0;
+            String insertedText = insertedTexts[random.nextInt(insertedTexts.length)];
+            return Arguments.of(program, offset, removedLength, insertedText);
+        }).limit(300);
+    }
+
+    private static void assertSameAsFullLexing(IncrementalLexer incrementalLexer) {
+        String text = incrementalLexer.getText();
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(text)));
+
+        assertSameTokenStream(expectedLexer, incrementalLexer.toTokenBuffer().cursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateEdits")
+    void lexEditSameAsFullLexing(String program, int offset, int removedLength, String insertedText) {
+        IncrementalLexer lexer = new IncrementalLexer(program);
+        lexer.edit(offset, removedLength, insertedText);
+
+        assertEquals(new StringBuilder(program).replace(offset, offset + removedLength, insertedText).toString(), lexer.getText());
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void lexSequenceOfEditsSameAsFullLexing() {
+        Random random = new Random(7);
+        IncrementalLexer lexer = new IncrementalLexer(LexerTestInputs.generateProgram(5));
+        for (int i = 0; i < 500; i++) {
+            int length = lexer.getText().length();
+            int offset = random.nextInt(length + 1);
+            int removedLength = random.nextInt(3) == 0 ? random.nextInt(Math.min(8, length - offset) + 1) : 0;
+            lexer.edit(offset, removedLength, insertedTexts[random.nextInt(insertedTexts.length)]);
+
+            assertSameAsFullLexing(lexer);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("lexer.utils.LexerTestInputs#inputs")
+    void lexInputsTypedCharByChar(String input) {
+        IncrementalLexer lexer = new IncrementalLexer("");
+        for (int i = 0; i < input.length(); i++) {
+            lexer.edit(i, 0, input.substring(i, i + 1));
+        }
+
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void relexOnlyTokensAroundEdit() {
+        String program = LexerTestInputs.generateProgram(1000);
+        IncrementalLexer lexer = new IncrementalLexer(program);
+        int offset = program.indexOf("compute_500(");
+        lexer.edit(offset, "compute".length(), "evaluate");
+
+        assertTrue(lexer.getRelexedTokenCount() <= 2);
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void shiftTokensAfterInsertedLines() {
+        IncrementalLexer lexer = new IncrementalLexer("Int a = 1;\nInt b = 2;");
+        lexer.edit(4, 0, "x\n\n   ");
+
+        assertEquals(TokenTypeEnum.IDENTIFIER, lexer.getToken(1).getTokenType());
+        assertEquals("x", lexer.getToken(1).getValue());
+        assertEquals(3, lexer.getToken(2).getPosition().getLineNumber());
+        assertEquals(4, lexer.getToken(2).getPosition().getColumnNumber());
+        assertEquals(TokenTypeEnum.INT_KEYWORD, lexer.getToken(6).getTokenType());
+        assertEquals(4, lexer.getToken(6).getPosition().getLineNumber());
+        assertEquals(1, lexer.getToken(6).getPosition().getColumnNumber());
+        assertEquals(lexer.getText().lastIndexOf("Int"), lexer.getTokenOffset(6));
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void keepTokenValuesWhenGapIsFull() {
+        // 63 identifiers and ETX fill all 64 initial token slots
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < 63; i++) {
+            program.append('x').append(i).append(' ');
+        }
+        IncrementalLexer lexer = new IncrementalLexer(program.toString());
+        lexer.edit(0, 0, " ");
+
+        TableDrivenLexer expectedLexer = new TableDrivenLexer(new StringReader(lexer.getText()));
+        for (int i = 0; i < lexer.size(); i++) {
+            assertEquals(expectedLexer.lexToken().getValue(), lexer.getToken(i).getValue());
+        }
+        assertEquals("x1", lexer.getToken(1).getValue());
+        assertEquals("x62", lexer.getToken(62).getValue());
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void relexEverythingAfterOpenedString() {
+        IncrementalLexer lexer = new IncrementalLexer("a = b; c = d;");
+        lexer.edit(4, 0, "\"");
+
+        assertEquals(TokenTypeEnum.UNCLOSED_QUOTES_ERROR, lexer.getToken(2).getTokenType());
+        assertSameAsFullLexing(lexer);
+    }
+
+    @Test
+    void rejectEditOutsideText() {
+        IncrementalLexer lexer = new IncrementalLexer("abc");
+
+        assertThrows(IndexOutOfBoundsException.class, () -> lexer.edit(2, 2, ""));
+        assertThrows(IndexOutOfBoundsException.class, () -> lexer.edit(-1, 0, "x"));
+    }
+}
@@ -240,4 +240,18 @@ public class LexerDataTypesTest {
         assertEquals(1, token.getPosition().getLineNumber());
         assertEquals(1, token.getPosition().getColumnNumber());
     }
+
+    @Test
+    void lexDoubleWithLongFraction() {
+        InputStream inputStream = new ByteArrayInputStream("52.22938461538461538461538 ".getBytes());
+        InputStreamReader inputStreamReader = new InputStreamReader(inputStream);
+        BufferedReader bufferedReader = new BufferedReader(inputStreamReader);
+        Lexer lex = new Lexer(bufferedReader);
+        DoubleToken token = (DoubleToken) lex.lexToken();
+
+        assertEquals(TokenTypeEnum.DOUBLE_VALUE, token.getTokenType());
+        assertEquals(52.22938461538461538461538, token.getValue());
+        assertEquals(1, token.getPosition().getLineNumber());
+        assertEquals(1, token.getPosition().getColumnNumber());
+    }
 }
@@ -0,0 +1,144 @@
+package lexer.unit_test;
+
+import lexer.ByteBufferLexer;
+import lexer.CharBufferLexer;
+import lexer.ILexer;
+import lexer.Lexer;
+import lexer.LexerDiagnostics;
+import lexer.ParallelLexer;
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static lexer.utils.TokenStreamAssertions.assertSameToken;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class LexerDiagnosticsTest {
+    private static final String PROGRAM = "Int a = 1 @ 2;\nInt b = 99999999999;\nBool c = d | e $ f;\n"
+            + "Int g = 1;\n".repeat(5) + "String s = \"never closed";
+    private static final List<TokenTypeEnum> EXPECTED_ERRORS = List.of(
+            TokenTypeEnum.UNKNOWN_CHAR_ERROR,
+            TokenTypeEnum.INT_EXCEEDED_RANGE_ERROR,
+            TokenTypeEnum.UNKNOWN_CHAR_ERROR,
+            TokenTypeEnum.UNKNOWN_CHAR_ERROR,
+            TokenTypeEnum.UNCLOSED_QUOTES_ERROR
+    );
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private record LexerWithDiagnostics(ILexer lexer, LexerDiagnostics diagnostics) {
+    }
+
+    private static List<LexerWithDiagnostics> createLexers() {
+        ArrayList<LexerWithDiagnostics> lexers = new ArrayList<>();
+
+        LexerDiagnostics diagnostics = new LexerDiagnostics();
+        Lexer lexer = new Lexer(new BufferedReader(new StringReader(PROGRAM)));
+        lexer.setDiagnosticsSink(diagnostics);
+        lexers.add(new LexerWithDiagnostics(lexer, diagnostics));
+
+        diagnostics = new LexerDiagnostics();
+        CharBufferLexer charBufferLexer = new CharBufferLexer(new StringReader(PROGRAM), 7);
+        charBufferLexer.setDiagnosticsSink(diagnostics);
+        lexers.add(new LexerWithDiagnostics(charBufferLexer, diagnostics));
+
+        diagnostics = new LexerDiagnostics();
+        TableDrivenLexer tableDrivenLexer = new TableDrivenLexer(new StringReader(PROGRAM), 7);
+        tableDrivenLexer.setDiagnosticsSink(diagnostics);
+        lexers.add(new LexerWithDiagnostics(tableDrivenLexer, diagnostics));
+
+        diagnostics = new LexerDiagnostics();
+        ByteBufferLexer byteBufferLexer = new ByteBufferLexer(ByteBuffer.wrap(PROGRAM.getBytes(StandardCharsets.UTF_8)));
+        byteBufferLexer.setDiagnosticsSink(diagnostics);
+        lexers.add(new LexerWithDiagnostics(byteBufferLexer, diagnostics));
+
+        diagnostics = new LexerDiagnostics();
+        ParallelLexer parallelLexer = new ParallelLexer(PROGRAM, pool);
+        parallelLexer.setMinChunkLength(8);
+        parallelLexer.setDiagnosticsSink(diagnostics);
+        lexers.add(new LexerWithDiagnostics(parallelLexer, diagnostics));
+        return lexers;
+    }
+
+    @Test
+    void reportAllErrorsInOnePass() {
+        for (LexerWithDiagnostics lexerWithDiagnostics : createLexers()) {
+            ArrayList<Token> errorTokens = new ArrayList<>();
+            Token token = lexerWithDiagnostics.lexer().lexToken();
+            while (token.getTokenType() != TokenTypeEnum.ETX) {
+                if (token.getTokenType().isError()) {
+                    errorTokens.add(token);
+                }
+                token = lexerWithDiagnostics.lexer().lexToken();
+            }
+
+            List<Token> reportedErrors = lexerWithDiagnostics.diagnostics().getErrors();
+            assertEquals(EXPECTED_ERRORS, reportedErrors.stream().map(Token::getTokenType).toList());
+            for (int i = 0; i < errorTokens.size(); i++) {
+                assertSameToken(errorTokens.get(i), reportedErrors.get(i), i);
+            }
+        }
+    }
+
+    @Test
+    void reportErrorsWhileLexingAll() {
+        LexerDiagnostics expectedDiagnostics = new LexerDiagnostics();
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(PROGRAM)));
+        expectedLexer.setDiagnosticsSink(expectedDiagnostics);
+        Token token = expectedLexer.lexToken();
+        while (token.getTokenType() != TokenTypeEnum.ETX) {
+            token = expectedLexer.lexToken();
+        }
+
+        for (LexerWithDiagnostics lexerWithDiagnostics : createLexers()) {
+            if (lexerWithDiagnostics.lexer() instanceof Lexer) {
+                continue;
+            }
+            TokenBuffer tokens = lexerWithDiagnostics.lexer().lexAll();
+
+            assertEquals(TokenTypeEnum.ETX, tokens.getTokenType(tokens.size() - 1));
+            List<Token> reportedErrors = lexerWithDiagnostics.diagnostics().getErrors();
+            assertEquals(expectedDiagnostics.getErrors().size(), reportedErrors.size());
+            for (int i = 0; i < reportedErrors.size(); i++) {
+                assertSameToken(expectedDiagnostics.getErrors().get(i), reportedErrors.get(i), i);
+            }
+        }
+    }
+
+    @Test
+    void resumeAfterUnknownChars() {
+        LexerDiagnostics diagnostics = new LexerDiagnostics();
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader("@@ a $"));
+        lexer.setDiagnosticsSink(diagnostics);
+
+        assertEquals("@", lexer.lexToken().getValue());
+        assertEquals(2, lexer.lexToken().getPosition().getColumnNumber());
+        assertEquals(TokenTypeEnum.IDENTIFIER, lexer.lexToken().getTokenType());
+        assertEquals("$", lexer.lexToken().getValue());
+        assertEquals(TokenTypeEnum.ETX, lexer.lexToken().getTokenType());
+        assertEquals(3, diagnostics.getErrors().size());
+        assertFalse(new LexerDiagnostics().hasErrors());
+    }
+}
@@ -2,14 +2,19 @@ package lexer.unit_test;
 
 import lexer.Lexer;
 import lexer.TokenTypeEnum;
+import lexer.TriviaMode;
 import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
 import org.junit.jupiter.api.Test;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class LexerTest {
@@ -57,4 +62,31 @@ public class LexerTest {
         assertEquals(1, token.getPosition().getLineNumber());
         assertEquals(1, token.getPosition().getColumnNumber());
     }
+
+    @Test
+    void lexNextInputAfterReset() {
+        Lexer lexer = new Lexer(new BufferedReader(new StringReader("Int a = 1;\nb @")));
+        lexer.setTriviaMode(TriviaMode.RECORD_COMMENTS);
+        Token token = lexer.lexToken();
+        while (token.getTokenType() != TokenTypeEnum.ETX) {
+            token = lexer.lexToken();
+        }
+
+        for (String input : LexerTestInputs.inputs().toList()) {
+            Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+            expectedLexer.setTriviaMode(TriviaMode.RECORD_COMMENTS);
+            lexer.reset(input);
+
+            assertSameTokenStream(expectedLexer, lexer);
+            assertEquals(expectedLexer.getComments().size(), lexer.getComments().size());
+        }
+
+        lexer.reset(new BufferedReader(new StringReader("# comment\n  x")));
+        StringToken identifier = (StringToken) lexer.lexToken();
+        assertEquals("x", identifier.getValue());
+        assertEquals(2, identifier.getPosition().getLineNumber());
+        assertEquals(3, identifier.getPosition().getColumnNumber());
+        assertEquals(1, lexer.getComments().size());
+        assertEquals(0, lexer.getComments().getStart(0));
+    }
 }
@@ -0,0 +1,140 @@
+package lexer.unit_test;
+
+import lexer.*;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class LexerTriviaModeTest {
+    private static ForkJoinPool pool;
+
+    private record LexerWithComments(ILexer lexer, CommentTable comments) {
+    }
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(2);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    static Stream<String> generateInputs() {
+        return Stream.concat(
+                LexerTestInputs.inputs().filter(input -> StandardCharsets.US_ASCII.newEncoder().canEncode(input)),
+                Stream.of(
+                        "# header\n# provenance: generated\nInt a = 1; # trailing\nString s = \"# not a comment\";\n",
+                        "a = 1; # comment at the end of input",
+                        "#\n#\n\n#only comments",
+                        LexerTestInputs.generateProgram(20)
+                )
+        );
+    }
+
+    // `lexers` creates every lexer variant with the given trivia mode.
+    private static ArrayList<BiFunction<String, TriviaMode, LexerWithComments>> lexers() {
+        ArrayList<BiFunction<String, TriviaMode, LexerWithComments>> lexers = new ArrayList<>();
+        lexers.add((input, mode) -> {
+            Lexer lexer = new Lexer(new BufferedReader(new StringReader(input)));
+            lexer.setTriviaMode(mode);
+            return new LexerWithComments(lexer, lexer.getComments());
+        });
+        lexers.add((input, mode) -> {
+            CharBufferLexer lexer = new CharBufferLexer(new StringReader(input), 7);
+            lexer.setTriviaMode(mode);
+            return new LexerWithComments(lexer, lexer.getComments());
+        });
+        lexers.add((input, mode) -> {
+            TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(input), 7);
+            lexer.setTriviaMode(mode);
+            return new LexerWithComments(lexer, lexer.getComments());
+        });
+        lexers.add((input, mode) -> {
+            ByteBufferLexer lexer = new ByteBufferLexer(ByteBuffer.wrap(input.getBytes(StandardCharsets.US_ASCII)));
+            lexer.setTriviaMode(mode);
+            return new LexerWithComments(lexer, lexer.getComments());
+        });
+        lexers.add((input, mode) -> {
+            ParallelLexer lexer = new ParallelLexer(input, pool);
+            lexer.setMinChunkLength(8);
+            lexer.setTriviaMode(mode);
+            return new LexerWithComments(lexer.lexAll().cursor(), lexer.getComments());
+        });
+        return lexers;
+    }
+
+    private static ArrayList<String> lexComments(ILexer lexer) {
+        ArrayList<String> comments = new ArrayList<>();
+        int consecutiveNulls = 0;
+        Token token = lexer.lexToken();
+        while (consecutiveNulls < 2 && (token == null || token.getTokenType() != TokenTypeEnum.ETX)) {
+            consecutiveNulls = token == null ? consecutiveNulls + 1 : 0;
+            if (token != null && token.getTokenType() == TokenTypeEnum.COMMENT) {
+                comments.add((String) token.getValue());
+            }
+            token = lexer.lexToken();
+        }
+        return comments;
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void recordSameCommentsAsCommentTokens(String input) {
+        for (BiFunction<String, TriviaMode, LexerWithComments> lexer : lexers()) {
+            ArrayList<String> expectedComments = lexComments(lexer.apply(input, TriviaMode.KEEP_COMMENTS).lexer());
+            LexerWithComments recordingLexer = lexer.apply(input, TriviaMode.RECORD_COMMENTS);
+            ArrayList<String> tokenComments = lexComments(recordingLexer.lexer());
+            CommentTable comments = recordingLexer.comments();
+
+            assertEquals(0, tokenComments.size());
+            ArrayList<String> recordedComments = new ArrayList<>();
+            for (int i = 0; i < comments.size(); i++) {
+                recordedComments.add(input.substring(comments.getStart(i), comments.getEnd(i)));
+            }
+            assertEquals(expectedComments, recordedComments);
+        }
+    }
+
+    // Skipped comments behave like whitespace, so the tokens are the same as for the input
+    // with every comment char replaced by a space.
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void skipCommentsLikeWhitespace(String input) {
+        CharBufferLexer recordingLexer = new CharBufferLexer(new StringReader(input));
+        recordingLexer.setTriviaMode(TriviaMode.RECORD_COMMENTS);
+        lexComments(recordingLexer);
+        char[] blankedInput = input.toCharArray();
+        CommentTable comments = recordingLexer.getComments();
+        for (int i = 0; i < comments.size(); i++) {
+            for (int j = comments.getStart(i); j < comments.getEnd(i); j++) {
+                blankedInput[j] = ' ';
+            }
+        }
+
+        for (BiFunction<String, TriviaMode, LexerWithComments> lexer : lexers()) {
+            Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(new String(blankedInput))));
+            assertSameTokenStream(expectedLexer, lexer.apply(input, TriviaMode.SKIP_COMMENTS).lexer());
+        }
+        if (input.contains("# header")) {
+            assertNotEquals(0, comments.size());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package lexer.unit_test;
+
+import lexer.CharBufferLexer;
+import lexer.LookaheadLexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LookaheadLexerTest {
+    private static final String PROGRAM = "Int a = b(1, 2.5) + c.d;\nwhile (a > 0) { a = a - 1; }";
+
+    private static ArrayList<Token> lexAll(String program) {
+        CharBufferLexer lexer = new CharBufferLexer(new StringReader(program));
+        ArrayList<Token> tokens = new ArrayList<>();
+        Token token = lexer.lexToken();
+        while (token.getTokenType() != TokenTypeEnum.ETX) {
+            tokens.add(token);
+            token = lexer.lexToken();
+        }
+        tokens.add(token);
+        return tokens;
+    }
+
+    @Test
+    void peekTokensAheadWithoutConsumingThem() {
+        ArrayList<Token> expectedTokens = lexAll(PROGRAM);
+        LookaheadLexer lexer = new LookaheadLexer(new CharBufferLexer(new StringReader(PROGRAM)));
+
+        for (int i = 0; i < expectedTokens.size() - 1; i++) {
+            int lookahead = 1 + i % 5;
+            Token peeked = lexer.peek(lookahead);
+            if (i + lookahead - 1 < expectedTokens.size()) {
+                Token expected = expectedTokens.get(i + lookahead - 1);
+                assertEquals(expected.getTokenType(), peeked.getTokenType());
+                assertEquals(expected.getPosition().getColumnNumber(), peeked.getPosition().getColumnNumber());
+            } else {
+                assertEquals(TokenTypeEnum.ETX, peeked.getTokenType());
+            }
+
+            Token token = lexer.lexToken();
+            assertEquals(expectedTokens.get(i).getTokenType(), token.getTokenType());
+            assertEquals(expectedTokens.get(i).getValue(), token.getValue());
+        }
+        assertEquals(TokenTypeEnum.ETX, lexer.peek(3).getTokenType());
+        assertEquals(TokenTypeEnum.ETX, lexer.lexToken().getTokenType());
+    }
+
+    @Test
+    void resetToMarkedToken() {
+        ArrayList<Token> expectedTokens = lexAll(PROGRAM);
+        LookaheadLexer lexer = new LookaheadLexer(new CharBufferLexer(new StringReader(PROGRAM)));
+        lexer.lexToken();
+
+        int outerMark = lexer.mark();
+        for (int i = 1; i < 12; i++) {
+            assertEquals(expectedTokens.get(i).getTokenType(), lexer.lexToken().getTokenType());
+        }
+        int innerMark = lexer.mark();
+        for (int i = 12; i < 20; i++) {
+            assertEquals(expectedTokens.get(i).getTokenType(), lexer.lexToken().getTokenType());
+        }
+
+        lexer.reset(innerMark);
+        assertEquals(expectedTokens.get(12).getTokenType(), lexer.lexToken().getTokenType());
+        lexer.reset(outerMark);
+        for (int i = 1; i < expectedTokens.size(); i++) {
+            assertEquals(expectedTokens.get(i).getTokenType(), lexer.lexToken().getTokenType());
+        }
+    }
+
+    @Test
+    void releaseMarksInReverseOrder() {
+        LookaheadLexer lexer = new LookaheadLexer(new CharBufferLexer(new StringReader(PROGRAM)));
+        int outerMark = lexer.mark();
+        lexer.lexToken();
+        int innerMark = lexer.mark();
+
+        assertThrows(IllegalStateException.class, () -> lexer.release(outerMark));
+        lexer.release(innerMark);
+        lexer.release(outerMark);
+        assertThrows(IllegalArgumentException.class, () -> lexer.peek(0));
+    }
+}
@@ -0,0 +1,38 @@
+package lexer.unit_test;
+
+import lexer.PackedPosition;
+import lexer.Position;
+import lexer.TokenTypeEnum;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PackedPositionTest {
+
+    @Test
+    void packAndUnpackLineAndColumn() {
+        int[][] positions = {{1, 0}, {1, 1}, {7, 12}, {Integer.MAX_VALUE, Integer.MAX_VALUE}, {0, Integer.MAX_VALUE}};
+        for (int[] position : positions) {
+            long packedPosition = PackedPosition.pack(position[0], position[1]);
+
+            assertEquals(position[0], PackedPosition.getLineNumber(packedPosition));
+            assertEquals(position[1], PackedPosition.getColumnNumber(packedPosition));
+            assertEquals(new Position(position[0], position[1]), PackedPosition.toPosition(packedPosition));
+            assertEquals(new Position(position[0], position[1]).hashCode(), PackedPosition.toPosition(packedPosition).hashCode());
+            assertEquals(packedPosition, PackedPosition.pack(new Position(position[0], position[1])));
+        }
+    }
+
+    @Test
+    void keepTokenPositionApi() {
+        Token token = new StringToken("a", new Position(3, 14), TokenTypeEnum.IDENTIFIER);
+        Token packedToken = new StringToken("a", PackedPosition.pack(3, 14), TokenTypeEnum.IDENTIFIER);
+
+        assertEquals(new Position(3, 14), token.getPosition());
+        assertEquals(token.getPosition(), packedToken.getPosition());
+        assertEquals(token.getPackedPosition(), packedToken.getPackedPosition());
+        assertEquals("Token IDENTIFIER at position: <line: 3, column 14> with value: a", packedToken.toString());
+    }
+}
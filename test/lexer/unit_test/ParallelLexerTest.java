@@ -0,0 +1,111 @@
+package lexer.unit_test;
+
+import lexer.Lexer;
+import lexer.ParallelLexer;
+import lexer.TokenBuffer;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParallelLexerTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    static Stream<Arguments> generateInputsWithChunkLengths() {
+        return Stream.concat(
+                LexerTestInputs.inputs(),
+                Stream.of(
+                        "String s = \"first\nsecond\n\";\nInt a = 1;\nInt b = 2;\n",
+                        "# comment with \" quote\nString s = \"with # hash\";\nInt a = 1;\n",
+                        "String s = \"escaped \\\" quote\n# not a comment\n\";\nx = 1;\n",
+                        "String s = \"ends with backslash \\\\\"\nx = 1;\n\"\ny = 2;\n",
+                        "a = 1;\nb = 2;\n@\nc = 3;\nd = 4;\n",
+                        "\n\n\n\na\n\n\n\nb\n\n\n\n",
+                        "a = 1;\n￿\nb = 2;\n"
+                )
+        ).flatMap(input -> Stream.of(1, 8, 64).map(minChunkLength -> Arguments.of(input, minChunkLength)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithChunkLengths")
+    void lexSameTokensAsLexer(String input, int minChunkLength) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        ParallelLexer lexer = new ParallelLexer(input, pool);
+        lexer.setMinChunkLength(minChunkLength);
+
+        assertSameTokenStream(expectedLexer, lexer.lexAll().cursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithChunkLengths")
+    void lexSameTokensAsLexerWithLoweredLimits(String input, int minChunkLength) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        expectedLexer.setIdentifierMaxLength(4);
+        expectedLexer.setStringMaxLength(5);
+        expectedLexer.setMaxInt(100);
+        expectedLexer.setMaxDouble(50.5);
+        ParallelLexer lexer = new ParallelLexer(input, pool);
+        lexer.setMinChunkLength(minChunkLength);
+        lexer.setIdentifierMaxLength(4);
+        lexer.setStringMaxLength(5);
+        lexer.setMaxInt(100);
+        lexer.setMaxDouble(50.5);
+
+        assertSameTokenStream(expectedLexer, lexer.lexAll().cursor());
+    }
+
+    @Test
+    void lexStringLongerThanMaximumLengthSpanningLines() {
+        String input = "s = \"ab\ncd\nef\ngh\n\"\nt = \"x\";\n# \"\nu = 1;\n";
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        expectedLexer.setStringMaxLength(4);
+        ParallelLexer lexer = new ParallelLexer(input, pool);
+        lexer.setMinChunkLength(1);
+        lexer.setStringMaxLength(4);
+
+        assertSameTokenStream(expectedLexer, lexer.lexAll().cursor());
+    }
+
+    @Test
+    void lexGeneratedProgram() {
+        String program = LexerTestInputs.generateProgram(2000);
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(program)));
+        ParallelLexer lexer = new ParallelLexer(program, pool);
+        lexer.setMinChunkLength(4096);
+        TokenBuffer tokens = lexer.lexAll();
+
+        assertSameTokenStream(expectedLexer, tokens.cursor());
+        assertEquals(tokens.getLineNumber(tokens.size() - 1), program.split("\n", -1).length);
+    }
+
+    @Test
+    void lexTokensOneByOne() {
+        String program = LexerTestInputs.generateProgram(20);
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(program)));
+        ParallelLexer lexer = new ParallelLexer(program, pool);
+        lexer.setMinChunkLength(256);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+}
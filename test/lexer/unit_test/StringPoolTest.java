@@ -0,0 +1,40 @@
+package lexer.unit_test;
+
+import lexer.StringPool;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StringPoolTest {
+
+    @Test
+    void returnSameInstanceForEqualChars() {
+        StringPool pool = new StringPool();
+        char[] chars = "abc abc ab".toCharArray();
+
+        String first = pool.intern(chars, 0, 3);
+        String second = pool.intern(chars, 4, 3);
+        String prefix = pool.intern(chars, 8, 2);
+
+        assertEquals("abc", first);
+        assertSame(first, second);
+        assertEquals("ab", prefix);
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    void keepStringsWhenGrowing() {
+        StringPool pool = new StringPool();
+        String[] strings = new String[2000];
+        for (int i = 0; i < strings.length; i++) {
+            char[] chars = ("id_" + i).toCharArray();
+            strings[i] = pool.intern(chars, 0, chars.length);
+        }
+
+        for (int i = 0; i < strings.length; i++) {
+            char[] chars = ("id_" + i).toCharArray();
+            assertSame(strings[i], pool.intern(chars, 0, chars.length));
+        }
+        assertEquals(strings.length, pool.size());
+    }
+}
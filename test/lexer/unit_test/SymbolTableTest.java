@@ -0,0 +1,109 @@
+package lexer.unit_test;
+
+import lexer.*;
+import lexer.tokens.StringToken;
+import lexer.tokens.Token;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolTableTest {
+
+    @Test
+    void giveSameIdAndInstanceToEqualNames() {
+        SymbolTable symbols = new SymbolTable();
+        char[] chars = "symbol_table_test symbol_table_test".toCharArray();
+
+        int id = symbols.intern(chars, 0, 17);
+        assertEquals(id, symbols.intern(chars, 18, 17));
+        assertEquals(id, symbols.intern(new String(chars, 0, 17)));
+        assertNotEquals(id, symbols.intern(chars, 0, 16));
+        assertEquals("symbol_table_test", symbols.getName(id));
+    }
+
+    @Test
+    void returnCanonicalIdentifiersFromLexersSharingTable() {
+        String program = "symbol_table_lexed = other_symbol_table_lexed;";
+        SymbolTable symbols = new SymbolTable();
+        Lexer lexer = new Lexer(new BufferedReader(new StringReader(program)));
+        lexer.setSymbolTable(symbols);
+        CharBufferLexer charBufferLexer = new CharBufferLexer(new StringReader(program));
+        charBufferLexer.setSymbolTable(symbols);
+        TableDrivenLexer tableDrivenLexer = new TableDrivenLexer(new StringReader(program));
+        tableDrivenLexer.setSymbolTable(symbols);
+        ByteBufferLexer byteBufferLexer = new ByteBufferLexer(ByteBuffer.wrap(program.getBytes()));
+        byteBufferLexer.setSymbolTable(symbols);
+
+        int id = symbols.intern("symbol_table_lexed");
+        String canonicalName = symbols.getName(id);
+        for (ILexer sharingLexer : List.of(lexer, charBufferLexer, tableDrivenLexer, byteBufferLexer)) {
+            Token token = sharingLexer.lexToken();
+            assertEquals(TokenTypeEnum.IDENTIFIER, token.getTokenType());
+            assertSame(canonicalName, token.getValue());
+            assertEquals(id, ((StringToken) token).getSymbolId());
+        }
+    }
+
+    @Test
+    void internNamesOfEachLexerInOwnTable() {
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader("first second first"));
+        TableDrivenLexer otherLexer = new TableDrivenLexer(new StringReader("second"));
+
+        StringToken first = (StringToken) lexer.lexToken();
+        StringToken second = (StringToken) lexer.lexToken();
+        assertEquals(first.getSymbolId(), ((StringToken) lexer.lexToken()).getSymbolId());
+        assertNotEquals(first.getSymbolId(), second.getSymbolId());
+        assertEquals("second", lexer.getSymbolTable().getName(second.getSymbolId()));
+        otherLexer.lexToken();
+        assertNotSame(lexer.getSymbolTable(), otherLexer.getSymbolTable());
+        assertEquals(1, otherLexer.getSymbolTable().size());
+    }
+
+    @Test
+    void startNewTableAfterReset() {
+        Lexer lexer = new Lexer(new BufferedReader(new StringReader("name")));
+        SymbolTable symbols = lexer.getSymbolTable();
+        lexer.lexToken();
+
+        lexer.reset(new BufferedReader(new StringReader("name")));
+        StringToken token = (StringToken) lexer.lexToken();
+        assertNotSame(symbols, lexer.getSymbolTable());
+        assertEquals("name", lexer.getSymbolTable().getName(token.getSymbolId()));
+    }
+
+    @Test
+    void internFromManyThreads() {
+        SymbolTable symbols = new SymbolTable();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ArrayList<ForkJoinTask<int[]>> tasks = new ArrayList<>();
+            for (int task = 0; task < 4; task++) {
+                tasks.add(pool.submit(() -> {
+                    int[] ids = new int[5000];
+                    for (int i = 0; i < ids.length; i++) {
+                        ids[i] = symbols.intern("threaded_symbol_" + i);
+                    }
+                    return ids;
+                }));
+            }
+
+            int[] expectedIds = tasks.get(0).join();
+            for (ForkJoinTask<int[]> task : tasks) {
+                assertArrayEquals(expectedIds, task.join());
+            }
+            for (int i = 0; i < expectedIds.length; i++) {
+                assertEquals("threaded_symbol_" + i, symbols.getName(expectedIds[i]));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
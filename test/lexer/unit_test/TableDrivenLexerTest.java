@@ -0,0 +1,145 @@
+package lexer.unit_test;
+
+import lexer.Lexer;
+import lexer.LexerSpecification;
+import lexer.TableDrivenLexer;
+import lexer.TokenTypeEnum;
+import lexer.TransitionTable;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TableDrivenLexerTest {
+
+    static Stream<Arguments> generateInputsWithBlockSizes() {
+        return LexerTestInputs.inputs()
+                .flatMap(input -> Stream.of(1, 3, 8192).map(blockSize -> Arguments.of(input, blockSize)));
+    }
+
+    static Stream<String> generateSpecifiedCharPairs() {
+        ArrayList<Character> chars = new ArrayList<>();
+        for (String keyword : LexerSpecification.getKeywordTokens().keySet()) {
+            for (char c : keyword.toCharArray()) {
+                chars.add(c);
+            }
+        }
+        for (char c : "=/<>!&|;,()[]{}.+-*#\" _0a@".toCharArray()) {
+            chars.add(c);
+        }
+        return chars.stream().distinct()
+                .flatMap(first -> chars.stream().distinct().map(second -> "" + first + second));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithBlockSizes")
+    void lexSameTokensAsLexer(String input, int blockSize) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(input), blockSize);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputsWithBlockSizes")
+    void lexSameTokensAsLexerWithLoweredLimits(String input, int blockSize) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        expectedLexer.setIdentifierMaxLength(4);
+        expectedLexer.setStringMaxLength(5);
+        expectedLexer.setMaxInt(100);
+        expectedLexer.setMaxDouble(50.5);
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(input), blockSize);
+        lexer.setIdentifierMaxLength(4);
+        lexer.setStringMaxLength(5);
+        lexer.setMaxInt(100);
+        lexer.setMaxDouble(50.5);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateSpecifiedCharPairs")
+    void lexSpecifiedCharPairsSameAsLexer(String input) {
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(input));
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @Test
+    void lexKeywordsAndTheirPrefixesAndExtensions() {
+        for (String keyword : LexerSpecification.getKeywordTokens().keySet()) {
+            String input = keyword + " " + keyword.substring(0, keyword.length() - 1) + " " + keyword + "_x " + keyword + "1";
+            Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(input)));
+            TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(input));
+
+            assertSameTokenStream(expectedLexer, lexer);
+        }
+    }
+
+    @Test
+    void lexGeneratedPrograms() {
+        String program = LexerTestInputs.generateProgram(100) + LexerTestInputs.generateOperatorDenseProgram(100);
+        Lexer expectedLexer = new Lexer(new BufferedReader(new StringReader(program)));
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(program), 64);
+
+        assertSameTokenStream(expectedLexer, lexer);
+    }
+
+    @Test
+    void lexUnknownCharAsErrorToken() {
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader("a @ b"));
+
+        assertEquals(TokenTypeEnum.IDENTIFIER, lexer.lexToken().getTokenType());
+        Token errorToken = lexer.lexToken();
+        assertEquals(TokenTypeEnum.UNKNOWN_CHAR_ERROR, errorToken.getTokenType());
+        assertEquals("@", errorToken.getValue());
+        assertEquals(3, errorToken.getPosition().getColumnNumber());
+        assertEquals(TokenTypeEnum.IDENTIFIER, lexer.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.ETX, lexer.lexToken().getTokenType());
+    }
+
+    @Test
+    void lexDoubledSignsFromTable() {
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader("&&|| <== //="));
+
+        assertEquals(TokenTypeEnum.AND_OPERATOR, lexer.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.OR_OPERATOR, lexer.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.LESS_OR_EQUAL_OPERATOR, lexer.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.ASSIGNMENT_OPERATOR, lexer.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.DISCRETE_DIVISION_OPERATOR, lexer.lexToken().getTokenType());
+        Token assignment = lexer.lexToken();
+        assertEquals(TokenTypeEnum.ASSIGNMENT_OPERATOR, assignment.getTokenType());
+        assertEquals(12, assignment.getPosition().getColumnNumber());
+    }
+
+    @Test
+    void compileTransitionTable() {
+        TransitionTable table = TransitionTable.getInstance();
+
+        assertEquals(TransitionTable.DEAD, table.nextState(TransitionTable.START_STATE, '@'));
+        assertEquals(TransitionTable.NUMBER_ACTION, table.nextState(TransitionTable.START_STATE, '7'));
+        assertEquals(TransitionTable.STRING_ACTION, table.nextState(TransitionTable.START_STATE, '"'));
+        assertEquals(TransitionTable.COMMENT_ACTION, table.nextState(TransitionTable.START_STATE, '#'));
+        assertEquals(TransitionTable.WHITESPACE_ACTION, table.nextState(TransitionTable.START_STATE, '\t'));
+
+        int state = TransitionTable.START_STATE;
+        for (char c : "Int".toCharArray()) {
+            state = table.nextState(state, c);
+            assertEquals(true, table.isIdentifierState(state));
+        }
+        assertEquals(TokenTypeEnum.INT_KEYWORD, table.getAcceptedType(state));
+        assertEquals(TokenTypeEnum.IDENTIFIER, table.getAcceptedType(table.nextState(state, 's')));
+        assertEquals(TransitionTable.DEAD, table.nextState(state, '='));
+    }
+}
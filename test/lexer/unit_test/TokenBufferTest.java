@@ -0,0 +1,131 @@
+package lexer.unit_test;
+
+import lexer.ByteBufferLexer;
+import lexer.CharBufferLexer;
+import lexer.Lexer;
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import lexer.utils.LexerTestInputs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static lexer.utils.TokenStreamAssertions.assertSameTokenStream;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBufferTest {
+
+    static Stream<String> generateInputs() {
+        return LexerTestInputs.inputs();
+    }
+
+    private static Lexer createLexer(String input) {
+        return new Lexer(new BufferedReader(new StringReader(input)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void replayLexerTokens(String input) {
+        TokenBuffer tokens = createLexer(input).lexAll();
+
+        assertSameTokenStream(createLexer(input), tokens.cursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void replayCharBufferLexerTokens(String input) {
+        TokenBuffer tokens = new CharBufferLexer(new StringReader(input), 3).lexAll();
+
+        assertSameTokenStream(createLexer(input), tokens.cursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void replayTableDrivenLexerTokens(String input) {
+        TokenBuffer tokens = new TableDrivenLexer(new StringReader(input)).lexAll();
+
+        assertSameTokenStream(createLexer(input), tokens.cursor());
+    }
+
+    @ParameterizedTest
+    @MethodSource("generateInputs")
+    void replayByteBufferLexerTokens(String input) {
+        TokenBuffer tokens = new ByteBufferLexer(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))).lexAll();
+
+        assertSameTokenStream(createLexer(input), tokens.cursor());
+    }
+
+    @Test
+    void storeTokensInParallelArrays() {
+        TokenBuffer tokens = new CharBufferLexer(new StringReader("Double x = 2.5;\nInt y = 7 ;\n\"s\"")).lexAll();
+
+        assertEquals(12, tokens.size());
+        assertEquals(TokenTypeEnum.DOUBLE_KEYWORD, tokens.getTokenType(0));
+        assertFalse(tokens.hasValue(0));
+        assertEquals(TokenTypeEnum.IDENTIFIER, tokens.getTokenType(1));
+        assertEquals("x", tokens.getStringValue(1));
+        assertEquals(2.5, tokens.getDoubleValue(3));
+        assertEquals(2, tokens.getLineNumber(5));
+        assertEquals(1, tokens.getColumnNumber(5));
+        assertEquals(7, tokens.getIntValue(8));
+        assertEquals(2, tokens.getLineNumber(9));
+        assertEquals(11, tokens.getColumnNumber(9));
+        assertEquals("s", tokens.getStringValue(10));
+        assertEquals(TokenTypeEnum.ETX, tokens.getTokenType(11));
+    }
+
+    @Test
+    void storeUnknownCharAsErrorToken() {
+        TokenBuffer tokens = new CharBufferLexer(new StringReader("a @ b")).lexAll();
+
+        assertEquals(4, tokens.size());
+        assertEquals(TokenTypeEnum.UNKNOWN_CHAR_ERROR, tokens.getTokenType(1));
+        assertEquals("@", tokens.getStringValue(1));
+        assertEquals(TokenTypeEnum.IDENTIFIER, tokens.getTokenType(2));
+        assertEquals(TokenTypeEnum.ETX, tokens.getTokenType(3));
+    }
+
+    @Test
+    void storeTokensAcrossManyChunks() {
+        String program = LexerTestInputs.generateProgram(500);
+        TokenBuffer tokens = new TableDrivenLexer(new StringReader(program)).lexAll();
+
+        assertTrue(tokens.size() > 10_000);
+        assertSameTokenStream(createLexer(program), tokens.cursor());
+    }
+
+    @Test
+    void stayAtLastTokenWhenExhausted() {
+        TokenBuffer.Cursor cursor = new CharBufferLexer(new StringReader("a")).lexAll().cursor();
+
+        assertEquals(TokenTypeEnum.IDENTIFIER, cursor.lexToken().getTokenType());
+        assertEquals(TokenTypeEnum.ETX, cursor.lexToken().getTokenType());
+        Token token = cursor.lexToken();
+        assertEquals(TokenTypeEnum.ETX, token.getTokenType());
+        assertEquals(1, cursor.getIndex());
+    }
+
+    @Test
+    void describeCurrentTokenWithoutMaterializingIt() {
+        TokenBuffer.Cursor cursor = new CharBufferLexer(new StringReader("  count 12")).lexAll().cursor();
+        cursor.advance();
+
+        assertTrue(cursor.isToken());
+        assertEquals(TokenTypeEnum.IDENTIFIER, cursor.getTokenType());
+        assertEquals("count", cursor.getValue());
+        assertEquals(3, cursor.getPosition().getColumnNumber());
+        assertSame(cursor.getPosition(), cursor.getPosition());
+
+        cursor.advance();
+        assertEquals(12, cursor.getValue());
+        assertEquals(9, cursor.getPosition().getColumnNumber());
+    }
+}
@@ -0,0 +1,126 @@
+package lexer.utils;
+
+import java.util.stream.Stream;
+
+public class LexerTestInputs {
+    public static final String SCENE_PROGRAM = """
+            # draws a single triangle
+            Int main() {
+                Scene scene = Scene();
+                Point p1 = Point(20.0, 40.0);
+                Point p2 = Point(150.25, 180.0);
+                Section s1 = Section(p1, p2);
+                Figure fig = Figure();
+                fig.add(s1);
+                List[Int] values = [Int];
+                Int i = 0;
+                while (i <= 10 && !(i == 7) || i != 3) {
+                    values.add(i // 2);
+                    i = i + 1;
+                }
+                if (i > 3) {
+                    String text = "a \\"quoted\\" text\\\\";
+                } elseif (i >= 4) {
+                    Bool flag = True;
+                } else {
+                    Bool flag = False;
+                }
+                scene.add(fig);
+                scene.draw();
+                return i * 2 - 1 / 3;
+            }
+
+            void print_all(Double d, String s) {
+                d.print();
+                s.print();
+            }
+            """;
+
+    public static Stream<String> inputs() {
+        return Stream.of(
+                "",
+                "   ",
+                "\n \n  \n\n",
+                "a",
+                "a \n",
+                "_a4b6_c7 hello_There_Identifier\n",
+                "Int Double String Point Section Figure Scene Bool True False List while if elseif else return void",
+                "Integer myDouble some_String main firstPoint \n\nPointlessValue",
+                "0 1 7 1023         10",
+                "92.456 1.0012 0.00054    \n 103.72\n",
+                "10. 3.",
+                "2147483649",
+                "21474836491213",
+                "2147483647 2147483648",
+                "1.99999999999 123.0000000001",
+                "\"a\"",
+                "\"a",
+                "\"a\n\n\n\n   b\n\nc\"",
+                "\"t\\\"_S2\"",
+                "\"t\\\"",
+                "\"thisIsSome\\\"String\\\\WithEscaping\"",
+                "\"thisIsSome\\\n\"",
+                "\"\\\\\\\"\" \"\\\\\"",
+                "#hello there from comment",
+                "\n \n  \n\n #hello there from comment\nInt a",
+                "+ - * / // = == != < <= > >= && || !",
+                "+-*/ //=/==!=!<<=<>>=>&&||!!",
+                "; , ( ) [ ] { } .",
+                "|*",
+                "&-",
+                "| & a",
+                "a___\n!=a4",
+                "4 + 3 >= 81",
+                "while (a<=b && (c != d || e == f)) { return True; }",
+                "Int main() {\nDouble a = 4.01 / 2.67;\nreturn 0;\n}",
+                "za\u017C\u00F3\u0142\u0107 = \"g\u0119\u015Bl\u0105 ja\u017A\u0144\"; \u00F11 = 2;",
+                "a\uD835\uDD38b",
+                "\"\uD83D\uDE00 \u00E9\" #\uD83D\uDE00 comment\nb",
+                "x = 1.25; # za\u017C\u00F3\u0142\u0107 \uD83D\uDE00",
+                "\u0105b\u0107 = 7;\n  \u00E91 = 0.5",
+                "a @ b",
+                "a = 1; $",
+                "x\r\ny\tz\u000Bw\fq",
+                SCENE_PROGRAM
+        );
+    }
+
+    public static String generateProgram(int functions) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < functions; i++) {
+            program.append("# function number ").append(i).append('\n');
+            program.append("Double compute_").append(i).append("(Int a, Double b, List[Point] points) {\n");
+            program.append("    Point p = Point(").append(i).append(".25, b * 2.5);\n");
+            program.append("    Section s = Section(p, Point(a, ").append(i % 97).append(".125));\n");
+            program.append("    if (a <= ").append(i).append(" && b != 0.5 || !(a == 3)) {\n");
+            program.append("        points.add(p);\n");
+            program.append("        String label = \"point \\\"").append(i).append("\\\"\";\n");
+            program.append("    } elseif (a >= 10) {\n");
+            program.append("        a = a // 2 - 1;\n");
+            program.append("    } else {\n");
+            program.append("        Bool flag = True;\n");
+            program.append("    }\n");
+            program.append("    while (a > 0) { a = a - 1; b = b / 1.5 + a * 0.001; }\n");
+            program.append("    return b;\n");
+            program.append("}\n\n");
+        }
+        return program.toString();
+    }
+
+    public static String generateOperatorDenseProgram(int lines) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            program.append("x=(a+b)*c-d/e//f;y=!(a<=b)&&(c>=d)||e!=f;z=[a,b].c<d==e>f;{(x)}\n");
+        }
+        return program.toString();
+    }
+
+    public static String generateCoordinateProgram(int lines) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            double x = i * 0.1234567;
+            program.append("points.add(Point(").append(x).append(", ").append(1.0 / (i + 3)).append("));\n");
+        }
+        return program.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package lexer.utils;
+
+import lexer.ILexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class TokenStreamAssertions {
+    private static final int MAX_TOKENS = 1_000_000;
+
+    // Compares both token streams until ETX.
+    public static void assertSameTokenStream(ILexer expectedLexer, ILexer actualLexer) {
+        for (int i = 0; i < MAX_TOKENS; i++) {
+            Token expected = expectedLexer.lexToken();
+            Token actual = actualLexer.lexToken();
+            assertNotNull(expected, String.format("Token %d: expected lexer returned no token", i));
+            assertSameToken(expected, actual, i);
+            if (expected.getTokenType() == TokenTypeEnum.ETX) {
+                return;
+            }
+        }
+    }
+
+    public static void assertSameToken(Token expected, Token actual, int tokenIdx) {
+        String message = String.format("Token %d: expected %s, got %s", tokenIdx, expected, actual);
+        assertNotNull(actual, message);
+        assertEquals(expected.getClass(), actual.getClass(), message);
+        assertEquals(expected.getTokenType(), actual.getTokenType(), message);
+        assertEquals(expected.getValue(), actual.getValue(), message);
+        assertEquals(expected.getPosition().getLineNumber(), actual.getPosition().getLineNumber(), message);
+        assertEquals(expected.getPosition().getColumnNumber(), actual.getPosition().getColumnNumber(), message);
+    }
+}
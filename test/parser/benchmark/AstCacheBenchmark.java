@@ -0,0 +1,53 @@
+package parser.benchmark;
+
+import lexer.TableDrivenLexer;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.flat_ast.AstCache;
+import parser.utils.ParserTestPrograms;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.ToIntFunction;
+
+// Run with: java parser.benchmark.AstCacheBenchmark [functions] [iterations]
+// Compares lexing and parsing a program with loading its AST from an `AstCache`,
+// both as a `FlatAst` alone and converted back into the object tree.
+public class AstCacheBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String program = ParserTestPrograms.generateProgram(functions);
+        Path directory = Files.createTempDirectory("ast-cache-benchmark");
+        AstCache cache = new AstCache(directory);
+        cache.parse(program, new ParserErrorHandler());
+        System.out.printf("Input: %d functions, %.2f MB source, %.2f MB cache entry%n", functions,
+                program.length() / (1024.0 * 1024.0), Files.size(cache.getEntryPath(program)) / (1024.0 * 1024.0));
+
+        measure("Lexer + Parser", iterations, source -> new Parser(new TableDrivenLexer(new StringReader(source)),
+                new ParserErrorHandler()).parse().functions().size(), program);
+        measure("Cache -> FlatAst", iterations, source -> cache.load(source).size(), program);
+        measure("Cache -> Program", iterations, source -> cache.load(source).toProgram().functions().size(), program);
+
+        Files.delete(cache.getEntryPath(program));
+        Files.delete(directory);
+    }
+
+    static void measure(String name, int iterations, ToIntFunction<String> run, String program) {
+        for (int i = 0; i < iterations; i++) {
+            run.applyAsInt(program);
+        }
+
+        long best = Long.MAX_VALUE;
+        int result = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            result = run.applyAsInt(program);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-20s %10d %10.2f ms%n", name, result, best / 1e6);
+    }
+}
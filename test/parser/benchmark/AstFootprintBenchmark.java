@@ -0,0 +1,43 @@
+package parser.benchmark;
+
+import lexer.TableDrivenLexer;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.flat_ast.FlatAst;
+import parser.program_components.Program;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+
+// Run with: java parser.benchmark.AstFootprintBenchmark [functions]
+// Compares the heap retained by the object tree of a program and by its `FlatAst`.
+// The numbers come from `Runtime` after forced collections, so use a heap large enough for both trees.
+public class AstFootprintBenchmark {
+
+    public static void main(String[] args) {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String program = ParserTestPrograms.generateProgram(functions);
+        System.out.printf("Input: %d functions, %.2f MB%n", functions, program.length() / (1024.0 * 1024.0));
+
+        long baseline = usedMemory();
+        Program parsedProgram = new Parser(new TableDrivenLexer(new StringReader(program)), new ParserErrorHandler()).parse();
+        long objectTree = usedMemory() - baseline;
+
+        FlatAst ast = FlatAst.fromProgram(parsedProgram);
+        parsedProgram = null;
+        long flatAst = usedMemory() - baseline;
+
+        System.out.printf("%-20s %10.2f MB%n", "Object tree", objectTree / (1024.0 * 1024.0));
+        System.out.printf("%-20s %10.2f MB %10d nodes %10.2f MB arrays%n", "FlatAst", flatAst / (1024.0 * 1024.0),
+                ast.size(), ast.getFootprint() / (1024.0 * 1024.0));
+        System.out.printf("%-20s %10d functions%n", "Converted back", ast.toProgram().functions().size());
+    }
+
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,58 @@
+package parser.benchmark;
+
+import lexer.CharBufferLexer;
+import lexer.ILexer;
+import lexer.Lexer;
+import lexer.TableDrivenLexer;
+import lexer.TokenTypeEnum;
+import lexer.tokens.Token;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+
+// Run with: java parser.benchmark.FrontEndAllocationBenchmark [functions]
+// Requires a JVM supporting `com.sun.management.ThreadMXBean`.
+public class FrontEndAllocationBenchmark {
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        String program = ParserTestPrograms.generateProgram(functions);
+        System.out.printf("Input: %d functions, %.2f MB%n", functions, program.length() / (1024.0 * 1024.0));
+
+        measure("Lexer", program, input -> lexTokens(new Lexer(new BufferedReader(new StringReader(input)))));
+        measure("CharBufferLexer.lexAll", program, input -> new CharBufferLexer(new StringReader(input)).lexAll());
+        measure("TableDrivenLexer.lexAll", program, input -> new TableDrivenLexer(new StringReader(input)).lexAll());
+        measure("Lexer + Parser", program,
+                input -> new Parser(new Lexer(new BufferedReader(new StringReader(input))), new ParserErrorHandler()).parse());
+        measure("lexAll + Parser", program,
+                input -> new Parser(new TableDrivenLexer(new StringReader(input)).lexAll(), new ParserErrorHandler()).parse());
+    }
+
+    static void lexTokens(ILexer lexer) {
+        Token token = lexer.lexToken();
+        while (token != null && token.getTokenType() != TokenTypeEnum.ETX) {
+            token = lexer.lexToken();
+        }
+    }
+
+    static void measure(String name, String program, Consumer<String> frontEnd) {
+        for (int i = 0; i < 3; i++) {
+            frontEnd.accept(program);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        frontEnd.accept(program);
+        double milliseconds = (System.nanoTime() - start) / 1e6;
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-25s %10.2f MB allocated %10.2f ms%n", name, allocated / (1024.0 * 1024.0), milliseconds);
+    }
+}
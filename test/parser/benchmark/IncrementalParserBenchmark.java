@@ -0,0 +1,41 @@
+package parser.benchmark;
+
+import lexer.TableDrivenLexer;
+import parser.IncrementalParser;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+
+// Run with: java parser.benchmark.IncrementalParserBenchmark [edits]
+// Compares an edit of a literal inside one function body, reparsed by `IncrementalParser`,
+// with lexing and parsing the whole program again.
+public class IncrementalParserBenchmark {
+
+    public static void main(String[] args) {
+        int edits = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        for (int functions : new int[]{100, 1_000, 10_000}) {
+            String program = ParserTestPrograms.generateProgram(functions);
+            IncrementalParser incrementalParser = new IncrementalParser(program, new ParserErrorHandler());
+            int offset = program.indexOf("Int a = ", program.length() / 2) + "Int a = ".length();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < edits; i++) {
+                incrementalParser.edit(offset, 0, "1");
+                incrementalParser.edit(offset, 1, "");
+            }
+            double incrementalMicroseconds = (System.nanoTime() - start) / 1e3 / (2.0 * edits);
+
+            start = System.nanoTime();
+            int fullRuns = Math.max(1, edits / functions);
+            for (int i = 0; i < fullRuns; i++) {
+                new Parser(new TableDrivenLexer(new StringReader(program)).lexAll(), new ParserErrorHandler()).parse();
+            }
+            double fullMicroseconds = (System.nanoTime() - start) / 1e3 / fullRuns;
+
+            System.out.printf("%6d functions: incremental edit %10.2f us, full parsing %10.2f us%n",
+                    functions, incrementalMicroseconds, fullMicroseconds);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package parser.benchmark;
+
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
+import parser.IParser;
+import parser.LazyParser;
+import parser.ParallelParser;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.function.Function;
+
+// Run with: java parser.benchmark.ParserThroughputBenchmark [functions] [iterations]
+// Only parsing is measured; the program is lexed once into a `TokenBuffer`.
+// `LazyParser` parses only the function headers, so it shows the cost left when no function is called.
+public class ParserThroughputBenchmark {
+
+    public static void main(String[] args) {
+        int functions = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        String program = ParserTestPrograms.generateProgram(functions);
+        TokenBuffer tokens = new TableDrivenLexer(new StringReader(program)).lexAll();
+        System.out.printf("Input: %d functions, %d tokens, %d threads%n",
+                functions, tokens.size(), Runtime.getRuntime().availableProcessors());
+
+        measure("Parser", tokens, iterations, input -> new Parser(input, new ParserErrorHandler()));
+        measure("ParallelParser", tokens, iterations, input -> new ParallelParser(input, new ParserErrorHandler()));
+        measure("LazyParser", tokens, iterations, input -> new LazyParser(input, new ParserErrorHandler()));
+    }
+
+    static void measure(String name, TokenBuffer tokens, int iterations, Function<TokenBuffer, IParser> parserFactory) {
+        for (int i = 0; i < iterations; i++) {
+            parserFactory.apply(tokens).parse();
+        }
+
+        long best = Long.MAX_VALUE;
+        int parsedFunctions = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            parsedFunctions = parserFactory.apply(tokens).parse().functions().size();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-20s %10d functions %10.2f ms%n", name, parsedFunctions, best / 1e6);
+    }
+}
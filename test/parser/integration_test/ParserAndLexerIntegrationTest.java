@@ -1,16 +1,35 @@
 package parser.integration_test;
 
 import lexer.Lexer;
+import lexer.SymbolTable;
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
 import org.junit.jupiter.api.Test;
+import parser.IParameter;
 import parser.Parser;
+import parser.exceptions.MissingSemicolonException;
+import parser.program_components.FunctionCall;
+import parser.program_components.Identifier;
+import parser.program_components.Program;
+import parser.program_components.expressions.AdditionExpression;
+import parser.program_components.expressions.AlternativeExpression;
+import parser.program_components.expressions.ConjunctiveExpression;
+import parser.program_components.expressions.LessThanExpression;
+import parser.program_components.expressions.MultiplicationExpression;
+import parser.program_components.expressions.SubtractionExpression;
+import parser.program_components.function_definitions.IntFunctionDef;
+import parser.program_components.statements.AssignmentStatement;
+import parser.program_components.statements.ReturnStatement;
 import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
 
-import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.*;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ParserAndLexerIntegrationTest {
 
@@ -23,4 +42,97 @@ public class ParserAndLexerIntegrationTest {
 
         assertNotNull(parser);
     }
+
+    @Test
+    void parseTokenBufferSameAsLexer() {
+        String program = ParserTestPrograms.generateProgram(50);
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+        Program expectedProgram = new Parser(new Lexer(new BufferedReader(new StringReader(program))), errorHandler).parse();
+        TokenBuffer tokens = new TableDrivenLexer(new StringReader(program)).lexAll();
+        Program parsedProgram = new Parser(tokens, errorHandler).parse();
+
+        assertEquals(50, parsedProgram.functions().size());
+        assertEquals(expectedProgram, parsedProgram);
+        assertTrue(errorHandler.getErrorLog().isEmpty());
+    }
+
+    @Test
+    void carrySymbolIdsOnNames() {
+        String program = "Int f(Int a) {\n    a = a + f(a);\n    return a;\n}";
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(program));
+        Program parsedProgram = new Parser(lexer, new MockedExitParserErrorHandler()).parse();
+
+        IntFunctionDef function = (IntFunctionDef) parsedProgram.functions().get("f");
+        IParameter parameter = function.parameters().get("a");
+        AssignmentStatement assignment = (AssignmentStatement) function.functionCode().statements().get(0);
+        AdditionExpression addition = (AdditionExpression) assignment.exp();
+        Identifier identifier = (Identifier) addition.leftExp();
+        FunctionCall functionCall = (FunctionCall) addition.rightExp();
+
+        SymbolTable symbols = lexer.getSymbolTable();
+        assertEquals(parameter.id(), assignment.param().id());
+        assertEquals(parameter.id(), identifier.id());
+        assertEquals("a", symbols.getName(identifier.id()));
+        assertEquals("f", symbols.getName(functionCall.id()));
+        assertNotEquals(identifier.id(), functionCall.id());
+    }
+
+    @Test
+    void carrySymbolIdsThroughTokenBuffer() {
+        String program = "Int f(Int a) {\n    return f(a);\n}";
+        TableDrivenLexer lexer = new TableDrivenLexer(new StringReader(program));
+        Program parsedProgram = new Parser(lexer.lexAll(), new MockedExitParserErrorHandler()).parse();
+
+        IntFunctionDef function = (IntFunctionDef) parsedProgram.functions().get("f");
+        ReturnStatement returnStatement = (ReturnStatement) function.functionCode().statements().get(0);
+        FunctionCall functionCall = (FunctionCall) returnStatement.exp();
+        Identifier argument = (Identifier) functionCall.exp().get(0);
+
+        SymbolTable symbols = lexer.getSymbolTable();
+        assertEquals("f", symbols.getName(functionCall.id()));
+        assertEquals(function.parameters().get("a").id(), argument.id());
+        assertEquals("a", symbols.getName(argument.id()));
+    }
+
+    @Test
+    void parseProgramEndingWithWhitespace() {
+        String program = "Int main() {\n    return 0;\n}\n\n  ";
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+        Program parsedProgram = new Parser(new Lexer(new BufferedReader(new StringReader(program))), errorHandler).parse();
+
+        assertEquals(1, parsedProgram.functions().size());
+        assertTrue(errorHandler.getErrorLog().isEmpty());
+    }
+
+    @Test
+    void reportUnknownCharAsSyntaxError() {
+        String program = "Int main() {\n    Int a = 1 @ 2;\n    return a;\n}";
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+        Parser parser = new Parser(new TableDrivenLexer(new StringReader(program)), errorHandler);
+
+        assertThrows(RuntimeException.class, parser::parse);
+        assertEquals(MissingSemicolonException.class, errorHandler.getErrorLog().get(0).getClass());
+    }
+
+    @Test
+    void parseOperatorsByBindingPower() {
+        String program = "Bool f() {\n    return a || b && c < d - e * f - g;\n}";
+        Program parsedProgram = new Parser(new TableDrivenLexer(new StringReader(program)), new MockedExitParserErrorHandler()).parse();
+
+        ReturnStatement returnStatement = (ReturnStatement) parsedProgram.functions().get("f").functionCode().statements().get(0);
+        AlternativeExpression alternative = (AlternativeExpression) returnStatement.exp();
+        ConjunctiveExpression conjunctive = (ConjunctiveExpression) alternative.rightExp();
+        LessThanExpression lessThan = (LessThanExpression) conjunctive.rightExp();
+        SubtractionExpression outerSubtraction = (SubtractionExpression) lessThan.rightExp();
+        SubtractionExpression innerSubtraction = (SubtractionExpression) outerSubtraction.leftExp();
+        MultiplicationExpression multiplication = (MultiplicationExpression) innerSubtraction.rightExp();
+
+        assertEquals("a", ((Identifier) alternative.leftExp()).name());
+        assertEquals("b", ((Identifier) conjunctive.leftExp()).name());
+        assertEquals("c", ((Identifier) lessThan.leftExp()).name());
+        assertEquals("d", ((Identifier) innerSubtraction.leftExp()).name());
+        assertEquals("e", ((Identifier) multiplication.leftExp()).name());
+        assertEquals("g", ((Identifier) outerSubtraction.rightExp()).name());
+        assertEquals(36, outerSubtraction.position().getColumnNumber());
+    }
 }
@@ -0,0 +1,172 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.exceptions.MissingSemicolonException;
+import parser.flat_ast.AstCache;
+import parser.flat_ast.FlatAst;
+import parser.flat_ast.FlatAstSerializer;
+import parser.program_components.Program;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AstCacheTest {
+    private static final String PROGRAM = """
+            Int main(List[Point] points) {
+                String label = "zażółć";
+                Point p = Point(1.5, 2.25);
+                if (points.size() > 2 || label == "x") {
+                    return 1;
+                }
+                return 0;
+            }""";
+
+    @TempDir
+    Path directory;
+
+    private static Program parse(String program) {
+        return new Parser(new TableDrivenLexer(new StringReader(program)), new MockedExitParserErrorHandler()).parse();
+    }
+
+    @Test
+    void serializeAndDeserializeProgram() throws IOException {
+        for (String program : new String[]{PROGRAM, ParserTestPrograms.generateProgram(100)}) {
+            Program parsedProgram = parse(program);
+            byte[] bytes = FlatAstSerializer.serialize(FlatAst.fromProgram(parsedProgram));
+
+            assertEquals(parsedProgram, FlatAstSerializer.deserialize(ByteBuffer.wrap(bytes)).toProgram());
+        }
+    }
+
+    @Test
+    void loadStoredProgram() throws IOException {
+        AstCache cache = new AstCache(directory);
+        assertNull(cache.load(PROGRAM));
+
+        Program program = cache.parse(PROGRAM, new MockedExitParserErrorHandler());
+
+        assertTrue(Files.exists(cache.getEntryPath(PROGRAM)));
+        assertEquals(program, cache.load(PROGRAM).toProgram());
+        assertEquals(program, cache.parse(PROGRAM, new MockedExitParserErrorHandler()));
+    }
+
+    @Test
+    void missChangedSource() throws IOException {
+        AstCache cache = new AstCache(directory);
+        cache.parse(PROGRAM, new MockedExitParserErrorHandler());
+        String changedProgram = PROGRAM.replace("return 0;", "return 2;");
+
+        assertNull(cache.load(changedProgram));
+        assertNotEquals(cache.getEntryPath(PROGRAM), cache.getEntryPath(changedProgram));
+        assertEquals(parse(changedProgram), cache.parse(changedProgram, new MockedExitParserErrorHandler()));
+    }
+
+    @Test
+    void reparseDamagedEntry() throws IOException {
+        AstCache cache = new AstCache(directory);
+        Program program = cache.parse(PROGRAM, new MockedExitParserErrorHandler());
+        Path entryPath = cache.getEntryPath(PROGRAM);
+        byte[] bytes = Files.readAllBytes(entryPath);
+
+        Files.write(entryPath, Arrays.copyOf(bytes, bytes.length / 2));
+        assertNull(cache.load(PROGRAM));
+        assertEquals(program, cache.parse(PROGRAM, new MockedExitParserErrorHandler()));
+        assertArrayEquals(bytes, Files.readAllBytes(entryPath));
+
+        byte[] otherVersion = bytes.clone();
+        ByteBuffer.wrap(otherVersion).putInt(Integer.BYTES, FlatAstSerializer.FORMAT_VERSION + 1);
+        Files.write(entryPath, otherVersion);
+        assertNull(cache.load(PROGRAM));
+        assertEquals(program, cache.parse(PROGRAM, new MockedExitParserErrorHandler()));
+        assertArrayEquals(bytes, Files.readAllBytes(entryPath));
+    }
+
+    @Test
+    void reparseEntryWithAnyByteChanged() throws IOException {
+        AstCache cache = new AstCache(directory);
+        Program program = cache.parse(PROGRAM, new MockedExitParserErrorHandler());
+        Path entryPath = cache.getEntryPath(PROGRAM);
+        byte[] bytes = Files.readAllBytes(entryPath);
+
+        for (int i = 0; i < bytes.length; i++) {
+            byte[] changedBytes = bytes.clone();
+            changedBytes[i] ^= (byte) (1 << (i % 8));
+            Files.write(entryPath, changedBytes);
+
+            assertNull(cache.load(PROGRAM), "Byte " + i);
+            assertEquals(program, cache.parse(PROGRAM, new MockedExitParserErrorHandler()));
+            assertArrayEquals(bytes, Files.readAllBytes(entryPath));
+        }
+    }
+
+    @Test
+    void rejectInvalidCountsAndIndexes() {
+        byte[] bytes = FlatAstSerializer.serialize(FlatAst.fromProgram(parse(PROGRAM)));
+        int headerLength = 8 * Integer.BYTES;
+        int size = ByteBuffer.wrap(bytes).getInt(4 * Integer.BYTES);
+
+        // node count, string count, and the first child of the root pointing to itself
+        int[] offsets = {4 * Integer.BYTES, 6 * Integer.BYTES, headerLength + size};
+        int[] values = {Integer.MAX_VALUE, Integer.MAX_VALUE / 2, 0};
+        for (int i = 0; i < offsets.length; i++) {
+            byte[] changedBytes = bytes.clone();
+            ByteBuffer.wrap(changedBytes).putInt(offsets[i], values[i]);
+            CRC32 crc = new CRC32();
+            crc.update(changedBytes, 4 * Integer.BYTES, changedBytes.length - 4 * Integer.BYTES);
+            ByteBuffer.wrap(changedBytes).putInt(3 * Integer.BYTES, (int) crc.getValue());
+
+            assertThrows(IOException.class, () -> FlatAstSerializer.deserialize(ByteBuffer.wrap(changedBytes)));
+        }
+    }
+
+    @Test
+    void removeLeastRecentlyUsedEntries() throws IOException {
+        AstCache cache = new AstCache(directory, 3);
+        String[] programs = new String[5];
+        for (int i = 0; i < programs.length; i++) {
+            programs[i] = PROGRAM.replace("return 0;", "return " + i + ";");
+            cache.parse(programs[i], new MockedExitParserErrorHandler());
+            // entries stored in the same millisecond would have the same modification time
+            Files.setLastModifiedTime(cache.getEntryPath(programs[i]), FileTime.fromMillis(1000L * (i + 1)));
+        }
+        assertNotNull(cache.load(programs[2]));
+
+        cache.parse(PROGRAM, new MockedExitParserErrorHandler());
+
+        assertFalse(Files.exists(cache.getEntryPath(programs[3])));
+        assertFalse(Files.exists(cache.getEntryPath(programs[1])));
+        assertTrue(Files.exists(cache.getEntryPath(programs[2])));
+        assertTrue(Files.exists(cache.getEntryPath(programs[4])));
+        assertTrue(Files.exists(cache.getEntryPath(PROGRAM)));
+        try (Stream<Path> entries = Files.list(directory)) {
+            assertEquals(3, entries.count());
+        }
+    }
+
+    @Test
+    void doNotStoreProgramWithErrors() throws IOException {
+        AstCache cache = new AstCache(directory);
+        String program = "Int f() {\n    return 1\n}";
+        ParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+
+        cache.parse(program, errorHandler);
+
+        assertEquals(MissingSemicolonException.class, errorHandler.getErrorLog().get(0).getClass());
+        assertFalse(Files.exists(cache.getEntryPath(program)));
+    }
+}
@@ -0,0 +1,173 @@
+package parser.unit_test;
+
+import lexer.Position;
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.IFunctionDef;
+import parser.IParameter;
+import parser.IStatement;
+import parser.Parser;
+import parser.flat_ast.FlatAst;
+import parser.flat_ast.FlatNodeKind;
+import parser.flat_ast.IFlatAstVisitor;
+import parser.program_components.CodeBlock;
+import parser.program_components.Identifier;
+import parser.program_components.Program;
+import parser.program_components.expressions.AdditionExpression;
+import parser.program_components.function_definitions.VoidFunctionDef;
+import parser.program_components.parameters.IntParameter;
+import parser.program_components.statements.IfStatement;
+import parser.program_components.statements.ReturnStatement;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FlatAstTest {
+    private static final String PROGRAM = """
+            Int main(List[Point] points) {
+                Int a = 1;
+                String label = "x";
+                Scene scene = Scene();
+                Figure figure = Figure();
+                List[Int] values = [Int];
+                Point p = Point(1.5, 2.25);
+                Section s = Section(p, Point(a, 3.0));
+                scene.add(s);
+                print("value: ", a // 2, !(a != 3), True, False);
+                if (a < 3 || a >= 10 && label == "x") {
+                    a = (a + 1) / 2 - a;
+                } elseif (a > 5) {
+                    a = a - 1;
+                } elseif (a <= 4) {
+                    return a.size();
+                } else {
+                    scene.draw();
+                }
+                while (a > 0) {
+                    a = a - 1;
+                }
+                return values.get(0);
+            }
+
+            void other() {
+                return;
+            }""";
+
+    private static Program parse(String program) {
+        return new Parser(new TableDrivenLexer(new StringReader(program)), new MockedExitParserErrorHandler()).parse();
+    }
+
+    @Test
+    void convertProgramBothWays() {
+        for (String program : List.of(PROGRAM, ParserTestPrograms.generateProgram(100))) {
+            Program parsedProgram = parse(program);
+            Program convertedProgram = FlatAst.fromProgram(parsedProgram).toProgram();
+
+            assertEquals(parsedProgram, convertedProgram);
+            assertEquals(List.copyOf(parsedProgram.functions().keySet()), List.copyOf(convertedProgram.functions().keySet()));
+        }
+    }
+
+    @Test
+    void convertMissingNodes() {
+        Position position = new Position(1, 1);
+        ArrayList<IStatement> statements = new ArrayList<>();
+        statements.add(new ReturnStatement(position, null));
+        statements.add(new IfStatement(position, new Identifier(position, "a"), null));
+        LinkedHashMap<String, IParameter> parameters = new LinkedHashMap<>();
+        parameters.put("a", new IntParameter(position, "a"));
+        LinkedHashMap<String, IFunctionDef> functions = new LinkedHashMap<>();
+        functions.put("f", new VoidFunctionDef(position, "f", parameters, new CodeBlock(position, statements)));
+        functions.put("g", new VoidFunctionDef(position, "g", new LinkedHashMap<>(), null));
+        Program program = new Program(position, functions);
+
+        Program convertedProgram = FlatAst.fromProgram(program).toProgram();
+
+        assertEquals(program, convertedProgram);
+        assertNull(((ReturnStatement) convertedProgram.functions().get("f").functionCode().statements().get(0)).exp());
+        assertNull(convertedProgram.functions().get("g").functionCode());
+    }
+
+    @Test
+    void storeNodesInArrays() {
+        FlatAst ast = FlatAst.fromProgram(parse("Int f(Int a) {\n    return a + 2;\n}"));
+
+        int function = ast.getFirstChild(ast.getRoot());
+        assertEquals(FlatNodeKind.PROGRAM, ast.getKind(ast.getRoot()));
+        assertEquals(FlatNodeKind.INT_FUNCTION_DEF, ast.getKind(function));
+        assertEquals("f", ast.getName(function));
+        assertEquals(2, ast.getChildCount(function));
+        assertEquals(FlatNodeKind.INT_PARAMETER, ast.getKind(ast.getChild(function, 0)));
+
+        int addition = ast.getFirstChild(ast.getFirstChild(ast.getChild(function, 1)));
+        assertEquals(FlatNodeKind.ADDITION_EXPRESSION, ast.getKind(addition));
+        assertEquals(2, ast.getLineNumber(addition));
+        assertEquals(14, ast.getColumnNumber(addition));
+        assertEquals("a", ast.getName(ast.getChild(addition, 0)));
+        assertEquals(2, ast.getIntValue(ast.getChild(addition, 1)));
+        assertEquals(FlatAst.NO_NODE, ast.getChild(addition, 2));
+        assertEquals(8, ast.size());
+    }
+
+    @Test
+    void walkNodesInSourceOrder() {
+        Program program = parse(PROGRAM);
+        FlatAst ast = FlatAst.fromProgram(program);
+        ArrayList<Integer> enteredNodes = new ArrayList<>();
+        ArrayList<Integer> exitedNodes = new ArrayList<>();
+        ast.walk(new IFlatAstVisitor() {
+            @Override
+            public boolean enter(FlatAst ast, int node) {
+                enteredNodes.add(node);
+                return true;
+            }
+
+            @Override
+            public void exit(FlatAst ast, int node) {
+                exitedNodes.add(node);
+            }
+        });
+
+        assertEquals(ast.size(), enteredNodes.size());
+        assertEquals(ast.size(), exitedNodes.size());
+        for (int i = 0; i < enteredNodes.size(); i++) {
+            assertEquals(i, enteredNodes.get(i));
+        }
+        assertEquals(ast.getRoot(), exitedNodes.get(exitedNodes.size() - 1));
+    }
+
+    @Test
+    void skipChildrenOfNodesNotEntered() {
+        FlatAst ast = FlatAst.fromProgram(parse(PROGRAM));
+        int[] counts = new int[2];
+        ast.walk((walkedAst, node) -> {
+            if (walkedAst.getKind(node) == FlatNodeKind.ADDITION_EXPRESSION) {
+                counts[0]++;
+            } else if (walkedAst.getKind(node) == FlatNodeKind.IDENTIFIER) {
+                counts[1]++;
+            }
+            return walkedAst.getKind(node) != FlatNodeKind.IF_STATEMENT;
+        });
+
+        assertEquals(0, counts[0]);
+        assertEquals(12, counts[1]);
+    }
+
+    @Test
+    void keepBinaryExpressionOperandsInOrder() {
+        Program program = parse("Int f() {\n    return 1 + 2;\n}");
+        ReturnStatement returnStatement = (ReturnStatement) FlatAst.fromProgram(program).toProgram()
+                .functions().get("f").functionCode().statements().get(0);
+
+        AdditionExpression addition = (AdditionExpression) returnStatement.exp();
+        assertEquals(new Position(2, 14), addition.position());
+        assertEquals(returnStatement.exp(), ((ReturnStatement) program.functions().get("f").functionCode().statements().get(0)).exp());
+    }
+}
@@ -0,0 +1,183 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.IFunctionDef;
+import parser.IncrementalParser;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.RecoveringParserErrorHandler;
+import parser.exceptions.DuplicatedFunctionNameException;
+import parser.program_components.Program;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalParserTest {
+    private static final String PROGRAM = ParserTestPrograms.generateProgram(10);
+
+    private static Program parse(String program, ParserErrorHandler errorHandler) {
+        return new Parser(new TableDrivenLexer(new StringReader(program)), errorHandler).parse();
+    }
+
+    private static List<String> errors(ParserErrorHandler errorHandler) {
+        return errorHandler.getErrorLog().stream().map(e -> e.getClass().getSimpleName() + ": " + e.getMessage()).toList();
+    }
+
+    @Test
+    void reparseEditedFunctionOnly() {
+        IncrementalParser parser = new IncrementalParser(PROGRAM, new MockedExitParserErrorHandler());
+        Program program = parser.getProgram();
+        int offset = PROGRAM.indexOf("Int a = 5;") + "Int a = ".length();
+
+        Program editedProgram = parser.edit(offset, 1, "(5 + 70)");
+
+        assertEquals(parse(parser.getText(), new MockedExitParserErrorHandler()), editedProgram);
+        assertEquals(1, parser.getReparsedFunctionCount());
+        assertFalse(parser.haveHeadersChanged());
+        for (IFunctionDef function : editedProgram.functions().values()) {
+            if (function.name().equals("compute_5")) {
+                assertNotEquals(program.functions().get("compute_5"), function);
+            } else {
+                assertSame(program.functions().get(function.name()), function);
+            }
+        }
+    }
+
+    @Test
+    void reparseFunctionsMovedByEdit() {
+        IncrementalParser parser = new IncrementalParser(PROGRAM, new MockedExitParserErrorHandler());
+        int offset = PROGRAM.indexOf("return b;", PROGRAM.indexOf("compute_7"));
+
+        Program editedProgram = parser.edit(offset, 0, "b = b + 1;\n    ");
+
+        assertEquals(parse(parser.getText(), new MockedExitParserErrorHandler()), editedProgram);
+        assertEquals(3, parser.getReparsedFunctionCount());
+        assertFalse(parser.haveHeadersChanged());
+    }
+
+    @Test
+    void rebuildFunctionMapAfterHeaderChange() {
+        IncrementalParser parser = new IncrementalParser(PROGRAM, new MockedExitParserErrorHandler());
+
+        Program editedProgram = parser.edit(PROGRAM.indexOf("compute_3("), "compute_3".length(), "renamed");
+
+        assertEquals(parse(parser.getText(), new MockedExitParserErrorHandler()), editedProgram);
+        assertEquals(1, parser.getReparsedFunctionCount());
+        assertTrue(parser.haveHeadersChanged());
+        assertEquals("renamed", List.copyOf(editedProgram.functions().keySet()).get(3));
+
+        String text = parser.getText();
+        editedProgram = parser.edit(text.indexOf("(Double b)", text.indexOf("compute_4")), "(Double b)".length(), "(Int b)");
+        assertEquals(parse(parser.getText(), new MockedExitParserErrorHandler()), editedProgram);
+        assertTrue(parser.haveHeadersChanged());
+
+        parser.edit(parser.getText().length(), 0, "\n\nvoid added() {\n    return;\n}");
+        assertEquals(1, parser.getReparsedFunctionCount());
+        assertTrue(parser.haveHeadersChanged());
+        assertEquals(11, parser.getProgram().functions().size());
+    }
+
+    @Test
+    void reportErrorsAsWholeProgramParse() {
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+        IncrementalParser parser = new IncrementalParser(PROGRAM, errorHandler);
+        int offset = PROGRAM.indexOf("return b;", PROGRAM.indexOf("compute_2")) + "return b".length();
+
+        parser.edit(offset, 1, "");
+        RecoveringParserErrorHandler expectedErrorHandler = new RecoveringParserErrorHandler();
+        assertEquals(parse(parser.getText(), expectedErrorHandler), parser.getProgram());
+        assertEquals(errors(expectedErrorHandler), errors(errorHandler));
+        assertEquals(10, parser.getReparsedFunctionCount());
+
+        parser.edit(offset, 0, ";");
+        assertEquals(parse(PROGRAM, new MockedExitParserErrorHandler()), parser.getProgram());
+        assertEquals(10, parser.getReparsedFunctionCount());
+
+        parser.edit(offset, 0, " + 1");
+        assertEquals(1, parser.getReparsedFunctionCount());
+        assertEquals(1, errorHandler.getErrorLog().size());
+
+        parser.edit(parser.getText().indexOf("compute_4("), "compute_4".length(), "compute_3");
+        assertEquals(DuplicatedFunctionNameException.class, errorHandler.getErrorLog().get(1).getClass());
+        assertEquals(List.copyOf(parse(parser.getText(), new RecoveringParserErrorHandler()).functions().keySet()),
+                List.copyOf(parser.getProgram().functions().keySet()));
+    }
+
+    @Test
+    void parseAsWholeProgramAfterRandomEdits() {
+        Random random = new Random(2023);
+        String[] insertions = {"", "{", "}", "(", ")", ";", " ", "\n", "a", "7", "Int f() {", "return 1;", "\"", "x = 2;"};
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+        IncrementalParser parser = new IncrementalParser(PROGRAM, errorHandler);
+
+        int incrementalEditCount = 0;
+        for (int i = 0; i < 500; i++) {
+            String text = parser.getText();
+            int offset = random.nextInt(text.length() + 1);
+            int removedLength = random.nextInt(4) == 0 ? Math.min(random.nextInt(4), text.length() - offset) : 0;
+            String insertedText = insertions[random.nextInt(insertions.length)];
+
+            assertEditParsedAsWholeProgram(parser, errorHandler, offset, removedLength, insertedText);
+            incrementalEditCount += parser.getReparsedFunctionCount() < parser.getProgram().functions().size() ? 1 : 0;
+            // undoing the edit brings back the program without errors, so that the next edit can be parsed incrementally
+            assertEditParsedAsWholeProgram(parser, errorHandler, offset, insertedText.length(), text.substring(offset, offset + removedLength));
+        }
+        assertTrue(incrementalEditCount > 100);
+    }
+
+    @Test
+    void parseAsWholeProgramAfterEditOfRandomProgram() {
+        Random random = new Random(381);
+        String[] insertions = {"", "{", "}", "(", ")", ";", " ", "\n", "a", "7", "!", "+", ".5", "\"", "return 1;"};
+        for (int i = 0; i < 2048; i++) {
+            String program = generateRandomProgram(random);
+            RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+            IncrementalParser parser = new IncrementalParser(program, errorHandler);
+            int offset = random.nextInt(program.length() + 1);
+            int removedLength = random.nextInt(2) == 0 ? Math.min(random.nextInt(4), program.length() - offset) : 0;
+
+            assertEditParsedAsWholeProgram(parser, errorHandler, offset, removedLength, insertions[random.nextInt(insertions.length)]);
+        }
+    }
+
+    // `generateRandomProgram` returns programs of 20 to 300 tokens, so that the tokens of some of them
+    // fill the buffers of the incremental lexer exactly
+    private static String generateRandomProgram(Random random) {
+        String[] types = {"Int", "Double", "Bool", "String", "Point", "Figure", "List[Int]"};
+        String[] statements = {
+                "a = b;", "Int c = 1;", "return a;", "Double h = (Point(8, g));", "a = (True + 39 || b - !h);",
+                "List[Int] c = !(True);", "p.add(q, 2.5);", "while (!(95.673)) { a = a - 1; }",
+                "if (a < b) { return \"x\"; } else { b = 0; }"
+        };
+        int targetTokenCount = 20 + random.nextInt(281);
+        StringBuilder program = new StringBuilder();
+        int tokenCount = 0;
+        for (int f = 0; tokenCount < targetTokenCount; f++) {
+            program.append(types[random.nextInt(types.length)]).append(" fn").append(f).append("() {\n");
+            int statementCount = random.nextInt(8);
+            for (int s = 0; s < statementCount; s++) {
+                program.append("    ").append(statements[random.nextInt(statements.length)]).append('\n');
+            }
+            program.append("}\n\n");
+            tokenCount = new TableDrivenLexer(new StringReader(program.toString())).lexAll().size();
+        }
+        return program.toString();
+    }
+
+    private static void assertEditParsedAsWholeProgram(IncrementalParser parser, RecoveringParserErrorHandler errorHandler,
+                                                       int offset, int removedLength, String insertedText) {
+        int errorCount = errorHandler.getErrorLog().size();
+
+        parser.edit(offset, removedLength, insertedText);
+
+        RecoveringParserErrorHandler expectedErrorHandler = new RecoveringParserErrorHandler();
+        assertEquals(parse(parser.getText(), expectedErrorHandler), parser.getProgram(), parser.getText());
+        assertEquals(errors(expectedErrorHandler), errors(errorHandler).subList(errorCount, errorHandler.getErrorLog().size()));
+    }
+}
@@ -0,0 +1,103 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
+import org.junit.jupiter.api.Test;
+import parser.IFunctionDef;
+import parser.LazyParser;
+import parser.Parser;
+import parser.RecoveringParserErrorHandler;
+import parser.exceptions.MissingExpressionException;
+import parser.exceptions.MissingRightCurlyBracketException;
+import parser.program_components.Program;
+import parser.program_components.function_definitions.LazyFunctionDef;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyParserTest {
+
+    private static TokenBuffer lex(String program) {
+        return new TableDrivenLexer(new StringReader(program)).lexAll();
+    }
+
+    @Test
+    void parseFunctionHeadersOnly() {
+        String program = ParserTestPrograms.generateProgram(50);
+        Program expectedProgram = new Parser(lex(program), new MockedExitParserErrorHandler()).parse();
+
+        Program lazyProgram = new LazyParser(lex(program), new MockedExitParserErrorHandler()).parse();
+
+        assertEquals(List.copyOf(expectedProgram.functions().keySet()), List.copyOf(lazyProgram.functions().keySet()));
+        for (IFunctionDef function : lazyProgram.functions().values()) {
+            LazyFunctionDef lazyFunction = (LazyFunctionDef) function;
+            IFunctionDef expectedFunction = expectedProgram.functions().get(function.name());
+            assertFalse(lazyFunction.isResolved());
+            assertEquals(expectedFunction.position(), lazyFunction.position());
+            assertEquals(expectedFunction.parameters(), lazyFunction.parameters());
+        }
+    }
+
+    @Test
+    void parseCodeBlockOnFirstUse() {
+        String program = ParserTestPrograms.generateProgram(50);
+        Program expectedProgram = new Parser(lex(program), new MockedExitParserErrorHandler()).parse();
+        Program lazyProgram = new LazyParser(lex(program), new MockedExitParserErrorHandler()).parse();
+
+        for (IFunctionDef function : lazyProgram.functions().values()) {
+            LazyFunctionDef lazyFunction = (LazyFunctionDef) function;
+            IFunctionDef resolvedFunction = lazyFunction.resolve();
+
+            assertTrue(lazyFunction.isResolved());
+            assertSame(resolvedFunction, lazyFunction.resolve());
+            assertEquals(expectedProgram.functions().get(function.name()), resolvedFunction);
+            assertEquals(resolvedFunction.functionCode(), lazyFunction.functionCode());
+        }
+    }
+
+    @Test
+    void reportCodeBlockErrorsWhenParsed() {
+        String program = """
+                Int f() {
+                    Int a = ;
+                    return a;
+                }
+                Int main() {
+                    return 0;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program lazyProgram = new LazyParser(lex(program), errorHandler).parse();
+        assertEquals(0, errorHandler.getErrorLog().size());
+        ((LazyFunctionDef) lazyProgram.functions().get("main")).resolve();
+        assertEquals(0, errorHandler.getErrorLog().size());
+
+        LazyParser.parseRemainingBodies(lazyProgram);
+        assertEquals(1, errorHandler.getErrorLog().size());
+        assertEquals(MissingExpressionException.class, errorHandler.getErrorLog().get(0).getClass());
+        assertEquals(1, lazyProgram.functions().get("f").functionCode().statements().size());
+    }
+
+    @Test
+    void reportUnbalancedCurlyBrackets() {
+        String program = """
+                Int main() {
+                    return 0;
+                }
+                Int f() {
+                    while (True) {
+                        return 1;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program lazyProgram = new LazyParser(lex(program), errorHandler).parse();
+
+        assertEquals(List.of("main"), List.copyOf(lazyProgram.functions().keySet()));
+        assertEquals(1, errorHandler.getErrorLog().size());
+        assertEquals(MissingRightCurlyBracketException.class, errorHandler.getErrorLog().get(0).getClass());
+    }
+}
@@ -0,0 +1,105 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import lexer.TokenBuffer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import parser.ParallelParser;
+import parser.Parser;
+import parser.exceptions.DuplicatedFunctionNameException;
+import parser.exceptions.MissingSemicolonException;
+import parser.program_components.Program;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelParserTest {
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private static TokenBuffer lexAll(String program) {
+        return new TableDrivenLexer(new StringReader(program)).lexAll();
+    }
+
+    private static ParallelParser createParser(TokenBuffer tokens, MockedExitParserErrorHandler errorHandler, int minGroupTokens) {
+        ParallelParser parser = new ParallelParser(tokens, errorHandler, pool);
+        parser.setMinGroupTokens(minGroupTokens);
+        return parser;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 1000, 1 << 20})
+    void parseSameProgramAsParser(int minGroupTokens) {
+        TokenBuffer tokens = lexAll(ParserTestPrograms.generateProgram(200));
+        Program expectedProgram = new Parser(tokens, new MockedExitParserErrorHandler()).parse();
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+        Program parsedProgram = createParser(tokens, errorHandler, minGroupTokens).parse();
+
+        assertEquals(200, parsedProgram.functions().size());
+        assertEquals(expectedProgram, parsedProgram);
+        assertEquals(expectedProgram.functions().keySet().stream().toList(), parsedProgram.functions().keySet().stream().toList());
+        assertTrue(errorHandler.getErrorLog().isEmpty());
+    }
+
+    @Test
+    void reportDuplicatedFunctionNameAsParser() {
+        String program = ParserTestPrograms.generateProgram(100) + "\n\nInt compute_7() {\n    return 1;\n}\n\n"
+                + ParserTestPrograms.generateProgram(20);
+        TokenBuffer tokens = lexAll(program);
+        MockedExitParserErrorHandler expectedErrorHandler = new MockedExitParserErrorHandler();
+        assertThrows(RuntimeException.class, () -> new Parser(tokens, expectedErrorHandler).parse());
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+
+        assertThrows(RuntimeException.class, () -> createParser(tokens, errorHandler, 100).parse());
+        assertEquals(1, errorHandler.getErrorLog().size());
+        assertEquals(DuplicatedFunctionNameException.class, errorHandler.getErrorLog().get(0).getClass());
+        assertEquals(expectedErrorHandler.getErrorLog().get(0).getMessage(), errorHandler.getErrorLog().get(0).getMessage());
+    }
+
+    @Test
+    void reparseProgramWithSyntaxErrorSequentially() {
+        String program = ParserTestPrograms.generateProgram(50) + "\n\nInt broken() {\n    Int a = 1\n    return a;\n}\n\n"
+                + ParserTestPrograms.generateProgram(20).replace("compute_", "other_");
+        TokenBuffer tokens = lexAll(program);
+        MockedExitParserErrorHandler expectedErrorHandler = new MockedExitParserErrorHandler();
+        Program expectedProgram = new Parser(tokens, expectedErrorHandler).parse();
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+        Program parsedProgram = createParser(tokens, errorHandler, 100).parse();
+
+        assertEquals(71, parsedProgram.functions().size());
+        assertEquals(expectedProgram, parsedProgram);
+        assertEquals(1, errorHandler.getErrorLog().size());
+        assertEquals(MissingSemicolonException.class, errorHandler.getErrorLog().get(0).getClass());
+        assertEquals(expectedErrorHandler.getErrorLog().get(0).getMessage(), errorHandler.getErrorLog().get(0).getMessage());
+    }
+
+    @Test
+    void parseUnmatchedCurlyBracketsAsParser() {
+        String program = ParserTestPrograms.generateProgram(50) + "\n\nInt broken() {\n    return 1;\n";
+        TokenBuffer tokens = lexAll(program);
+        MockedExitParserErrorHandler expectedErrorHandler = new MockedExitParserErrorHandler();
+        assertThrows(RuntimeException.class, () -> new Parser(tokens, expectedErrorHandler).parse());
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+
+        assertThrows(RuntimeException.class, () -> createParser(tokens, errorHandler, 100).parse());
+        assertEquals(expectedErrorHandler.getErrorLog().size(), errorHandler.getErrorLog().size());
+    }
+}
@@ -0,0 +1,163 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.ParallelParser;
+import parser.Parser;
+import parser.RecoveringParserErrorHandler;
+import parser.exceptions.*;
+import parser.program_components.Program;
+import parser.program_components.statements.ReturnStatement;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ParserErrorRecoveryTest {
+    private static final String PROGRAM = """
+            Int main(List[Point] points) {
+                Int a = 1;
+                Section s = Section(Point(1.5, 2.25), Point(a, 3.0));
+                print("value: ", a // 2, !(a != 3));
+                if (a < 3 || a >= 10 && a == 2) {
+                    a = (a + 1) / 2 - a;
+                } elseif (a > 5) {
+                    s.draw();
+                } else {
+                    return a.size();
+                }
+                while (a > 0) {
+                    a = a - 1;
+                }
+                return points.get(0);
+            }
+
+            void other() {
+                return;
+            }""";
+
+    private static Program parse(String program, RecoveringParserErrorHandler errorHandler) {
+        return new Parser(new TableDrivenLexer(new StringReader(program)), errorHandler).parse();
+    }
+
+    private static List<? extends Class<?>> errorClasses(RecoveringParserErrorHandler errorHandler) {
+        return errorHandler.getErrorLog().stream().map(Object::getClass).toList();
+    }
+
+    @Test
+    void skipStatementWithError() {
+        String program = """
+                Int f() {
+                    Int a = ;
+                    return 1;
+                }
+                Int g() {
+                    return 2;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program parsedProgram = parse(program, errorHandler);
+
+        assertEquals(List.of(MissingExpressionException.class), errorClasses(errorHandler));
+        assertEquals(List.of("f", "g"), List.copyOf(parsedProgram.functions().keySet()));
+        assertEquals(1, parsedProgram.functions().get("f").functionCode().statements().size());
+        assertEquals(ReturnStatement.class, parsedProgram.functions().get("f").functionCode().statements().get(0).getClass());
+    }
+
+    @Test
+    void skipStatementWithCodeBlocks() {
+        String program = """
+                Int f() {
+                    Int a = 1
+                    if (a <) {
+                        a = 2;
+                    } elseif (a > 2) {
+                        a = 4;
+                    } else {
+                        a = 3;
+                    }
+                    while (a > 0) {
+                        a = a - 1;
+                    }
+                    return a;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program parsedProgram = parse(program, errorHandler);
+
+        assertEquals(List.of(MissingSemicolonException.class, MissingExpressionException.class), errorClasses(errorHandler));
+        assertEquals(3, parsedProgram.functions().get("f").functionCode().statements().size());
+    }
+
+    @Test
+    void skipFunctionDefWithError() {
+        String program = """
+                Int (Int a) {
+                    return 1;
+                }
+                Int f() {
+                    return 1;
+
+                List[Int] g() {
+                    return [Int];
+                }
+                x = 2;
+                Int h() {
+                    return 3;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program parsedProgram = parse(program, errorHandler);
+
+        assertEquals(List.of(MissingIdentifierException.class, MissingRightCurlyBracketException.class,
+                MissingDataTypeDeclarationException.class), errorClasses(errorHandler));
+        assertEquals(List.of("g", "h"), List.copyOf(parsedProgram.functions().keySet()));
+    }
+
+    @Test
+    void keepFirstOfDuplicatedFunctions() {
+        String program = """
+                Int f() {
+                    return 1;
+                }
+                Bool f() {
+                    return True;
+                }
+                Int g() {
+                    return a;
+                }""";
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+        RecoveringParserErrorHandler parallelErrorHandler = new RecoveringParserErrorHandler();
+
+        Program parsedProgram = parse(program, errorHandler);
+        Program parallelParsedProgram = new ParallelParser(new TableDrivenLexer(new StringReader(program)).lexAll(),
+                parallelErrorHandler).parse();
+
+        assertEquals(List.of(DuplicatedFunctionNameException.class), errorClasses(errorHandler));
+        assertEquals(errorClasses(errorHandler), errorClasses(parallelErrorHandler));
+        assertEquals(List.of("f", "g"), List.copyOf(parsedProgram.functions().keySet()));
+        assertEquals(parsedProgram, parallelParsedProgram);
+    }
+
+    @Test
+    void reportLoneIdentifierStatement() {
+        RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+
+        Program parsedProgram = parse("Int f() {\n    a;\n    return 1;\n}", errorHandler);
+
+        assertEquals(List.of(MissingAssignmentOperatorException.class), errorClasses(errorHandler));
+        assertEquals(1, parsedProgram.functions().get("f").functionCode().statements().size());
+    }
+
+    @Test
+    void stopAtEndOfTruncatedPrograms() {
+        for (int i = 0; i <= PROGRAM.length(); i++) {
+            String truncatedProgram = PROGRAM.substring(0, i);
+            assertDoesNotThrow(() -> parse(truncatedProgram, new RecoveringParserErrorHandler()));
+            assertDoesNotThrow(() -> new Parser(new TableDrivenLexer(new StringReader(truncatedProgram)).lexAll(),
+                    new RecoveringParserErrorHandler()).parse());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.IExpression;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.RecoveringParserErrorHandler;
+import parser.program_components.CodeBlock;
+import parser.program_components.Program;
+import parser.program_components.data_values.IntValue;
+import parser.program_components.expressions.AdditionExpression;
+import parser.program_components.expressions.NegatedExpression;
+import parser.program_components.expressions.ParenthesesExpression;
+import parser.program_components.statements.IfStatement;
+import parser.program_components.statements.ReturnStatement;
+import parser.program_components.statements.WhileStatement;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParserExplicitStackTest {
+    private static final int DEPTH = 100_000;
+    private static final String PROGRAM = """
+            Int main(List[Point] points) {
+                Int a = 1;
+                Section s = Section(Point(1.5, 2.25), Point(a, 3.0));
+                print("value: ", a // 2, !(a != 3), ((a + 1) * (2 - !a)) / 3);
+                if (a < 3 || a >= 10 && !(a == 2)) {
+                    a = (a + 1) / 2 - a;
+                    while ((a > 0)) {
+                        if (a == 5) {
+                            return a;
+                        }
+                        a = a - 1;
+                    }
+                } elseif (a > 5) {
+                    s.draw();
+                } elseif (a > 4) {
+                } else {
+                    return a.size();
+                }
+                return points.get(0);
+            }
+
+            void other() {
+                if (True) {
+                    return;
+                } else {
+                    while (False) {
+                    }
+                }
+            }""";
+
+    private static Program parse(String program, ParserErrorHandler errorHandler, boolean explicitStack) {
+        Parser parser = new Parser(new TableDrivenLexer(new StringReader(program)), errorHandler);
+        parser.setExplicitStack(explicitStack);
+        return parser.parse();
+    }
+
+    private static List<String> errors(RecoveringParserErrorHandler errorHandler) {
+        return errorHandler.getErrorLog().stream().map(e -> e.getClass().getSimpleName() + ": " + e.getMessage()).toList();
+    }
+
+    @Test
+    void parseSameProgram() {
+        for (String program : new String[]{PROGRAM, ParserTestPrograms.generateProgram(100)}) {
+            assertEquals(parse(program, new MockedExitParserErrorHandler(), false),
+                    parse(program, new MockedExitParserErrorHandler(), true));
+        }
+    }
+
+    @Test
+    void reportSameErrors() {
+        for (int i = 0; i <= PROGRAM.length(); i++) {
+            for (String program : new String[]{PROGRAM.substring(0, i), PROGRAM.substring(0, i) + PROGRAM.substring(Math.min(i + 3, PROGRAM.length()))}) {
+                RecoveringParserErrorHandler errorHandler = new RecoveringParserErrorHandler();
+                RecoveringParserErrorHandler explicitStackErrorHandler = new RecoveringParserErrorHandler();
+
+                Program parsedProgram = parse(program, errorHandler, false);
+                Program explicitStackParsedProgram = parse(program, explicitStackErrorHandler, true);
+
+                assertEquals(parsedProgram, explicitStackParsedProgram, program);
+                assertEquals(errors(errorHandler), errors(explicitStackErrorHandler), program);
+            }
+        }
+    }
+
+    @Test
+    void parseDeeplyNestedParentheses() {
+        String program = "Int main() {\n    return " + "(!".repeat(DEPTH) + "(1 + 2)" + ")".repeat(DEPTH) + ";\n}";
+
+        Program parsedProgram = parse(program, new MockedExitParserErrorHandler(), true);
+
+        IExpression exp = ((ReturnStatement) parsedProgram.functions().get("main").functionCode().statements().get(0)).exp();
+        for (int i = 0; i < DEPTH; i++) {
+            exp = ((ParenthesesExpression) exp).exp();
+            exp = ((NegatedExpression) exp).exp();
+        }
+        AdditionExpression addition = (AdditionExpression) ((ParenthesesExpression) exp).exp();
+        assertEquals(2, ((IntValue) addition.rightExp()).value());
+    }
+
+    @Test
+    void parseDeeplyNestedCodeBlocks() {
+        String program = "Int main() {\n" + "if (True) { while (False) {".repeat(DEPTH) + "return 1;" + "}} else {}".repeat(DEPTH) + "\n}";
+
+        Program parsedProgram = parse(program, new MockedExitParserErrorHandler(), true);
+
+        CodeBlock codeBlock = parsedProgram.functions().get("main").functionCode();
+        for (int i = 0; i < DEPTH; i++) {
+            IfStatement ifStatement = (IfStatement) codeBlock.statements().get(0);
+            assertNotNull(ifStatement.elseStmnt());
+            codeBlock = ((WhileStatement) ifStatement.codeBlock().statements().get(0)).codeBlock();
+        }
+        assertEquals(ReturnStatement.class, codeBlock.statements().get(0).getClass());
+    }
+}
@@ -0,0 +1,92 @@
+package parser.unit_test;
+
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.IFunctionDef;
+import parser.LazyParser;
+import parser.Parser;
+import parser.exceptions.DuplicatedFunctionNameException;
+import parser.program_components.Program;
+import parser.utils.MockedExitParserErrorHandler;
+import parser.utils.ParserTestPrograms;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParserStreamingTest {
+
+    @Test
+    void handFunctionsOverInSourceOrder() {
+        String program = ParserTestPrograms.generateProgram(100);
+        Program expectedProgram = new Parser(new TableDrivenLexer(new StringReader(program)), new MockedExitParserErrorHandler()).parse();
+        ArrayList<IFunctionDef> functions = new ArrayList<>();
+
+        new Parser(new TableDrivenLexer(new StringReader(program)), new MockedExitParserErrorHandler()).parse(functions::add);
+
+        assertEquals(List.copyOf(expectedProgram.functions().values()), functions);
+    }
+
+    @Test
+    void handFunctionsOverBeforeInputIsRead() {
+        String program = ParserTestPrograms.generateProgram(2_000);
+        CountingReader reader = new CountingReader(program);
+        ArrayList<Long> readCharCounts = new ArrayList<>();
+
+        new Parser(new TableDrivenLexer(reader), new MockedExitParserErrorHandler()).parse(function -> readCharCounts.add(reader.readCharCount));
+
+        assertEquals(2_000, readCharCounts.size());
+        assertTrue(readCharCounts.get(0) < program.length() / 10);
+    }
+
+    @Test
+    void handOverFirstOfDuplicatedFunctions() {
+        String program = """
+                Int f() {
+                    return 1;
+                }
+                Bool f() {
+                    return True;
+                }""";
+        ArrayList<IFunctionDef> functions = new ArrayList<>();
+        MockedExitParserErrorHandler errorHandler = new MockedExitParserErrorHandler();
+
+        assertThrows(RuntimeException.class,
+                () -> new Parser(new TableDrivenLexer(new StringReader(program)), errorHandler).parse(functions::add));
+
+        assertEquals(1, functions.size());
+        assertEquals("f", functions.get(0).name());
+        assertEquals(DuplicatedFunctionNameException.class, errorHandler.getErrorLog().get(0).getClass());
+    }
+
+    @Test
+    void handOverFunctionsOfWholeProgram() {
+        String program = ParserTestPrograms.generateProgram(10);
+        ArrayList<String> names = new ArrayList<>();
+
+        new LazyParser(new TableDrivenLexer(new StringReader(program)).lexAll(), new MockedExitParserErrorHandler())
+                .parse(function -> names.add(function.name()));
+
+        assertEquals(10, names.size());
+    }
+
+    private static class CountingReader extends StringReader {
+        private long readCharCount = 0;
+
+        CountingReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] chars, int offset, int length) throws IOException {
+            int count = super.read(chars, offset, length);
+            readCharCount += Math.max(count, 0);
+            return count;
+        }
+    }
+}
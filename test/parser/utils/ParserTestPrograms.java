@@ -0,0 +1,28 @@
+package parser.utils;
+
+public class ParserTestPrograms {
+
+    // Generated programs end with the "}" of the last function, without the blank lines after it.
+    public static String generateProgram(int functions) {
+        StringBuilder program = new StringBuilder();
+        for (int i = 0; i < functions; i++) {
+            program.append("Double compute_").append(i).append("(Double b) {\n");
+            program.append("    Int a = ").append(i).append(";\n");
+            program.append("    Point p = Point(").append(i).append(".25, b);\n");
+            program.append("    Section s = Section(p, Point(a, ").append(i % 97).append(".125));\n");
+            program.append("    List[Point] points = [Point];\n");
+            program.append("    if (a <= ").append(i).append(" && b != 0.5 || !(a == 3)) {\n");
+            program.append("        points.add(p);\n");
+            program.append("        String label = \"point \\\"").append(i).append("\\\"\";\n");
+            program.append("    } elseif (a >= 10) {\n");
+            program.append("        a = a // 2 - 1;\n");
+            program.append("    } else {\n");
+            program.append("        Bool flag = True;\n");
+            program.append("    }\n");
+            program.append("    while (a > 0) { a = a - 1; b = b / 1.5 + a * 0.001; }\n");
+            program.append("    return b;\n");
+            program.append("}\n\n");
+        }
+        return program.toString().strip();
+    }
+}
@@ -0,0 +1,80 @@
+package visitors.benchmark;
+
+import lexer.TableDrivenLexer;
+import parser.Parser;
+import parser.ParserErrorHandler;
+import parser.program_components.Program;
+import visitors.ContextManager;
+import visitors.Interpreter;
+import visitors.InterpreterErrorHandler;
+import visitors.TypeAnnotations;
+import visitors.TypeChecker;
+
+import java.io.StringReader;
+import java.util.function.Supplier;
+
+// Run with: java visitors.benchmark.CheckedInterpreterBenchmark [loop iterations] [runs]
+// Compares running an arithmetic loop with runtime type checks and with the annotations of `TypeChecker`,
+// whose verified nodes are replaced with the checked components once per run. Both runs have to return the same value.
+public class CheckedInterpreterBenchmark {
+
+    public static void main(String[] args) {
+        int loopIterations = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Program program = new Parser(new TableDrivenLexer(new StringReader(generateProgram(loopIterations))),
+                new ParserErrorHandler()).parse();
+        InterpreterErrorHandler errorHandler = new InterpreterErrorHandler();
+        TypeChecker typeChecker = new TypeChecker(errorHandler, new ContextManager());
+        program.accept(typeChecker);
+        TypeAnnotations typeAnnotations = typeChecker.getTypeAnnotations();
+        System.out.printf("Input: loop of %d iterations, %d verified nodes%n", loopIterations, typeAnnotations.getVerifiedNodeCount());
+
+        Object plainResult = measure("Runtime checks", runs,
+                () -> run(program, new Interpreter(new InterpreterErrorHandler(), new ContextManager())));
+        Object checkedResult = measure("Type annotations", runs,
+                () -> run(program, new Interpreter(new InterpreterErrorHandler(), new ContextManager(), typeAnnotations)));
+        if (!plainResult.equals(checkedResult)) {
+            throw new IllegalStateException(String.format("Results differ: %s and %s", plainResult, checkedResult));
+        }
+    }
+
+    private static String generateProgram(int loopIterations) {
+        return """
+                Int step(Int a, Double b) {
+                    return a + b * 2;
+                }
+                Int main() {
+                    Int i = 0;
+                    Int a = 1;
+                    Double b = 0.5;
+                    while (i < %d) {
+                        a = (a * 3 + i) // 7 - a / 5;
+                        b = b * 0.5 + a - i / 4;
+                        a = a + (b - a) * 2;
+                        i = i + 1;
+                    }
+                    return step(a, b);
+                }""".formatted(loopIterations);
+    }
+
+    private static Object run(Program program, Interpreter interpreter) {
+        program.accept(interpreter);
+        return interpreter.getLastResult();
+    }
+
+    static Object measure(String name, int runs, Supplier<Object> run) {
+        for (int i = 0; i < runs; i++) {
+            run.get();
+        }
+
+        long best = Long.MAX_VALUE;
+        Object result = null;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            result = run.get();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-20s %10.2f ms  %s%n", name, best / 1e6, result);
+        return result;
+    }
+}
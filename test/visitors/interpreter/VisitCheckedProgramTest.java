@@ -0,0 +1,114 @@
+package visitors.interpreter;
+
+import lexer.Position;
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.Parser;
+import parser.program_components.Program;
+import parser.program_components.data_values.DoubleValue;
+import parser.program_components.data_values.IntValue;
+import parser.program_components.data_values.PointValue;
+import parser.utils.MockedExitParserErrorHandler;
+import visitors.ContextManager;
+import visitors.Interpreter;
+import visitors.TypeAnnotations;
+import visitors.TypeChecker;
+import visitors.exceptions.ZeroDivisionException;
+import visitors.utils.MockedExitInterpreterErrorHandler;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VisitCheckedProgramTest {
+    private static Program parse(String code) {
+        return new Parser(new TableDrivenLexer(new StringReader(code)), new MockedExitParserErrorHandler()).parse();
+    }
+
+    private static Interpreter createCheckedInterpreter(Program program, MockedExitInterpreterErrorHandler errorHandler) {
+        TypeChecker typeChecker = new TypeChecker(errorHandler, new ContextManager());
+        program.accept(typeChecker);
+        TypeAnnotations typeAnnotations = typeChecker.getTypeAnnotations();
+        assertTrue(typeAnnotations.getVerifiedNodeCount() > 0);
+        return new Interpreter(errorHandler, new ContextManager(), typeAnnotations);
+    }
+
+    @Test
+    void givenVerifiedProgram_whenExecutingWithTypeAnnotations_thenResultIsSameAsWithoutThem() {
+        String code = """
+                Double half(Int n) {
+                    return n / 2 + 0.5;
+                }
+                Int main() {
+                    Int a = 7.9;
+                    Double b = a // 2;
+                    Int i = 0;
+                    while (i < 3) {
+                        a = a * 2 - b / 4;
+                        i = i + 1;
+                    }
+                    b = half(a);
+                    return b * 3;
+                }""";
+        Program program = parse(code);
+        Interpreter interpreter = new Interpreter(new MockedExitInterpreterErrorHandler(), new ContextManager());
+        program.accept(interpreter);
+        Program checkedProgram = parse(code);
+        Interpreter checkedInterpreter = createCheckedInterpreter(checkedProgram, new MockedExitInterpreterErrorHandler());
+        checkedProgram.accept(checkedInterpreter);
+
+        assertEquals(new IntValue(new Position(13, 12), 73), interpreter.getLastResult());
+        assertEquals(interpreter.getLastResult(), checkedInterpreter.getLastResult());
+    }
+
+    @Test
+    void givenValueKnownOnlyAtRuntime_whenExecutingWithTypeAnnotations_thenItIsCheckedAtRuntime() {
+        Program program = parse("""
+                Point main() {
+                    Scene scene = Scene();
+                    scene.add(Point(1, 2.5));
+                    Point p = scene.get(0);
+                    return p;
+                }""");
+        Interpreter interpreter = createCheckedInterpreter(program, new MockedExitInterpreterErrorHandler());
+        program.accept(interpreter);
+
+        PointValue point = (PointValue) interpreter.getLastResult();
+        assertEquals(new DoubleValue(new Position(3, 21), 1.0), point.x());
+    }
+
+    @Test
+    void givenTypedFunctionWithReturnWithoutValue_whenExecutingWithTypeAnnotations_thenResultIsSameAsWithoutThem() {
+        String code = """
+                Int five() {
+                    Int a = 5;
+                    return;
+                }
+                Int main() {
+                    return five();
+                }""";
+        Program program = parse(code);
+        Interpreter interpreter = new Interpreter(new MockedExitInterpreterErrorHandler(), new ContextManager());
+        program.accept(interpreter);
+        Program checkedProgram = parse(code);
+        Interpreter checkedInterpreter = createCheckedInterpreter(checkedProgram, new MockedExitInterpreterErrorHandler());
+        checkedProgram.accept(checkedInterpreter);
+
+        assertEquals(new IntValue(new Position(2, 13), 5), interpreter.getLastResult());
+        assertEquals(interpreter.getLastResult(), checkedInterpreter.getLastResult());
+    }
+
+    @Test
+    void givenDivisionByZero_whenExecutingWithTypeAnnotations_thenErrorIsRegistered() {
+        Program program = parse("""
+                Int main() {
+                    Int a = 0;
+                    return 1 / a;
+                }""");
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+        Interpreter interpreter = createCheckedInterpreter(program, errorHandler);
+
+        assertThrows(RuntimeException.class, () -> program.accept(interpreter));
+        assertEquals(new ZeroDivisionException(new Position(3, 14)).getMessage(), errorHandler.getErrorLog().get(0).getMessage());
+    }
+}
@@ -1,32 +1,39 @@
 package visitors.interpreter;
 
 import lexer.Position;
+import lexer.TableDrivenLexer;
 import org.junit.jupiter.api.Test;
 import parser.IExpression;
 import parser.IFunctionDef;
 import parser.IParameter;
+import parser.LazyParser;
 import parser.program_components.*;
 import parser.program_components.data_values.*;
 import parser.program_components.expressions.AdditionExpression;
 import parser.program_components.expressions.MultiplicationExpression;
 import parser.program_components.expressions.SubtractionExpression;
 import parser.program_components.function_definitions.IntFunctionDef;
+import parser.program_components.function_definitions.LazyFunctionDef;
 import parser.program_components.parameters.*;
 import parser.program_components.statements.AssignmentStatement;
 import parser.program_components.statements.ElseStatement;
 import parser.program_components.statements.IfStatement;
 import parser.program_components.statements.ReturnStatement;
+import parser.utils.MockedExitParserErrorHandler;
 import visitors.ContextManager;
 import visitors.Interpreter;
 import visitors.utils.MockedContextManager;
 import visitors.utils.MockedExitInterpreterErrorHandler;
 
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class VisitFunctionCallTest {
     @Test
@@ -313,4 +320,28 @@ public class VisitFunctionCallTest {
 
         assertEquals(expectedLastResult, interpreter.getLastResult());
     }
+
+    @Test
+    void givenLazilyParsedProgram_whenFunctionIsCalled_thenOnlyItsCodeBlockIsParsed() {
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+        ContextManager contextManager = new ContextManager();
+        Interpreter interpreter = new Interpreter(errorHandler, contextManager);
+        String code = """
+                Int getTwo() {
+                    return 2;
+                }
+                Int unused() {
+                    return 3;
+                }
+                Int main() {
+                    return getTwo();
+                }""";
+        Program program = new LazyParser(new TableDrivenLexer(new StringReader(code)).lexAll(), new MockedExitParserErrorHandler()).parse();
+        program.accept(interpreter);
+
+        assertEquals(2, ((IntValue) interpreter.getLastResult()).value());
+        assertTrue(((LazyFunctionDef) program.functions().get("getTwo")).isResolved());
+        assertFalse(((LazyFunctionDef) program.functions().get("unused")).isResolved());
+        assertEquals(IntFunctionDef.class, contextManager.getFunction("getTwo").getClass());
+    }
 }
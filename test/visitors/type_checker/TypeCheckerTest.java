@@ -0,0 +1,319 @@
+package visitors.type_checker;
+
+import lexer.Position;
+import lexer.TableDrivenLexer;
+import org.junit.jupiter.api.Test;
+import parser.IExpression;
+import parser.IFunctionDef;
+import parser.IStatement;
+import parser.LazyParser;
+import parser.Parser;
+import parser.program_components.FunctionCall;
+import parser.program_components.Identifier;
+import parser.program_components.ObjectAccess;
+import parser.program_components.Program;
+import parser.program_components.data_values.*;
+import parser.program_components.expressions.AdditionExpression;
+import parser.program_components.function_definitions.LazyFunctionDef;
+import parser.program_components.parameters.IntParameter;
+import parser.program_components.statements.AssignmentStatement;
+import parser.program_components.statements.ReturnStatement;
+import parser.utils.MockedExitParserErrorHandler;
+import visitors.ContextManager;
+import visitors.TypeAnnotations;
+import visitors.TypeAnnotations.Conversion;
+import visitors.TypeChecker;
+import visitors.exceptions.*;
+import visitors.utils.MockedExitInterpreterErrorHandler;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeCheckerTest {
+    private static Program parse(String code) {
+        return new Parser(new TableDrivenLexer(new StringReader(code)), new MockedExitParserErrorHandler()).parse();
+    }
+
+    private static TypeAnnotations check(Program program) {
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+        TypeChecker typeChecker = new TypeChecker(errorHandler, new ContextManager());
+        program.accept(typeChecker);
+        assertTrue(errorHandler.getErrorLog().isEmpty());
+        return typeChecker.getTypeAnnotations();
+    }
+
+    private static void assertErrorLog(String code, Exception expectedError) {
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+        TypeChecker typeChecker = new TypeChecker(errorHandler, new ContextManager());
+        Program program = parse(code);
+
+        assertThrows(RuntimeException.class, () -> program.accept(typeChecker));
+        assertEquals(1, errorHandler.getErrorLog().size());
+        assertEquals(expectedError.getMessage(), errorHandler.getErrorLog().get(0).getMessage());
+    }
+
+    private static List<IStatement> statements(Program program, String functionName) {
+        return program.functions().get(functionName).functionCode().statements();
+    }
+
+    @Test
+    void givenProgramWithNumericValues_whenChecking_thenArithmeticAndAssignmentsAreVerified() {
+        Program program = parse("""
+                Double half(Int n) {
+                    return n / 2;
+                }
+                Int main() {
+                    Int a = 2.5;
+                    Double b = a + 1;
+                    a = a / 2 + b;
+                    Double c = half(a * 3);
+                    return c;
+                }""");
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        List<IStatement> main = statements(program, "main");
+        assertEquals(Conversion.DOUBLE_TO_INT, typeAnnotations.getConversion(main.get(0)));
+        assertEquals(Conversion.INT_TO_DOUBLE, typeAnnotations.getConversion(main.get(1)));
+        assertEquals(Conversion.DOUBLE_TO_INT, typeAnnotations.getConversion(main.get(2)));
+        AdditionExpression addition = (AdditionExpression) ((AssignmentStatement) main.get(2)).exp();
+        assertEquals(DoubleValue.class, typeAnnotations.getType(addition));
+        assertEquals(IntValue.class, typeAnnotations.getType(addition.leftExp()));
+        assertTrue(typeAnnotations.isVerified(addition.leftExp()));
+        assertTrue(typeAnnotations.isVerified(((AssignmentStatement) main.get(3)).exp()));
+        assertEquals(Conversion.DOUBLE_TO_INT, typeAnnotations.getConversion(main.get(4)));
+        for (IStatement s : main) {
+            assertFalse(s instanceof AssignmentStatement && !typeAnnotations.isVerified(s));
+        }
+
+        ReturnStatement halfReturn = (ReturnStatement) statements(program, "half").get(0);
+        assertEquals(IntValue.class, typeAnnotations.getType(halfReturn.exp()));
+        assertTrue(typeAnnotations.isVerified(halfReturn.exp()));
+        assertEquals(Conversion.INT_TO_DOUBLE, typeAnnotations.getConversion(halfReturn));
+        for (IFunctionDef f : program.functions().values()) {
+            assertTrue(typeAnnotations.isVerified(f));
+        }
+    }
+
+    @Test
+    void givenValuesOfPointsAndLists_whenChecking_thenMethodResultsHaveElementTypes() {
+        Program program = parse("""
+                Int main() {
+                    List[Int] numbers = [Int];
+                    numbers.add(7);
+                    Int first = numbers.get(0) + 1;
+                    Point p = Point(1, 2.5);
+                    Int red = p.getRColor();
+                    Section s = Section(p, Point(3.0, 4.0));
+                    return first + red;
+                }""");
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        List<IStatement> main = statements(program, "main");
+        AdditionExpression firstAddition = (AdditionExpression) ((AssignmentStatement) main.get(2)).exp();
+        assertEquals(IntValue.class, typeAnnotations.getType(firstAddition.leftExp()));
+        assertTrue(typeAnnotations.isVerified(firstAddition));
+        assertEquals(Conversion.TO_POINT, typeAnnotations.getConversion(main.get(3)));
+        assertEquals(IntValue.class, typeAnnotations.getType(((AssignmentStatement) main.get(4)).exp()));
+        assertEquals(Conversion.TO_SECTION, typeAnnotations.getConversion(main.get(5)));
+        assertNull(typeAnnotations.getType((ObjectAccess) main.get(1)));
+    }
+
+    @Test
+    void givenElementOfScene_whenChecking_thenItsAssignmentIsLeftToRuntime() {
+        Program program = parse("""
+                Int main() {
+                    Scene scene = Scene();
+                    scene.add(Point(1.0, 2.0));
+                    Point p = scene.get(0);
+                    Point q = p;
+                    return 0;
+                }""");
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        List<IStatement> main = statements(program, "main");
+        assertNull(typeAnnotations.getType(((AssignmentStatement) main.get(2)).exp()));
+        assertFalse(typeAnnotations.isVerified(main.get(2)));
+        assertEquals(PointValue.class, typeAnnotations.getType(((AssignmentStatement) main.get(3)).exp()));
+        assertTrue(typeAnnotations.isVerified(main.get(3)));
+    }
+
+    @Test
+    void givenVoidFunctionWithReturnStatement_whenChecking_thenFunctionIsNotVerified() {
+        Program program = parse("""
+                void printTwice(String text) {
+                    text.print();
+                    text.print();
+                    return;
+                }
+                void printOnce(String text) {
+                    text.print();
+                }
+                Int main() {
+                    printOnce("a");
+                    return 0;
+                }""");
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        assertFalse(typeAnnotations.isVerified(program.functions().get("printTwice")));
+        assertTrue(typeAnnotations.isVerified(program.functions().get("printOnce")));
+        assertTrue(typeAnnotations.isVerified(statements(program, "main").get(0)));
+    }
+
+    @Test
+    void givenTypedFunctionWithReturnWithoutValue_whenChecking_thenFunctionIsNotVerified() {
+        Program program = parse("""
+                Int five() {
+                    Int a = 5;
+                    return;
+                }
+                Int main() {
+                    return five();
+                }""");
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        assertFalse(typeAnnotations.isVerified(program.functions().get("five")));
+        assertTrue(typeAnnotations.isVerified(program.functions().get("main")));
+    }
+
+    @Test
+    void givenLazilyParsedProgram_whenChecking_thenEveryFunctionIsParsedAndChecked() {
+        String code = """
+                Int unused() {
+                    return 3;
+                }
+                Int main() {
+                    return 2;
+                }""";
+        Program program = new LazyParser(new TableDrivenLexer(new StringReader(code)).lexAll(), new MockedExitParserErrorHandler()).parse();
+
+        TypeAnnotations typeAnnotations = check(program);
+
+        for (IFunctionDef f : program.functions().values()) {
+            assertTrue(((LazyFunctionDef) f).isResolved());
+            assertTrue(typeAnnotations.isVerified(((LazyFunctionDef) f).resolve()));
+        }
+    }
+
+    @Test
+    void givenStringAssignedToIntParam_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                Int main() {
+                    Int a = "text";
+                    return a;
+                }""", new IncompatibleStaticTypeException(new AssignmentStatement(new Position(2, 5), new IntParameter(new Position(2, 5), "a"), null), IntValue.class, StringValue.class));
+    }
+
+    @Test
+    void givenArgumentOfOtherType_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                Int twice(Int n) {
+                    return n * 2;
+                }
+                Int main() {
+                    return twice(1.5);
+                }""", new IncompatibleStaticTypeException(new DoubleValue(new Position(5, 18), 1.5), IntValue.class, DoubleValue.class));
+    }
+
+    @Test
+    void givenArithmeticOnString_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                Int main() {
+                    String a = "text";
+                    return 1 + a;
+                }""", new IncompatibleStaticTypeException(new Identifier(new Position(3, 16), "a"), DoubleValue.class, StringValue.class));
+    }
+
+    @Test
+    void givenIfStatementWithoutElse_whenChecking_thenMissingReturnValueIsRegistered() {
+        Program program = parse("""
+                Int main() {
+                    if (True) {
+                        return 1;
+                    }
+                }""");
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+
+        assertThrows(RuntimeException.class, () -> program.accept(new TypeChecker(errorHandler, new ContextManager())));
+        assertEquals(MissingReturnValueException.class, errorHandler.getErrorLog().get(0).getClass());
+    }
+
+    @Test
+    void givenReturnOnlyInWhileStatement_whenChecking_thenMissingReturnValueIsRegistered() {
+        Program program = parse("""
+                Int main() {
+                    while (True) {
+                        return 3;
+                    }
+                }""");
+        MockedExitInterpreterErrorHandler errorHandler = new MockedExitInterpreterErrorHandler();
+
+        assertThrows(RuntimeException.class, () -> program.accept(new TypeChecker(errorHandler, new ContextManager())));
+        assertEquals(MissingReturnValueException.class, errorHandler.getErrorLog().get(0).getClass());
+    }
+
+    @Test
+    void givenValueReturnedFromVoidFunction_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                void nothing() {
+                    return 1;
+                }
+                Int main() {
+                    return 0;
+                }""", new IncompatibleStaticTypeException(new ReturnStatement(new Position(2, 5), null), null, IntValue.class));
+    }
+
+    @Test
+    void givenVoidFunctionCallInArithmeticExpression_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                void nothing() {
+                    Int a = 1;
+                }
+                Int main() {
+                    Int a = nothing() * 2;
+                    return a;
+                }""", new IncompatibleStaticTypeException(new FunctionCall(new Position(5, 13), new Identifier(new Position(5, 13), "nothing")), DoubleValue.class, null));
+    }
+
+    @Test
+    void givenVoidFunctionCallAsCondition_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                void nothing() {
+                    Int a = 1;
+                }
+                Int main() {
+                    if (!nothing()) {
+                        return 1;
+                    }
+                    return 0;
+                }""", new IncompatibleStaticTypeException(new FunctionCall(new Position(5, 10), new Identifier(new Position(5, 10), "nothing")), BoolValue.class, null));
+    }
+
+    @Test
+    void givenUnknownIdentifier_whenChecking_thenErrorIsRegistered() {
+        assertErrorLog("""
+                Int main() {
+                    if (True) {
+                        Int a = 1;
+                    }
+                    return a;
+                }""", new IdentifierNotFoundException(new Identifier(new Position(5, 12), "a")));
+    }
+
+    @Test
+    void givenUnknownMethod_whenChecking_thenErrorIsRegistered() {
+        FunctionCall functionCall = new FunctionCall(new Position(3, 7), new Identifier(new Position(3, 7), "add"), (IExpression) new IntValue(new Position(3, 11), 1));
+        assertErrorLog("""
+                Int main() {
+                    Point p = Point(1, 2);
+                    p.add(1);
+                    return 0;
+                }""", new UndefinedFunctionCallException(functionCall));
+    }
+}